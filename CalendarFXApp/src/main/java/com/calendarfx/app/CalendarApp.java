@@ -20,6 +20,7 @@ import com.calendarfx.model.Calendar;
 import com.calendarfx.model.Calendar.Style;
 import com.calendarfx.model.CalendarSource;
 import com.calendarfx.view.CalendarView;
+import com.calendarfx.view.DateControlContext;
 import javafx.application.Application;
 import javafx.application.Platform;
 import javafx.scene.Scene;
@@ -34,6 +35,7 @@ public class CalendarApp extends Application {
     @Override
     public void start(Stage primaryStage) throws Exception {
         CalendarView calendarView = new CalendarView();
+        calendarView.setContext(new DateControlContext());
 
         Calendar katja = new Calendar("Katja");
         Calendar dirk = new Calendar("Dirk");
@@ -0,0 +1,160 @@
+/*
+ *  Copyright (C) 2017 Dirk Lemmermann Software & Consulting (dlsc.com)
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *          http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+
+package com.calendarfx.benchmarks;
+
+import com.calendarfx.model.Calendar;
+import com.calendarfx.model.CalendarSource;
+import com.calendarfx.model.Entry;
+import com.calendarfx.model.Interval;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Creates the synthetic calendars and entries used by the benchmarks. All data
+ * is generated with a fixed seed so that consecutive runs (and releases) work
+ * on exactly the same input.
+ */
+public final class BenchmarkData {
+
+    /**
+     * The date around which all generated entries will be placed.
+     */
+    public static final LocalDate START_DATE = LocalDate.of(2017, 1, 2);
+
+    /**
+     * A selection of recurrence rules as they are typically found in calendars.
+     */
+    public static final String[] RULES = {
+            "RRULE:FREQ=DAILY",
+            "RRULE:FREQ=DAILY;INTERVAL=2",
+            "RRULE:FREQ=WEEKLY;BYDAY=MO,WE,FR",
+            "RRULE:FREQ=WEEKLY;INTERVAL=2;BYDAY=TU,TH;COUNT=50",
+            "RRULE:FREQ=MONTHLY;BYDAY=MO,TU,WE,TH,FR;BYSETPOS=-1",
+            "RRULE:FREQ=MONTHLY;BYMONTHDAY=15",
+            "RRULE:FREQ=YEARLY;BYMONTH=3;BYDAY=-1SU",
+            "RRULE:FREQ=DAILY;UNTIL=20171231"
+    };
+
+    private BenchmarkData() {
+    }
+
+    /**
+     * Creates the given number of (non-recurring) entries. The entries are
+     * spread over the working hours of consecutive days, starting at
+     * {@link #START_DATE}, with some of them being full day or multi day
+     * entries.
+     *
+     * @param count the number of entries to create
+     * @return the list of entries
+     */
+    public static List<Entry<?>> createEntries(int count) {
+        Random random = new Random(count);
+        List<Entry<?>> entries = new ArrayList<>(count);
+
+        LocalDate date = START_DATE;
+
+        for (int i = 0; i < count; i++) {
+            if (i > 0 && i % 10 == 0) {
+                date = date.plusDays(1);
+            }
+
+            Entry<String> entry = new Entry<>("Entry " + i);
+
+            int kind = random.nextInt(20);
+            if (kind == 0) {
+                entry.setInterval(new Interval(date, LocalTime.MIN, date, LocalTime.MAX));
+                entry.setFullDay(true);
+            } else if (kind == 1) {
+                entry.setInterval(new Interval(date, LocalTime.of(14, 0), date.plusDays(1 + random.nextInt(3)), LocalTime.of(10, 0)));
+            } else {
+                LocalTime startTime = LocalTime.of(7 + random.nextInt(11), random.nextInt(4) * 15);
+                LocalTime endTime = startTime.plusMinutes(15 + random.nextInt(8) * 15);
+                entry.setInterval(new Interval(date, startTime, date, endTime));
+            }
+
+            entries.add(entry);
+        }
+
+        return entries;
+    }
+
+    /**
+     * Creates the given number of recurring entries, cycling through the
+     * rules found in {@link #RULES}.
+     *
+     * @param count the number of recurring entries to create
+     * @return the list of entries
+     */
+    public static List<Entry<?>> createRecurringEntries(int count) {
+        List<Entry<?>> entries = new ArrayList<>(count);
+
+        for (int i = 0; i < count; i++) {
+            LocalDate date = START_DATE.plusDays(i % 28);
+            LocalTime startTime = LocalTime.of(8 + i % 9, 0);
+
+            Entry<String> entry = new Entry<>("Recurring Entry " + i);
+            entry.setInterval(new Interval(date, startTime, date, startTime.plusHours(1)));
+            entry.setRecurrenceRule(RULES[i % RULES.length]);
+
+            entries.add(entry);
+        }
+
+        return entries;
+    }
+
+    /**
+     * Creates a calendar populated with the given number of regular and
+     * recurring entries.
+     *
+     * @param name           the name of the calendar
+     * @param count          the number of regular entries
+     * @param recurringCount the number of recurring entries
+     * @return the new calendar
+     */
+    public static Calendar createCalendar(String name, int count, int recurringCount) {
+        Calendar calendar = new Calendar(name);
+        calendar.startBatchUpdates();
+        calendar.addEntries(createEntries(count));
+        calendar.addEntries(createRecurringEntries(recurringCount));
+        calendar.stopBatchUpdates();
+        return calendar;
+    }
+
+    /**
+     * Creates a calendar source with several calendars, splitting the given
+     * number of entries evenly between them.
+     *
+     * @param calendarCount  the number of calendars
+     * @param count          the total number of regular entries
+     * @param recurringCount the total number of recurring entries
+     * @return the new calendar source
+     */
+    public static CalendarSource createCalendarSource(int calendarCount, int count, int recurringCount) {
+        CalendarSource source = new CalendarSource("Benchmark");
+        for (int i = 0; i < calendarCount; i++) {
+            Calendar calendar = createCalendar("Calendar " + i, count / calendarCount, recurringCount / calendarCount);
+            calendar.setStyle(Calendar.Style.getStyle(i));
+            source.getCalendars().add(calendar);
+        }
+        return source;
+    }
+}
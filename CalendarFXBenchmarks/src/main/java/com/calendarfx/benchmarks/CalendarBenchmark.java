@@ -0,0 +1,105 @@
+/*
+ *  Copyright (C) 2017 Dirk Lemmermann Software & Consulting (dlsc.com)
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *          http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+
+package com.calendarfx.benchmarks;
+
+import com.calendarfx.model.Calendar;
+import com.calendarfx.model.Entry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for {@link Calendar#findEntries(LocalDate, LocalDate, ZoneId)},
+ * once for a calendar that only contains regular entries and once for a
+ * calendar that also contains recurring entries, which have to be expanded
+ * for every query.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CalendarBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    public int size;
+
+    @Param({"100"})
+    public int recurringSize;
+
+    private Calendar calendar;
+
+    private Calendar recurringCalendar;
+
+    private LocalDate startDate;
+
+    private ZoneId zoneId;
+
+    @Setup
+    public void setup() {
+        calendar = BenchmarkData.createCalendar("Regular", size, 0);
+        recurringCalendar = BenchmarkData.createCalendar("Recurring", size, recurringSize);
+        startDate = BenchmarkData.START_DATE.plusDays(size / 20);
+        zoneId = ZoneId.systemDefault();
+    }
+
+    @Benchmark
+    public Map<LocalDate, List<Entry<?>>> findEntriesDay() {
+        return calendar.findEntries(startDate, startDate, zoneId);
+    }
+
+    @Benchmark
+    public Map<LocalDate, List<Entry<?>>> findEntriesWeek() {
+        return calendar.findEntries(startDate, startDate.plusDays(6), zoneId);
+    }
+
+    @Benchmark
+    public Map<LocalDate, List<Entry<?>>> findEntriesMonth() {
+        return calendar.findEntries(startDate, startDate.plusDays(41), zoneId);
+    }
+
+    @Benchmark
+    public Map<LocalDate, List<Entry<?>>> findEntriesDayWithRecurrence() {
+        return recurringCalendar.findEntries(startDate, startDate, zoneId);
+    }
+
+    @Benchmark
+    public Map<LocalDate, List<Entry<?>>> findEntriesWeekWithRecurrence() {
+        return recurringCalendar.findEntries(startDate, startDate.plusDays(6), zoneId);
+    }
+
+    @Benchmark
+    public Map<LocalDate, List<Entry<?>>> findEntriesMonthWithRecurrence() {
+        return recurringCalendar.findEntries(startDate, startDate.plusDays(41), zoneId);
+    }
+}
@@ -0,0 +1,150 @@
+/*
+ *  Copyright (C) 2017 Dirk Lemmermann Software & Consulting (dlsc.com)
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *          http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+
+package com.calendarfx.benchmarks;
+
+import com.calendarfx.model.Calendar;
+import com.calendarfx.model.CalendarSource;
+import com.calendarfx.model.Entry;
+import com.calendarfx.view.DayView;
+import impl.com.calendarfx.view.DataLoader;
+import impl.com.calendarfx.view.LoadDataSettingsProvider;
+import javafx.scene.control.Control;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks {@link DataLoader#loadEntries(Map)} for a week and a month
+ * worth of data, the way the skins of the week and month views load their
+ * entries.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DataLoaderBenchmark {
+
+    @Param({"10000", "100000"})
+    public int size;
+
+    @Param({"5"})
+    public int calendarCount;
+
+    @Param({"100"})
+    public int recurringSize;
+
+    private DataLoader weekLoader;
+
+    private DataLoader monthLoader;
+
+    @Setup
+    public void setup() {
+        HeadlessToolkit.startup();
+
+        CalendarSource source = BenchmarkData.createCalendarSource(calendarCount, size, recurringSize);
+        LocalDate startDate = BenchmarkData.START_DATE.plusDays(size / 20);
+        DayView control = new DayView();
+
+        weekLoader = new DataLoader(new Provider("week", control, source, startDate, startDate.plusDays(6)));
+        monthLoader = new DataLoader(new Provider("month", control, source, startDate, startDate.plusDays(41)));
+    }
+
+    @Benchmark
+    public Map<LocalDate, List<Entry<?>>> loadWeek() {
+        Map<LocalDate, List<Entry<?>>> result = new HashMap<>();
+        weekLoader.loadEntries(result);
+        return result;
+    }
+
+    @Benchmark
+    public Map<LocalDate, List<Entry<?>>> loadMonth() {
+        Map<LocalDate, List<Entry<?>>> result = new HashMap<>();
+        monthLoader.loadEntries(result);
+        return result;
+    }
+
+    private static final class Provider implements LoadDataSettingsProvider {
+
+        private final String name;
+        private final Control control;
+        private final List<CalendarSource> sources;
+        private final LocalDate startDate;
+        private final LocalDate endDate;
+
+        Provider(String name, Control control, CalendarSource source, LocalDate startDate, LocalDate endDate) {
+            this.name = name;
+            this.control = control;
+            this.sources = Collections.singletonList(source);
+            this.startDate = startDate;
+            this.endDate = endDate;
+        }
+
+        @Override
+        public String getLoaderName() {
+            return name;
+        }
+
+        @Override
+        public LocalDate getLoadStartDate() {
+            return startDate;
+        }
+
+        @Override
+        public LocalDate getLoadEndDate() {
+            return endDate;
+        }
+
+        @Override
+        public ZoneId getZoneId() {
+            return ZoneId.systemDefault();
+        }
+
+        @Override
+        public List<CalendarSource> getCalendarSources() {
+            return sources;
+        }
+
+        @Override
+        public Control getControl() {
+            return control;
+        }
+
+        @Override
+        public boolean isCalendarVisible(Calendar calendar) {
+            return true;
+        }
+    }
+}
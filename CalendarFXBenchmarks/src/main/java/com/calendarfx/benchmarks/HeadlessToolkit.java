@@ -0,0 +1,61 @@
+/*
+ *  Copyright (C) 2017 Dirk Lemmermann Software & Consulting (dlsc.com)
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *          http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+
+package com.calendarfx.benchmarks;
+
+import com.sun.javafx.application.PlatformImpl;
+
+import java.util.concurrent.CountDownLatch;
+
+/**
+ * Starts the JavaFX toolkit on the headless Monocle glass platform. Needed by
+ * benchmarks that instantiate controls (e.g. entry views) as the control
+ * classes can not be initialized without a running toolkit.
+ */
+public final class HeadlessToolkit {
+
+    private static boolean started;
+
+    private HeadlessToolkit() {
+    }
+
+    /**
+     * Starts the toolkit if it has not been started, yet.
+     */
+    public static synchronized void startup() {
+        if (started) {
+            return;
+        }
+
+        System.setProperty("glass.platform", "Monocle"); //$NON-NLS-1$ //$NON-NLS-2$
+        System.setProperty("monocle.platform", "Headless"); //$NON-NLS-1$ //$NON-NLS-2$
+        System.setProperty("prism.order", "sw"); //$NON-NLS-1$ //$NON-NLS-2$
+        System.setProperty("prism.text", "t2k"); //$NON-NLS-1$ //$NON-NLS-2$
+
+        CountDownLatch latch = new CountDownLatch(1);
+        PlatformImpl.startup(latch::countDown);
+
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("interrupted while waiting for the toolkit to start", e); //$NON-NLS-1$
+        }
+
+        started = true;
+    }
+}
@@ -0,0 +1,132 @@
+/*
+ *  Copyright (C) 2017 Dirk Lemmermann Software & Consulting (dlsc.com)
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *          http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+
+package com.calendarfx.benchmarks;
+
+import com.calendarfx.model.Calendar;
+import com.calendarfx.model.Entry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for the interval tree used by {@link Calendar} to store its
+ * entries. The tree is package private, so it gets measured through the
+ * public API of the calendar: adding entries one by one and in bulk, moving
+ * an entry out of and back into the tree, and queries for a week and a month
+ * of a calendar without recurring entries, which only consult the tree.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class IntervalTreeBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    public int size;
+
+    private Calendar calendar;
+
+    private List<Entry<?>> newEntries;
+
+    private Entry<?> probe;
+
+    private LocalDate startDate;
+
+    private ZoneId zoneId;
+
+    @Setup
+    public void setup() {
+        List<Entry<?>> entries = BenchmarkData.createEntries(size);
+
+        calendar = new Calendar("Tree");
+        calendar.startBatchUpdates();
+        calendar.addEntries(entries);
+        calendar.stopBatchUpdates();
+
+        newEntries = BenchmarkData.createEntries(size);
+
+        probe = entries.get(size / 2);
+
+        startDate = probe.getStartDate();
+        zoneId = ZoneId.systemDefault();
+    }
+
+    /*
+     * The add benchmarks add the same entries every time, detach them from
+     * the calendar of the previous invocation so that this does not get
+     * measured.
+     */
+    @Setup(Level.Invocation)
+    public void detachNewEntries() {
+        newEntries.forEach(entry -> entry.setCalendar(null));
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public Calendar addAll() {
+        Calendar newCalendar = new Calendar("Add All");
+        newCalendar.startBatchUpdates();
+        newCalendar.addEntries(newEntries);
+        newCalendar.stopBatchUpdates();
+        return newCalendar;
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public Calendar addEach() {
+        Calendar newCalendar = new Calendar("Add Each");
+        for (Entry<?> entry : newEntries) {
+            newCalendar.addEntry(entry);
+        }
+        return newCalendar;
+    }
+
+    @Benchmark
+    public Calendar removeAndAdd() {
+        calendar.removeEntry(probe);
+        calendar.addEntry(probe);
+        return calendar;
+    }
+
+    @Benchmark
+    public Map<LocalDate, List<Entry<?>>> queryWeek() {
+        return calendar.findEntries(startDate, startDate.plusDays(6), zoneId);
+    }
+
+    @Benchmark
+    public Map<LocalDate, List<Entry<?>>> queryMonth() {
+        return calendar.findEntries(startDate, startDate.plusMonths(1), zoneId);
+    }
+}
@@ -0,0 +1,134 @@
+/*
+ *  Copyright (C) 2017 Dirk Lemmermann Software & Consulting (dlsc.com)
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *          http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+
+package com.calendarfx.benchmarks;
+
+import com.google.ical.compat.javatime.LocalDateIterator;
+import com.google.ical.compat.javatime.LocalDateIteratorFactory;
+import com.google.ical.iter.PackedRecurrenceIterator;
+import com.google.ical.iter.RecurrenceIterator;
+import com.google.ical.iter.RecurrenceIteratorFactory;
+import com.google.ical.util.ZoneRulesTimeZone;
+import com.google.ical.values.DateTimeValueImpl;
+import com.google.ical.values.DateValue;
+import com.google.ical.values.DateValueImpl;
+import com.google.ical.values.IcalObject;
+import com.google.ical.values.RRule;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.text.ParseException;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.TimeZone;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost per generated occurrence of the recurrence iterators. Each invocation
+ * pulls {@link #OCCURRENCES} occurrences, so the scores (and the
+ * <code>gc.alloc.rate.norm</code> values reported when running with
+ * <code>-prof gc</code>) are per occurrence.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RecurrenceAllocationBenchmark {
+
+    static final int OCCURRENCES = 1000;
+
+    /**
+     * The rule shapes being benchmarked.
+     */
+    public enum Rule {
+        DAILY("RRULE:FREQ=DAILY", false),
+        WEEKLY_BYDAY("RRULE:FREQ=WEEKLY;BYDAY=MO,WE,FR", false),
+        MONTHLY_BYSETPOS("RRULE:FREQ=MONTHLY;BYDAY=MO,TU,WE,TH,FR;BYSETPOS=-1", false),
+        HOURLY_TIMED("RRULE:FREQ=HOURLY;BYHOUR=9,12,17", true);
+
+        private final String text;
+
+        private final boolean timed;
+
+        Rule(String text, boolean timed) {
+            this.text = text;
+            this.timed = timed;
+        }
+    }
+
+    @Param
+    public Rule rule;
+
+    private static final ZoneId ZONE_ID = ZoneId.of("Europe/Berlin"); //$NON-NLS-1$
+
+    private static final TimeZone TIME_ZONE = ZoneRulesTimeZone.of(ZONE_ID);
+
+    private final LocalDate localStart = LocalDate.of(2017, 1, 2);
+
+    private DateValue start;
+
+    private IcalObject[] contentLines;
+
+    private RRule parsedRule;
+
+    @Setup
+    public void setup() throws ParseException {
+        parsedRule = new RRule(rule.text);
+        contentLines = new IcalObject[]{parsedRule};
+        start = rule.timed ? new DateTimeValueImpl(2017, 1, 2, 9, 0, 0) : new DateValueImpl(2017, 1, 2);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(OCCURRENCES)
+    public void recurrenceIterator(Blackhole blackhole) {
+        RecurrenceIterator iterator = RecurrenceIteratorFactory.createRecurrenceIterable(contentLines, start, TIME_ZONE, true).iterator();
+        for (int i = 0; i < OCCURRENCES && iterator.hasNext(); i++) {
+            blackhole.consume(iterator.next());
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(OCCURRENCES)
+    public void packedIterator(Blackhole blackhole) {
+        PackedRecurrenceIterator iterator = (PackedRecurrenceIterator) RecurrenceIteratorFactory.createRecurrenceIterable(contentLines, start, TIME_ZONE, true).iterator();
+        for (int i = 0; i < OCCURRENCES && iterator.hasNext(); i++) {
+            blackhole.consume(iterator.nextPacked());
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(OCCURRENCES)
+    public void localDateIterator(Blackhole blackhole) {
+        LocalDateIterator iterator = LocalDateIteratorFactory.createLocalDateIterator(parsedRule, localStart, ZONE_ID);
+        for (int i = 0; i < OCCURRENCES && iterator.hasNext(); i++) {
+            blackhole.consume(iterator.next());
+        }
+    }
+}
@@ -0,0 +1,131 @@
+/*
+ *  Copyright (C) 2017 Dirk Lemmermann Software & Consulting (dlsc.com)
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *          http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+
+package com.calendarfx.benchmarks;
+
+import com.google.ical.compat.javatime.LocalDateIterator;
+import com.google.ical.compat.javatime.LocalDateIteratorFactory;
+import com.google.ical.iter.RecurrenceIterator;
+import com.google.ical.iter.RecurrenceIteratorFactory;
+import com.google.ical.values.DateValue;
+import com.google.ical.values.DateValueImpl;
+import com.google.ical.values.RRule;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.text.ParseException;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.TimeZone;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for the recurrence module: parsing of rules, creation of
+ * iterators, and iterating over one year worth of occurrences.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RecurrenceBenchmark {
+
+    /**
+     * The rule shapes being benchmarked.
+     */
+    public enum Rule {
+        DAILY("RRULE:FREQ=DAILY"),
+        WEEKLY_BYDAY("RRULE:FREQ=WEEKLY;BYDAY=MO,WE,FR"),
+        WEEKLY_INTERVAL_COUNT("RRULE:FREQ=WEEKLY;INTERVAL=2;BYDAY=TU,TH;COUNT=500"),
+        MONTHLY_BYSETPOS("RRULE:FREQ=MONTHLY;BYDAY=MO,TU,WE,TH,FR;BYSETPOS=-1"),
+        MONTHLY_BYDAY_COUNT("RRULE:FREQ=MONTHLY;BYDAY=-1FR;COUNT=600"),
+        YEARLY_BYDAY("RRULE:FREQ=YEARLY;BYMONTH=3;BYDAY=-1SU");
+
+        private final String text;
+
+        Rule(String text) {
+            this.text = text;
+        }
+    }
+
+    @Param
+    public Rule rule;
+
+    private static final TimeZone TIME_ZONE = TimeZone.getTimeZone("Europe/Berlin"); //$NON-NLS-1$
+
+    private static final ZoneId ZONE_ID = ZoneId.of("Europe/Berlin"); //$NON-NLS-1$
+
+    private final DateValue start = new DateValueImpl(2017, 1, 2);
+
+    private final DateValue advanceDate = new DateValueImpl(2027, 1, 1);
+
+    private final LocalDate localStart = LocalDate.of(2017, 1, 2);
+
+    private final LocalDate localEnd = LocalDate.of(2017, 12, 31);
+
+    private RRule parsedRule;
+
+    @Setup
+    public void setup() throws ParseException {
+        parsedRule = new RRule(rule.text);
+    }
+
+    @Benchmark
+    public RRule parseRule() throws ParseException {
+        return new RRule(rule.text);
+    }
+
+    @Benchmark
+    public RecurrenceIterator createIterator() throws ParseException {
+        return RecurrenceIteratorFactory.createRecurrenceIterator(rule.text, start, TIME_ZONE, true);
+    }
+
+    @Benchmark
+    public RecurrenceIterator createIteratorFromParsedRule() {
+        return RecurrenceIteratorFactory.createRecurrenceIterator(parsedRule, start, TIME_ZONE);
+    }
+
+    @Benchmark
+    public void iterateYear(Blackhole blackhole) throws ParseException {
+        LocalDateIterator iterator = LocalDateIteratorFactory.createLocalDateIterator(rule.text, localStart, ZONE_ID, true);
+        while (iterator.hasNext()) {
+            LocalDate date = iterator.next();
+            if (date.isAfter(localEnd)) {
+                break;
+            }
+            blackhole.consume(date);
+        }
+    }
+
+    @Benchmark
+    public DateValue advanceTenYears() throws ParseException {
+        RecurrenceIterator iterator = RecurrenceIteratorFactory.createRecurrenceIterator(rule.text, start, TIME_ZONE, true);
+        iterator.advanceTo(advanceDate);
+        return iterator.hasNext() ? iterator.next() : null;
+    }
+}
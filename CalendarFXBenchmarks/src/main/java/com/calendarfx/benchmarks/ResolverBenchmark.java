@@ -0,0 +1,85 @@
+/*
+ *  Copyright (C) 2017 Dirk Lemmermann Software & Consulting (dlsc.com)
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *          http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+
+package com.calendarfx.benchmarks;
+
+import com.calendarfx.model.Entry;
+import com.calendarfx.model.Interval;
+import com.calendarfx.view.DayEntryView;
+import impl.com.calendarfx.view.util.Placement;
+import impl.com.calendarfx.view.util.Resolver;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks {@link Resolver#resolve(List)}, which computes the column
+ * placements of the entry views of a single day whenever a day view gets laid
+ * out. The entries are randomly placed inside a single day so that they
+ * overlap heavily.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ResolverBenchmark {
+
+    @Param({"10", "50", "200"})
+    public int entriesPerDay;
+
+    private List<DayEntryView> entryViews;
+
+    @Setup
+    public void setup() {
+        HeadlessToolkit.startup();
+
+        Random random = new Random(entriesPerDay);
+
+        entryViews = new ArrayList<>();
+        for (int i = 0; i < entriesPerDay; i++) {
+            LocalTime startTime = LocalTime.of(random.nextInt(20), random.nextInt(4) * 15);
+            LocalTime endTime = startTime.plusMinutes(30 + random.nextInt(8) * 15);
+            Entry<String> entry = new Entry<>("Entry " + i, new Interval(BenchmarkData.START_DATE, startTime, BenchmarkData.START_DATE, endTime));
+            entryViews.add(new DayEntryView(entry));
+        }
+
+        Collections.shuffle(entryViews, random);
+    }
+
+    @Benchmark
+    public List<Placement> resolve() {
+        // resolve() sorts the given list, hence the copy
+        return Resolver.resolve(new ArrayList<>(entryViews));
+    }
+}
@@ -0,0 +1,87 @@
+/*
+ *  Copyright (C) 2017 Dirk Lemmermann Software & Consulting (dlsc.com)
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *          http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+
+package com.calendarfx.benchmarks;
+
+import com.calendarfx.model.CalendarSource;
+import com.calendarfx.model.CalendarSourceSnapshot;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for writing and restoring a {@link CalendarSourceSnapshot}. The
+ * target for restoring one million entries is well under one second.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = "-Xmx4g")
+public class SnapshotBenchmark {
+
+    @Param({"100000", "1000000"})
+    public int size;
+
+    @Param({"5"})
+    public int calendarCount;
+
+    private CalendarSource source;
+
+    private Path file;
+
+    private Path writeFile;
+
+    @Setup
+    public void setup() throws IOException {
+        source = BenchmarkData.createCalendarSource(calendarCount, size, 0);
+        file = Files.createTempFile("calendarfx", ".snapshot");
+        writeFile = Files.createTempFile("calendarfx", ".snapshot");
+        CalendarSourceSnapshot.write(source, file);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(file);
+        Files.deleteIfExists(writeFile);
+    }
+
+    @Benchmark
+    public CalendarSource read() throws IOException {
+        return CalendarSourceSnapshot.read(file);
+    }
+
+    @Benchmark
+    public void write() throws IOException {
+        CalendarSourceSnapshot.write(source, writeFile);
+    }
+}
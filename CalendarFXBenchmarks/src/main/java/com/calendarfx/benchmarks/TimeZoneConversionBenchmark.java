@@ -0,0 +1,141 @@
+/*
+ *  Copyright (C) 2017 Dirk Lemmermann Software & Consulting (dlsc.com)
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *          http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+
+package com.calendarfx.benchmarks;
+
+import com.google.ical.iter.RecurrenceIterator;
+import com.google.ical.iter.RecurrenceIteratorFactory;
+import com.google.ical.util.TimeUtils;
+import com.google.ical.util.ZoneRulesTimeZone;
+import com.google.ical.values.DateTimeValueImpl;
+import com.google.ical.values.DateValue;
+import com.google.ical.values.RRule;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.text.ParseException;
+import java.time.ZoneId;
+import java.util.TimeZone;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of time-of-day recurrence rules across the daylight savings
+ * transitions of 2017, once with a plain {@link TimeZone} (which converts every
+ * instance via a {@link java.util.GregorianCalendar}) and once with the
+ * {@link ZoneRulesTimeZone} used by the <code>compat.javatime</code> factories.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TimeZoneConversionBenchmark {
+
+    /**
+     * The time zone implementations being compared.
+     */
+    public enum Conversion {
+        GREGORIAN_CALENDAR,
+        ZONE_RULES
+    }
+
+    /**
+     * The rule shapes being benchmarked, each one produces a few hundred
+     * instances around a transition.
+     */
+    public enum Rule {
+        HOURLY("RRULE:FREQ=HOURLY;COUNT=480"),
+        BYHOUR("RRULE:FREQ=DAILY;BYHOUR=1,2,3,9,17;COUNT=100");
+
+        private final String text;
+
+        Rule(String text) {
+            this.text = text;
+        }
+    }
+
+    @Param
+    public Conversion conversion;
+
+    @Param
+    public Rule rule;
+
+    private static final ZoneId ZONE_ID = ZoneId.of("Europe/Berlin"); //$NON-NLS-1$
+
+    /**
+     * Ten days before the clocks spring forward on March 26th.
+     */
+    private final DateValue springStart = new DateTimeValueImpl(2017, 3, 16, 0, 0, 0);
+
+    /**
+     * Ten days before the clocks fall back on October 29th.
+     */
+    private final DateValue fallStart = new DateTimeValueImpl(2017, 10, 19, 0, 0, 0);
+
+    private final DateValue localTime = new DateTimeValueImpl(2017, 3, 26, 2, 30, 0);
+
+    private TimeZone timeZone;
+
+    private RRule parsedRule;
+
+    @Setup
+    public void setup() throws ParseException {
+        switch (conversion) {
+            case GREGORIAN_CALENDAR:
+                timeZone = TimeZone.getTimeZone(ZONE_ID);
+                break;
+            case ZONE_RULES:
+            default:
+                timeZone = ZoneRulesTimeZone.of(ZONE_ID);
+                break;
+        }
+        parsedRule = new RRule(rule.text);
+    }
+
+    @Benchmark
+    public void iterateAcrossSpringForward(Blackhole blackhole) {
+        iterate(springStart, blackhole);
+    }
+
+    @Benchmark
+    public void iterateAcrossFallBack(Blackhole blackhole) {
+        iterate(fallStart, blackhole);
+    }
+
+    @Benchmark
+    public DateValue toUtc() {
+        return TimeUtils.toUtc(localTime, timeZone);
+    }
+
+    private void iterate(DateValue start, Blackhole blackhole) {
+        RecurrenceIterator iterator = RecurrenceIteratorFactory.createRecurrenceIterator(parsedRule, start, timeZone);
+        while (iterator.hasNext()) {
+            blackhole.consume(iterator.next());
+        }
+    }
+}
@@ -0,0 +1,124 @@
+/*
+ *  Copyright (C) 2017 Dirk Lemmermann Software & Consulting (dlsc.com)
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *          http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+
+package com.calendarfx.performance;
+
+/**
+ * The timings measured for a single frame, which consists of an action (e.g.
+ * "go forward") followed by a CSS pass, a layout pass, and a render pass,
+ * plus the size of the scene graph and the heap after the frame.
+ */
+public final class FrameTiming {
+
+    private final String action;
+    private final long actionNanos;
+    private final long cssNanos;
+    private final long layoutNanos;
+    private final long renderNanos;
+    private final int nodeCount;
+    private final long usedHeapBytes;
+
+    public FrameTiming(String action, long actionNanos, long cssNanos, long layoutNanos, long renderNanos, int nodeCount, long usedHeapBytes) {
+        this.action = action;
+        this.actionNanos = actionNanos;
+        this.cssNanos = cssNanos;
+        this.layoutNanos = layoutNanos;
+        this.renderNanos = renderNanos;
+        this.nodeCount = nodeCount;
+        this.usedHeapBytes = usedHeapBytes;
+    }
+
+    /**
+     * The name of the action that caused the frame.
+     *
+     * @return the action name
+     */
+    public String getAction() {
+        return action;
+    }
+
+    /**
+     * The time it took to execute the action itself, e.g. loading the entries
+     * after navigating to the next week.
+     *
+     * @return the action time in nanoseconds
+     */
+    public long getActionNanos() {
+        return actionNanos;
+    }
+
+    /**
+     * The time spent on the CSS pass.
+     *
+     * @return the CSS time in nanoseconds
+     */
+    public long getCssNanos() {
+        return cssNanos;
+    }
+
+    /**
+     * The time spent on the layout pass.
+     *
+     * @return the layout time in nanoseconds
+     */
+    public long getLayoutNanos() {
+        return layoutNanos;
+    }
+
+    /**
+     * The time spent on rendering the scene (a software snapshot).
+     *
+     * @return the render time in nanoseconds
+     */
+    public long getRenderNanos() {
+        return renderNanos;
+    }
+
+    /**
+     * The total time of the frame.
+     *
+     * @return the sum of all phases in nanoseconds
+     */
+    public long getTotalNanos() {
+        return actionNanos + cssNanos + layoutNanos + renderNanos;
+    }
+
+    /**
+     * The number of nodes in the scene graph after the frame.
+     *
+     * @return the node count
+     */
+    public int getNodeCount() {
+        return nodeCount;
+    }
+
+    /**
+     * The heap in use after the frame, including garbage that has not been
+     * collected, yet.
+     *
+     * @return the used heap in bytes
+     */
+    public long getUsedHeapBytes() {
+        return usedHeapBytes;
+    }
+
+    @Override
+    public String toString() {
+        return "FrameTiming [action=" + action + ", total=" + getTotalNanos() / 1_000_000d + "ms, nodes=" + nodeCount //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+                + ", heap=" + usedHeapBytes / (1024 * 1024) + "MB]"; //$NON-NLS-1$ //$NON-NLS-2$
+    }
+}
@@ -0,0 +1,134 @@
+/*
+ *  Copyright (C) 2017 Dirk Lemmermann Software & Consulting (dlsc.com)
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *          http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+
+package com.calendarfx.performance;
+
+/**
+ * The budget that a scenario has to stay within. All values can be
+ * configured via system properties so that the same tests can be run with
+ * tighter budgets on dedicated machines, e.g.
+ * {@code mvn test -Pperformance -Dcalendarfx.performance.budget.frame=100}.
+ */
+public final class PerformanceBudget {
+
+    /**
+     * The system property used for the maximum time of a single frame.
+     */
+    public static final String FRAME = "calendarfx.performance.budget.frame"; //$NON-NLS-1$
+
+    /**
+     * The system property used for the maximum time of a CSS pass.
+     */
+    public static final String CSS = "calendarfx.performance.budget.css"; //$NON-NLS-1$
+
+    /**
+     * The system property used for the maximum time of a layout pass.
+     */
+    public static final String LAYOUT = "calendarfx.performance.budget.layout"; //$NON-NLS-1$
+
+    /**
+     * The system property used for the maximum time of a render pass.
+     */
+    public static final String RENDER = "calendarfx.performance.budget.render"; //$NON-NLS-1$
+
+    /**
+     * The system property used for the maximum number of nodes.
+     */
+    public static final String NODES = "calendarfx.performance.budget.nodes"; //$NON-NLS-1$
+
+    /**
+     * The system property used for the maximum heap in use after a frame, in
+     * megabytes.
+     */
+    public static final String HEAP = "calendarfx.performance.budget.heap"; //$NON-NLS-1$
+
+    /**
+     * The system property used for the number of frames at the beginning of
+     * each scenario that will not be checked against the budget (skin
+     * creation, class loading, JIT warm up).
+     */
+    public static final String WARMUP = "calendarfx.performance.warmup"; //$NON-NLS-1$
+
+    private final double maxFrameMillis;
+    private final double maxCssMillis;
+    private final double maxLayoutMillis;
+    private final double maxRenderMillis;
+    private final int maxNodeCount;
+    private final long maxHeapMegabytes;
+    private final int warmupFrames;
+
+    public PerformanceBudget(double maxFrameMillis, double maxCssMillis, double maxLayoutMillis, double maxRenderMillis, int maxNodeCount, long maxHeapMegabytes, int warmupFrames) {
+        this.maxFrameMillis = maxFrameMillis;
+        this.maxCssMillis = maxCssMillis;
+        this.maxLayoutMillis = maxLayoutMillis;
+        this.maxRenderMillis = maxRenderMillis;
+        this.maxNodeCount = maxNodeCount;
+        this.maxHeapMegabytes = maxHeapMegabytes;
+        this.warmupFrames = warmupFrames;
+    }
+
+    /**
+     * Creates a budget based on the system properties, using generous
+     * defaults for those properties that have not been set.
+     *
+     * @return the budget
+     */
+    public static PerformanceBudget fromSystemProperties() {
+        return new PerformanceBudget(
+                Double.parseDouble(System.getProperty(FRAME, "2000")), //$NON-NLS-1$
+                Double.parseDouble(System.getProperty(CSS, "1000")), //$NON-NLS-1$
+                Double.parseDouble(System.getProperty(LAYOUT, "1000")), //$NON-NLS-1$
+                Double.parseDouble(System.getProperty(RENDER, "1000")), //$NON-NLS-1$
+                Integer.parseInt(System.getProperty(NODES, "50000")), //$NON-NLS-1$
+                Long.parseLong(System.getProperty(HEAP, "2048")), //$NON-NLS-1$
+                Integer.parseInt(System.getProperty(WARMUP, "2"))); //$NON-NLS-1$
+    }
+
+    public double getMaxFrameMillis() {
+        return maxFrameMillis;
+    }
+
+    public double getMaxCssMillis() {
+        return maxCssMillis;
+    }
+
+    public double getMaxLayoutMillis() {
+        return maxLayoutMillis;
+    }
+
+    public double getMaxRenderMillis() {
+        return maxRenderMillis;
+    }
+
+    public int getMaxNodeCount() {
+        return maxNodeCount;
+    }
+
+    public long getMaxHeapMegabytes() {
+        return maxHeapMegabytes;
+    }
+
+    public int getWarmupFrames() {
+        return warmupFrames;
+    }
+
+    @Override
+    public String toString() {
+        return "PerformanceBudget [frame=" + maxFrameMillis + "ms, css=" + maxCssMillis + "ms, layout=" + maxLayoutMillis //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+                + "ms, render=" + maxRenderMillis + "ms, nodes=" + maxNodeCount + ", heap=" + maxHeapMegabytes + "MB, warmup=" + warmupFrames + "]"; //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$ //$NON-NLS-5$
+    }
+}
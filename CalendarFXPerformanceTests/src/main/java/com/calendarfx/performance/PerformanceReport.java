@@ -0,0 +1,151 @@
+/*
+ *  Copyright (C) 2017 Dirk Lemmermann Software & Consulting (dlsc.com)
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *          http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+
+package com.calendarfx.performance;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.ToLongFunction;
+
+/**
+ * Collects the frames of several scenarios and turns them into a plain text
+ * report with one summary line per scenario and one line per action. The
+ * calendar events handled and skipped by the views of a scenario can be
+ * added, too.
+ */
+public final class PerformanceReport {
+
+    private final List<SkinPerformanceHarness<?>> scenarios = new ArrayList<>();
+
+    private final List<String> events = new ArrayList<>();
+
+    /**
+     * Adds the given scenario to the report.
+     *
+     * @param harness the harness that recorded the frames of the scenario
+     */
+    public void add(SkinPerformanceHarness<?> harness) {
+        scenarios.add(harness);
+    }
+
+    /**
+     * Adds the calendar events of the given scenario to the report. The time
+     * saved by the dormant views is estimated based on the average time it
+     * took the visible views to handle an event.
+     *
+     * @param name           the name of the scenario
+     * @param handledEvents  the number of events handled by visible views
+     * @param handlingNanos  the time spent on handling these events
+     * @param dormantEvents  the number of events skipped by dormant views
+     */
+    public void addEvents(String name, long handledEvents, long handlingNanos, long dormantEvents) {
+        double perEvent = handledEvents == 0 ? 0 : handlingNanos / (double) handledEvents / 1_000_000d;
+
+        events.add(String.format("%-48s %8d %10.2f %10.4f %8d %10.2f%n", //$NON-NLS-1$
+                name, handledEvents, handlingNanos / 1_000_000d, perEvent, dormantEvents, dormantEvents * perEvent));
+    }
+
+    /**
+     * Formats the report.
+     *
+     * @return the report as plain text
+     */
+    public String format() {
+        StringBuilder sb = new StringBuilder();
+
+        String header = String.format("%-48s %6s %10s %10s %10s %10s %10s %10s %8s %8s%n", //$NON-NLS-1$
+                "Scenario / Action", "Frames", "Avg Total", "Max Total", "Avg Action", "Avg CSS", "Avg Layout", "Avg Render", "Nodes", "Heap"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$ //$NON-NLS-5$ //$NON-NLS-6$ //$NON-NLS-7$ //$NON-NLS-8$ //$NON-NLS-9$ //$NON-NLS-10$
+
+        sb.append(header);
+
+        for (SkinPerformanceHarness<?> scenario : scenarios) {
+            appendLine(sb, scenario.getName(), scenario.getFrames());
+
+            Map<String, List<FrameTiming>> byAction = new LinkedHashMap<>();
+            for (FrameTiming frame : scenario.getFrames()) {
+                byAction.computeIfAbsent(frame.getAction(), it -> new ArrayList<>()).add(frame);
+            }
+
+            byAction.forEach((action, frames) -> appendLine(sb, "  " + action, frames)); //$NON-NLS-1$
+        }
+
+        if (!events.isEmpty()) {
+            sb.append(String.format("%n%-48s %8s %10s %10s %8s %10s%n", //$NON-NLS-1$
+                    "Calendar Events", "Handled", "Handling", "Per Event", "Dormant", "Saved")); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$ //$NON-NLS-5$ //$NON-NLS-6$
+            events.forEach(sb::append);
+        }
+
+        sb.append(String.format("%nAll times in milliseconds, nodes and heap (in megabytes) are the maximum after a frame.%n")); //$NON-NLS-1$
+
+        return sb.toString();
+    }
+
+    private void appendLine(StringBuilder sb, String label, List<FrameTiming> frames) {
+        int maxNodes = 0;
+        long maxTotal = 0;
+        long maxHeap = 0;
+        for (FrameTiming frame : frames) {
+            maxNodes = Math.max(maxNodes, frame.getNodeCount());
+            maxTotal = Math.max(maxTotal, frame.getTotalNanos());
+            maxHeap = Math.max(maxHeap, frame.getUsedHeapBytes());
+        }
+
+        sb.append(String.format("%-48s %6d %10.2f %10.2f %10.2f %10.2f %10.2f %10.2f %8d %8d%n", //$NON-NLS-1$
+                label, frames.size(),
+                average(frames, FrameTiming::getTotalNanos),
+                maxTotal / 1_000_000d,
+                average(frames, FrameTiming::getActionNanos),
+                average(frames, FrameTiming::getCssNanos),
+                average(frames, FrameTiming::getLayoutNanos),
+                average(frames, FrameTiming::getRenderNanos),
+                maxNodes,
+                maxHeap / (1024 * 1024)));
+    }
+
+    private static double average(List<FrameTiming> frames, ToLongFunction<FrameTiming> value) {
+        if (frames.isEmpty()) {
+            return 0;
+        }
+
+        long sum = 0;
+        for (FrameTiming frame : frames) {
+            sum += value.applyAsLong(frame);
+        }
+
+        return sum / (double) frames.size() / 1_000_000d;
+    }
+
+    /**
+     * Writes the report to the given file.
+     *
+     * @param file the target file
+     * @throws IOException if the report could not be written
+     */
+    public void write(Path file) throws IOException {
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+
+        Files.write(file, format().getBytes(StandardCharsets.UTF_8));
+    }
+}
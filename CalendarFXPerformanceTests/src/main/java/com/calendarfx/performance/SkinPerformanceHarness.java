@@ -0,0 +1,288 @@
+/*
+ *  Copyright (C) 2017 Dirk Lemmermann Software & Consulting (dlsc.com)
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *          http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+
+package com.calendarfx.performance;
+
+import javafx.application.Platform;
+import javafx.event.Event;
+import javafx.geometry.Bounds;
+import javafx.scene.Node;
+import javafx.scene.Parent;
+import javafx.scene.Scene;
+import javafx.scene.input.MouseButton;
+import javafx.scene.input.MouseEvent;
+import javafx.scene.input.PickResult;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Drives a control inside an off-screen scene and measures each "frame". A
+ * frame consists of an action (e.g. navigating to the next week) followed by
+ * an explicit CSS pass, a layout pass, and a software render pass (snapshot).
+ * The number of nodes and the used heap get sampled after each frame.
+ * As the scene is not attached to a window the regular pulse never touches it,
+ * which makes the phases of each frame individually measurable and the
+ * results reproducible.
+ *
+ * @param <T> the type of the root node, normally a date control
+ */
+public final class SkinPerformanceHarness<T extends Parent> {
+
+    private final String name;
+
+    private final List<FrameTiming> frames = new ArrayList<>();
+
+    private T root;
+
+    private Scene scene;
+
+    /**
+     * Constructs a new harness. The root node gets created on the FX
+     * application thread. The first frame gets recorded right away, its
+     * action is the creation of the root node and the scene, its passes
+     * include the creation of the skins and the initial data load.
+     *
+     * @param name    the name of the scenario, used for the report
+     * @param factory the factory used to create the root node
+     * @param width   the width of the scene
+     * @param height  the height of the scene
+     */
+    public SkinPerformanceHarness(String name, Supplier<T> factory, double width, double height) {
+        this.name = requireNonNull(name);
+        requireNonNull(factory);
+
+        frame("initial", none -> {
+            root = factory.get();
+            scene = new Scene(root, width, height);
+        });
+    }
+
+    /**
+     * Returns the name of the scenario.
+     *
+     * @return the scenario name
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Returns the root node of the scene.
+     *
+     * @return the root node
+     */
+    public T getRoot() {
+        return root;
+    }
+
+    /**
+     * Returns all frames recorded so far.
+     *
+     * @return the recorded frames
+     */
+    public List<FrameTiming> getFrames() {
+        return Collections.unmodifiableList(frames);
+    }
+
+    /**
+     * Executes the given action on the FX application thread and measures the
+     * resulting frame.
+     *
+     * @param action the name of the action
+     * @param runnable the action to perform
+     * @return the timing of the frame
+     */
+    public FrameTiming frame(String action, Consumer<T> runnable) {
+        long[] actionNanos = new long[1];
+
+        runAndWait(() -> {
+            long start = System.nanoTime();
+            runnable.accept(root);
+            actionNanos[0] = System.nanoTime() - start;
+        });
+
+        // second hop: anything that the action posted via runLater() runs before
+        // the passes get measured
+        FrameTiming[] timing = new FrameTiming[1];
+        runAndWait(() -> {
+            long start = System.nanoTime();
+            root.applyCss();
+            long cssNanos = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            root.layout();
+            long layoutNanos = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            scene.snapshot(null);
+            long renderNanos = System.nanoTime() - start;
+
+            Runtime runtime = Runtime.getRuntime();
+            long usedHeapBytes = runtime.totalMemory() - runtime.freeMemory();
+
+            timing[0] = new FrameTiming(action, actionNanos[0], cssNanos, layoutNanos, renderNanos, countNodes(root), usedHeapBytes);
+        });
+
+        frames.add(timing[0]);
+
+        return timing[0];
+    }
+
+    /**
+     * Executes the given action several times, each time as a separate frame.
+     *
+     * @param count    the number of repetitions
+     * @param action   the name of the action
+     * @param runnable the action to perform
+     */
+    public void repeat(int count, String action, Consumer<T> runnable) {
+        for (int i = 0; i < count; i++) {
+            frame(action, runnable);
+        }
+    }
+
+    /**
+     * Simulates the user dragging the node returned by the lookup function
+     * vertically, one frame per mouse event.
+     *
+     * @param action the name of the action
+     * @param lookup the function used to find the node to drag
+     * @param deltaY the total vertical distance of the drag
+     * @param steps  the number of drag events between press and release
+     */
+    public void drag(String action, Function<T, Node> lookup, double deltaY, int steps) {
+        double[] location = new double[2];
+
+        frame(action + " (press)", it -> {
+            Node node = requireNonNull(lookup.apply(it), "no node found to drag"); //$NON-NLS-1$
+            Bounds bounds = node.localToScene(node.getLayoutBounds());
+            location[0] = bounds.getMinX() + bounds.getWidth() / 2;
+            location[1] = bounds.getMinY() + bounds.getHeight() / 2;
+            fireMouseEvent(node, MouseEvent.MOUSE_PRESSED, location[0], location[1]);
+        });
+
+        for (int i = 1; i <= steps; i++) {
+            double y = deltaY * i / steps;
+            frame(action + " (drag)", it -> fireMouseEvent(lookup.apply(it), MouseEvent.MOUSE_DRAGGED, location[0], location[1] + y));
+        }
+
+        frame(action + " (release)", it -> fireMouseEvent(lookup.apply(it), MouseEvent.MOUSE_RELEASED, location[0], location[1] + deltaY));
+    }
+
+    private void fireMouseEvent(Node target, javafx.event.EventType<MouseEvent> type, double sceneX, double sceneY) {
+        Node node = target != null ? target : root;
+        boolean primaryDown = !type.equals(MouseEvent.MOUSE_RELEASED);
+        MouseEvent evt = new MouseEvent(type, sceneX, sceneY, sceneX, sceneY, MouseButton.PRIMARY, 1,
+                false, false, false, false, primaryDown, false, false, false, false, false,
+                new PickResult(node, sceneX, sceneY));
+        Event.fireEvent(node, evt);
+    }
+
+    /**
+     * Checks the recorded frames (minus the warm up frames) against the given
+     * budget.
+     *
+     * @param budget the budget
+     * @return a list of human readable budget violations, empty if the
+     * scenario stayed within its budget
+     */
+    public List<String> findBudgetViolations(PerformanceBudget budget) {
+        List<String> violations = new ArrayList<>();
+
+        for (int i = budget.getWarmupFrames(); i < frames.size(); i++) {
+            FrameTiming frame = frames.get(i);
+            check(violations, frame, "frame", frame.getTotalNanos(), budget.getMaxFrameMillis()); //$NON-NLS-1$
+            check(violations, frame, "css", frame.getCssNanos(), budget.getMaxCssMillis()); //$NON-NLS-1$
+            check(violations, frame, "layout", frame.getLayoutNanos(), budget.getMaxLayoutMillis()); //$NON-NLS-1$
+            check(violations, frame, "render", frame.getRenderNanos(), budget.getMaxRenderMillis()); //$NON-NLS-1$
+            if (frame.getNodeCount() > budget.getMaxNodeCount()) {
+                violations.add(name + " / " + frame.getAction() + ": " + frame.getNodeCount() + " nodes > " + budget.getMaxNodeCount()); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+            }
+            long heapMegabytes = frame.getUsedHeapBytes() / (1024 * 1024);
+            if (heapMegabytes > budget.getMaxHeapMegabytes()) {
+                violations.add(name + " / " + frame.getAction() + ": " + heapMegabytes + "MB heap > " + budget.getMaxHeapMegabytes() + "MB"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
+            }
+        }
+
+        return violations;
+    }
+
+    private void check(List<String> violations, FrameTiming frame, String phase, long nanos, double maxMillis) {
+        double millis = nanos / 1_000_000d;
+        if (millis > maxMillis) {
+            violations.add(String.format("%s / %s: %s took %.2fms > %.2fms", name, frame.getAction(), phase, millis, maxMillis)); //$NON-NLS-1$
+        }
+    }
+
+    /**
+     * Counts the nodes of the scene graph starting at the given node.
+     *
+     * @param node the root of the (sub) graph
+     * @return the number of nodes including the given one
+     */
+    public static int countNodes(Node node) {
+        int count = 1;
+        if (node instanceof Parent) {
+            for (Node child : ((Parent) node).getChildrenUnmodifiable()) {
+                count += countNodes(child);
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Runs the given runnable on the FX application thread and waits for it to
+     * finish. Exceptions thrown by the runnable get rethrown on the calling
+     * thread.
+     *
+     * @param runnable the runnable to execute
+     */
+    public static void runAndWait(Runnable runnable) {
+        if (Platform.isFxApplicationThread()) {
+            runnable.run();
+            return;
+        }
+
+        FutureTask<Void> task = new FutureTask<>(runnable, null);
+        Platform.runLater(task);
+
+        try {
+            task.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new IllegalStateException(cause);
+        }
+    }
+}
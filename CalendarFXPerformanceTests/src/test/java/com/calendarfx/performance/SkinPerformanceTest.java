@@ -0,0 +1,343 @@
+/*
+ *  Copyright (C) 2017 Dirk Lemmermann Software & Consulting (dlsc.com)
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *          http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+
+package com.calendarfx.performance;
+
+import com.calendarfx.benchmarks.BenchmarkData;
+import com.calendarfx.benchmarks.HeadlessToolkit;
+import com.calendarfx.model.Calendar;
+import com.calendarfx.model.CalendarSource;
+import com.calendarfx.model.Entry;
+import com.calendarfx.model.Interval;
+import com.calendarfx.util.metrics.Counter;
+import com.calendarfx.util.metrics.Histogram;
+import com.calendarfx.util.metrics.Metrics;
+import com.calendarfx.view.CalendarView;
+import com.calendarfx.view.DateControl;
+import com.calendarfx.view.DayEntryView;
+import com.calendarfx.view.DetailedWeekView;
+import com.calendarfx.view.MonthSheetView;
+import com.calendarfx.view.MonthView;
+import com.calendarfx.view.print.PrintablePage;
+import com.calendarfx.view.print.ViewType;
+import javafx.scene.Node;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.nio.file.Paths;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Measures the skins of the most important date controls while navigating,
+ * scrolling, and dragging entries. The tests fail if any frame (after the warm
+ * up frames) exceeds the budget configured via system properties, see
+ * {@link PerformanceBudget}. A report gets written to the file specified by
+ * the "calendarfx.performance.report" system property.
+ */
+public class SkinPerformanceTest {
+
+    private static final String REPORT = "calendarfx.performance.report"; //$NON-NLS-1$
+
+    private static final LocalDate DATE = BenchmarkData.START_DATE.plusDays(100);
+
+    private static final int STEPS = 10;
+
+    private static final int SYNC_SIZE = 100;
+
+    private static final int DENSE_WEEK_SIZE = 1000;
+
+    private static final PerformanceReport report = new PerformanceReport();
+
+    private static final PerformanceBudget budget = PerformanceBudget.fromSystemProperties();
+
+    private static CalendarSource source;
+
+    @BeforeClass
+    public static void setUp() {
+        HeadlessToolkit.startup();
+        source = BenchmarkData.createCalendarSource(5, 5000, 50);
+    }
+
+    @AfterClass
+    public static void writeReport() throws Exception {
+        String file = System.getProperty(REPORT);
+        if (file != null) {
+            report.write(Paths.get(file));
+        } else {
+            System.out.println(report.format());
+        }
+    }
+
+    @Test
+    public void detailedWeekView() {
+        SkinPerformanceHarness<DetailedWeekView> harness = create("DetailedWeekView", DetailedWeekView::new); //$NON-NLS-1$
+
+        harness.repeat(STEPS, "next week", DateControl::goForward); //$NON-NLS-1$
+        harness.repeat(STEPS, "previous week", DateControl::goBack); //$NON-NLS-1$
+
+        for (int hour = 0; hour < 24; hour += 2) {
+            LocalTime time = LocalTime.of(hour, 0);
+            harness.frame("scroll", view -> view.setRequestedTime(time)); //$NON-NLS-1$
+        }
+
+        harness.frame("scroll", view -> view.setRequestedTime(LocalTime.of(8, 0))); //$NON-NLS-1$
+        harness.drag("drag entry", SkinPerformanceTest::findDayEntryView, 120, STEPS); //$NON-NLS-1$
+
+        verify(harness);
+    }
+
+    @Test
+    public void monthView() {
+        SkinPerformanceHarness<MonthView> harness = create("MonthView", MonthView::new); //$NON-NLS-1$
+
+        harness.repeat(STEPS, "next month", DateControl::goForward); //$NON-NLS-1$
+        harness.repeat(STEPS, "previous month", DateControl::goBack); //$NON-NLS-1$
+
+        verify(harness);
+    }
+
+    @Test
+    public void monthSheetView() {
+        SkinPerformanceHarness<MonthSheetView> harness = create("MonthSheetView", MonthSheetView::new); //$NON-NLS-1$
+
+        harness.repeat(STEPS, "next page", DateControl::goForward); //$NON-NLS-1$
+        harness.repeat(STEPS, "previous page", DateControl::goBack); //$NON-NLS-1$
+
+        verify(harness);
+    }
+
+    @Test
+    public void calendarView() {
+        SkinPerformanceHarness<CalendarView> harness = create("CalendarView", CalendarView::new); //$NON-NLS-1$
+
+        for (int i = 0; i < 3; i++) {
+            harness.frame("show day page", CalendarView::showDayPage); //$NON-NLS-1$
+            harness.frame("show week page", CalendarView::showWeekPage); //$NON-NLS-1$
+            harness.frame("show month page", CalendarView::showMonthPage); //$NON-NLS-1$
+            harness.frame("show year page", CalendarView::showYearPage); //$NON-NLS-1$
+        }
+
+        harness.frame("show day page", CalendarView::showDayPage); //$NON-NLS-1$
+        harness.repeat(STEPS, "next day", DateControl::goForward); //$NON-NLS-1$
+        harness.repeat(STEPS, "previous day", DateControl::goBack); //$NON-NLS-1$
+
+        harness.frame("show week page", CalendarView::showWeekPage); //$NON-NLS-1$
+        harness.repeat(STEPS, "next week", DateControl::goForward); //$NON-NLS-1$
+        harness.repeat(STEPS, "previous week", DateControl::goBack); //$NON-NLS-1$
+
+        harness.frame("show month page", CalendarView::showMonthPage); //$NON-NLS-1$
+        harness.repeat(STEPS, "next month", DateControl::goForward); //$NON-NLS-1$
+        harness.repeat(STEPS, "previous month", DateControl::goBack); //$NON-NLS-1$
+
+        harness.frame("show year page", CalendarView::showYearPage); //$NON-NLS-1$
+        harness.repeat(2, "next year", DateControl::goForward); //$NON-NLS-1$
+        harness.repeat(2, "previous year", DateControl::goBack); //$NON-NLS-1$
+
+        verify(harness);
+    }
+
+    /*
+     * The time it takes to show a calendar view: the first frame creates the
+     * control and the scene, its passes create the skins of all pages and load
+     * the data of the selected one. A frame without an action follows for
+     * comparison. Only the first scenario of a run includes class loading.
+     */
+    @Test
+    public void calendarViewFirstFrame() {
+        SkinPerformanceHarness<CalendarView> harness = create("CalendarView (first frame)", CalendarView::new); //$NON-NLS-1$
+        harness.frame("redraw", view -> { //$NON-NLS-1$
+        });
+
+        verify(harness);
+    }
+
+    /*
+     * Adds entries one by one, the way a synchronization with a server does
+     * it, while the week page is selected. The skins of the other pages are
+     * dormant and only refresh once when their page gets shown again. The
+     * report lists the time the visible views spent on the events next to the
+     * number of events skipped by the dormant ones.
+     */
+    @Test
+    public void calendarViewBulkSync() {
+        SkinPerformanceHarness<CalendarView> harness = create("CalendarView (bulk sync)", CalendarView::new); //$NON-NLS-1$
+        harness.frame("show week page", CalendarView::showWeekPage); //$NON-NLS-1$
+
+        Calendar calendar = source.getCalendars().get(0);
+        List<Entry<?>> synced = new ArrayList<>();
+
+        boolean metricsEnabled = Metrics.isEnabled();
+        Metrics.setEnabled(true);
+        try {
+            long handledEvents = countHandledEvents();
+            long handlingNanos = sumHandlingNanos();
+            long dormantEvents = countDormantEvents();
+
+            for (int i = 0; i < STEPS; i++) {
+                List<Entry<?>> entries = BenchmarkData.createEntries(SYNC_SIZE);
+                synced.addAll(entries);
+                harness.frame("bulk sync", view -> entries.forEach(calendar::addEntry)); //$NON-NLS-1$
+            }
+
+            report.addEvents(harness.getName(), countHandledEvents() - handledEvents,
+                    sumHandlingNanos() - handlingNanos, countDormantEvents() - dormantEvents);
+        } finally {
+            Metrics.setEnabled(metricsEnabled);
+        }
+
+        harness.frame("show year page", CalendarView::showYearPage); //$NON-NLS-1$
+        harness.frame("remove synced entries", view -> calendar.removeEntries(synced)); //$NON-NLS-1$
+
+        verify(harness);
+    }
+
+    /*
+     * Resizing only changes the widths of the columns that overlapping
+     * entries get placed in, so the day views have to reuse the placements
+     * found by the resolver in the previous layout pass.
+     */
+    @Test
+    public void detailedWeekViewResize() {
+        Random random = new Random(DENSE_WEEK_SIZE);
+        Calendar calendar = new Calendar("Dense Week"); //$NON-NLS-1$
+        for (int i = 0; i < DENSE_WEEK_SIZE; i++) {
+            LocalDate date = BenchmarkData.START_DATE.plusDays(i % 7);
+            LocalTime startTime = LocalTime.of(7 + random.nextInt(11), random.nextInt(4) * 15);
+            Entry<String> entry = new Entry<>("Entry " + i); //$NON-NLS-1$
+            entry.setInterval(new Interval(date, startTime, date, startTime.plusMinutes(15 + random.nextInt(8) * 15)));
+            calendar.addEntry(entry);
+        }
+
+        CalendarSource denseSource = new CalendarSource("Dense Week"); //$NON-NLS-1$
+        denseSource.getCalendars().add(calendar);
+
+        SkinPerformanceHarness<DetailedWeekView> harness = new SkinPerformanceHarness<>("DetailedWeekView (resize)", () -> { //$NON-NLS-1$
+            DetailedWeekView view = new DetailedWeekView();
+            view.getCalendarSources().setAll(denseSource);
+            view.setDate(BenchmarkData.START_DATE);
+            view.setToday(BenchmarkData.START_DATE);
+            return view;
+        }, 1400, 900);
+
+        boolean metricsEnabled = Metrics.isEnabled();
+        Metrics.setEnabled(true);
+        try {
+            harness.frame("layout", view -> view.requestLayout()); //$NON-NLS-1$
+            long resolves = countResolves();
+
+            for (int i = 1; i <= STEPS; i++) {
+                double width = 1400 - i * 40;
+                harness.frame("resize", view -> view.resize(width, 900)); //$NON-NLS-1$
+            }
+
+            assertEquals(resolves, countResolves());
+        } finally {
+            Metrics.setEnabled(metricsEnabled);
+        }
+
+        verify(harness);
+    }
+
+    /*
+     * Steps through a year of week pages the way printing does it: one page
+     * node gets reused for all pages. The memory used for printing must not
+     * grow with the number of pages, the report shows the peak heap and the
+     * heap budget applies to every page.
+     */
+    @Test
+    public void printYearOfWeekPages() {
+        SkinPerformanceHarness<PrintablePage> harness = create("PrintablePage (week pages)", () -> { //$NON-NLS-1$
+            PrintablePage page = new PrintablePage();
+            page.setViewType(ViewType.WEEK_VIEW);
+            page.setPrintStartDate(DATE);
+            page.setPrintEndDate(DATE.plusYears(1).minusDays(1));
+            return page;
+        });
+
+        harness.frame("first page", page -> page.showPage(1)); //$NON-NLS-1$
+        while (harness.getRoot().getPageNumber() < harness.getRoot().getTotalPages()) {
+            harness.frame("next page", PrintablePage::next); //$NON-NLS-1$
+        }
+
+        verify(harness);
+    }
+
+    private static long countResolves() {
+        return Metrics.getMetrics().stream()
+                .filter(metric -> metric.getName().equals(Metrics.RESOLVE))
+                .mapToLong(metric -> ((Histogram) metric).getCount())
+                .sum();
+    }
+
+    private static long countHandledEvents() {
+        return handledEvents().mapToLong(Histogram::getCount).sum();
+    }
+
+    private static long sumHandlingNanos() {
+        return handledEvents().mapToLong(Histogram::getSum).sum();
+    }
+
+    private static Stream<Histogram> handledEvents() {
+        return Metrics.getMetrics().stream()
+                .filter(metric -> metric.getName().equals(Metrics.HANDLED_EVENTS))
+                .map(Histogram.class::cast);
+    }
+
+    private static long countDormantEvents() {
+        return Metrics.getMetrics().stream()
+                .filter(metric -> metric.getName().equals(Metrics.DORMANT_EVENTS))
+                .mapToLong(metric -> ((Counter) metric).getCount())
+                .sum();
+    }
+
+    private static <T extends DateControl> SkinPerformanceHarness<T> create(String name, Supplier<T> factory) {
+        return new SkinPerformanceHarness<>(name, () -> {
+            T control = factory.get();
+            control.getCalendarSources().setAll(source);
+            control.setDate(DATE);
+            control.setToday(DATE);
+            return control;
+        }, 1400, 900);
+    }
+
+    private static Node findDayEntryView(Node root) {
+        for (Node node : root.lookupAll("*")) { //$NON-NLS-1$
+            if (node instanceof DayEntryView && node.isVisible()) {
+                return node;
+            }
+        }
+
+        return null;
+    }
+
+    private static void verify(SkinPerformanceHarness<?> harness) {
+        report.add(harness);
+
+        List<String> violations = harness.findBudgetViolations(budget);
+        assertTrue("budget " + budget + " exceeded:\n" + String.join("\n", violations), violations.isEmpty()); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+    }
+}
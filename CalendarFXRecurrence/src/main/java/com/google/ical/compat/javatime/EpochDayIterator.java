@@ -0,0 +1,35 @@
+/**
+ * Copyright (C) 2015, 2016 Dirk Lemmermann Software & Consulting (dlsc.com)
+ * <p>
+ * This file is part of CalendarFX.
+ */
+
+package com.google.ical.compat.javatime;
+
+import java.time.LocalDate;
+
+/**
+ * an iterator over dates in order, represented as epoch days as defined by
+ * {@link LocalDate#toEpochDay()}.
+ * <p>
+ * Unlike a {@link LocalDateIterator} it does not create an object per date,
+ * which makes it the better choice for callers that look at many occurrences
+ * but only keep a few of them.
+ */
+public interface EpochDayIterator {
+
+    /** true iff there are more dates in the series. */
+    boolean hasNext();
+
+    /**
+     * returns the epoch day of the next date in the series.
+     * If <code>!hasNext()</code>, then behavior is undefined.
+     */
+    long nextEpochDay();
+
+    /**
+     * skips all dates in the series before the given epoch day.
+     */
+    void advanceToEpochDay(long epochDay);
+
+}
@@ -0,0 +1,35 @@
+/**
+ * Copyright (C) 2015, 2016 Dirk Lemmermann Software & Consulting (dlsc.com)
+ * <p>
+ * This file is part of CalendarFX.
+ */
+
+package com.google.ical.compat.javatime;
+
+import java.text.ParseException;
+import java.time.LocalDate;
+
+/**
+ * receives the occurrences of a batch of recurrence rules expanded by
+ * {@link LocalDateIteratorFactory#expandAll}, as pairs of the index of the
+ * rule in the batch and an epoch day as defined by
+ * {@link LocalDate#toEpochDay()}.
+ */
+public interface EpochDaySink {
+
+    /**
+     * called for each occurrence of a rule, in order of their dates for any
+     * one rule.
+     * @param rule the index of the rule in the batch.
+     * @param epochDay the date of the occurrence.
+     */
+    void accept(int rule, long epochDay);
+
+    /**
+     * called instead of {@link #accept} for a rule that could not be parsed.
+     * @param rule the index of the rule in the batch.
+     * @param ex the reason.
+     */
+    void failed(int rule, ParseException ex);
+
+}
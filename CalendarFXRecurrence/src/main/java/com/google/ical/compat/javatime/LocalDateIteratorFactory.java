@@ -20,15 +20,24 @@
 
 package com.google.ical.compat.javatime;
 
+import com.google.ical.iter.PackedRecurrenceIterator;
 import com.google.ical.iter.RecurrenceIterable;
 import com.google.ical.iter.RecurrenceIterator;
 import com.google.ical.iter.RecurrenceIteratorFactory;
+import com.google.ical.util.PackedDates;
+import com.google.ical.util.TimeUtils;
 import com.google.ical.values.DateValue;
 import com.google.ical.values.DateValueImpl;
+import com.google.ical.values.IcalObject;
+import com.google.ical.values.RRule;
 
 import java.text.ParseException;
 import java.time.LocalDate;
 import java.time.ZoneId;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TimeZone;
 
 /**
  * a factory for converting RRULEs and RDATEs into
@@ -125,6 +134,200 @@ public class LocalDateIteratorFactory {
         return createLocalDateIterable(rdata, start, ZoneId.of("UTC"), strict);
     }
 
+    /**
+     * like {@link #createLocalDateIterator(String, LocalDate, ZoneId, boolean)}
+     * but for a rule that has already been parsed, so that creating the
+     * iterator does not involve any parsing. The rule must not be modified
+     * while the iterator is in use.
+     *
+     * @param rrule
+     *            the recurrence rule to iterate.
+     * @param start
+     *            the first occurrence of the series.
+     * @param zoneId
+     *            the local timezone.
+     */
+    public static LocalDateIterator createLocalDateIterator(RRule rrule,
+                                                            LocalDate start, ZoneId zoneId) {
+        return createLocalDateIterable(new IcalObject[]{rrule}, start, zoneId,
+                true).iterator();
+    }
+
+    /**
+     * like {@link #createLocalDateIterable(String, LocalDate, ZoneId, boolean)}
+     * but for content lines that have already been parsed.
+     *
+     * @param contentLines
+     *            RRULE, EXRULE, RDATE, and EXDATE content lines.
+     * @param start
+     *            the first occurrence of the series.
+     * @param zoneId
+     *            the local timezone.
+     * @param strict
+     *            true if a rule with an unsupported frequency should result in
+     *            an IllegalArgumentException. false causes bad rules to be
+     *            logged and ignored.
+     */
+    public static LocalDateIterable createLocalDateIterable(
+            IcalObject[] contentLines, LocalDate start, ZoneId zoneId,
+            boolean strict) {
+        return new RecurrenceIterableWrapper(RecurrenceIteratorFactory
+                .createRecurrenceIterable(contentLines,
+                        localDateToDateValue(start),
+                        TimeZoneConverter.toTimeZone(zoneId), strict));
+    }
+
+    /**
+     * like {@link #createLocalDateIterator(String, LocalDate, ZoneId, boolean)}
+     * but returns the dates as epoch days.
+     *
+     * @param rdata
+     *            RRULE, EXRULE, RDATE, and EXDATE lines.
+     * @param start
+     *            the first occurrence of the series.
+     * @param zoneId
+     *            the local timezone -- used to interpret any dates in RDATE and
+     *            EXDATE lines that don't have TZID params.
+     * @param strict
+     *            true if any failure to parse should result in a
+     *            ParseException. false causes bad content lines to be logged
+     *            and ignored.
+     */
+    public static EpochDayIterator createEpochDayIterator(String rdata,
+                                                          LocalDate start, ZoneId zoneId, boolean strict)
+            throws ParseException {
+        return new EpochDayIteratorWrapper(RecurrenceIteratorFactory
+                .createRecurrenceIterator(rdata, localDateToDateValue(start),
+                        TimeZoneConverter.toTimeZone(zoneId), strict));
+    }
+
+    /**
+     * creates an epoch day iterator given a recurrence iterator from
+     * {@link com.google.ical.iter.RecurrenceIteratorFactory}.
+     */
+    public static EpochDayIterator createEpochDayIterator(
+            RecurrenceIterator rit) {
+        return new EpochDayIteratorWrapper(rit);
+    }
+
+    /**
+     * expands a batch of recurrence rules into a window of dates in one call
+     * and passes each occurrence to the sink, as the index of its rule in the
+     * batch and its epoch day.
+     * <p>
+     * The rules share the timezone, and so its offset tables, as well as the
+     * parsed content lines and the precomputed days of the year of rules with
+     * the same text. Rules with the same text and start are expanded only
+     * once.
+     *
+     * @param rdata
+     *            RRULE, EXRULE, RDATE, and EXDATE lines, one element per rule.
+     * @param starts
+     *            the first occurrence of each rule's series.
+     * @param fromDays
+     *            the first epoch day of the window of each rule. Occurrences
+     *            before it are skipped.
+     * @param toDay
+     *            the last epoch day of the window of all rules.
+     * @param zoneId
+     *            the local timezone -- used to interpret any dates in RDATE and
+     *            EXDATE lines that don't have TZID params.
+     * @param strict
+     *            true if any failure to parse a rule should be passed to
+     *            {@link EpochDaySink#failed}. false causes bad content lines to
+     *            be logged and ignored.
+     * @param sink
+     *            receives the occurrences, in order of their dates for any one
+     *            rule.
+     */
+    public static void expandAll(String[] rdata, LocalDate[] starts,
+                                 long[] fromDays, long toDay, ZoneId zoneId,
+                                 boolean strict, EpochDaySink sink) {
+        if (rdata.length != starts.length || rdata.length != fromDays.length) {
+            throw new IllegalArgumentException("rules, starts, and windows differ in length");
+        }
+
+        Map<Series, Series> batch = new LinkedHashMap<Series, Series>();
+        for (int i = 0; i < rdata.length; ++i) {
+            Series key = new Series(rdata[i], starts[i]);
+            Series series = batch.get(key);
+            if (series == null) {
+                batch.put(key, key);
+                series = key;
+            }
+            series.add(i, fromDays[i]);
+        }
+
+        TimeZone tz = TimeZoneConverter.toTimeZone(zoneId);
+        for (Series series : batch.values()) {
+            EpochDayIterator iterator;
+            try {
+                iterator = new EpochDayIteratorWrapper(RecurrenceIteratorFactory
+                        .createRecurrenceIterator(series.rdata,
+                                localDateToDateValue(series.start), tz, strict));
+            } catch (ParseException ex) {
+                for (int i = 0; i < series.size; ++i) {
+                    sink.failed(series.rules[i], ex);
+                }
+                continue;
+            }
+
+            iterator.advanceToEpochDay(series.fromDay);
+            while (iterator.hasNext()) {
+                long day = iterator.nextEpochDay();
+                if (day > toDay) {
+                    break;
+                }
+                for (int i = 0; i < series.size; ++i) {
+                    int rule = series.rules[i];
+                    if (day >= fromDays[rule]) {
+                        sink.accept(rule, day);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * the rules of a batch with the same text and start, which have the same
+     * occurrences.
+     */
+    private static final class Series {
+        final String rdata;
+        final LocalDate start;
+        int[] rules = new int[1];
+        int size;
+        /** the earliest first day of the windows of the rules. */
+        long fromDay = Long.MAX_VALUE;
+
+        Series(String rdata, LocalDate start) {
+            this.rdata = rdata;
+            this.start = start;
+        }
+
+        void add(int rule, long fromDay) {
+            if (size == rules.length) {
+                rules = Arrays.copyOf(rules, size * 2);
+            }
+            rules[size++] = rule;
+            this.fromDay = Math.min(this.fromDay, fromDay);
+        }
+
+        @Override
+        public int hashCode() {
+            return rdata.hashCode() * 31 + start.hashCode();
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Series)) {
+                return false;
+            }
+            Series that = (Series) o;
+            return rdata.equals(that.rdata) && start.equals(that.start);
+        }
+    }
+
     /**
      * creates a local date iterator given a recurrence iterator from
      * {@link com.google.ical.iter.RecurrenceIteratorFactory}.
@@ -151,9 +354,13 @@ public class LocalDateIteratorFactory {
     private static final class RecurrenceIteratorWrapper
             implements LocalDateIterator {
         private final RecurrenceIterator it;
+        /** it if it can yield packed dates, else null. */
+        private final PackedRecurrenceIterator packedIt;
 
         RecurrenceIteratorWrapper(RecurrenceIterator it) {
             this.it = it;
+            this.packedIt = it instanceof PackedRecurrenceIterator
+                    ? (PackedRecurrenceIterator) it : null;
         }
 
         @Override
@@ -163,6 +370,12 @@ public class LocalDateIteratorFactory {
 
         @Override
         public LocalDate next() {
+            if (packedIt != null) {
+                // skip the intermediate date value
+                long packed = packedIt.nextPacked();
+                return LocalDate.of(PackedDates.year(packed),
+                        PackedDates.month(packed), PackedDates.day(packed));
+            }
             return dateValueToLocalDate(it.next());
         }
 
@@ -180,6 +393,53 @@ public class LocalDateIteratorFactory {
         }
     }
 
+    private static final class EpochDayIteratorWrapper
+            implements EpochDayIterator {
+        private final RecurrenceIterator it;
+        /** it if it can yield packed dates, else null. */
+        private final PackedRecurrenceIterator packedIt;
+
+        EpochDayIteratorWrapper(RecurrenceIterator it) {
+            this.it = it;
+            this.packedIt = it instanceof PackedRecurrenceIterator
+                    ? (PackedRecurrenceIterator) it : null;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return it.hasNext();
+        }
+
+        @Override
+        public long nextEpochDay() {
+            if (packedIt != null) {
+                long packed = packedIt.nextPacked();
+                return toEpochDay(PackedDates.year(packed),
+                        PackedDates.month(packed), PackedDates.day(packed));
+            }
+            DateValue dv = it.next();
+            return toEpochDay(dv.year(), dv.month(), dv.day());
+        }
+
+        @Override
+        public void advanceToEpochDay(long epochDay) {
+            LocalDate date = LocalDate.ofEpochDay(epochDay);
+            if (packedIt != null) {
+                packedIt.advanceToPacked(PackedDates.packDate(date.getYear(),
+                        date.getMonthValue(), date.getDayOfMonth()));
+            } else {
+                it.advanceTo(localDateToDateValue(date));
+            }
+        }
+    }
+
+    /** the fixed day, see {@link TimeUtils#fixedFromGregorian}, of 1970-01-01. */
+    private static final int FIXED_EPOCH = TimeUtils.fixedFromGregorian(1970, 1, 1);
+
+    static long toEpochDay(int year, int month, int day) {
+        return TimeUtils.fixedFromGregorian(year, month, day) - FIXED_EPOCH;
+    }
+
     static LocalDate dateValueToLocalDate(DateValue dvUtc) {
         return LocalDate.of(dvUtc.year(), dvUtc.month(), dvUtc.day());
     }
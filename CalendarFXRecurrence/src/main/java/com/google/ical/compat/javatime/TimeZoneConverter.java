@@ -20,13 +20,21 @@
 
 package com.google.ical.compat.javatime;
 
+import com.google.ical.util.ZoneRulesTimeZone;
+
 import java.time.ZoneId;
 import java.util.TimeZone;
 
 final class TimeZoneConverter {
 
+    /**
+     * returns a time zone backed by the zone's {@link
+     * java.time.zone.ZoneRules}, which lets the recurrence iterators convert
+     * between local and UTC times without going through a
+     * {@link java.util.GregorianCalendar}.
+     */
     public static TimeZone toTimeZone(final ZoneId id) {
-        return TimeZone.getTimeZone(id);
+        return ZoneRulesTimeZone.of(id);
     }
 
     private TimeZoneConverter() {
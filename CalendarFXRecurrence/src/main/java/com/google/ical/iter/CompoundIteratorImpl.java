@@ -20,6 +20,7 @@
 
 package com.google.ical.iter;
 
+import com.google.ical.util.PackedDates;
 import com.google.ical.values.DateValue;
 
 import java.util.Collection;
@@ -33,7 +34,7 @@ import java.util.PriorityQueue;
  *
  * @author mikesamuel+svn@gmail.com (Mike Samuel)
  */
-final class CompoundIteratorImpl implements RecurrenceIterator {
+final class CompoundIteratorImpl implements PackedRecurrenceIterator {
 
     /** a queue that keeps the earliest dates at the head */
     private PriorityQueue<HeapElement> queue;
@@ -90,17 +91,31 @@ final class CompoundIteratorImpl implements RecurrenceIterator {
         return head;
     }
 
+    public long nextPacked() {
+        requirePending();
+        if (null == pending) {
+            throw new NoSuchElementException();
+        }
+        long head = pending.comparable();
+        reattach(pending);
+        pending = null;
+        return head;
+    }
+
     public void remove() {
         throw new UnsupportedOperationException();
     }
 
     public void advanceTo(DateValue newStart) {
-        long newStartCmp = DateValueComparison.comparable(newStart);
+        advanceToPacked(DateValueComparison.comparable(newStart));
+    }
+
+    public void advanceToPacked(long newStartCmp) {
         if (null != pending) {
             if (pending.comparable() >= newStartCmp) {
                 return;
             }
-            pending.advanceTo(newStart);
+            pending.advanceTo(newStartCmp);
             reattach(pending);
             pending = null;
         }
@@ -110,7 +125,7 @@ final class CompoundIteratorImpl implements RecurrenceIterator {
         while (0 != nInclusionsRemaining && !queue.isEmpty()
                 && queue.peek().comparable() < newStartCmp) {
             HeapElement el = queue.poll();
-            el.advanceTo(newStart);
+            el.advanceTo(newStartCmp);
             reattach(el);
         }
     }
@@ -197,17 +212,28 @@ final class HeapElement {
     final boolean inclusion;
     /** the {@link DateValueComparison#comparable} for {@link #head}. */
     private long comparable;
-    /** the last value removed from it.  In utc. */
+    /**
+     * the last value removed from it.  In utc.  Null until requested if the
+     * iterator yields packed dates.
+     */
     private DateValue head;
     private RecurrenceIterator it;
+    /** it if it can yield packed dates, else null. */
+    private PackedRecurrenceIterator packedIt;
 
     HeapElement(boolean inclusion, RecurrenceIterator it) {
         this.inclusion = inclusion;
         this.it = it;
+        if (it instanceof PackedRecurrenceIterator) {
+            this.packedIt = (PackedRecurrenceIterator) it;
+        }
     }
 
     /** the last value removed from the iterator. */
     DateValue head() {
+        if (null == head) {
+            head = PackedDates.toDateValue(comparable);
+        }
         return head;
     }
 
@@ -227,23 +253,32 @@ final class HeapElement {
         if (!it.hasNext()) {
             return false;
         }
-        head = it.next();
-        comparable = DateValueComparison.comparable(head);
+        if (null != packedIt) {
+            head = null;
+            comparable = packedIt.nextPacked();
+        } else {
+            head = it.next();
+            comparable = DateValueComparison.comparable(head);
+        }
         return true;
     }
 
     /**
-     * advance the underlying iterator to the given date value a la
+     * advance the underlying iterator to the given packed date a la
      * {@link RecurrenceIterator#advanceTo}.
      */
-    void advanceTo(DateValue dvUtc) {
-        it.advanceTo(dvUtc);
+    void advanceTo(long dvUtc) {
+        if (null != packedIt) {
+            packedIt.advanceToPacked(dvUtc);
+        } else {
+            it.advanceTo(PackedDates.toDateValue(dvUtc));
+        }
     }
 
     @Override
     public String toString() {
         return
-                "[" + head.toString() + (inclusion ? ", inclusion]" : ", exclusion]");
+                "[" + head().toString() + (inclusion ? ", inclusion]" : ", exclusion]");
     }
 
     /** compares to heap elements by comparing their heads. */
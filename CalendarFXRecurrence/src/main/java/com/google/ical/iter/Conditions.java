@@ -20,7 +20,9 @@
 
 package com.google.ical.iter;
 
+import com.google.ical.util.PackedDates;
 import com.google.ical.util.Predicate;
+import com.google.ical.util.Predicates;
 import com.google.ical.values.DateValue;
 
 /**
@@ -30,12 +32,72 @@ import com.google.ical.values.DateValue;
  */
 final class Conditions {
 
+    /**
+     * a condition that can be applied to {@link PackedDates packed} dates as
+     * well as date values.
+     */
+    abstract static class Condition implements Predicate<DateValue> {
+
+        abstract boolean applyPacked(long dateUtc);
+
+        public boolean apply(DateValue value) {
+            return applyPacked(DateValueComparison.comparable(value));
+        }
+    }
+
+    private static final Condition ALWAYS_TRUE = new Condition() {
+        @Override
+        boolean applyPacked(long dateUtc) {
+            return true;
+        }
+
+        @Override
+        public String toString() {
+            return "AlwaysTrue";
+        }
+    };
+
+    /** constructs a condition that never ends a recurrence. */
+    static Condition alwaysTrue() {
+        return ALWAYS_TRUE;
+    }
+
+    /**
+     * returns the given condition as a condition that can be applied to packed
+     * dates, wrapping it if necessary.
+     */
+    static Condition packed(final Predicate<? super DateValue> condition) {
+        if (condition instanceof Condition) {
+            return (Condition) condition;
+        }
+        if (condition == Predicates.alwaysTrue()) {
+            return ALWAYS_TRUE;
+        }
+        return new Condition() {
+            @Override
+            boolean applyPacked(long dateUtc) {
+                return condition.apply(PackedDates.toDateValue(dateUtc));
+            }
+
+            @Override
+            public boolean apply(DateValue value) {
+                return condition.apply(value);
+            }
+
+            @Override
+            public String toString() {
+                return condition.toString();
+            }
+        };
+    }
+
     /** constructs a condition that fails after passing count dates. */
-    static Predicate<DateValue> countCondition(final int count) {
-        return new Predicate<DateValue>() {
+    static Condition countCondition(final int count) {
+        return new Condition() {
             int count_ = count;
 
-            public boolean apply(DateValue value) {
+            @Override
+            boolean applyPacked(long dateUtc) {
                 return --count_ >= 0;
             }
 
@@ -50,10 +112,12 @@ final class Conditions {
      * constructs a condition that passes for every date on or before until.
      * @param until non null.
      */
-    static Predicate<DateValue> untilCondition(final DateValue until) {
-        return new Predicate<DateValue>() {
-            public boolean apply(DateValue date) {
-                return date.compareTo(until) <= 0;
+    static Condition untilCondition(final DateValue until) {
+        final long untilPacked = DateValueComparison.comparable(until);
+        return new Condition() {
+            @Override
+            boolean applyPacked(long dateUtc) {
+                return dateUtc <= untilPacked;
             }
 
             @Override
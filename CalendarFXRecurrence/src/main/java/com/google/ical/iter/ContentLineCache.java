@@ -0,0 +1,115 @@
+/**
+ * Copyright (C) 2015, 2016 Dirk Lemmermann Software & Consulting (dlsc.com)
+ * <p>
+ * This file is part of CalendarFX.
+ */
+
+package com.google.ical.iter;
+
+import com.google.ical.values.IcalObject;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TimeZone;
+
+/**
+ * a bounded, thread safe LRU cache of parsed RRULE, EXRULE, RDATE, and EXDATE
+ * content lines keyed by the text they were parsed from.
+ * <p>
+ * Applications tend to reuse a handful of rule strings for thousands of
+ * entries, so remembering the result of
+ * {@code RecurrenceIteratorFactory.parseContentLines()}
+ * saves the regular expression work and the schema driven parsing on every
+ * expansion. The cached objects are never handed out of this package. They
+ * are only read by the iterators built from them and must therefore never be
+ * mutated.
+ */
+final class ContentLineCache {
+
+    /** the default number of distinct rule texts retained. */
+    static final int DEFAULT_CAPACITY = 512;
+
+    private final Map<Key, IcalObject[]> cache;
+
+    ContentLineCache(final int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity must be positive: " + capacity);
+        }
+        this.cache = new LinkedHashMap<Key, IcalObject[]>(16, .75f, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, IcalObject[]> eldest) {
+                return size() > capacity;
+            }
+        };
+    }
+
+    /**
+     * returns the content lines previously stored for the given parameters or
+     * null if there are none.
+     */
+    IcalObject[] get(String rdata, TimeZone tzid, boolean strict) {
+        Key key = new Key(rdata, tzid, strict);
+        synchronized (cache) {
+            return cache.get(key);
+        }
+    }
+
+    void put(String rdata, TimeZone tzid, boolean strict, IcalObject[] contentLines) {
+        Key key = new Key(rdata, tzid, strict);
+        synchronized (cache) {
+            cache.put(key, contentLines);
+        }
+    }
+
+    int size() {
+        synchronized (cache) {
+            return cache.size();
+        }
+    }
+
+    void clear() {
+        synchronized (cache) {
+            cache.clear();
+        }
+    }
+
+    /**
+     * the timezone only matters for RDATE and EXDATE lines without a TZID
+     * parameter, but since we do not know what the text contains before parsing
+     * it we always make it part of the key.
+     */
+    private static final class Key {
+
+        private final String rdata;
+        private final String tzid;
+        private final boolean strict;
+        private final int hash;
+
+        Key(String rdata, TimeZone tzid, boolean strict) {
+            this.rdata = rdata;
+            this.tzid = tzid.getID();
+            this.strict = strict;
+            this.hash = (rdata.hashCode() * 31 + this.tzid.hashCode()) * 31
+                    + (strict ? 1 : 0);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key that = (Key) o;
+            return this.hash == that.hash
+                    && this.strict == that.strict
+                    && this.rdata.equals(that.rdata)
+                    && this.tzid.equals(that.tzid);
+        }
+    }
+}
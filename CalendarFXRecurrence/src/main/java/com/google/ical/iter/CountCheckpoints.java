@@ -0,0 +1,183 @@
+/**
+ * Copyright (C) 2015, 2016 Dirk Lemmermann Software & Consulting (dlsc.com)
+ * <p>
+ * This file is part of CalendarFX.
+ */
+
+package com.google.ical.iter;
+
+import com.google.ical.values.DateValue;
+import com.google.ical.values.RRule;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TimeZone;
+import java.util.WeakHashMap;
+
+/**
+ * a sparse, thread safe table of the positions of a COUNT limited series.
+ * <p>
+ * Each entry holds the index of an occurrence, counting from the first one on
+ * or after dtStart, and its packed UTC date. Entries are at least
+ * {@link #SPACING} occurrences apart and are only added at the end of the
+ * table, filled in by the iterators as they walk the series. An iterator that
+ * is advanced deep into the series can look up the last entry before the
+ * target date in logarithmic time and resume counting from there instead of
+ * generating every occurrence since dtStart.
+ * <p>
+ * A series may yield the same date more than once, for example an HOURLY rule
+ * with a date valued dtStart, so an entry must be for the first occurrence of
+ * its date. Resuming then means skipping the instances before that date.
+ * <p>
+ * Tables are shared by all iterators of the same rule, dtStart, and timezone
+ * through a {@link Cache}.
+ */
+final class CountCheckpoints {
+
+    /** the minimum number of occurrences between two checkpoints. */
+    static final int SPACING = 32;
+
+    private long[] indices_ = new long[16];
+    private long[] dates_ = new long[16];
+    private int size_;
+
+    /**
+     * records the index and date of an occurrence if it is past the last
+     * checkpoint by at least {@link #SPACING} occurrences.
+     * @param dateUtc a date that is later than the one of the occurrence
+     *   before the given one.
+     */
+    synchronized void record(long index, long dateUtc) {
+        int n = this.size_;
+        if (n > 0 && (index < this.indices_[n - 1] + SPACING
+                || dateUtc <= this.dates_[n - 1])) {
+            return;
+        }
+        if (n == this.dates_.length) {
+            this.indices_ = Arrays.copyOf(this.indices_, n * 2);
+            this.dates_ = Arrays.copyOf(this.dates_, n * 2);
+        }
+        this.indices_[n] = index;
+        this.dates_[n] = dateUtc;
+        this.size_ = n + 1;
+    }
+
+    /**
+     * the last checkpoint whose date is on or before the given date, or -1 if
+     * there is none.
+     */
+    synchronized int floor(long dateUtc) {
+        int low = 0, high = this.size_ - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            if (this.dates_[mid] <= dateUtc) {
+                low = mid + 1;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return high;
+    }
+
+    /** the occurrence index of the given checkpoint. */
+    synchronized long index(int checkpoint) {
+        return this.indices_[checkpoint];
+    }
+
+    /** the packed UTC date of the given checkpoint. */
+    synchronized long date(int checkpoint) {
+        return this.dates_[checkpoint];
+    }
+
+    synchronized int size() {
+        return this.size_;
+    }
+
+    /**
+     * the checkpoint tables of the series of rules, keyed by the identity of
+     * the rule and by dtStart and timezone.
+     * <p>
+     * Rules are compared by identity, which is cheap, so only rules that
+     * can't be modified may be used as keys. These are the rules owned by the
+     * content line cache, which never hands them out. Rules passed in by
+     * callers never share checkpoints. A table goes away together with its
+     * rule, and each rule retains the tables of at most
+     * {@link #SERIES_PER_RULE} series.
+     */
+    static final class Cache {
+
+        /** the number of series per rule whose tables are retained. */
+        static final int SERIES_PER_RULE = 64;
+
+        private final Map<RRule, Map<Key, CountCheckpoints>> cache =
+                new WeakHashMap<RRule, Map<Key, CountCheckpoints>>();
+
+        /**
+         * returns the table for the given series, creating an empty one if
+         * there is none.
+         */
+        CountCheckpoints get(RRule rrule, DateValue dtStart, TimeZone tzid) {
+            Key key = new Key(dtStart, tzid);
+            synchronized (cache) {
+                Map<Key, CountCheckpoints> series = cache.get(rrule);
+                if (null == series) {
+                    series = new LinkedHashMap<Key, CountCheckpoints>(16, .75f, true) {
+                        private static final long serialVersionUID = 1L;
+
+                        @Override
+                        protected boolean removeEldestEntry(
+                                Map.Entry<Key, CountCheckpoints> eldest) {
+                            return size() > SERIES_PER_RULE;
+                        }
+                    };
+                    cache.put(rrule, series);
+                }
+                CountCheckpoints checkpoints = series.get(key);
+                if (null == checkpoints) {
+                    checkpoints = new CountCheckpoints();
+                    series.put(key, checkpoints);
+                }
+                return checkpoints;
+            }
+        }
+
+        void clear() {
+            synchronized (cache) {
+                cache.clear();
+            }
+        }
+    }
+
+    private static final class Key {
+
+        /** the packed dtStart, which tells dates and date times apart. */
+        private final long dtStart;
+        private final String tzid;
+        /** tells zones apart whose raw offset got changed. */
+        private final int rawOffset;
+
+        Key(DateValue dtStart, TimeZone tzid) {
+            this.dtStart = DateValueComparison.comparable(dtStart);
+            this.tzid = tzid.getID();
+            this.rawOffset = tzid.getRawOffset();
+        }
+
+        @Override
+        public int hashCode() {
+            return (Long.hashCode(dtStart) * 31 + tzid.hashCode()) * 31
+                    + rawOffset;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key that = (Key) o;
+            return this.dtStart == that.dtStart
+                    && this.tzid.equals(that.tzid)
+                    && this.rawOffset == that.rawOffset;
+        }
+    }
+}
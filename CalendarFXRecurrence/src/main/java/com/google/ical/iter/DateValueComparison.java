@@ -20,8 +20,8 @@
 
 package com.google.ical.iter;
 
+import com.google.ical.util.PackedDates;
 import com.google.ical.values.DateValue;
-import com.google.ical.values.TimeValue;
 
 /**
  * DateValue comparison methods.
@@ -67,22 +67,14 @@ final class DateValueComparison {
     /**
      * reduces a date to a value that can be easily compared to others, consistent
      * with {@link com.google.ical.values.DateValueImpl#compareTo}.
+     * <p>The value is the {@link PackedDates packed} form of the date, in which
+     * timed values have 1 added to their second field to make sure that timed
+     * events are distinct from all-day events, in keeping with
+     * DateValue.compareTo.  It would be odd if an all day exclusion matched a
+     * midnight event on the same day, but not one at another time of day.
      */
     static long comparable(DateValue dv) {
-        long comp = (((((long) dv.year()) << 4) + dv.month()) << 5) + dv.day();
-        if (dv instanceof TimeValue) {
-            TimeValue tv = (TimeValue) dv;
-            // We add 1 to comparable for timed values to make sure that timed
-            // events are distinct from all-day events, in keeping with
-            // DateValue.compareTo.
-
-            // It would be odd if an all day exclusion matched a midnight event on
-            // the same day, but not one at another time of day.
-            return (((((comp << 5) + tv.hour()) << 6) + tv.minute()) << 6)
-                    + tv.second() + 1;
-        } else {
-            return comp << 17;
-        }
+        return PackedDates.pack(dv);
     }
 
     private DateValueComparison() {
@@ -0,0 +1,327 @@
+/**
+ * Copyright (C) 2015, 2016 Dirk Lemmermann Software & Consulting (dlsc.com)
+ * <p>
+ * This file is part of CalendarFX.
+ */
+
+package com.google.ical.iter;
+
+import com.google.ical.util.DTBuilder;
+import com.google.ical.util.Predicate;
+import com.google.ical.util.TimeUtils;
+import com.google.ical.values.DateValue;
+import com.google.ical.values.DateValueImpl;
+import com.google.ical.values.Weekday;
+import com.google.ical.values.WeekdayNum;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * the days of the year matched by the date only parts of a rule, BYDAY,
+ * BYMONTHDAY, and the week INTERVAL of a WEEKLY rule, as one bit per day.
+ * <p>
+ * The bits of a year are computed once, the first time that year is needed,
+ * by running the generator or filter that would otherwise have to be applied
+ * to each candidate date, and are kept as one int per month with bit
+ * {@code day - 1} set for each matching day. Generating the days of a month
+ * then means scanning the set bits, and testing a date is a table lookup.
+ * <p>
+ * Masks don't depend on dtStart or on the timezone, so the ones for the same
+ * rule part are shared by all iterators through a small cache.
+ */
+abstract class DayMask implements Predicate<DateValue> {
+
+    /** the number of masks retained by the cache. */
+    static final int CACHE_SIZE = 256;
+
+    /** the number of years retained by each mask. */
+    private static final int YEARS = 64;
+
+    private static final int BY_DAY = 0;
+    private static final int BY_DAY_FILTER = 1;
+    private static final int BY_MONTH_DAY = 2;
+    private static final int BY_MONTH_DAY_FILTER = 3;
+    private static final int WEEK_INTERVAL = 4;
+
+    private static final Map<Key, DayMask> CACHE =
+            new LinkedHashMap<Key, DayMask>(16, .75f, true) {
+                private static final long serialVersionUID = 1L;
+
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<Key, DayMask> eldest) {
+                    return size() > CACHE_SIZE;
+                }
+            };
+
+    /**
+     * the month masks of the retained years, indexed by the year modulo
+     * {@link #YEARS}. Element 12 of each array holds its year.
+     */
+    private final AtomicReferenceArray<int[]> years_ =
+            new AtomicReferenceArray<int[]>(YEARS);
+
+    /**
+     * the days of the given month, bit {@code day - 1} is set for each day
+     * that matches.
+     */
+    final int monthMask(int year, int month) {
+        int slot = year & (YEARS - 1);
+        int[] months = years_.get(slot);
+        if (null == months || months[12] != year) {
+            months = new int[13];
+            computeYear(year, months);
+            months[12] = year;
+            years_.set(slot, months);
+        }
+        return months[month - 1];
+    }
+
+    public boolean apply(DateValue date) {
+        return (monthMask(date.year(), date.month()) & (1 << (date.day() - 1))) != 0;
+    }
+
+    /** fills in the masks of the twelve months of the given year. */
+    abstract void computeYear(int year, int[] months);
+
+    /** a mask that matches the days that match both this mask and the other. */
+    DayMask and(final DayMask other) {
+        final DayMask mask = this;
+        return new DayMask() {
+            @Override
+            void computeYear(int year, int[] months) {
+                for (int month = 1; month <= 12; ++month) {
+                    months[month - 1] =
+                            mask.monthMask(year, month) & other.monthMask(year, month);
+                }
+            }
+
+            @Override
+            public String toString() {
+                return mask + " & " + other;
+            }
+        };
+    }
+
+    /**
+     * the days that {@link Generators#byDayGenerator} generates.
+     * @param weeksInYear are the week numbers meant to be weeks in the
+     *   current year, or weeks in the current month.
+     */
+    static DayMask byDay(WeekdayNum[] days, final boolean weeksInYear) {
+        Key key = key(BY_DAY, days, weeksInYear ? 1 : 0, 0);
+        DayMask cached = lookup(key);
+        if (null != cached) {
+            return cached;
+        }
+        final WeekdayNum[] udays = days.clone();
+        return store(key, new DayMask() {
+            @Override
+            void computeYear(int year, int[] months) {
+                generateYear(Generators.byDayGenerator(
+                        udays, weeksInYear, new DateValueImpl(year, 1, 1)),
+                        year, months);
+            }
+
+            @Override
+            public String toString() {
+                return "byDay:" + Arrays.toString(udays)
+                        + " by " + (weeksInYear ? "year" : "week");
+            }
+        });
+    }
+
+    /**
+     * the days that {@link Filters#byDayFilter} accepts.
+     * @param weeksInYear are the week numbers meant to be weeks in the
+     *   current year, or weeks in the current month.
+     */
+    static DayMask byDayFilter(
+            WeekdayNum[] days, boolean weeksInYear, Weekday wkst) {
+        Key key = key(BY_DAY_FILTER, days, weeksInYear ? 1 : 0, wkst.ordinal());
+        DayMask cached = lookup(key);
+        return null != cached ? cached : store(key, filterMask(
+                Filters.byDayFilter(days.clone(), weeksInYear, wkst),
+                "byDayFilter:" + Arrays.toString(days)));
+    }
+
+    /** the days that {@link Generators#byMonthDayGenerator} generates. */
+    static DayMask byMonthDay(int[] monthDays) {
+        Key key = key(BY_MONTH_DAY, monthDays);
+        DayMask cached = lookup(key);
+        if (null != cached) {
+            return cached;
+        }
+        final int[] udays = monthDays.clone();
+        return store(key, new DayMask() {
+            @Override
+            void computeYear(int year, int[] months) {
+                generateYear(Generators.byMonthDayGenerator(
+                        udays, new DateValueImpl(year, 1, 1)),
+                        year, months);
+            }
+
+            @Override
+            public String toString() {
+                return "byMonthDay:" + Arrays.toString(udays);
+            }
+        });
+    }
+
+    /** the days that {@link Filters#byMonthDayFilter} accepts. */
+    static DayMask byMonthDayFilter(int[] monthDays) {
+        Key key = key(BY_MONTH_DAY_FILTER, monthDays);
+        DayMask cached = lookup(key);
+        return null != cached ? cached : store(key, filterMask(
+                Filters.byMonthDayFilter(monthDays.clone()),
+                "byMonthDayFilter:" + Arrays.toString(monthDays)));
+    }
+
+    /**
+     * the days that {@link Filters#weekIntervalFilter} accepts, every
+     * interval-th week from the week containing dtStart.
+     * @param interval > 0 number of weeks
+     * @param wkst day of the week that the week starts on.
+     * @param dtStart non null
+     */
+    static DayMask weekInterval(
+            final int interval, Weekday wkst, DateValue dtStart) {
+        // the filter only looks at the number of days since the start of the
+        // week of dtStart modulo the length of the interval.
+        final int period = 7 * interval;
+        int wkStart = TimeUtils.fixedFromGregorian(
+                dtStart.year(), dtStart.month(), dtStart.day())
+                - (7 + Weekday.valueOf(dtStart).javaDayNum - wkst.javaDayNum) % 7;
+        final int phase = Math.floorMod(wkStart, period);
+        Key key = new Key(new int[]{WEEK_INTERVAL, interval, phase});
+        DayMask cached = lookup(key);
+        return null != cached ? cached : store(key, new DayMask() {
+            @Override
+            void computeYear(int year, int[] months) {
+                for (int month = 1; month <= 12; ++month) {
+                    int first = TimeUtils.fixedFromGregorian(year, month, 1);
+                    int nDays = TimeUtils.monthLength(year, month);
+                    int mask = 0;
+                    for (int day = 0; day < nDays; ++day) {
+                        if (Math.floorMod(first + day - phase, period) < 7) {
+                            mask |= 1 << day;
+                        }
+                    }
+                    months[month - 1] = mask;
+                }
+            }
+
+            @Override
+            public String toString() {
+                return "weekInterval:" + interval;
+            }
+        });
+    }
+
+    /** drops all cached masks. */
+    static void clearCache() {
+        synchronized (CACHE) {
+            CACHE.clear();
+        }
+    }
+
+    private static DayMask lookup(Key key) {
+        synchronized (CACHE) {
+            return CACHE.get(key);
+        }
+    }
+
+    /** caches the given mask unless another thread got there first. */
+    private static DayMask store(Key key, DayMask mask) {
+        synchronized (CACHE) {
+            DayMask cached = CACHE.get(key);
+            if (null == cached) {
+                CACHE.put(key, mask);
+                cached = mask;
+            }
+            return cached;
+        }
+    }
+
+    private static DayMask filterMask(
+            final Predicate<? super DateValue> filter, final String name) {
+        return new DayMask() {
+            @Override
+            void computeYear(int year, int[] months) {
+                for (int month = 1; month <= 12; ++month) {
+                    int nDays = TimeUtils.monthLength(year, month);
+                    int mask = 0;
+                    for (int day = 1; day <= nDays; ++day) {
+                        if (filter.apply(new DateValueImpl(year, month, day))) {
+                            mask |= 1 << (day - 1);
+                        }
+                    }
+                    months[month - 1] = mask;
+                }
+            }
+
+            @Override
+            public String toString() {
+                return name;
+            }
+        };
+    }
+
+    /** runs a day generator through each month of the given year. */
+    private static void generateYear(Generator generator, int year, int[] months) {
+        DTBuilder builder = new DTBuilder(year, 1, 1);
+        try {
+            for (int month = 1; month <= 12; ++month) {
+                builder.month = month;
+                int mask = 0;
+                while (generator.generate(builder)) {
+                    mask |= 1 << (builder.day - 1);
+                }
+                months[month - 1] = mask;
+            }
+        } catch (Generator.IteratorShortCircuitingException ex) {
+            // day generators don't short circuit
+            throw new AssertionError(ex);
+        }
+    }
+
+    private static Key key(int kind, WeekdayNum[] days, int a, int b) {
+        int[] parts = new int[3 + 2 * days.length];
+        parts[0] = kind;
+        parts[1] = a;
+        parts[2] = b;
+        for (int i = 0; i < days.length; ++i) {
+            parts[3 + 2 * i] = days[i].num;
+            parts[4 + 2 * i] = days[i].wday.ordinal();
+        }
+        return new Key(parts);
+    }
+
+    private static Key key(int kind, int[] values) {
+        int[] parts = new int[1 + values.length];
+        parts[0] = kind;
+        System.arraycopy(values, 0, parts, 1, values.length);
+        return new Key(parts);
+    }
+
+    private static final class Key {
+
+        private final int[] parts;
+
+        Key(int[] parts) {
+            this.parts = parts;
+        }
+
+        @Override
+        public int hashCode() {
+            return Arrays.hashCode(parts);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Key && Arrays.equals(this.parts, ((Key) o).parts);
+        }
+    }
+}
@@ -23,7 +23,6 @@ package com.google.ical.iter;
 import com.google.ical.util.DTBuilder;
 import com.google.ical.util.TimeUtils;
 import com.google.ical.values.DateValue;
-import com.google.ical.values.DateValueImpl;
 import com.google.ical.values.TimeValue;
 import com.google.ical.values.Weekday;
 import com.google.ical.values.WeekdayNum;
@@ -177,8 +176,7 @@ final class Generators {
                         // month andthe old date and extend it to make it an integer
                         // multiple of interval
                         int daysBetween = TimeUtils.daysBetween(
-                                new DateValueImpl(builder.year, builder.month, 1),
-                                new DateValueImpl(year, month, date));
+                                builder.year, builder.month, 1, year, month, date);
                         ndate = ((interval - (daysBetween % interval)) % interval) + 1;
                         if (ndate > nDays) {
                             // need to early out without updating year or month so that the
@@ -871,6 +869,42 @@ final class Generators {
         };
     }
 
+    /**
+     * constructs a day generator that yields the days of the current month that
+     * are set in the given mask.
+     * @param mask the days to generate
+     * @param dtStart non null.  Days before it in its month are skipped.
+     */
+    static Generator byDayMaskGenerator(
+            final DayMask mask, final DateValue dtStart) {
+        return new Generator() {
+            int year = dtStart.year();
+            int month = dtStart.month();
+            /** the days of the current month that are still to be returned */
+            int days = mask.monthMask(year, month) & (-1 << (dtStart.day() - 1));
+
+            @Override
+            boolean generate(DTBuilder builder) {
+                if (year != builder.year || month != builder.month) {
+                    year = builder.year;
+                    month = builder.month;
+                    days = mask.monthMask(year, month);
+                }
+                if (0 == days) {
+                    return false;
+                }
+                builder.day = Integer.numberOfTrailingZeros(days) + 1;
+                days &= days - 1;
+                return true;
+            }
+
+            @Override
+            public String toString() {
+                return "byDayMaskGenerator:" + mask;
+            }
+        };
+    }
+
     /**
      * constructs a generator that yields each day in the current month that falls
      * in one of the given weeks of the year.
@@ -21,15 +21,16 @@
 package com.google.ical.iter;
 
 import com.google.ical.util.DTBuilder;
+import com.google.ical.util.PackedDates;
 import com.google.ical.util.Predicate;
+import com.google.ical.util.Predicates;
 import com.google.ical.util.TimeUtils;
+import com.google.ical.values.DateTimeValue;
 import com.google.ical.values.DateValue;
 import com.google.ical.values.Frequency;
-import com.google.ical.values.TimeValue;
 import com.google.ical.values.Weekday;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.util.Arrays;
 
 /**
  * factory for generators that operate on groups of generators to generate full
@@ -39,6 +40,9 @@ import java.util.List;
  */
 class InstanceGenerators {
 
+    /** marks the absence of a packed date. */
+    private static final long NONE = Long.MIN_VALUE;
+
     /**
      * a collector that yields each date in the period without doing any set
      * collecting.
@@ -48,6 +52,10 @@ class InstanceGenerators {
             final Generator yearGenerator, final Generator monthGenerator,
             final Generator dayGenerator, final Generator hourGenerator,
             final Generator minuteGenerator, final Generator secondGenerator) {
+        // the filters only look at the fields of the date, so they can be
+        // applied to a view of the builder instead of a copy of it.
+        final BuilderView view = new BuilderView();
+        final boolean unfiltered = filter == Predicates.alwaysTrue();
         if (skipSubDayGenerators(hourGenerator, minuteGenerator, secondGenerator)) {
             // Fast case for generators that are not more frequent than daily.
             return new Generator() {
@@ -68,7 +76,7 @@ class InstanceGenerators {
                             }
                         }
                         // apply filters to generated dates
-                    } while (!filter.apply(builder.toDateTime()));
+                    } while (!accept(builder, unfiltered, filter, view));
 
                     return true;
                 }
@@ -101,7 +109,7 @@ class InstanceGenerators {
                             }
                         }
                         // apply filters to generated dates
-                    } while (!filter.apply(builder.toDateTime()));
+                    } while (!accept(builder, unfiltered, filter, view));
                     // TODO: maybe group the filters into different kinds so we don't
                     // apply filters that only affect days to every second.
 
@@ -131,7 +139,8 @@ class InstanceGenerators {
             allPositive = uSetPos[0] > 0;
 
         return new Generator() {
-            DateValue pushback = null;
+            /** the packed first date of the next set, or NONE. */
+            long pushback = NONE;
             /**
              * Is this the first instance we generate?
              * We need to know so that we don't clobber dtStart.
@@ -140,8 +149,11 @@ class InstanceGenerators {
             /** Do we need to halt iteration once the current set has been used? */
             boolean done = false;
 
-            /** The elements in the current set, filtered by set pos */
-            List<DateValue> candidates;
+            /** The packed dates in the current set, reused between sets. */
+            long[] dates = new long[16];
+            /** The packed elements in the current set, filtered by set pos */
+            long[] candidates = new long[uSetPos.length];
+            int nCandidates;
             /**
              * index into candidates.  The number of elements in candidates already
              * consumed.
@@ -151,7 +163,7 @@ class InstanceGenerators {
             @Override
             public boolean generate(DTBuilder builder)
                     throws IteratorShortCircuitingException {
-                while (null == candidates || i >= candidates.size()) {
+                while (i >= nCandidates) {
                     if (done) {
                         return false;
                     }
@@ -159,13 +171,13 @@ class InstanceGenerators {
                     // (1) Make sure that builder is appropriately initialized so that
                     // we only generate instances in the next set
 
-                    DateValue d0 = null;
-                    if (null != pushback) {
+                    long d0 = NONE;
+                    if (NONE != pushback) {
                         d0 = pushback;
-                        builder.year = d0.year();
-                        builder.month = d0.month();
-                        builder.day = d0.day();
-                        pushback = null;
+                        builder.year = PackedDates.year(d0);
+                        builder.month = PackedDates.month(d0);
+                        builder.day = PackedDates.day(d0);
+                        pushback = NONE;
                     } else if (!first) {
                         // we need to skip ahead to the next item since we didn't exhaust
                         // the last period
@@ -191,7 +203,7 @@ class InstanceGenerators {
                                         return false;
                                     }
                                 } while (builder.compareTo(nextWeek) < 0);
-                                d0 = builder.toDateTime();
+                                d0 = PackedDates.pack(builder, true);
                                 break;
                             default:
                                 break;
@@ -202,9 +214,9 @@ class InstanceGenerators {
 
                     // (2) Build a set of the dates in the year/month/week that match
                     // the other rule.
-                    List<DateValue> dates = new ArrayList<DateValue>();
-                    if (null != d0) {
-                        dates.add(d0);
+                    int nDates = 0;
+                    if (NONE != d0) {
+                        dates[nDates++] = d0;
                     }
 
                     // Optimization: if min(bySetPos) > 0 then we already have absolute
@@ -218,7 +230,7 @@ class InstanceGenerators {
                     // distribution of set positions within the year.
                     int limit = allPositive ? maxPos : Integer.MAX_VALUE;
 
-                    while (limit > dates.size()) {
+                    while (limit > nDates) {
                         if (!serialInstanceGenerator.generate(builder)) {
                             // If we can't generate any, then make sure we return false
                             // once the instances we have generated are exhausted.
@@ -229,31 +241,29 @@ class InstanceGenerators {
                             done = true;
                             break;
                         }
-                        DateValue d = builder.toDateTime();
+                        long d = PackedDates.pack(builder, true);
                         boolean contained = false;
-                        if (null == d0) {
+                        if (NONE == d0) {
                             d0 = d;
                             contained = true;
                         } else {
                             switch (freq) {
                                 case WEEKLY:
-                                    int nb = TimeUtils.daysBetween(d, d0);
+                                    int f = fixed(d), f0 = fixed(d0);
                                     // Two dates (d, d0) are in the same week
                                     // if there isn't a whole week in between them and the
                                     // later day is later in the week than the earlier day.
                                     contained =
-                                            nb < 7
-                                                    && ((7 + Weekday.valueOf(d).javaDayNum
-                                                    - wkst.javaDayNum) % 7)
-                                                    > ((7 + Weekday.valueOf(d0).javaDayNum
-                                                    - wkst.javaDayNum) % 7);
+                                            f - f0 < 7
+                                                    && daysIntoWeek(f, wkst)
+                                                    > daysIntoWeek(f0, wkst);
                                     break;
                                 case MONTHLY:
-                                    contained =
-                                            d0.month() == d.month() && d0.year() == d.year();
+                                    contained = PackedDates.month(d0) == PackedDates.month(d)
+                                            && PackedDates.year(d0) == PackedDates.year(d);
                                     break;
                                 case YEARLY:
-                                    contained = d0.year() == d.year();
+                                    contained = PackedDates.year(d0) == PackedDates.year(d);
                                     break;
                                 default:
                                     done = true;
@@ -261,7 +271,10 @@ class InstanceGenerators {
                             }
                         }
                         if (contained) {
-                            dates.add(d);
+                            if (nDates == dates.length) {
+                                dates = Arrays.copyOf(dates, nDates * 2);
+                            }
+                            dates[nDates++] = d;
                         } else {
                             // reached end of the set
                             pushback = d;  // save d so we can use it later
@@ -278,43 +291,64 @@ class InstanceGenerators {
                         for (int j = 0; j < uSetPos.length; ++j) {
                             int p = uSetPos[j];
                             if (p < 0) {
-                                p = dates.size() + p + 1;
+                                p = nDates + p + 1;
                             }
                             uAbsSetPos.add(p);
                         }
                         absSetPos = uAbsSetPos.toIntArray();
                     }
 
-                    candidates = new ArrayList<DateValue>();
+                    nCandidates = 0;
                     for (int p : absSetPos) {
-                        if (p >= 1 && p <= dates.size()) {  // p is 1-indexed
-                            candidates.add(dates.get(p - 1));
+                        if (p >= 1 && p <= nDates) {  // p is 1-indexed
+                            candidates[nCandidates++] = dates[p - 1];
                         }
                     }
                     i = 0;
-                    if (candidates.isEmpty()) {
-                        // none in this region, so keep looking
-                        candidates = null;
-                        continue;
-                    }
+                    // if there are none in this region, keep looking
                 }
                 // (5) Emit a date.  It will be checked against the end condition and
                 // dtStart elsewhere
-                DateValue d = candidates.get(i++);
-                builder.year = d.year();
-                builder.month = d.month();
-                builder.day = d.day();
-                if (d instanceof TimeValue) {
-                    TimeValue t = (TimeValue) d;
-                    builder.hour = t.hour();
-                    builder.minute = t.minute();
-                    builder.second = t.second();
-                }
+                long d = candidates[i++];
+                builder.year = PackedDates.year(d);
+                builder.month = PackedDates.month(d);
+                builder.day = PackedDates.day(d);
+                builder.hour = PackedDates.hour(d);
+                builder.minute = PackedDates.minute(d);
+                builder.second = PackedDates.second(d);
                 return true;
             }
         };
     }
 
+    /** the fixed day of the packed date, see {@link TimeUtils#fixedFromGregorian}. */
+    private static int fixed(long packed) {
+        return TimeUtils.fixedFromGregorian(PackedDates.year(packed),
+                PackedDates.month(packed), PackedDates.day(packed));
+    }
+
+    /** the number of days between wkst and the weekday of the given fixed day. */
+    static int daysIntoWeek(int fixed, Weekday wkst) {
+        // fixed day 1 is a monday and so has jsDayNum 1
+        int jsDayNum = fixed % 7;
+        if (jsDayNum < 0) {
+            jsDayNum += 7;
+        }
+        return (7 + jsDayNum - wkst.jsDayNum) % 7;
+    }
+
+    /** normalizes the builder and applies the filter to it. */
+    private static boolean accept(
+            DTBuilder builder, boolean unfiltered,
+            Predicate<? super DateValue> filter, BuilderView view) {
+        builder.normalize();
+        if (unfiltered) {
+            return true;
+        }
+        view.builder = builder;
+        return filter.apply(view);
+    }
+
     static boolean skipSubDayGenerators(
             Generator hourGenerator, Generator minuteGenerator,
             Generator secondGenerator) {
@@ -323,6 +357,46 @@ class InstanceGenerators {
                 && hourGenerator instanceof SingleValueGenerator;
     }
 
+    /**
+     * a read only view of a normalized builder's fields, so that filters can be
+     * applied to each candidate date without copying it.  Only valid until the
+     * builder changes.
+     */
+    private static final class BuilderView implements DateTimeValue {
+
+        DTBuilder builder;
+
+        public int year() {
+            return builder.year;
+        }
+
+        public int month() {
+            return builder.month;
+        }
+
+        public int day() {
+            return builder.day;
+        }
+
+        public int hour() {
+            return builder.hour;
+        }
+
+        public int minute() {
+            return builder.minute;
+        }
+
+        public int second() {
+            return builder.second;
+        }
+
+        public int compareTo(DateValue other) {
+            long a = PackedDates.pack(builder, true),
+                    b = PackedDates.pack(other);
+            return a < b ? -1 : a == b ? 0 : 1;
+        }
+    }
+
     private InstanceGenerators() {
         // uninstantiable
     }
@@ -0,0 +1,33 @@
+/**
+ * Copyright (C) 2015, 2016 Dirk Lemmermann Software & Consulting (dlsc.com)
+ * <p>
+ * This file is part of CalendarFX.
+ */
+
+package com.google.ical.iter;
+
+import com.google.ical.util.PackedDates;
+
+/**
+ * a recurrence iterator that can yield its dates in their
+ * {@link PackedDates packed} form, so that callers that only need the fields
+ * of each date do not have to pay for a {@link com.google.ical.values.DateValue}
+ * per occurrence.
+ * <p>The iterators created by {@link RecurrenceIteratorFactory} implement this
+ * interface.
+ */
+public interface PackedRecurrenceIterator extends RecurrenceIterator {
+
+    /**
+     * like {@link #next()} but returns the date in its packed form, in UTC.
+     * If <code>!hasNext()</code>, then behavior is undefined.
+     */
+    long nextPacked();
+
+    /**
+     * like {@link #advanceTo} but for a packed date.
+     *
+     * @param newStartUtc a date packed via {@link PackedDates}.
+     */
+    void advanceToPacked(long newStartUtc);
+}
@@ -27,13 +27,19 @@ import com.google.ical.values.DateValue;
  *
  * @author mikesamuel+svn@gmail.com (Mike Samuel)
  */
-final class RDateIteratorImpl implements RecurrenceIterator {
+final class RDateIteratorImpl implements PackedRecurrenceIterator {
     private int i;
     private DateValue[] datesUtc;
+    /** the {@link DateValueComparison#comparable} of each of datesUtc. */
+    private long[] packedUtc;
 
     RDateIteratorImpl(DateValue[] datesUtc) {
         this.datesUtc = datesUtc.clone();  // defensive copy
         assert increasing(datesUtc);  // indirectly checks that not-null.
+        this.packedUtc = new long[datesUtc.length];
+        for (int j = 0; j < datesUtc.length; ++j) {
+            this.packedUtc[j] = DateValueComparison.comparable(datesUtc[j]);
+        }
     }
 
     public boolean hasNext() {
@@ -44,14 +50,20 @@ final class RDateIteratorImpl implements RecurrenceIterator {
         return datesUtc[i++];
     }
 
+    public long nextPacked() {
+        return packedUtc[i++];
+    }
+
     public void remove() {
         throw new UnsupportedOperationException();
     }
 
     public void advanceTo(DateValue newStartUtc) {
-        long startCmp = DateValueComparison.comparable(newStartUtc);
-        while (i < datesUtc.length
-                && startCmp > DateValueComparison.comparable(datesUtc[i])) {
+        advanceToPacked(DateValueComparison.comparable(newStartUtc));
+    }
+
+    public void advanceToPacked(long newStartUtc) {
+        while (i < packedUtc.length && newStartUtc > packedUtc[i]) {
             ++i;
         }
     }
@@ -21,10 +21,11 @@
 package com.google.ical.iter;
 
 import com.google.ical.util.DTBuilder;
+import com.google.ical.util.PackedDates;
 import com.google.ical.util.Predicate;
 import com.google.ical.util.TimeUtils;
+import com.google.ical.util.ZoneRulesTimeZone;
 import com.google.ical.values.DateValue;
-import com.google.ical.values.DateValueImpl;
 import com.google.ical.values.TimeValue;
 
 import java.util.TimeZone;
@@ -32,15 +33,23 @@ import java.util.TimeZone;
 /**
  * an iterator over dates in an RRULE or EXRULE series.
  *
+ * <p>Dates are kept in their {@link PackedDates packed} form from generation
+ * through conversion to UTC and the end condition, and only get materialized
+ * as {@link DateValue}s in {@link #next}.</p>
+ *
  * @author mikesamuel+svn@gmail.com (Mike Samuel)
  */
-final class RRuleIteratorImpl implements RecurrenceIterator {
+final class RRuleIteratorImpl implements PackedRecurrenceIterator {
+
+    /** marks the absence of a packed date. */
+    private static final long NONE = Long.MIN_VALUE;
+
     /**
      * a function that determines when the recurrence ends.
      * Takes a date builder and yields shouldContinue:boolean.
      * The condition is applied <b>after</b> the date is converted to utc.
      */
-    private final Predicate<? super DateValue> condition_;
+    private final Conditions.Condition condition_;
     /**
      * a function that applies the various period generators to generate an entire
      * date.
@@ -59,9 +68,10 @@ final class RRuleIteratorImpl implements RecurrenceIterator {
      */
     private final Generator monthGenerator_;
     /**
-     * a date that has been computed but not yet yielded to the user.
+     * a packed date that has been computed but not yet yielded to the user, or
+     * {@link #NONE}.
      */
-    private DateValue pendingUtc_;
+    private long pendingUtc_ = NONE;
     /**
      * used to build successive dates.
      * At the start of the building process, contains the last date generated.
@@ -72,18 +82,30 @@ final class RRuleIteratorImpl implements RecurrenceIterator {
     private boolean done_;
     /** the start date of the recurrence */
     private final DateValue dtStart_;
+    /** true iff the dates of the recurrence have a time part. */
+    private final boolean timed_;
     /**
-     * false iff shorcutting advance would break the semantics of the iteration.
-     * This may happen when, for example, the end condition requires that it see
-     * every item.
+     * the COUNT of the rule or 0 if it has none.
+     * A COUNT limited series has to see every instance to number them, so
+     * {@link #advanceTo} can only shortcut to a known checkpoint.
      */
-    private final boolean canShortcutAdvance_;
+    private final int count_;
+    /** the index of the next instance to be counted. */
+    private long index_;
+    /** the last instance counted, or {@link #NONE}. */
+    private long countedUtc_ = NONE;
+    /** positions of the series shared with other iterators, or null. */
+    private final CountCheckpoints checkpoints_;
     /**
      * the timezone that result dates should be converted <b>from</b>.
      * All date fields, parameters, and local variables in this class are in
      * the tzid_ timezone, unless they carry the Utc suffix.
      */
     private final TimeZone tzid_;
+    /** true iff local times are the same as UTC times in tzid_. */
+    private final boolean utcZone_;
+    /** used to shift local times to UTC. */
+    private final DTBuilder utcBuilder_ = new DTBuilder(0, 0, 0);
 
     /** An iterator that generates dates from an RFC2445 Recurrence Rule */
     RRuleIteratorImpl(
@@ -92,15 +114,17 @@ final class RRuleIteratorImpl implements RecurrenceIterator {
             Generator monthGenerator, Generator dayGenerator,
             Generator hourGenerator, Generator minuteGenerator,
             Generator secondGenerator,
-            boolean canShortcutAdvance) {
+            int count, CountCheckpoints checkpoints) {
 
-        this.condition_ = condition;
+        this.condition_ = Conditions.packed(condition);
         this.instanceGenerator_ = instanceGenerator;
         this.yearGenerator_ = yearGenerator;
         this.monthGenerator_ = monthGenerator;
         this.dtStart_ = dtStart;
+        this.timed_ = dtStart instanceof TimeValue;
         this.tzid_ = tzid;
-        this.canShortcutAdvance_ = canShortcutAdvance;
+        this.utcZone_ = null == tzid || tzid.hasSameRules(TimeUtils.utcTimezone());
+        this.count_ = count;
 
         int initWorkLimit = 1000;
 
@@ -109,10 +133,15 @@ final class RRuleIteratorImpl implements RecurrenceIterator {
         this.builder_ = builder;
         // Apply the generators from largest field to smallest so we can start by
         // applying the smallest field iterator when asked to generate a date.
+        // Resuming from a checkpoint skips whole months, but the sub day
+        // generators would carry on in the day of the month they were in, so
+        // only series with at most one instance a day can use checkpoints.
+        boolean daily = InstanceGenerators.skipSubDayGenerators(
+                hourGenerator, minuteGenerator, secondGenerator);
+        this.checkpoints_ = 0 != count && daily ? checkpoints : null;
         try {
             Generator[] toInitialize;
-            if (InstanceGenerators.skipSubDayGenerators(
-                    hourGenerator, minuteGenerator, secondGenerator)) {
+            if (daily) {
                 toInitialize = new Generator[]{yearGenerator, monthGenerator};
                 builder.hour = ((SingleValueGenerator) hourGenerator).getValue();
                 builder.minute = ((SingleValueGenerator) minuteGenerator).getValue();
@@ -141,18 +170,19 @@ final class RRuleIteratorImpl implements RecurrenceIterator {
             this.done_ = true;
         }
 
+        long dtStartUtc = DateValueComparison.comparable(
+                TimeUtils.toUtc(dtStart, tzid));
         while (!this.done_) {
             this.pendingUtc_ = this.generateInstance();
-            if (null == this.pendingUtc_) {
+            if (NONE == this.pendingUtc_) {
                 this.done_ = true;
                 break;
-            } else if (this.pendingUtc_.compareTo(
-                    TimeUtils.toUtc(dtStart, tzid)) >= 0) {
+            } else if (this.pendingUtc_ >= dtStartUtc) {
                 // We only apply the condition to the ones past dtStart to avoid
                 // counting useless instances
-                if (!this.condition_.apply(this.pendingUtc_)) {
+                if (!this.admit(this.pendingUtc_)) {
                     this.done_ = true;
-                    this.pendingUtc_ = null;
+                    this.pendingUtc_ = NONE;
                 }
                 break;
             }
@@ -165,19 +195,24 @@ final class RRuleIteratorImpl implements RecurrenceIterator {
 
     /** are there more dates in this recurrence? */
     public boolean hasNext() {
-        if (null == this.pendingUtc_) {
+        if (NONE == this.pendingUtc_) {
             this.fetchNext();
         }
-        return null != this.pendingUtc_;
+        return NONE != this.pendingUtc_;
     }
 
     /** fetch and return the next date in this recurrence. */
     public DateValue next() {
-        if (null == this.pendingUtc_) {
+        long next = nextPacked();
+        return NONE != next ? PackedDates.toDateValue(next) : null;
+    }
+
+    public long nextPacked() {
+        if (NONE == this.pendingUtc_) {
             this.fetchNext();
         }
-        DateValue next = this.pendingUtc_;
-        this.pendingUtc_ = null;
+        long next = this.pendingUtc_;
+        this.pendingUtc_ = NONE;
         return next;
     }
 
@@ -191,9 +226,21 @@ final class RRuleIteratorImpl implements RecurrenceIterator {
      * date, assuming the recurrence includes such a date.
      */
     public void advanceTo(DateValue dateUtc) {
+        advanceTo(dateUtc, DateValueComparison.comparable(dateUtc));
+    }
+
+    public void advanceToPacked(long dateUtc) {
+        // Don't materialize a date value if there is nothing to skip.
+        if (NONE != this.pendingUtc_ && dateUtc <= this.pendingUtc_) {
+            return;
+        }
+        advanceTo(PackedDates.toDateValue(dateUtc), dateUtc);
+    }
+
+    private void advanceTo(DateValue dateUtc, long dateUtcPacked) {
         // Don't throw away a future pending date since the iterators will not
         // generate it again.
-        if (this.pendingUtc_ != null && dateUtc.compareTo(this.pendingUtc_) <= 0) {
+        if (NONE != this.pendingUtc_ && dateUtcPacked <= this.pendingUtc_) {
             return;
         }
 
@@ -202,48 +249,45 @@ final class RRuleIteratorImpl implements RecurrenceIterator {
         if (dateLocal.compareTo(this.builder_.toDate()) <= 0) {
             return;
         }
-        this.pendingUtc_ = null;
+        this.pendingUtc_ = NONE;
 
+        // the checkpoint to resume counting from, if any
+        long resumeUtc = NONE;
+        long resumeIndex = 0;
         try {
-            if (this.canShortcutAdvance_) {
-                // skip years before date.year
-                if (this.builder_.year < dateLocal.year()) {
-                    do {
-                        if (!this.yearGenerator_.generate(this.builder_)) {
-                            this.done_ = true;
-                            return;
-                        }
-                    } while (this.builder_.year < dateLocal.year());
-                    while (!this.monthGenerator_.generate(this.builder_)) {
-                        if (!this.yearGenerator_.generate(this.builder_)) {
-                            this.done_ = true;
-                            return;
-                        }
-                    }
+            if (0 == this.count_) {
+                if (!this.skipMonthsBefore(dateLocal)) {
+                    return;
                 }
-                // skip months before date.year/date.month
-                while (this.builder_.year == dateLocal.year()
-                        && this.builder_.month < dateLocal.month()) {
-                    while (!this.monthGenerator_.generate(this.builder_)) {
-                        // if there are more years available fetch one
-                        if (!this.yearGenerator_.generate(this.builder_)) {
-                            // otherwise the recurrence is exhausted
-                            this.done_ = true;
-                            return;
-                        }
+            } else if (null != this.checkpoints_) {
+                int checkpoint = this.checkpoints_.floor(dateUtcPacked);
+                if (checkpoint >= 0
+                        && this.checkpoints_.index(checkpoint) > this.index_) {
+                    resumeUtc = this.checkpoints_.date(checkpoint);
+                    resumeIndex = this.checkpoints_.index(checkpoint);
+                    if (!this.skipMonthsBefore(TimeUtils.fromUtc(
+                            PackedDates.toDateValue(resumeUtc), tzid_))) {
+                        return;
                     }
                 }
             }
 
             // consume any remaining instances
             while (!this.done_) {
-                DateValue dUtc = this.generateInstance();
-                if (null == dUtc) {
+                long dUtc = this.generateInstance();
+                if (NONE == dUtc) {
                     this.done_ = true;
+                } else if (dUtc < resumeUtc) {
+                    // counted by the checkpoint
+                    continue;
                 } else {
-                    if (!this.condition_.apply(dUtc)) {
+                    if (NONE != resumeUtc) {
+                        this.index_ = resumeIndex;
+                        resumeUtc = NONE;
+                    }
+                    if (!this.admit(dUtc)) {
                         this.done_ = true;
-                    } else if (dUtc.compareTo(dateUtc) >= 0) {
+                    } else if (dUtc >= dateUtcPacked) {
                         this.pendingUtc_ = dUtc;
                         break;
                     }
@@ -254,16 +298,76 @@ final class RRuleIteratorImpl implements RecurrenceIterator {
         }
     }
 
+    /**
+     * moves the generators to the month of the given local date unless they
+     * are already past it.
+     * @return false if the recurrence got exhausted.
+     */
+    private boolean skipMonthsBefore(DateValue dateLocal)
+            throws Generator.IteratorShortCircuitingException {
+        // skip years before date.year
+        if (this.builder_.year < dateLocal.year()) {
+            do {
+                if (!this.yearGenerator_.generate(this.builder_)) {
+                    this.done_ = true;
+                    return false;
+                }
+            } while (this.builder_.year < dateLocal.year());
+            while (!this.monthGenerator_.generate(this.builder_)) {
+                if (!this.yearGenerator_.generate(this.builder_)) {
+                    this.done_ = true;
+                    return false;
+                }
+            }
+        }
+        // skip months before date.year/date.month
+        while (this.builder_.year == dateLocal.year()
+                && this.builder_.month < dateLocal.month()) {
+            while (!this.monthGenerator_.generate(this.builder_)) {
+                // if there are more years available fetch one
+                if (!this.yearGenerator_.generate(this.builder_)) {
+                    // otherwise the recurrence is exhausted
+                    this.done_ = true;
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * applies the end condition or the COUNT to an instance on or after
+     * dtStart, recording checkpoints along the way.
+     * @return false if the instance is past the end of the recurrence.
+     */
+    private boolean admit(long dUtc) {
+        if (0 == this.count_) {
+            return this.condition_.applyPacked(dUtc);
+        }
+        if (this.index_ >= this.count_) {
+            return false;
+        }
+        // only the first instance of a date can be resumed from, and there is
+        // no point in resuming from the start
+        if (null != this.checkpoints_ && dUtc > this.countedUtc_
+                && this.index_ >= CountCheckpoints.SPACING) {
+            this.checkpoints_.record(this.index_, dUtc);
+        }
+        this.countedUtc_ = dUtc;
+        ++this.index_;
+        return true;
+    }
+
     /** calculates and stored the next date in this recurrence. */
     private void fetchNext() {
-        if (null != this.pendingUtc_ || this.done_) {
+        if (NONE != this.pendingUtc_ || this.done_) {
             return;
         }
 
-        DateValue dUtc = this.generateInstance();
+        long dUtc = this.generateInstance();
 
         // check the exit condition
-        if (null != dUtc && this.condition_.apply(dUtc)) {
+        if (NONE != dUtc && this.admit(dUtc)) {
             this.pendingUtc_ = dUtc;
             this.yearGenerator_.workDone();
         } else {
@@ -271,34 +375,76 @@ final class RRuleIteratorImpl implements RecurrenceIterator {
         }
     }
 
-    private static final DateValue MIN_DATE =
-            new DateValueImpl(Integer.MIN_VALUE, 1, 1);
     /**
-     * make sure the iterator is monotonically increasing.
+     * the last instance generated, used to drop duplicates.
      * The local time is guaranteed to be monotonic, but because of daylight
      * savings shifts, the time in UTC may not be.
      */
-    private DateValue lastUtc_ = MIN_DATE;
+    private long lastUtc_ = NONE;
+    /** the local time that {@link #lastUtc_} was computed from. */
+    private long lastLocal_ = NONE;
 
     /**
-     * @return a date value in UTC.
+     * @return a packed date value in UTC or {@link #NONE}.
      */
-    private DateValue generateInstance() {
+    private long generateInstance() {
         try {
             do {
                 if (!this.instanceGenerator_.generate(this.builder_)) {
-                    return null;
+                    return NONE;
+                }
+                DTBuilder builder = this.builder_;
+                builder.normalize();
+                if (!this.timed_) {
+                    return PackedDates.pack(builder, false);
                 }
-                DateValue dUtc = this.dtStart_ instanceof TimeValue
-                        ? TimeUtils.toUtc(this.builder_.toDateTime(), this.tzid_)
-                        : this.builder_.toDate();
-                if (dUtc.compareTo(this.lastUtc_) > 0) {
-                    return dUtc;
+                long dLocal = PackedDates.pack(builder, true);
+                long dUtc = toUtc(builder, dLocal, this.tzid_, this.utcZone_,
+                        this.utcBuilder_);
+                // A local time in a daylight savings gap resolves to the same
+                // UTC time as the local time one gap length later. Only return
+                // that instance once.
+                if (dUtc == this.lastUtc_ && dLocal != this.lastLocal_) {
+                    continue;
                 }
+                this.lastUtc_ = dUtc;
+                this.lastLocal_ = dLocal;
+                return dUtc;
             } while (true);
         } catch (Generator.IteratorShortCircuitingException ex) {
-            return null;
+            return NONE;
+        }
+    }
+
+    /**
+     * converts the local time in the normalized builder, whose packed form is
+     * given, to UTC.
+     * @param utcZone true if tzid has the same rules as UTC.
+     * @param utc a builder that may be used for the conversion.
+     */
+    static long toUtc(DTBuilder local, long dLocal, TimeZone tzid,
+                      boolean utcZone, DTBuilder utc) {
+        if (utcZone || 0 == local.year) {
+            return dLocal;
+        }
+        if (tzid instanceof ZoneRulesTimeZone) {
+            int offset = ((ZoneRulesTimeZone) tzid).getOffsetAtLocal(
+                    local.year, local.month, local.day,
+                    local.hour, local.minute, local.second);
+            if (0 == offset) {
+                return dLocal;
+            }
+            utc.year = local.year;
+            utc.month = local.month;
+            utc.day = local.day;
+            utc.hour = local.hour;
+            utc.minute = local.minute;
+            utc.second = local.second - offset;
+            utc.normalize();
+            return PackedDates.pack(utc, true);
         }
+        return DateValueComparison.comparable(
+                TimeUtils.toUtc(local.toDateTime(), tzid));
     }
 
 }
@@ -94,12 +94,94 @@ public class RecurrenceIteratorFactory {
         return createRecurrenceIterable(rdata, dtStart, tzid, strict).iterator();
     }
 
+    private static final ContentLineCache CONTENT_LINE_CACHE =
+            new ContentLineCache(ContentLineCache.DEFAULT_CAPACITY);
+
+    /**
+     * given a block of RRULE, EXRULE, RDATE, and EXDATE content lines, parse
+     * them into a recurrence iterable.
+     * The parsed content lines are cached by text, timezone, and strictness so
+     * that expanding the same rule over and over again does not parse it over
+     * and over again.
+     * @see #createRecurrenceIterator(String, DateValue, TimeZone, boolean)
+     */
     public static RecurrenceIterable createRecurrenceIterable(
-            String rdata, final DateValue dtStart, final TimeZone tzid,
-            final boolean strict)
+            String rdata, DateValue dtStart, TimeZone tzid, boolean strict)
             throws ParseException {
-        final IcalObject[] contentLines = parseContentLines(rdata, tzid, strict);
+        IcalObject[] contentLines = CONTENT_LINE_CACHE.get(rdata, tzid, strict);
+        if (null == contentLines) {
+            contentLines = parseContentLines(rdata, tzid, strict);
+            CONTENT_LINE_CACHE.put(rdata, tzid, strict, contentLines);
+        }
+        // the cached rules are never handed out, so nobody can modify them
+        return createIterable(contentLines, dtStart, tzid, strict, true);
+    }
+
+    /**
+     * like {@link #createRecurrenceIterable(String, DateValue, TimeZone, boolean)}
+     * but for content lines that have already been parsed, e.g. an
+     * {@link RRule} that the caller keeps around for the lifetime of a series.
+     * The content lines are only read, never modified. Since the caller may
+     * modify them at any time, iterators created from them always count the
+     * occurrences of a COUNT limited series from dtStart.
+     * @param contentLines RRULE, EXRULE, RDATE, and EXDATE content lines.
+     * @param dtStart the date of the first occurrence in timezone tzid.
+     * @param tzid the timezone to iterate in.
+     * @param strict true if a rule with an unsupported frequency should result
+     *   in an IllegalArgumentException.  false causes bad rules to be logged
+     *   and ignored.
+     */
+    public static RecurrenceIterable createRecurrenceIterable(
+            IcalObject[] contentLines, DateValue dtStart, TimeZone tzid,
+            boolean strict) {
+        return createIterable(contentLines.clone(), dtStart, tzid, strict, false);
+    }
+
+    /** drops all cached content lines. */
+    static void clearContentLineCache() {
+        CONTENT_LINE_CACHE.clear();
+    }
 
+    static int getContentLineCacheSize() {
+        return CONTENT_LINE_CACHE.size();
+    }
+
+    static IcalObject[] getCachedContentLines(
+            String rdata, TimeZone tzid, boolean strict) {
+        return CONTENT_LINE_CACHE.get(rdata, tzid, strict);
+    }
+
+    private static final CountCheckpoints.Cache COUNT_CHECKPOINTS =
+            new CountCheckpoints.Cache();
+
+    /** drops the checkpoints of all COUNT limited series. */
+    static void clearCountCheckpoints() {
+        COUNT_CHECKPOINTS.clear();
+    }
+
+    /**
+     * the checkpoints shared by the iterators of a COUNT limited series, see
+     * {@link CountCheckpoints}, or null if the series is too short to need
+     * them or can't be resumed from a checkpoint.
+     */
+    static CountCheckpoints getCountCheckpoints(
+            RRule rrule, DateValue dtStart, TimeZone tzid) {
+        if (rrule.getCount() <= CountCheckpoints.SPACING
+                || 0 != rrule.getBySetPos().length) {
+            return null;
+        }
+        return COUNT_CHECKPOINTS.get(rrule, dtStart, tzid);
+    }
+
+    /**
+     * @param shareCheckpoints true if the content lines are owned by the
+     *   {@link ContentLineCache}, which never hands them out, so that the
+     *   iterators of their COUNT limited rules can share checkpoints.
+     */
+    private static RecurrenceIterable createIterable(
+            final IcalObject[] contentLines, final DateValue dtStart,
+            final TimeZone tzid, final boolean strict,
+            final boolean shareCheckpoints) {
         return new RecurrenceIterable() {
             public RecurrenceIterator iterator() {
                 List<RecurrenceIterator> inclusions =
@@ -114,13 +196,15 @@ public class RecurrenceIteratorFactory {
                         String name = contentLine.getName();
                         if ("rrule".equalsIgnoreCase(name)) {
                             inclusions.add(createRecurrenceIterator(
-                                    (RRule) contentLine, dtStart, tzid));
+                                    (RRule) contentLine, dtStart, tzid,
+                                    shareCheckpoints));
                         } else if ("rdate".equalsIgnoreCase(name)) {
                             inclusions.add(
                                     createRecurrenceIterator((RDateList) contentLine));
                         } else if ("exrule".equalsIgnoreCase(name)) {
                             exclusions.add(createRecurrenceIterator(
-                                    (RRule) contentLine, dtStart, tzid));
+                                    (RRule) contentLine, dtStart, tzid,
+                                    shareCheckpoints));
                         } else if ("exdate".equalsIgnoreCase(name)) {
                             exclusions.add(
                                     createRecurrenceIterator((RDateList) contentLine));
@@ -179,9 +263,48 @@ public class RecurrenceIteratorFactory {
      */
     public static RecurrenceIterator createRecurrenceIterator(
             RRule rrule, DateValue dtStart, TimeZone tzid) {
+        return createRecurrenceIterator(rrule, dtStart, tzid, false);
+    }
+
+    /**
+     * @param shareCheckpoints true if the rule can't be modified because it is
+     *   owned by the {@link ContentLineCache}, so that the iterator can share the checkpoints of a COUNT limited series
+     *   with the other iterators of the same rule, see
+     *   {@link CountCheckpoints}.
+     */
+    private static RecurrenceIterator createRecurrenceIterator(
+            RRule rrule, DateValue dtStart, TimeZone tzid,
+            boolean shareCheckpoints) {
         assert null != tzid;
         assert null != dtStart;
 
+        if (SimpleRRuleIteratorImpl.isSimple(rrule, dtStart)) {
+            return new SimpleRRuleIteratorImpl(rrule, dtStart, tzid);
+        }
+        return createRRuleIterator(rrule, dtStart, tzid, shareCheckpoints
+                ? getCountCheckpoints(rrule, dtStart, tzid) : null);
+    }
+
+    /**
+     * like {@link #createRecurrenceIterator(RRule, DateValue, TimeZone)} but
+     * always uses the generators, even for rules that
+     * {@link SimpleRRuleIteratorImpl} could handle.
+     */
+    static RecurrenceIterator createRRuleIterator(
+            RRule rrule, DateValue dtStart, TimeZone tzid) {
+        return createRRuleIterator(rrule, dtStart, tzid, null);
+    }
+
+    /**
+     * like {@link #createRRuleIterator(RRule, DateValue, TimeZone)} but
+     * resuming from and recording to the given checkpoints.
+     * @param checkpoints the positions of the series if it is COUNT limited,
+     *   or null to always count from dtStart.
+     */
+    static RecurrenceIterator createRRuleIterator(
+            RRule rrule, DateValue dtStart, TimeZone tzid,
+            CountCheckpoints checkpoints) {
+
         Frequency freq = rrule.getFreq();
         Weekday wkst = rrule.getWkSt();
         DateValue untilUtc = rrule.getUntil();
@@ -280,6 +403,10 @@ public class RecurrenceIteratorFactory {
                 freq == Frequency.YEARLY ? interval : 1, dtStart);
         Generator monthGenerator = null;
         Generator dayGenerator = null;
+        // the days generated by a BYDAY or BYMONTHDAY generator, and the ones
+        // accepted by the filters that only look at the date, as bit masks
+        DayMask dayMask = null;
+        DayMask dateFilter = null;
         Generator secondGenerator = null;
         Generator minuteGenerator = null;
         Generator hourGenerator = null;
@@ -327,10 +454,10 @@ public class RecurrenceIteratorFactory {
                 // used to make sure that FREQ=WEEKLY;INTERVAL=2 only generates dates
                 // within the proper week.
                 if (0 != byDay.length) {
-                    dayGenerator = Generators.byDayGenerator(byDay, false, start);
+                    dayMask = DayMask.byDay(byDay, false);
                     byDay = NO_DAYS;
                     if (interval > 1) {
-                        filters.add(Filters.weekIntervalFilter(interval, wkst, dtStart));
+                        dateFilter = DayMask.weekInterval(interval, wkst, dtStart);
                     }
                 } else {
                     dayGenerator = Generators.serialDayGenerator(interval * 7, dtStart);
@@ -351,7 +478,7 @@ public class RecurrenceIteratorFactory {
                     // The BYMONTHDAY rule part specifies a COMMA separated list of days
                     // of the month. Valid values are 1 to 31 or -31 to -1. For example,
                     // -10 represents the tenth to the last day of the month.
-                    dayGenerator = Generators.byMonthDayGenerator(byMonthDay, start);
+                    dayMask = DayMask.byMonthDay(byMonthDay);
                     byMonthDay = NO_INTS;
                 } else if (0 != byWeekNo.length && Frequency.YEARLY == freq) {
                     // The BYWEEKNO rule part specifies a COMMA separated list of ordinals
@@ -368,8 +495,8 @@ public class RecurrenceIteratorFactory {
                     // the month. If an integer modifier is not present, it means all days
                     // of this type within the specified frequency. For example, within a
                     // MONTHLY rule, MO represents all Mondays within the month.
-                    dayGenerator = Generators.byDayGenerator(
-                            byDay, Frequency.YEARLY == freq && 0 == byMonth.length, start);
+                    dayMask = DayMask.byDay(
+                            byDay, Frequency.YEARLY == freq && 0 == byMonth.length);
                     byDay = NO_DAYS;
                 } else {
                     if (Frequency.YEARLY == freq) {
@@ -400,14 +527,13 @@ public class RecurrenceIteratorFactory {
             }
         }
 
-        if (dayGenerator == null) {
+        if (dayGenerator == null && dayMask == null) {
             boolean dailyOrMoreOften = freq.compareTo(Frequency.DAILY) <= 0;
             if (byMonthDay.length != 0) {
-                dayGenerator = Generators.byMonthDayGenerator(byMonthDay, start);
+                dayMask = DayMask.byMonthDay(byMonthDay);
                 byMonthDay = NO_INTS;
             } else if (byDay.length != 0) {
-                dayGenerator = Generators.byDayGenerator(
-                        byDay, Frequency.YEARLY == freq, start);
+                dayMask = DayMask.byDay(byDay, Frequency.YEARLY == freq);
                 byDay = NO_DAYS;
             } else if (dailyOrMoreOften) {
                 dayGenerator = Generators.serialDayGenerator(
@@ -419,12 +545,23 @@ public class RecurrenceIteratorFactory {
         }
 
         if (0 != byDay.length) {
-            filters.add(Filters.byDayFilter(byDay, Frequency.YEARLY == freq, wkst));
+            dateFilter = and(dateFilter,
+                    DayMask.byDayFilter(byDay, Frequency.YEARLY == freq, wkst));
             byDay = NO_DAYS;
         }
 
         if (0 != byMonthDay.length) {
-            filters.add(Filters.byMonthDayFilter(byMonthDay));
+            dateFilter = and(dateFilter, DayMask.byMonthDayFilter(byMonthDay));
+        }
+
+        // the days are generated by scanning the bits of a mask, which leaves
+        // out the days rejected by the date filters up front.  Otherwise the
+        // date filters are tested by looking up the mask.
+        if (null != dayMask) {
+            dayGenerator = Generators.byDayMaskGenerator(
+                    and(dayMask, dateFilter), start);
+        } else if (null != dateFilter) {
+            filters.add(dateFilter);
         }
 
         // generator inference common to all periods
@@ -438,27 +575,16 @@ public class RecurrenceIteratorFactory {
         // the condition tells the iterator when to halt.
         // The condition is exclusive, so the date that triggers it will not be
         // included.
-        Predicate<DateValue> condition;
-        boolean canShortcutAdvance = true;
+        // COUNT is handled by the iterator itself, which numbers the instances
+        // so that it can resume from a checkpoint.
+        Conditions.Condition condition;
         if (0 != count) {
-            condition = Conditions.countCondition(count);
-            // We can't shortcut because the countCondition must see every generated
-            // instance.
-            // TODO(msamuel): if count is large, we might try predicting the end date
-            // so that we can convert the COUNT condition to an UNTIL condition.
-            canShortcutAdvance = false;
+            condition = Conditions.alwaysTrue();
         } else if (null != untilUtc) {
-            if ((untilUtc instanceof TimeValue) != (dtStart instanceof TimeValue)) {
-                // TODO(msamuel): warn
-                if (dtStart instanceof TimeValue) {
-                    untilUtc = TimeUtils.dayStart(untilUtc);
-                } else {
-                    untilUtc = TimeUtils.toDateValue(untilUtc);
-                }
-            }
-            condition = Conditions.untilCondition(untilUtc);
+            condition = Conditions.untilCondition(
+                    untilMatchingDtStart(untilUtc, dtStart));
         } else {
-            condition = Predicates.<DateValue>alwaysTrue();
+            condition = Conditions.alwaysTrue();
         }
 
         // combine filters into a single function
@@ -477,6 +603,10 @@ public class RecurrenceIteratorFactory {
 
         Generator instanceGenerator = null;
         if (0 != bySetPos.length) {
+            // the set is computed from the period the generators were in when
+            // the previous set was used up, so resuming in a later month would
+            // skip a set.
+            checkpoints = null;
             instanceGenerator = InstanceGenerators.bySetPosInstanceGenerator(
                     bySetPos, freq, wkst, filter,
                     yearGenerator, monthGenerator, dayGenerator, hourGenerator,
@@ -491,7 +621,31 @@ public class RecurrenceIteratorFactory {
                 dtStart, tzid, condition, instanceGenerator,
                 yearGenerator, monthGenerator, dayGenerator,
                 hourGenerator, minuteGenerator, secondGenerator,
-                canShortcutAdvance);
+                count, checkpoints);
+    }
+
+    /** the intersection of two masks, either of which may be null. */
+    private static DayMask and(DayMask a, DayMask b) {
+        if (null == a) {
+            return b;
+        }
+        return null != b ? a.and(b) : a;
+    }
+
+    /**
+     * converts UNTIL to a date time if dtStart is a date time and to a date if
+     * it is a date.
+     */
+    static DateValue untilMatchingDtStart(DateValue untilUtc, DateValue dtStart) {
+        if ((untilUtc instanceof TimeValue) != (dtStart instanceof TimeValue)) {
+            // TODO(msamuel): warn
+            if (dtStart instanceof TimeValue) {
+                return TimeUtils.dayStart(untilUtc);
+            } else {
+                return TimeUtils.toDateValue(untilUtc);
+            }
+        }
+        return untilUtc;
     }
 
     /**
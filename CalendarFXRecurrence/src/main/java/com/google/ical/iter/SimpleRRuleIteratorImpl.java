@@ -0,0 +1,279 @@
+/**
+ * Copyright (C) 2015, 2016 Dirk Lemmermann Software & Consulting (dlsc.com)
+ * <p>
+ * This file is part of CalendarFX.
+ */
+
+package com.google.ical.iter;
+
+import com.google.ical.util.DTBuilder;
+import com.google.ical.util.PackedDates;
+import com.google.ical.util.TimeUtils;
+import com.google.ical.values.DateValue;
+import com.google.ical.values.Frequency;
+import com.google.ical.values.RRule;
+import com.google.ical.values.TimeValue;
+import com.google.ical.values.Weekday;
+import com.google.ical.values.WeekdayNum;
+
+import java.util.List;
+import java.util.TimeZone;
+
+/**
+ * an iterator over the dates of simple DAILY and WEEKLY rules that computes
+ * the n-th occurrence arithmetically instead of running the generators and
+ * filters of {@link RRuleIteratorImpl}.
+ * <p>
+ * A rule is simple if it is
+ * <pre>
+ *   FREQ=DAILY[;INTERVAL=n][;COUNT=n|;UNTIL=date]
+ *   FREQ=WEEKLY[;INTERVAL=n][;BYDAY=weekdays][;WKST=day][;COUNT=n|;UNTIL=date]
+ * </pre>
+ * where the BYDAY weekdays don't have a week number. The occurrences of such
+ * a rule repeat every interval days or weeks, called a period here, on the
+ * same days of the period. The occurrences are numbered starting with the
+ * ones in the period containing dtStart, including those before dtStart, so
+ * that the period and day of occurrence <code>i</code> are simply
+ * <code>i / k</code> and <code>i % k</code> with <code>k</code> occurrences
+ * per period. Seeking to a date and counting the occurrences in a window
+ * therefore take constant time.
+ */
+final class SimpleRRuleIteratorImpl implements PackedRecurrenceIterator {
+
+    /** marks the absence of a packed date. */
+    private static final long NONE = Long.MIN_VALUE;
+
+    /** the fixed day on which the period containing dtStart starts. */
+    private final int base_;
+    /** the sorted offsets of the occurrences from the start of a period. */
+    private final int[] offsets_;
+    /** the number of days between the starts of two periods. */
+    private final int step_;
+    /** the index of the first occurrence on or after dtStart. */
+    private final long first_;
+    /** the index past the last occurrence allowed by COUNT or UNTIL. */
+    private final long end_;
+
+    private final boolean timed_;
+    private final int hour_, minute_, second_;
+    private final TimeZone tzid_;
+    /** true iff local times are the same as UTC times in tzid_. */
+    private final boolean utcZone_;
+    /** used to convert local times to UTC. */
+    private final DTBuilder local_ = new DTBuilder(0, 0, 0);
+    private final DTBuilder utc_ = new DTBuilder(0, 0, 0);
+
+    /** the index of the next occurrence to compute. */
+    private long index_;
+    /** a packed date that has been computed but not yet returned, or NONE. */
+    private long pendingUtc_ = NONE;
+
+    /**
+     * true if the rule, which must have been parsed without errors, can be
+     * iterated by this class.
+     */
+    static boolean isSimple(RRule rrule, DateValue dtStart) {
+        Frequency freq = rrule.getFreq();
+        if (freq != Frequency.DAILY && freq != Frequency.WEEKLY) {
+            return false;
+        }
+        List<WeekdayNum> byDay = rrule.getByDay();
+        if (freq == Frequency.DAILY && !byDay.isEmpty()) {
+            return false;
+        }
+        for (WeekdayNum day : byDay) {
+            if (day.num != 0) {
+                return false;
+            }
+        }
+        return rrule.getByMonth().length == 0
+                && rrule.getByMonthDay().length == 0
+                && rrule.getByWeekNo().length == 0
+                && rrule.getByYearDay().length == 0
+                && rrule.getBySetPos().length == 0
+                && rrule.getByHour().length == 0
+                && rrule.getByMinute().length == 0
+                && rrule.getBySecond().length == 0
+                && dtStart.year() > 0;
+    }
+
+    /**
+     * @param rrule a rule for which {@link #isSimple} is true.
+     * @param dtStart the start of the series, in tzid.
+     * @param tzid the timezone to iterate in.
+     */
+    SimpleRRuleIteratorImpl(RRule rrule, DateValue dtStart, TimeZone tzid) {
+        int interval = Math.max(1, rrule.getInterval());
+        Weekday wkst = null != rrule.getWkSt() ? rrule.getWkSt() : Weekday.MO;
+
+        int startDay = TimeUtils.fixedFromGregorian(
+                dtStart.year(), dtStart.month(), dtStart.day());
+        if (rrule.getFreq() == Frequency.DAILY) {
+            this.base_ = startDay;
+            this.offsets_ = new int[]{0};
+            this.step_ = interval;
+            this.first_ = 0;
+        } else {
+            int startOffset = InstanceGenerators.daysIntoWeek(startDay, wkst);
+            boolean[] days = new boolean[7];
+            if (rrule.getByDay().isEmpty()) {
+                days[startOffset] = true;
+            }
+            for (WeekdayNum day : rrule.getByDay()) {
+                days[(7 + day.wday.jsDayNum - wkst.jsDayNum) % 7] = true;
+            }
+            int n = 0;
+            for (boolean day : days) {
+                n += day ? 1 : 0;
+            }
+            this.offsets_ = new int[n];
+            int first = 0;
+            for (int i = 0, j = 0; i < 7; ++i) {
+                if (days[i]) {
+                    if (i < startOffset) {
+                        ++first;
+                    }
+                    this.offsets_[j++] = i;
+                }
+            }
+            this.base_ = startDay - startOffset;
+            this.step_ = 7 * interval;
+            this.first_ = first;
+        }
+
+        this.timed_ = dtStart instanceof TimeValue;
+        if (this.timed_) {
+            TimeValue tv = (TimeValue) dtStart;
+            this.hour_ = tv.hour();
+            this.minute_ = tv.minute();
+            this.second_ = tv.second();
+        } else {
+            this.hour_ = this.minute_ = this.second_ = 0;
+        }
+        this.tzid_ = tzid;
+        this.utcZone_ = tzid.hasSameRules(TimeUtils.utcTimezone());
+        this.index_ = this.first_;
+
+        DateValue untilUtc = rrule.getUntil();
+        if (0 != rrule.getCount()) {
+            this.end_ = this.first_ + rrule.getCount();
+        } else if (null != untilUtc) {
+            long until = DateValueComparison.comparable(
+                    RecurrenceIteratorFactory.untilMatchingDtStart(untilUtc, dtStart));
+            long end = indexOnOrAfter(PackedDates.fixedDay(until) - 2);
+            while (instance(end) <= until) {
+                ++end;
+            }
+            this.end_ = end;
+        } else {
+            this.end_ = Long.MAX_VALUE;
+        }
+    }
+
+    public boolean hasNext() {
+        if (NONE == this.pendingUtc_) {
+            this.fetchNext();
+        }
+        return NONE != this.pendingUtc_;
+    }
+
+    public DateValue next() {
+        long next = nextPacked();
+        return NONE != next ? PackedDates.toDateValue(next) : null;
+    }
+
+    public long nextPacked() {
+        if (NONE == this.pendingUtc_) {
+            this.fetchNext();
+        }
+        long next = this.pendingUtc_;
+        this.pendingUtc_ = NONE;
+        return next;
+    }
+
+    public void remove() {
+        throw new UnsupportedOperationException();
+    }
+
+    public void advanceTo(DateValue dateUtc) {
+        advanceToPacked(DateValueComparison.comparable(dateUtc));
+    }
+
+    public void advanceToPacked(long dateUtc) {
+        // Don't throw away a future pending date since it won't be computed
+        // again.
+        if (NONE != this.pendingUtc_ && dateUtc <= this.pendingUtc_) {
+            return;
+        }
+        this.pendingUtc_ = NONE;
+        // The local date of an occurrence is at most a day away from its date
+        // in UTC, so start a bit early and skip forward.
+        long index = Math.max(this.index_,
+                indexOnOrAfter(PackedDates.fixedDay(dateUtc) - 2));
+        while (index < this.end_ && instance(index) < dateUtc) {
+            ++index;
+        }
+        this.index_ = index;
+    }
+
+    /**
+     * the number of occurrences whose local date is on or after fromDay and
+     * before toDay.
+     * @param fromDay a fixed day, see {@link TimeUtils#fixedFromGregorian}.
+     * @param toDay a fixed day, exclusive.
+     */
+    long countBetween(int fromDay, int toDay) {
+        if (toDay <= fromDay) {
+            return 0;
+        }
+        return Math.min(this.end_, indexOnOrAfter(toDay))
+                - Math.min(this.end_, indexOnOrAfter(fromDay));
+    }
+
+    private void fetchNext() {
+        if (NONE != this.pendingUtc_ || this.index_ >= this.end_) {
+            return;
+        }
+        this.pendingUtc_ = instance(this.index_++);
+    }
+
+    /**
+     * the index of the first occurrence on or after dtStart whose local date is
+     * on or after the given fixed day.
+     */
+    private long indexOnOrAfter(int fixedDay) {
+        long days = (long) fixedDay - this.base_;
+        if (days <= 0) {
+            return this.first_;
+        }
+        int k = this.offsets_.length;
+        long period = days / this.step_;
+        long offset = days - period * this.step_;
+        int j = 0;
+        while (j < k && this.offsets_[j] < offset) {
+            ++j;
+        }
+        return Math.max(this.first_, period * k + j);
+    }
+
+    /** the packed date in UTC of the occurrence with the given index. */
+    private long instance(long index) {
+        int k = this.offsets_.length;
+        long fixedDay = this.base_ + (index / k) * this.step_
+                + this.offsets_[(int) (index % k)];
+        long date = PackedDates.packFixedDay((int) fixedDay);
+        if (!this.timed_) {
+            return date;
+        }
+        DTBuilder local = this.local_;
+        local.year = PackedDates.year(date);
+        local.month = PackedDates.month(date);
+        local.day = PackedDates.day(date);
+        local.hour = this.hour_;
+        local.minute = this.minute_;
+        local.second = this.second_;
+        local.normalize();
+        return RRuleIteratorImpl.toUtc(local, PackedDates.pack(local, true),
+                this.tzid_, this.utcZone_, this.utc_);
+    }
+}
@@ -0,0 +1,147 @@
+/**
+ * Copyright (C) 2015, 2016 Dirk Lemmermann Software & Consulting (dlsc.com)
+ * <p>
+ * This file is part of CalendarFX.
+ */
+
+package com.google.ical.util;
+
+import com.google.ical.values.DateTimeValueImpl;
+import com.google.ical.values.DateValue;
+import com.google.ical.values.DateValueImpl;
+import com.google.ical.values.TimeValue;
+
+/**
+ * date values packed into a single <code>long</code>.
+ * <p>
+ * The recurrence iterators use this representation internally so that they do
+ * not have to allocate a {@link DateValue} for every candidate they look at.
+ * The layout, from the most to the least significant bits, is
+ * <pre>
+ *   year (signed) | month (4 bits) | day (5 bits) | hour (5 bits) |
+ *   minute (6 bits) | second + 1 (6 bits)
+ * </pre>
+ * Dates without a time have all time bits set to zero. Packed values can be
+ * compared with the regular numeric operators and are ordered like
+ * {@link DateValue#compareTo}: a date sorts before any date time on the same
+ * day.
+ */
+public final class PackedDates {
+
+    private static final int SECOND_BITS = 6;
+    private static final int MINUTE_SHIFT = SECOND_BITS;
+    private static final int HOUR_SHIFT = MINUTE_SHIFT + 6;
+    private static final int DAY_SHIFT = HOUR_SHIFT + 5;
+    private static final int MONTH_SHIFT = DAY_SHIFT + 5;
+    private static final int YEAR_SHIFT = MONTH_SHIFT + 4;
+
+    /** the number of days from 0000-03-01 to fixed day 0, 0000-12-31. */
+    private static final int FIXED_MARCH_1_0 = 305;
+
+    /** packs a date without a time. */
+    public static long packDate(int year, int month, int day) {
+        return (((long) year) << YEAR_SHIFT)
+                | (((long) month) << MONTH_SHIFT)
+                | (((long) day) << DAY_SHIFT);
+    }
+
+    /** packs a date with a time. */
+    public static long packDateTime(int year, int month, int day,
+                                    int hour, int minute, int second) {
+        return packDate(year, month, day)
+                | (hour << HOUR_SHIFT)
+                | (minute << MINUTE_SHIFT)
+                | (second + 1);
+    }
+
+    public static long pack(DateValue dv) {
+        if (dv instanceof TimeValue) {
+            TimeValue tv = (TimeValue) dv;
+            return packDateTime(dv.year(), dv.month(), dv.day(),
+                    tv.hour(), tv.minute(), tv.second());
+        }
+        return packDate(dv.year(), dv.month(), dv.day());
+    }
+
+    /**
+     * packs the builder's fields.  The builder has to be normalized.
+     * @param timed true to pack a date time, false to pack a date and ignore
+     *   the time fields.
+     */
+    public static long pack(DTBuilder builder, boolean timed) {
+        return timed
+                ? packDateTime(builder.year, builder.month, builder.day,
+                builder.hour, builder.minute, builder.second)
+                : packDate(builder.year, builder.month, builder.day);
+    }
+
+    /**
+     * packs the date with the given fixed day number, see
+     * {@link TimeUtils#fixedFromGregorian}.
+     */
+    public static long packFixedDay(int fixedDay) {
+        // Civil from days as described by Howard Hinnant, with the era
+        // starting on March 1st of year 0 so that leap days come last.
+        int z = fixedDay + FIXED_MARCH_1_0;
+        int era = Math.floorDiv(z, 146097);
+        int doe = z - era * 146097;
+        int yoe = (doe - doe / 1460 + doe / 36524 - doe / 146096) / 365;
+        int doy = doe - (365 * yoe + yoe / 4 - yoe / 100);
+        int mp = (5 * doy + 2) / 153;
+        int day = doy - (153 * mp + 2) / 5 + 1;
+        int month = mp < 10 ? mp + 3 : mp - 9;
+        int year = yoe + era * 400 + (month <= 2 ? 1 : 0);
+        return packDate(year, month, day);
+    }
+
+    /** the fixed day number of the packed date's day. */
+    public static int fixedDay(long packed) {
+        return TimeUtils.fixedFromGregorian(year(packed), month(packed), day(packed));
+    }
+
+    /** materializes the packed value as a {@link DateValue}. */
+    public static DateValue toDateValue(long packed) {
+        if (isTimed(packed)) {
+            return new DateTimeValueImpl(year(packed), month(packed), day(packed),
+                    hour(packed), minute(packed), second(packed));
+        }
+        return new DateValueImpl(year(packed), month(packed), day(packed));
+    }
+
+    /** true if the packed value has a time part. */
+    public static boolean isTimed(long packed) {
+        return (packed & 0x3f) != 0;
+    }
+
+    public static int year(long packed) {
+        return (int) (packed >> YEAR_SHIFT);
+    }
+
+    public static int month(long packed) {
+        return (int) (packed >>> MONTH_SHIFT) & 0xf;
+    }
+
+    public static int day(long packed) {
+        return (int) (packed >>> DAY_SHIFT) & 0x1f;
+    }
+
+    /** the hour, zero for dates without a time. */
+    public static int hour(long packed) {
+        return (int) (packed >>> HOUR_SHIFT) & 0x1f;
+    }
+
+    /** the minute, zero for dates without a time. */
+    public static int minute(long packed) {
+        return (int) (packed >>> MINUTE_SHIFT) & 0x3f;
+    }
+
+    /** the second, zero for dates without a time. */
+    public static int second(long packed) {
+        int second = (int) packed & 0x3f;
+        return second == 0 ? 0 : second - 1;
+    }
+
+    private PackedDates() {
+        // uninstantiable
+    }
+}
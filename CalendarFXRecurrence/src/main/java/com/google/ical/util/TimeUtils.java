@@ -60,6 +60,14 @@ public class TimeUtils {
             return time;
         }
 
+        if (zone instanceof ZoneRulesTimeZone) {
+            ZoneRulesTimeZone rulesZone = (ZoneRulesTimeZone) zone;
+            int secondOffset = sense > 0
+                    ? rulesZone.getOffsetAtUtc(time)
+                    : rulesZone.getOffsetAtLocal(time);
+            return addSeconds(time, sense * secondOffset);
+        }
+
         long timetMillis = 0;
 
         if (sense > 0) {
@@ -0,0 +1,318 @@
+/**
+ * Copyright (C) 2015, 2016 Dirk Lemmermann Software & Consulting (dlsc.com)
+ * <p>
+ * This file is part of CalendarFX.
+ */
+
+package com.google.ical.util;
+
+import com.google.ical.values.DateTimeValue;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.zone.ZoneOffsetTransition;
+import java.time.zone.ZoneRules;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.TimeZone;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * a {@link TimeZone} backed by the {@link ZoneRules} of a {@link ZoneId}.
+ * <p>
+ * {@link TimeUtils#toUtc(com.google.ical.values.DateValue, TimeZone)} and
+ * {@link TimeUtils#fromUtc(DateTimeValue, TimeZone)} recognize instances of
+ * this class and convert times by looking up the offset transitions of the
+ * year in question instead of populating a {@link java.util.GregorianCalendar}
+ * for every single instance. The transitions are computed once per zone and
+ * year and then cached.
+ * <p>
+ * Local times are resolved the way RFC 5545 requires: a time that falls into
+ * a gap (spring forward) is interpreted with the offset before the gap, which
+ * moves it forward by the length of the gap, and a time that occurs twice
+ * (fall back) resolves to the first occurrence.
+ * <p>
+ * Use {@link #of(ZoneId)} to obtain instances. All instances for the same
+ * zone share the cached transitions, so {@link #setID(String)} and
+ * {@link #setRawOffset(int)} only change the instance they are called on.
+ */
+public final class ZoneRulesTimeZone extends TimeZone {
+
+    private static final long serialVersionUID = 1L;
+
+    private static final ConcurrentMap<ZoneId, Transitions> ZONES =
+            new ConcurrentHashMap<ZoneId, Transitions>();
+
+    /** seconds between the Dershowitz/Reingold epoch and 1970-01-01. */
+    private static final long UNIX_EPOCH_SECS =
+            TimeUtils.fixedFromGregorian(1970, 1, 1) * 24L * 60 * 60;
+
+    private static final long SECS_PER_DAY = 24L * 60 * 60;
+
+    /** the years for which transitions get cached, others get computed. */
+    private static final int FIRST_CACHED_YEAR = 1900;
+    private static final int CACHED_YEARS = 300;
+
+    private final ZoneId zoneId;
+    private final transient Transitions transitions;
+
+    /** the amount added to all offsets by {@link #setRawOffset(int)}. */
+    private int offsetDiffMillis;
+
+    /**
+     * returns a time zone for the given zone id that shares its cached
+     * transitions with all other instances for the same zone.
+     */
+    public static ZoneRulesTimeZone of(ZoneId zoneId) {
+        Transitions transitions = ZONES.get(zoneId);
+        if (transitions == null) {
+            transitions = new Transitions(zoneId.getRules());
+            Transitions other = ZONES.putIfAbsent(zoneId, transitions);
+            if (other != null) {
+                transitions = other;
+            }
+        }
+        return new ZoneRulesTimeZone(zoneId, transitions);
+    }
+
+    private ZoneRulesTimeZone(ZoneId zoneId, Transitions transitions) {
+        this.zoneId = zoneId;
+        this.transitions = transitions;
+        super.setID(zoneId.getId());
+    }
+
+    public ZoneId getZoneId() {
+        return zoneId;
+    }
+
+    public ZoneRules getRules() {
+        return transitions.rules;
+    }
+
+    /**
+     * the offset in seconds that has to be added to the given UTC time to get
+     * the local time.
+     */
+    public int getOffsetAtUtc(DateTimeValue utc) {
+        long secs = TimeUtils.secsSinceEpoch(utc) - UNIX_EPOCH_SECS;
+        return transitions.get(utc.year()).offsetAtUtc(secs) + offsetDiffSecs();
+    }
+
+    /**
+     * the offset in seconds that has to be subtracted from the given local time
+     * to get the UTC time.
+     */
+    public int getOffsetAtLocal(DateTimeValue local) {
+        return getOffsetAtLocal(local.year(), local.month(), local.day(),
+                local.hour(), local.minute(), local.second());
+    }
+
+    /**
+     * like {@link #getOffsetAtLocal(DateTimeValue)} but for the fields of a
+     * normalized local time.
+     */
+    public int getOffsetAtLocal(int year, int month, int day, int hour,
+                                int minute, int second) {
+        long secs = TimeUtils.fixedFromGregorian(year, month, day) * SECS_PER_DAY
+                - UNIX_EPOCH_SECS + (hour * 60 + minute) * 60 + second;
+        int diff = offsetDiffSecs();
+        return transitions.get(year).offsetAtLocal(secs - diff) + diff;
+    }
+
+    private int offsetDiffSecs() {
+        return offsetDiffMillis / 1000;
+    }
+
+    @Override
+    public int getOffset(int era, int year, int month, int day, int dayOfWeek,
+                         int milliseconds) {
+        if (era == java.util.GregorianCalendar.BC) {
+            year = 1 - year;
+        }
+        long localMillis = (TimeUtils.fixedFromGregorian(year, month + 1, day)
+                * SECS_PER_DAY - UNIX_EPOCH_SECS) * 1000 + milliseconds;
+        return getOffset(localMillis - getRawOffset());
+    }
+
+    @Override
+    public int getOffset(long date) {
+        long secs = Math.floorDiv(date, 1000L);
+        int year = TimeUtils.timeFromSecsSinceEpoch(
+                secs + UNIX_EPOCH_SECS).year();
+        return transitions.get(year).offsetAtUtc(secs) * 1000
+                + offsetDiffMillis;
+    }
+
+    /**
+     * shifts all offsets of this zone so that its standard offset becomes the
+     * given one. The daylight saving transitions stay the same.
+     */
+    @Override
+    public void setRawOffset(int offsetMillis) {
+        offsetDiffMillis = offsetMillis - transitions.rawOffset;
+    }
+
+    @Override
+    public int getRawOffset() {
+        return transitions.rawOffset + offsetDiffMillis;
+    }
+
+    @Override
+    public boolean useDaylightTime() {
+        return transitions.useDaylightTime;
+    }
+
+    @Override
+    public boolean inDaylightTime(Date date) {
+        return transitions.rules.isDaylightSavings(date.toInstant());
+    }
+
+    @Override
+    public ZoneId toZoneId() {
+        if (offsetDiffMillis == 0 && getID().equals(zoneId.getId())) {
+            return zoneId;
+        }
+        return super.toZoneId();
+    }
+
+    @Override
+    public boolean hasSameRules(TimeZone other) {
+        if (other instanceof ZoneRulesTimeZone) {
+            ZoneRulesTimeZone that = (ZoneRulesTimeZone) other;
+            return transitions.rules.equals(that.transitions.rules)
+                    && offsetDiffMillis == that.offsetDiffMillis;
+        }
+        return super.hasSameRules(other);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof ZoneRulesTimeZone)) {
+            return false;
+        }
+        ZoneRulesTimeZone other = (ZoneRulesTimeZone) obj;
+        return getID().equals(other.getID()) && hasSameRules(other);
+    }
+
+    @Override
+    public int hashCode() {
+        return getID().hashCode() ^ transitions.rules.hashCode();
+    }
+
+    private Object readResolve() {
+        ZoneRulesTimeZone zone = of(zoneId);
+        zone.setID(getID());
+        zone.offsetDiffMillis = offsetDiffMillis;
+        return zone;
+    }
+
+    /**
+     * the rules of a zone together with the offset transitions of the years
+     * that have been looked at so far.
+     */
+    private static final class Transitions {
+
+        private final ZoneRules rules;
+        private final int rawOffset;
+        private final boolean useDaylightTime;
+        private final AtomicReferenceArray<YearTransitions> years =
+                new AtomicReferenceArray<YearTransitions>(CACHED_YEARS);
+
+        Transitions(ZoneRules rules) {
+            this.rules = rules;
+            Instant now = Instant.now();
+            this.rawOffset = rules.getStandardOffset(now).getTotalSeconds() * 1000;
+            this.useDaylightTime = rules.isDaylightSavings(now)
+                    || rules.nextTransition(now) != null;
+        }
+
+        YearTransitions get(int year) {
+            int index = year - FIRST_CACHED_YEAR;
+            if (index < 0 || index >= CACHED_YEARS) {
+                return new YearTransitions(rules, year);
+            }
+            YearTransitions transitions = years.get(index);
+            if (transitions == null) {
+                transitions = new YearTransitions(rules, year);
+                years.set(index, transitions);
+            }
+            return transitions;
+        }
+    }
+
+    /**
+     * the offset transitions of a single year, padded by a couple of days on
+     * both sides so that local and UTC times around new year's eve resolve
+     * correctly no matter which side of the date line they are on.
+     */
+    private static final class YearTransitions {
+
+        private final long[] epochSecs;
+        private final int[] offsetsBefore;
+        private final int[] offsetsAfter;
+        private final int fixedOffset;
+
+        YearTransitions(ZoneRules rules, int year) {
+            long from = TimeUtils.fixedFromGregorian(year, 1, 1) * SECS_PER_DAY
+                    - UNIX_EPOCH_SECS - 2 * SECS_PER_DAY;
+            long to = TimeUtils.fixedFromGregorian(year + 1, 1, 1) * SECS_PER_DAY
+                    - UNIX_EPOCH_SECS + 2 * SECS_PER_DAY;
+
+            List<ZoneOffsetTransition> transitions =
+                    new ArrayList<ZoneOffsetTransition>(2);
+            ZoneOffsetTransition transition =
+                    rules.nextTransition(Instant.ofEpochSecond(from - 1));
+            while (transition != null && transition.toEpochSecond() < to) {
+                transitions.add(transition);
+                transition = rules.nextTransition(transition.getInstant());
+            }
+
+            int n = transitions.size();
+            epochSecs = new long[n];
+            offsetsBefore = new int[n];
+            offsetsAfter = new int[n];
+            for (int i = 0; i < n; ++i) {
+                transition = transitions.get(i);
+                epochSecs[i] = transition.toEpochSecond();
+                offsetsBefore[i] = transition.getOffsetBefore().getTotalSeconds();
+                offsetsAfter[i] = transition.getOffsetAfter().getTotalSeconds();
+            }
+            fixedOffset = rules.getOffset(Instant.ofEpochSecond(from))
+                    .getTotalSeconds();
+        }
+
+        int offsetAtUtc(long epochSec) {
+            for (int i = 0; i < epochSecs.length; ++i) {
+                if (epochSec < epochSecs[i]) {
+                    return offsetsBefore[i];
+                }
+            }
+            return lastOffset();
+        }
+
+        int offsetAtLocal(long localEpochSec) {
+            for (int i = 0; i < epochSecs.length; ++i) {
+                // Local times before the later of the two wall clock readings
+                // of a transition use the offset before it. That moves times
+                // in a gap forward and picks the earlier of two ambiguous
+                // instants.
+                int before = offsetsBefore[i];
+                if (localEpochSec < epochSecs[i] + Math.max(before, offsetsAfter[i])) {
+                    return before;
+                }
+            }
+            return lastOffset();
+        }
+
+        private int lastOffset() {
+            int n = epochSecs.length;
+            return n == 0 ? fixedOffset : offsetsAfter[n - 1];
+        }
+    }
+}
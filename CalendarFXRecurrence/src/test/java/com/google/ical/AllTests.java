@@ -37,7 +37,10 @@ public class AllTests extends TestSuite {
         this.addTestSuite(
                 com.google.ical.compat.jodatime.TimeZoneConverterTest.class);
         this.addTestSuite(com.google.ical.iter.CompoundIteratorImplTest.class);
+        this.addTestSuite(com.google.ical.iter.ContentLineCacheTest.class);
         this.addTestSuite(com.google.ical.iter.ConditionsTest.class);
+        this.addTestSuite(com.google.ical.iter.CountCheckpointsTest.class);
+        this.addTestSuite(com.google.ical.iter.DayMaskTest.class);
         this.addTestSuite(com.google.ical.iter.DateValueComparisonTest.class);
         this.addTestSuite(com.google.ical.iter.FiltersTest.class);
         this.addTestSuite(com.google.ical.iter.GeneratorsTest.class);
@@ -45,9 +48,12 @@ public class AllTests extends TestSuite {
         this.addTestSuite(com.google.ical.iter.MonkeyKeyboardTest.class);
         this.addTestSuite(com.google.ical.iter.RDateIteratorImplTest.class);
         this.addTestSuite(com.google.ical.iter.RRuleIteratorImplTest.class);
+        this.addTestSuite(com.google.ical.iter.SimpleRRuleIteratorImplTest.class);
         this.addTestSuite(com.google.ical.iter.StressTest.class);
         this.addTestSuite(com.google.ical.iter.UtilTest.class);
         this.addTestSuite(com.google.ical.util.DTBuilderTest.class);
+        this.addTestSuite(com.google.ical.util.PackedDatesTest.class);
+        this.addTestSuite(com.google.ical.util.ZoneRulesTimeZoneTest.class);
         this.addTestSuite(com.google.ical.values.IcalParseUtilTest.class);
         this.addTestSuite(com.google.ical.values.PeriodValueImplTest.class);
         this.addTestSuite(com.google.ical.values.RDateListTest.class);
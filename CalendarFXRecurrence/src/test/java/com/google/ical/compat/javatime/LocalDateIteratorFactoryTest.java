@@ -23,8 +23,10 @@ package com.google.ical.compat.javatime;
 import com.google.ical.values.DateTimeValueImpl;
 import com.google.ical.values.DateValue;
 import com.google.ical.values.DateValueImpl;
+import com.google.ical.values.RRule;
 import junit.framework.TestCase;
 
+import java.text.ParseException;
 import java.time.LocalDate;
 import java.time.ZoneId;
 
@@ -121,6 +123,113 @@ public class LocalDateIteratorFactoryTest extends TestCase {
         assertTrue(!it.hasNext());
     }
 
+    public void testCreateLocalDateIteratorFromParsedRule() throws Exception {
+        RRule rrule = new RRule("RRULE:FREQ=WEEKLY;BYDAY=MO,FR;COUNT=4");
+
+        LocalDateIterator it = LocalDateIteratorFactory.createLocalDateIterator(
+                rrule, date(2006, 1, 2), PST);
+        assertEquals(date(2006, 1, 2), it.next());
+        assertEquals(date(2006, 1, 6), it.next());
+        assertEquals(date(2006, 1, 9), it.next());
+        assertEquals(date(2006, 1, 13), it.next());
+        assertTrue(!it.hasNext());
+
+        it = LocalDateIteratorFactory.createLocalDateIterator(
+                rrule, date(2006, 1, 2), PST);
+        it.advanceTo(date(2006, 1, 7));
+        assertEquals(date(2006, 1, 9), it.next());
+    }
+
+    public void testToEpochDay() throws Exception {
+        for (LocalDate d : new LocalDate[]{date(1969, 12, 31), date(1970, 1, 1),
+                date(2000, 2, 29), date(2006, 10, 13), date(1, 1, 1)}) {
+            assertEquals(d.toString(), d.toEpochDay(),
+                    LocalDateIteratorFactory.toEpochDay(
+                            d.getYear(), d.getMonthValue(), d.getDayOfMonth()));
+        }
+    }
+
+    public void testCreateEpochDayIterator() throws Exception {
+        String rdata = "RRULE:FREQ=DAILY;INTERVAL=2;COUNT=8\n"
+                + "EXDATE:20060103,20060105,20060107T000000,20060113";
+
+        EpochDayIterator it = LocalDateIteratorFactory.createEpochDayIterator(
+                rdata, date(2006, 1, 1), PST, true);
+        LocalDateIterator expected = LocalDateIteratorFactory.createLocalDateIterator(
+                rdata, date(2006, 1, 1), PST, true);
+        while (expected.hasNext()) {
+            assertTrue(it.hasNext());
+            assertEquals(expected.next().toEpochDay(), it.nextEpochDay());
+        }
+        assertTrue(!it.hasNext());
+
+        it = LocalDateIteratorFactory.createEpochDayIterator(
+                rdata, date(2006, 1, 1), PST, true);
+        it.advanceToEpochDay(date(2006, 1, 10).toEpochDay());
+        assertTrue(it.hasNext());
+        assertEquals(date(2006, 1, 11).toEpochDay(), it.nextEpochDay());
+        assertTrue(it.hasNext());
+        assertEquals(date(2006, 1, 15).toEpochDay(), it.nextEpochDay());
+        assertTrue(!it.hasNext());
+    }
+
+    public void testExpandAll() throws Exception {
+        String[] rdata = {
+                "RRULE:FREQ=WEEKLY;BYDAY=MO,FR",
+                "RRULE:FREQ=MONTHLY;BYDAY=MO,TU,WE,TH,FR;BYSETPOS=-1",
+                "RRULE:FREQ=WEEKLY;BYDAY=MO,FR",
+                "RRULE:FREQ=DAILY;COUNT=3",
+                "RRULE:FREQ=BOGUS",
+                "RRULE:FREQ=WEEKLY;BYDAY=MO,FR",
+        };
+        LocalDate[] starts = {
+                date(2006, 1, 2), date(2006, 1, 31), date(2006, 1, 2),
+                date(2006, 1, 1), date(2006, 1, 1), date(2006, 1, 6),
+        };
+        long[] fromDays = {
+                date(2006, 3, 1).toEpochDay(), date(2006, 1, 1).toEpochDay(),
+                date(2006, 3, 6).toEpochDay(), date(2006, 1, 1).toEpochDay(),
+                date(2006, 1, 1).toEpochDay(), date(2006, 3, 1).toEpochDay(),
+        };
+        long toDay = date(2006, 3, 31).toEpochDay();
+
+        final StringBuilder[] actual = new StringBuilder[rdata.length];
+        for (int i = 0; i < actual.length; ++i) {
+            actual[i] = new StringBuilder();
+        }
+        LocalDateIteratorFactory.expandAll(rdata, starts, fromDays, toDay, PST,
+                true, new EpochDaySink() {
+                    public void accept(int rule, long epochDay) {
+                        actual[rule].append(LocalDate.ofEpochDay(epochDay)).append(' ');
+                    }
+
+                    public void failed(int rule, ParseException ex) {
+                        actual[rule].append("failed");
+                    }
+                });
+
+        for (int i = 0; i < rdata.length; ++i) {
+            if (i == 4) {
+                assertEquals("failed", actual[i].toString());
+                continue;
+            }
+            StringBuilder expected = new StringBuilder();
+            EpochDayIterator it = LocalDateIteratorFactory.createEpochDayIterator(
+                    rdata[i], starts[i], PST, true);
+            it.advanceToEpochDay(fromDays[i]);
+            while (it.hasNext()) {
+                long day = it.nextEpochDay();
+                if (day > toDay) {
+                    break;
+                }
+                expected.append(LocalDate.ofEpochDay(day)).append(' ');
+            }
+            assertEquals(rdata[i], expected.toString(), actual[i].toString());
+        }
+        assertTrue(actual[2].toString().startsWith("2006-03-06 2006-03-10 "));
+        assertEquals("2006-01-31 2006-02-28 2006-03-31 ", actual[1].toString());
+    }
+
     private static LocalDate date(int y, int m, int d) {
         return LocalDate.of(y, m, d);
     }
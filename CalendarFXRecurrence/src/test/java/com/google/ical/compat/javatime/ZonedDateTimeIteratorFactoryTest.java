@@ -100,6 +100,29 @@ public class ZonedDateTimeIteratorFactoryTest extends TestCase {
         assertTrue(!it.hasNext());
     }
 
+    public void testHourlyAcrossDaylightSavingTransitions() throws Exception {
+        // Los Angeles springs forward at 2:00 on 2006-04-02 and falls back at
+        // 2:00 on 2006-10-29.
+        ZonedDateTimeIterator it = ZonedDateTimeIteratorFactory.createDateTimeIterator(
+                "RRULE:FREQ=HOURLY;BYHOUR=1,2,3;COUNT=3",
+                dateTime(2006, 4, 2, 1, 0, 0, PST), PST, true);
+        assertEquals(dateTime(2006, 4, 2, 9, 0, 0), it.next());
+        // 2:00 does not exist and gets moved forward to 3:00 PDT, which makes
+        // the 3:00 instance a duplicate that is only returned once
+        assertEquals(dateTime(2006, 4, 2, 10, 0, 0), it.next());
+        assertEquals(dateTime(2006, 4, 3, 8, 0, 0), it.next());
+        assertTrue(!it.hasNext());
+
+        it = ZonedDateTimeIteratorFactory.createDateTimeIterator(
+                "RRULE:FREQ=HOURLY;COUNT=3",
+                dateTime(2006, 10, 29, 0, 0, 0, PST), PST, true);
+        assertEquals(dateTime(2006, 10, 29, 7, 0, 0), it.next());
+        // 1:00 happens twice, the first occurrence (PDT) is used
+        assertEquals(dateTime(2006, 10, 29, 8, 0, 0), it.next());
+        assertEquals(dateTime(2006, 10, 29, 10, 0, 0), it.next());
+        assertTrue(!it.hasNext());
+    }
+
     private static ZonedDateTime dateTime(int y, int m, int d, int h, int n, int s) {
         return dateTime(y, m, d, h, n, s, ZoneId.of("UTC"));
     }
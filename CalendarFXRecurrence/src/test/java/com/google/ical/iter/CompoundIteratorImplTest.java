@@ -20,7 +20,9 @@
 
 package com.google.ical.iter;
 
+import com.google.ical.util.PackedDates;
 import com.google.ical.util.TimeUtils;
+import com.google.ical.util.ZoneRulesTimeZone;
 import com.google.ical.values.DateTimeValueImpl;
 import com.google.ical.values.DateValue;
 import com.google.ical.values.DateValueImpl;
@@ -28,6 +30,7 @@ import com.google.ical.values.RDateList;
 import junit.framework.Assert;
 import junit.framework.TestCase;
 
+import java.time.ZoneId;
 import java.util.Collections;
 import java.util.TimeZone;
 
@@ -464,6 +467,56 @@ public class CompoundIteratorImplTest extends TestCase {
 
 
     // reimplement assertEquals so that it doesn't suck.  sign...
+    public void testPackedDatesMatchDateValues() throws Exception {
+        String[] rdatas = {
+                "RRULE:FREQ=DAILY;COUNT=50\nEXDATE:20060415,20060420",
+                "RRULE:FREQ=MONTHLY;BYDAY=MO,TU,WE,TH,FR;BYSETPOS=-1;COUNT=24",
+                "RRULE:FREQ=WEEKLY;BYDAY=SA,SU;BYSETPOS=1,-1;UNTIL=20070101",
+                "RRULE:FREQ=HOURLY;BYHOUR=1,2,3;UNTIL=20061101T000000Z\n"
+                        + "RDATE:20060501T120000Z",
+        };
+        DateValue[] starts = {
+                new DateValueImpl(2006, 4, 13),
+                new DateTimeValueImpl(2006, 4, 1, 1, 30, 0),
+        };
+        TimeZone[] zones = {
+                UTC, PST, ZoneRulesTimeZone.of(ZoneId.of("America/Los_Angeles")),
+        };
+        for (String rdata : rdatas) {
+            for (DateValue dtStart : starts) {
+                for (TimeZone tz : zones) {
+                    String message = rdata + " " + dtStart + " " + tz.getID();
+                    RecurrenceIterator expected =
+                            RecurrenceIteratorFactory.createRecurrenceIterator(
+                                    rdata, dtStart, tz);
+                    PackedRecurrenceIterator actual = (PackedRecurrenceIterator)
+                            RecurrenceIteratorFactory.createRecurrenceIterator(
+                                    rdata, dtStart, tz);
+                    int n = 0;
+                    while (expected.hasNext() && ++n < 2000) {
+                        assertTrue(message, actual.hasNext());
+                        assertEquals(message, expected.next(),
+                                PackedDates.toDateValue(actual.nextPacked()));
+                    }
+                    assertEquals(message, expected.hasNext(), actual.hasNext());
+
+                    expected = RecurrenceIteratorFactory.createRecurrenceIterator(
+                            rdata, dtStart, tz);
+                    actual = (PackedRecurrenceIterator)
+                            RecurrenceIteratorFactory.createRecurrenceIterator(
+                                    rdata, dtStart, tz);
+                    DateValue advanceTo = new DateTimeValueImpl(2006, 6, 1, 5, 0, 0);
+                    expected.advanceTo(advanceTo);
+                    actual.advanceToPacked(PackedDates.pack(advanceTo));
+                    assertEquals(message, expected.hasNext(), actual.hasNext());
+                    if (expected.hasNext()) {
+                        assertEquals(message, expected.next(), actual.next());
+                    }
+                }
+            }
+        }
+    }
+
     public static void assertEquals(String a, String b) {
         assertEquals(null, a, b);
     }
@@ -0,0 +1,122 @@
+/**
+ * Copyright (C) 2015, 2016 Dirk Lemmermann Software & Consulting (dlsc.com)
+ * <p>
+ * This file is part of CalendarFX.
+ */
+
+package com.google.ical.iter;
+
+import com.google.ical.values.DateValue;
+import com.google.ical.values.DateValueImpl;
+import com.google.ical.values.IcalObject;
+import com.google.ical.values.RRule;
+import junit.framework.TestCase;
+
+import java.text.ParseException;
+import java.util.TimeZone;
+
+/**
+ * testcases for {@link ContentLineCache} and the way
+ * {@link RecurrenceIteratorFactory} uses it.
+ */
+public class ContentLineCacheTest extends TestCase {
+
+    private static final TimeZone PST =
+            TimeZone.getTimeZone("America/Los_Angeles");
+
+    private static final TimeZone UTC = TimeZone.getTimeZone("UTC");
+
+    @Override
+    protected void setUp() throws Exception {
+        super.setUp();
+        RecurrenceIteratorFactory.clearContentLineCache();
+    }
+
+    public void testHitReturnsSameContentLines() throws Exception {
+        ContentLineCache cache = new ContentLineCache(4);
+        IcalObject[] lines = {new RRule("RRULE:FREQ=DAILY")};
+        cache.put("RRULE:FREQ=DAILY", PST, true, lines);
+
+        assertSame(lines, cache.get(new String("RRULE:FREQ=DAILY"), PST, true));
+        assertNull(cache.get("RRULE:FREQ=DAILY", PST, false));
+        assertNull(cache.get("RRULE:FREQ=DAILY", UTC, true));
+    }
+
+    public void testLeastRecentlyUsedEntryIsEvicted() throws Exception {
+        ContentLineCache cache = new ContentLineCache(2);
+        IcalObject[] none = new IcalObject[0];
+        cache.put("a", UTC, true, none);
+        cache.put("b", UTC, true, none);
+        cache.get("a", UTC, true);
+        cache.put("c", UTC, true, none);
+
+        assertEquals(2, cache.size());
+        assertNotNull(cache.get("a", UTC, true));
+        assertNull(cache.get("b", UTC, true));
+        assertNotNull(cache.get("c", UTC, true));
+    }
+
+    public void testInvalidCapacity() {
+        try {
+            new ContentLineCache(0);
+            fail("expected IllegalArgumentException");
+        } catch (IllegalArgumentException expected) {
+            // pass
+        }
+    }
+
+    public void testFactoryCachesParsedRules() throws Exception {
+        DateValue start = new DateValueImpl(2006, 1, 1);
+        String rdata = "RRULE:FREQ=WEEKLY;COUNT=3\nEXDATE:20060108";
+
+        String first = toString(RecurrenceIteratorFactory.createRecurrenceIterator(
+                rdata, start, PST, true));
+        assertEquals(1, RecurrenceIteratorFactory.getContentLineCacheSize());
+
+        String second = toString(RecurrenceIteratorFactory.createRecurrenceIterator(
+                rdata, start, PST, true));
+        assertEquals(1, RecurrenceIteratorFactory.getContentLineCacheSize());
+        assertEquals("20060101,20060115", first);
+        assertEquals(first, second);
+    }
+
+    public void testParseFailuresAreNotCached() {
+        DateValue start = new DateValueImpl(2006, 1, 1);
+        for (int i = 0; i < 2; ++i) {
+            try {
+                RecurrenceIteratorFactory.createRecurrenceIterator(
+                        "RRULE:FREQ=WEEKLY;BOGUS", start, PST, true);
+                fail("expected ParseException");
+            } catch (ParseException expected) {
+                // pass
+            }
+        }
+        assertEquals(0, RecurrenceIteratorFactory.getContentLineCacheSize());
+    }
+
+    public void testPreParsedRuleMatchesText() throws Exception {
+        DateValue start = new DateValueImpl(2006, 1, 31);
+        String rdata = "RRULE:FREQ=MONTHLY;BYMONTHDAY=-1;COUNT=4";
+
+        RecurrenceIterable fromText = RecurrenceIteratorFactory
+                .createRecurrenceIterable(rdata, start, PST, true);
+        RecurrenceIterable fromRule = RecurrenceIteratorFactory
+                .createRecurrenceIterable(new IcalObject[]{new RRule(rdata)},
+                        start, PST, true);
+
+        assertEquals("20060131,20060228,20060331,20060430",
+                toString(fromRule.iterator()));
+        assertEquals(toString(fromText.iterator()), toString(fromRule.iterator()));
+    }
+
+    private static String toString(RecurrenceIterator it) {
+        StringBuilder sb = new StringBuilder();
+        while (it.hasNext()) {
+            if (sb.length() != 0) {
+                sb.append(',');
+            }
+            sb.append(it.next());
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,239 @@
+/**
+ * Copyright (C) 2015, 2016 Dirk Lemmermann Software & Consulting (dlsc.com)
+ * <p>
+ * This file is part of CalendarFX.
+ */
+
+package com.google.ical.iter;
+
+import com.google.ical.util.TimeUtils;
+import com.google.ical.util.ZoneRulesTimeZone;
+import com.google.ical.values.DateTimeValueImpl;
+import com.google.ical.values.DateValue;
+import com.google.ical.values.DateValueImpl;
+import com.google.ical.values.IcalObject;
+import com.google.ical.values.RRule;
+import junit.framework.TestCase;
+
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.TimeZone;
+
+/**
+ * testcases for {@link CountCheckpoints} and the way {@link RRuleIteratorImpl}
+ * uses them to advance through COUNT limited series.
+ */
+public class CountCheckpointsTest extends TestCase {
+
+    private static final String[] RULES = {
+            "RRULE:FREQ=MONTHLY;BYDAY=-1FR;COUNT=300",
+            "RRULE:FREQ=MONTHLY;BYDAY=MO,TU,WE,TH,FR;BYSETPOS=1,-1;COUNT=250",
+            "RRULE:FREQ=YEARLY;BYMONTH=3,10;BYDAY=-1SU;BYHOUR=1,2,3;COUNT=200",
+            "RRULE:FREQ=WEEKLY;BYDAY=MO,TH;BYMONTH=1,2,3,7;COUNT=200",
+            "RRULE:FREQ=DAILY;BYMONTHDAY=1,15,-1;COUNT=120",
+            "RRULE:FREQ=HOURLY;INTERVAL=7;BYDAY=SA,SU;COUNT=400",
+            "RRULE:FREQ=DAILY;BYHOUR=9,17;BYDAY=MO,WE;COUNT=300",
+            "RRULE:FREQ=MONTHLY;INTERVAL=2;BYMONTHDAY=31;COUNT=40",
+    };
+
+    private static final TimeZone[] ZONES = {
+            TimeUtils.utcTimezone(),
+            TimeZone.getTimeZone("America/New_York"),
+            ZoneRulesTimeZone.of(ZoneId.of("Europe/Berlin")),
+    };
+
+    private Random rnd;
+
+    @Override
+    protected void setUp() throws Exception {
+        super.setUp();
+        long seed = Long.getLong("junit.seed", System.currentTimeMillis());
+        System.err.println("RANDOM SEED " + seed + " : " + getName());
+        rnd = new Random(seed);
+    }
+
+    public void testRecordAndFloor() throws Exception {
+        CountCheckpoints checkpoints = new CountCheckpoints();
+        assertEquals(-1, checkpoints.floor(Long.MAX_VALUE));
+
+        for (int i = 0; i < 40 * CountCheckpoints.SPACING; ++i) {
+            checkpoints.record(i, 10 * i);
+        }
+        assertEquals(40, checkpoints.size());
+        checkpoints.record(CountCheckpoints.SPACING * 40 - 1, 100000);  // too close
+        checkpoints.record(CountCheckpoints.SPACING * 40, 0);  // not later
+        assertEquals(40, checkpoints.size());
+        assertEquals(0, checkpoints.index(0));
+        assertEquals(3 * CountCheckpoints.SPACING, checkpoints.index(3));
+        assertEquals(30 * CountCheckpoints.SPACING, checkpoints.date(3));
+
+        int spacing = 10 * CountCheckpoints.SPACING;
+        assertEquals(-1, checkpoints.floor(-1));
+        assertEquals(0, checkpoints.floor(0));
+        assertEquals(0, checkpoints.floor(spacing - 1));
+        assertEquals(1, checkpoints.floor(spacing));
+        assertEquals(17, checkpoints.floor(17 * spacing + 5));
+        assertEquals(39, checkpoints.floor(39 * spacing));
+        assertEquals(39, checkpoints.floor(Long.MAX_VALUE));
+    }
+
+    public void testSharedBySeries() throws Exception {
+        String rdata = "RRULE:FREQ=MONTHLY;BYDAY=-1FR;COUNT=300";
+        RRule rrule = new RRule(rdata);
+        DateValue dtStart = new DateValueImpl(2006, 1, 27);
+        TimeZone tz = ZONES[0];
+        CountCheckpoints checkpoints =
+                RecurrenceIteratorFactory.getCountCheckpoints(rrule, dtStart, tz);
+        assertSame(checkpoints,
+                RecurrenceIteratorFactory.getCountCheckpoints(rrule, dtStart, tz));
+        assertNotSame(checkpoints, RecurrenceIteratorFactory.getCountCheckpoints(
+                new RRule(rrule.toIcal()), dtStart, tz));
+        assertNotSame(checkpoints, RecurrenceIteratorFactory.getCountCheckpoints(
+                rrule, new DateValueImpl(2006, 2, 24), tz));
+        assertNotSame(checkpoints, RecurrenceIteratorFactory.getCountCheckpoints(
+                rrule, dtStart, ZONES[1]));
+        assertNull(RecurrenceIteratorFactory.getCountCheckpoints(
+                new RRule("RRULE:FREQ=MONTHLY;BYDAY=-1FR;COUNT=10"), dtStart, tz));
+        assertNull(RecurrenceIteratorFactory.getCountCheckpoints(
+                new RRule("RRULE:FREQ=MONTHLY;BYDAY=FR;BYSETPOS=-1;COUNT=300"),
+                dtStart, tz));
+
+        RecurrenceIterable iterable = RecurrenceIteratorFactory
+                .createRecurrenceIterable(rdata, dtStart, tz, true);
+        RecurrenceIterator it = iterable.iterator();
+        int n = 0;
+        while (it.hasNext()) {
+            it.next();
+            ++n;
+        }
+        assertEquals(300, n);
+        RRule cachedRule = (RRule) RecurrenceIteratorFactory
+                .getCachedContentLines(rdata, tz, true)[0];
+        checkpoints = RecurrenceIteratorFactory.getCountCheckpoints(
+                cachedRule, dtStart, tz);
+        assertEquals(300 / CountCheckpoints.SPACING, checkpoints.size());
+
+        // a second iterator resumes from the checkpoints and still ends on
+        // the 300th occurrence, the last friday of december 2030
+        it = iterable.iterator();
+        it.advanceTo(new DateValueImpl(2030, 12, 1));
+        assertTrue(it.hasNext());
+        assertEquals(new DateValueImpl(2030, 12, 27), it.next());
+        assertFalse(it.hasNext());
+
+        // iterators created from a rule that the caller may modify don't
+        // share checkpoints
+        RecurrenceIteratorFactory.clearCountCheckpoints();
+        checkpoints = RecurrenceIteratorFactory.getCountCheckpoints(rrule, dtStart, tz);
+        it = RecurrenceIteratorFactory.createRecurrenceIterator(rrule, dtStart, tz);
+        while (it.hasNext()) {
+            it.next();
+        }
+        assertEquals(0, checkpoints.size());
+
+        it = RecurrenceIteratorFactory.createRecurrenceIterable(
+                new IcalObject[]{rrule}, dtStart, tz, true).iterator();
+        while (it.hasNext()) {
+            it.next();
+        }
+        assertEquals(0, checkpoints.size());
+    }
+
+    /**
+     * a rule passed in by the caller may be modified between two expansions.
+     */
+    public void testModifiedRule() throws Exception {
+        RRule rrule = new RRule("RRULE:FREQ=MONTHLY;BYDAY=-1FR;COUNT=300");
+        DateValue dtStart = new DateValueImpl(2006, 1, 27);
+        TimeZone tz = ZONES[1];
+
+        RecurrenceIterator it = RecurrenceIteratorFactory.createRecurrenceIterable(
+                new IcalObject[]{rrule}, dtStart, tz, true).iterator();
+        it.advanceTo(new DateValueImpl(2030, 12, 1));
+        assertEquals(new DateValueImpl(2030, 12, 27), it.next());
+
+        rrule.setCount(100);
+        it = RecurrenceIteratorFactory.createRecurrenceIterable(
+                new IcalObject[]{rrule}, dtStart, tz, true).iterator();
+        it.advanceTo(new DateValueImpl(2030, 12, 1));
+        assertFalse(it.hasNext());
+
+        it = RecurrenceIteratorFactory.createRecurrenceIterable(
+                new IcalObject[]{rrule}, dtStart, tz, true).iterator();
+        it.advanceTo(new DateValueImpl(2014, 4, 1));
+        assertEquals(new DateValueImpl(2014, 4, 25), it.next());
+        assertFalse(it.hasNext());
+    }
+
+    /**
+     * compares iterators that resume from checkpoints against ones that
+     * count every occurrence.
+     */
+    public void testMatchesIteratorWithoutCheckpoints() throws Exception {
+        for (int run = 0; run < 200; ++run) {
+            RRule rrule = new RRule(RULES[rnd.nextInt(RULES.length)]);
+            boolean timed = rnd.nextBoolean();
+            DateValue dtStart = randomDate(timed);
+            TimeZone tz = ZONES[rnd.nextInt(ZONES.length)];
+            String message = rrule.toIcal() + " / " + dtStart + " / " + tz.getID();
+
+            List<DateValue> dates = new ArrayList<DateValue>();
+            CountCheckpoints checkpoints = new CountCheckpoints();
+            RecurrenceIterator it = RecurrenceIteratorFactory.createRRuleIterator(
+                    rrule, dtStart, tz, checkpoints);
+            while (it.hasNext()) {
+                dates.add(it.next());
+            }
+            assertEquals(message, rrule.getCount(), dates.size());
+
+            for (int i = 0; i < 5; ++i) {
+                RecurrenceIterator expected = RecurrenceIteratorFactory
+                        .createRRuleIterator(rrule, dtStart, tz, null);
+                RecurrenceIterator actual = RecurrenceIteratorFactory
+                        .createRRuleIterator(rrule, dtStart, tz, checkpoints);
+                DateValue first = dates.get(rnd.nextInt(dates.size()));
+                for (DateValue advanceTo : new DateValue[]{
+                        first, randomDateAfter(first, timed),
+                        randomDateAfter(first, !timed)}) {
+                    expected.advanceTo(advanceTo);
+                    actual.advanceTo(advanceTo);
+                    assertEquals(message + " -> " + advanceTo,
+                            expected.hasNext(), actual.hasNext());
+                    if (!expected.hasNext()) {
+                        break;
+                    }
+                    assertEquals(message + " -> " + advanceTo,
+                            expected.next(), actual.next());
+                }
+                while (expected.hasNext()) {
+                    assertTrue(message, actual.hasNext());
+                    assertEquals(message, expected.next(), actual.next());
+                }
+                assertFalse(message, actual.hasNext());
+            }
+        }
+    }
+
+    private DateValue randomDate(boolean timed) {
+        int year = 2004 + rnd.nextInt(4);
+        int month = 1 + rnd.nextInt(12);
+        int day = 1 + rnd.nextInt(TimeUtils.monthLength(year, month));
+        if (!timed) {
+            return new DateValueImpl(year, month, day);
+        }
+        return new DateTimeValueImpl(year, month, day,
+                rnd.nextInt(24), rnd.nextInt(4) * 15, 0);
+    }
+
+    private DateValue randomDateAfter(DateValue date, boolean timed) {
+        DateValue dv = TimeUtils.add(date, new DateValueImpl(
+                0, rnd.nextInt(12), rnd.nextInt(60)));
+        if (!timed) {
+            return new DateValueImpl(dv.year(), dv.month(), dv.day());
+        }
+        return new DateTimeValueImpl(dv.year(), dv.month(), dv.day(),
+                rnd.nextInt(24), rnd.nextInt(4) * 15, 0);
+    }
+}
@@ -0,0 +1,173 @@
+/**
+ * Copyright (C) 2015, 2016 Dirk Lemmermann Software & Consulting (dlsc.com)
+ * <p>
+ * This file is part of CalendarFX.
+ */
+
+package com.google.ical.iter;
+
+import com.google.ical.util.DTBuilder;
+import com.google.ical.util.Predicate;
+import com.google.ical.util.TimeUtils;
+import com.google.ical.values.DateValue;
+import com.google.ical.values.DateValueImpl;
+import com.google.ical.values.Weekday;
+import com.google.ical.values.WeekdayNum;
+import junit.framework.TestCase;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * testcases for {@link DayMask} that compare the masks against the generators
+ * and filters they stand in for.
+ */
+public class DayMaskTest extends TestCase {
+
+    private Random rnd;
+
+    @Override
+    protected void setUp() throws Exception {
+        super.setUp();
+        long seed = Long.getLong("junit.seed", System.currentTimeMillis());
+        System.err.println("RANDOM SEED " + seed + " : " + getName());
+        rnd = new Random(seed);
+    }
+
+    public void testShared() throws Exception {
+        WeekdayNum[] days = {
+                new WeekdayNum(0, Weekday.MO), new WeekdayNum(-1, Weekday.FR)};
+        DayMask mask = DayMask.byDay(days, false);
+        assertSame(mask, DayMask.byDay(days.clone(), false));
+        assertNotSame(mask, DayMask.byDay(days, true));
+        assertNotSame(mask, DayMask.byDayFilter(days, false, Weekday.MO));
+        assertSame(DayMask.byMonthDay(new int[]{1, -1}),
+                DayMask.byMonthDay(new int[]{1, -1}));
+
+        // dtStarts in weeks that are a whole interval apart share a mask
+        assertSame(
+                DayMask.weekInterval(2, Weekday.MO, new DateValueImpl(2006, 1, 4)),
+                DayMask.weekInterval(2, Weekday.MO, new DateValueImpl(2006, 1, 16)));
+        assertNotSame(
+                DayMask.weekInterval(2, Weekday.MO, new DateValueImpl(2006, 1, 4)),
+                DayMask.weekInterval(2, Weekday.MO, new DateValueImpl(2006, 1, 9)));
+    }
+
+    public void testByDayMaskGenerator() throws Exception {
+        WeekdayNum[] days = {
+                new WeekdayNum(0, Weekday.SU), new WeekdayNum(1, Weekday.MO),
+                new WeekdayNum(5, Weekday.MO), new WeekdayNum(-2, Weekday.TU)};
+        // starts in the middle of january
+        Generator g = Generators.byDayMaskGenerator(
+                DayMask.byDay(days, false), new DateValueImpl(2006, 1, 16));
+        assertEquals("22, 24, 29, 30", generate(g, new DTBuilder(2006, 1, 16)));
+        assertEquals("5, 6, 12, 19, 21, 26", generate(g, new DTBuilder(2006, 2, 1)));
+    }
+
+    public void testByDayMatchesGenerator() throws Exception {
+        for (int run = 0; run < 200; ++run) {
+            WeekdayNum[] days = randomDays();
+            boolean weeksInYear = rnd.nextBoolean();
+            int year = 1990 + rnd.nextInt(60);
+            DateValue dtStart = new DateValueImpl(year, 1 + rnd.nextInt(12), 1);
+            assertSameDays(Arrays.toString(days) + " " + weeksInYear,
+                    Generators.byDayGenerator(days, weeksInYear, dtStart),
+                    Generators.byDayMaskGenerator(
+                            DayMask.byDay(days, weeksInYear), dtStart),
+                    dtStart);
+        }
+    }
+
+    public void testByMonthDayMatchesGenerator() throws Exception {
+        for (int run = 0; run < 200; ++run) {
+            int[] monthDays = randomMonthDays();
+            int year = 1990 + rnd.nextInt(60);
+            DateValue dtStart = new DateValueImpl(year, 1 + rnd.nextInt(12), 1);
+            assertSameDays(Arrays.toString(monthDays),
+                    Generators.byMonthDayGenerator(monthDays, dtStart),
+                    Generators.byDayMaskGenerator(
+                            DayMask.byMonthDay(monthDays), dtStart),
+                    dtStart);
+        }
+    }
+
+    public void testMatchesFilters() throws Exception {
+        for (int run = 0; run < 100; ++run) {
+            WeekdayNum[] days = randomDays();
+            boolean weeksInYear = rnd.nextBoolean();
+            Weekday wkst = Weekday.values()[rnd.nextInt(7)];
+            assertSameDays(Arrays.toString(days) + " " + weeksInYear + " " + wkst,
+                    Filters.byDayFilter(days, weeksInYear, wkst),
+                    DayMask.byDayFilter(days, weeksInYear, wkst));
+
+            int[] monthDays = randomMonthDays();
+            assertSameDays(Arrays.toString(monthDays),
+                    Filters.byMonthDayFilter(monthDays),
+                    DayMask.byMonthDayFilter(monthDays));
+
+            int interval = 2 + rnd.nextInt(4);
+            DateValue dtStart = new DateValueImpl(
+                    2000 + rnd.nextInt(10), 1 + rnd.nextInt(12), 1 + rnd.nextInt(28));
+            assertSameDays(interval + " " + wkst + " " + dtStart,
+                    Filters.weekIntervalFilter(interval, wkst, dtStart),
+                    DayMask.weekInterval(interval, wkst, dtStart));
+        }
+    }
+
+    private void assertSameDays(
+            String message, Generator expected, Generator actual, DateValue dtStart)
+            throws Exception {
+        DTBuilder builder = new DTBuilder(dtStart);
+        for (int i = 0; i < 24; ++i) {
+            String month = builder.year + "-" + builder.month;
+            assertEquals(message + " " + month,
+                    generate(expected, builder), generate(actual, builder));
+            if (++builder.month > 12) {
+                builder.month = 1;
+                ++builder.year;
+            }
+        }
+    }
+
+    private void assertSameDays(
+            String message, Predicate<? super DateValue> expected, DayMask actual) {
+        int year = 1995 + rnd.nextInt(20);
+        for (int month = 1; month <= 12; ++month) {
+            for (int day = 1; day <= TimeUtils.monthLength(year, month); ++day) {
+                DateValue date = new DateValueImpl(year, month, day);
+                assertEquals(message + " " + date,
+                        expected.apply(date), actual.apply(date));
+            }
+        }
+    }
+
+    private static String generate(Generator generator, DTBuilder builder)
+            throws Exception {
+        StringBuilder sb = new StringBuilder();
+        while (generator.generate(builder)) {
+            if (sb.length() != 0) {
+                sb.append(", ");
+            }
+            sb.append(builder.day);
+        }
+        return sb.toString();
+    }
+
+    private WeekdayNum[] randomDays() {
+        WeekdayNum[] days = new WeekdayNum[1 + rnd.nextInt(4)];
+        for (int i = 0; i < days.length; ++i) {
+            int num = rnd.nextBoolean() ? 0 : rnd.nextInt(11) - 5;
+            days[i] = new WeekdayNum(num, Weekday.values()[rnd.nextInt(7)]);
+        }
+        return days;
+    }
+
+    private int[] randomMonthDays() {
+        int[] monthDays = new int[1 + rnd.nextInt(4)];
+        for (int i = 0; i < monthDays.length; ++i) {
+            int day = 1 + rnd.nextInt(31);
+            monthDays[i] = rnd.nextBoolean() ? day : -day;
+        }
+        return monthDays;
+    }
+}
@@ -0,0 +1,209 @@
+/**
+ * Copyright (C) 2015, 2016 Dirk Lemmermann Software & Consulting (dlsc.com)
+ * <p>
+ * This file is part of CalendarFX.
+ */
+
+package com.google.ical.iter;
+
+import com.google.ical.util.PackedDates;
+import com.google.ical.util.TimeUtils;
+import com.google.ical.util.ZoneRulesTimeZone;
+import com.google.ical.values.DateTimeValueImpl;
+import com.google.ical.values.DateValue;
+import com.google.ical.values.DateValueImpl;
+import com.google.ical.values.Frequency;
+import com.google.ical.values.RRule;
+import com.google.ical.values.Weekday;
+import com.google.ical.values.WeekdayNum;
+import junit.framework.TestCase;
+
+import java.text.ParseException;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.TimeZone;
+
+/**
+ * testcases for {@link SimpleRRuleIteratorImpl}.
+ */
+public class SimpleRRuleIteratorImplTest extends TestCase {
+
+    private static final TimeZone[] ZONES = {
+            TimeUtils.utcTimezone(),
+            TimeZone.getTimeZone("America/Los_Angeles"),
+            ZoneRulesTimeZone.of(ZoneId.of("America/Los_Angeles")),
+            ZoneRulesTimeZone.of(ZoneId.of("Pacific/Auckland")),
+    };
+
+    private Random rnd;
+
+    @Override
+    protected void setUp() throws Exception {
+        super.setUp();
+        long seed = Long.getLong("junit.seed", System.currentTimeMillis());
+        System.err.println("RANDOM SEED " + seed + " : " + getName());
+        rnd = new Random(seed);
+    }
+
+    public void testIsSimple() throws Exception {
+        DateValue dtStart = new DateValueImpl(2006, 1, 2);
+        assertTrue(isSimple("RRULE:FREQ=DAILY", dtStart));
+        assertTrue(isSimple("RRULE:FREQ=DAILY;INTERVAL=3;COUNT=10", dtStart));
+        assertTrue(isSimple("RRULE:FREQ=WEEKLY;BYDAY=MO,WE;UNTIL=20070101", dtStart));
+        assertTrue(isSimple("RRULE:FREQ=WEEKLY;INTERVAL=2;WKST=SU", dtStart));
+        assertFalse(isSimple("RRULE:FREQ=DAILY;BYDAY=MO", dtStart));
+        assertFalse(isSimple("RRULE:FREQ=WEEKLY;BYDAY=1MO", dtStart));
+        assertFalse(isSimple("RRULE:FREQ=WEEKLY;BYMONTH=1", dtStart));
+        assertFalse(isSimple("RRULE:FREQ=DAILY;BYHOUR=9", dtStart));
+        assertFalse(isSimple("RRULE:FREQ=WEEKLY;BYDAY=MO,TU;BYSETPOS=1", dtStart));
+        assertFalse(isSimple("RRULE:FREQ=MONTHLY", dtStart));
+        assertTrue(RecurrenceIteratorFactory.createRecurrenceIterator(
+                new RRule("RRULE:FREQ=DAILY"), dtStart, ZONES[0])
+                instanceof SimpleRRuleIteratorImpl);
+    }
+
+    public void testWeeklyWithInterval() throws Exception {
+        // starts on a wednesday, so the monday of the first week is skipped
+        RecurrenceIterator it = RecurrenceIteratorFactory.createRecurrenceIterator(
+                new RRule("RRULE:FREQ=WEEKLY;INTERVAL=2;BYDAY=MO,FR;COUNT=5"),
+                new DateValueImpl(2006, 1, 4), ZONES[0]);
+        StringBuilder sb = new StringBuilder();
+        while (it.hasNext()) {
+            sb.append(it.next()).append(',');
+        }
+        assertEquals("20060106,20060116,20060120,20060130,20060203,", sb.toString());
+    }
+
+    public void testCountBetween() throws Exception {
+        SimpleRRuleIteratorImpl it = new SimpleRRuleIteratorImpl(
+                new RRule("RRULE:FREQ=WEEKLY;BYDAY=MO,WE,FR;COUNT=10"),
+                new DateValueImpl(2006, 1, 4), ZONES[0]);
+        // 4th, 6th, 9th, 11th, 13th
+        assertEquals(5, it.countBetween(fixed(2006, 1, 1), fixed(2006, 1, 14)));
+        assertEquals(2, it.countBetween(fixed(2006, 1, 9), fixed(2006, 1, 12)));
+        assertEquals(10, it.countBetween(fixed(2005, 1, 1), fixed(2007, 1, 1)));
+        assertEquals(0, it.countBetween(fixed(2006, 2, 1), fixed(2006, 3, 1)));
+    }
+
+    /**
+     * compares random simple rules against the generic implementation.
+     */
+    public void testMatchesGenericIterator() throws Exception {
+        for (int run = 0; run < 2000; ++run) {
+            RRule rrule = randomSimpleRule();
+            boolean timed = rnd.nextBoolean();
+            DateValue dtStart = randomDate(timed);
+            TimeZone tz = ZONES[rnd.nextInt(ZONES.length)];
+            String message = rrule.toIcal() + " / " + dtStart + " / " + tz.getID();
+            assertTrue(message, SimpleRRuleIteratorImpl.isSimple(rrule, dtStart));
+
+            // iterate
+            RecurrenceIterator expected = RecurrenceIteratorFactory.createRRuleIterator(
+                    rrule, dtStart, tz);
+            RecurrenceIterator actual = new SimpleRRuleIteratorImpl(rrule, dtStart, tz);
+            List<DateValue> dates = new ArrayList<DateValue>();
+            for (int i = 0; i < 200 && expected.hasNext(); ++i) {
+                DateValue dv = expected.next();
+                dates.add(dv);
+                assertTrue(message, actual.hasNext());
+                assertEquals(message, dv, actual.next());
+            }
+            assertEquals(message, expected.hasNext(), actual.hasNext());
+
+            // advance
+            expected = RecurrenceIteratorFactory.createRRuleIterator(rrule, dtStart, tz);
+            actual = new SimpleRRuleIteratorImpl(rrule, dtStart, tz);
+            for (int i = 0; i < 3; ++i) {
+                // The generic iterator skips whole months in local time when
+                // advancing, which for a date only target and a timed series
+                // also skips the times that fall on the target date in UTC.
+                // Only the consistent combination is compared.
+                DateValue advanceTo = randomDate(timed);
+                expected.advanceTo(advanceTo);
+                actual.advanceTo(advanceTo);
+                assertEquals(message + " -> " + advanceTo,
+                        expected.hasNext(), actual.hasNext());
+                if (!expected.hasNext()) {
+                    break;
+                }
+                assertEquals(message + " -> " + advanceTo,
+                        expected.next(), actual.next());
+            }
+
+            // count
+            if (!timed && !dates.isEmpty()) {
+                int from = fixed(dates.get(0)) + rnd.nextInt(30) - 10;
+                int to = from + rnd.nextInt(100);
+                int count = 0;
+                for (DateValue dv : dates) {
+                    int day = fixed(dv);
+                    if (day >= from && day < to) {
+                        ++count;
+                    }
+                }
+                if (dates.size() < 200 || fixed(dates.get(dates.size() - 1)) >= to) {
+                    assertEquals(message, count, new SimpleRRuleIteratorImpl(
+                            rrule, dtStart, tz).countBetween(from, to));
+                }
+            }
+        }
+    }
+
+    private RRule randomSimpleRule() {
+        RRule rrule = new RRule();
+        boolean weekly = rnd.nextBoolean();
+        rrule.setFreq(weekly ? Frequency.WEEKLY : Frequency.DAILY);
+        if (rnd.nextBoolean()) {
+            rrule.setInterval(1 + rnd.nextInt(5));
+        }
+        if (weekly && rnd.nextInt(4) != 0) {
+            List<WeekdayNum> days = new ArrayList<WeekdayNum>();
+            for (Weekday wd : Weekday.values()) {
+                if (rnd.nextInt(3) == 0) {
+                    days.add(new WeekdayNum(0, wd));
+                }
+            }
+            rrule.setByDay(days);
+        }
+        if (rnd.nextBoolean()) {
+            rrule.setWkSt(Weekday.values()[rnd.nextInt(7)]);
+        }
+        switch (rnd.nextInt(3)) {
+            case 0:
+                rrule.setCount(1 + rnd.nextInt(100));
+                break;
+            case 1:
+                rrule.setUntil(randomDate(rnd.nextBoolean()));
+                break;
+            default:
+                break;
+        }
+        return rrule;
+    }
+
+    private DateValue randomDate(boolean timed) {
+        int year = 2004 + rnd.nextInt(4);
+        int month = 1 + rnd.nextInt(12);
+        int day = 1 + rnd.nextInt(TimeUtils.monthLength(year, month));
+        if (!timed) {
+            return new DateValueImpl(year, month, day);
+        }
+        return new DateTimeValueImpl(year, month, day,
+                rnd.nextInt(24), rnd.nextInt(4) * 15, 0);
+    }
+
+    private static boolean isSimple(String rule, DateValue dtStart)
+            throws ParseException {
+        return SimpleRRuleIteratorImpl.isSimple(new RRule(rule), dtStart);
+    }
+
+    private static int fixed(int year, int month, int day) {
+        return TimeUtils.fixedFromGregorian(year, month, day);
+    }
+
+    private static int fixed(DateValue dv) {
+        return PackedDates.fixedDay(PackedDates.pack(dv));
+    }
+}
@@ -0,0 +1,94 @@
+/**
+ * Copyright (C) 2015, 2016 Dirk Lemmermann Software & Consulting (dlsc.com)
+ * <p>
+ * This file is part of CalendarFX.
+ */
+
+package com.google.ical.util;
+
+import com.google.ical.values.DateTimeValueImpl;
+import com.google.ical.values.DateValue;
+import com.google.ical.values.DateValueImpl;
+import junit.framework.TestCase;
+
+/**
+ * testcases for {@link PackedDates}.
+ */
+public class PackedDatesTest extends TestCase {
+
+    private static final DateValue[] DATES = {
+            new DateValueImpl(-2, 12, 31),
+            new DateValueImpl(0, 1, 1),
+            new DateTimeValueImpl(0, 1, 1, 0, 0, 0),
+            new DateValueImpl(1969, 12, 31),
+            new DateTimeValueImpl(1969, 12, 31, 23, 59, 59),
+            new DateValueImpl(2006, 4, 2),
+            new DateTimeValueImpl(2006, 4, 2, 0, 0, 0),
+            new DateTimeValueImpl(2006, 4, 2, 0, 0, 1),
+            new DateTimeValueImpl(2006, 4, 2, 0, 1, 0),
+            new DateTimeValueImpl(2006, 4, 2, 1, 0, 0),
+            new DateTimeValueImpl(2006, 4, 2, 24, 0, 0),
+            new DateValueImpl(2006, 4, 3),
+            new DateValueImpl(2006, 5, 1),
+            new DateValueImpl(2007, 1, 1),
+            new DateTimeValueImpl(9999, 12, 31, 23, 59, 59),
+    };
+
+    public void testRoundTrip() {
+        for (DateValue dv : DATES) {
+            DateValue roundTripped = PackedDates.toDateValue(PackedDates.pack(dv));
+            assertEquals(dv.toString(), dv, roundTripped);
+            assertEquals(dv.toString(), dv.getClass(), roundTripped.getClass());
+        }
+    }
+
+    public void testFields() {
+        long packed = PackedDates.packDateTime(2006, 4, 2, 13, 45, 59);
+        assertTrue(PackedDates.isTimed(packed));
+        assertEquals(2006, PackedDates.year(packed));
+        assertEquals(4, PackedDates.month(packed));
+        assertEquals(2, PackedDates.day(packed));
+        assertEquals(13, PackedDates.hour(packed));
+        assertEquals(45, PackedDates.minute(packed));
+        assertEquals(59, PackedDates.second(packed));
+
+        packed = PackedDates.packDate(-1, 12, 31);
+        assertFalse(PackedDates.isTimed(packed));
+        assertEquals(-1, PackedDates.year(packed));
+        assertEquals(12, PackedDates.month(packed));
+        assertEquals(31, PackedDates.day(packed));
+        assertEquals(0, PackedDates.hour(packed));
+    }
+
+    public void testOrderingMatchesCompareTo() {
+        for (DateValue a : DATES) {
+            for (DateValue b : DATES) {
+                long pa = PackedDates.pack(a), pb = PackedDates.pack(b);
+                assertEquals(a + " " + b, Integer.signum(a.compareTo(b)),
+                        pa < pb ? -1 : pa == pb ? 0 : 1);
+            }
+        }
+    }
+
+    public void testFixedDays() {
+        for (int fixed = TimeUtils.fixedFromGregorian(1, 1, 1);
+             fixed < TimeUtils.fixedFromGregorian(2400, 1, 1); fixed += 13) {
+            long packed = PackedDates.packFixedDay(fixed);
+            assertEquals(fixed, PackedDates.fixedDay(packed));
+            assertEquals(fixed, TimeUtils.fixedFromGregorian(PackedDates.year(packed),
+                    PackedDates.month(packed), PackedDates.day(packed)));
+        }
+        assertEquals(PackedDates.packDate(2000, 2, 29), PackedDates.packFixedDay(
+                TimeUtils.fixedFromGregorian(2000, 2, 29)));
+        assertEquals(PackedDates.packDate(1970, 1, 1), PackedDates.packFixedDay(
+                TimeUtils.fixedFromGregorian(1970, 1, 1)));
+    }
+
+    public void testPackBuilder() {
+        DTBuilder builder = new DTBuilder(2006, 4, 2, 13, 45, 59);
+        assertEquals(PackedDates.packDateTime(2006, 4, 2, 13, 45, 59),
+                PackedDates.pack(builder, true));
+        assertEquals(PackedDates.packDate(2006, 4, 2),
+                PackedDates.pack(builder, false));
+    }
+}
@@ -0,0 +1,138 @@
+/**
+ * Copyright (C) 2015, 2016 Dirk Lemmermann Software & Consulting (dlsc.com)
+ * <p>
+ * This file is part of CalendarFX.
+ */
+
+package com.google.ical.util;
+
+import com.google.ical.values.DateTimeValue;
+import com.google.ical.values.DateTimeValueImpl;
+import junit.framework.TestCase;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.Random;
+import java.util.TimeZone;
+
+/**
+ * testcases for {@link ZoneRulesTimeZone} and the conversions in
+ * {@link TimeUtils} that use it.
+ */
+public class ZoneRulesTimeZoneTest extends TestCase {
+
+    private static final ZoneId LOS_ANGELES = ZoneId.of("America/Los_Angeles");
+
+    private static final String[] ZONES = {
+            "America/Los_Angeles", "Europe/Paris", "Australia/Lord_Howe",
+            "Pacific/Apia", "Asia/Kolkata", "UTC", "-07:00",
+    };
+
+    public void testInstancesAreEqual() {
+        assertEquals(ZoneRulesTimeZone.of(LOS_ANGELES),
+                ZoneRulesTimeZone.of(ZoneId.of("America/Los_Angeles")));
+        assertEquals("America/Los_Angeles", ZoneRulesTimeZone.of(LOS_ANGELES).getID());
+        assertEquals(LOS_ANGELES, ZoneRulesTimeZone.of(LOS_ANGELES).toZoneId());
+    }
+
+    public void testSetID() {
+        TimeZone zone = ZoneRulesTimeZone.of(LOS_ANGELES);
+        zone.setID("Pacific");
+        assertEquals("Pacific", zone.getID());
+        assertEquals(TimeZone.getTimeZone(LOS_ANGELES).getOffset(0L),
+                zone.getOffset(0L));
+        // other instances for the same zone are not affected
+        assertEquals("America/Los_Angeles", ZoneRulesTimeZone.of(LOS_ANGELES).getID());
+        assertFalse(zone.equals(ZoneRulesTimeZone.of(LOS_ANGELES)));
+    }
+
+    public void testSetRawOffset() {
+        ZoneRulesTimeZone zone = ZoneRulesTimeZone.of(LOS_ANGELES);
+        zone.setRawOffset(-7 * 60 * 60 * 1000);
+        assertEquals(-7 * 60 * 60 * 1000, zone.getRawOffset());
+        assertFalse(zone.hasSameRules(ZoneRulesTimeZone.of(LOS_ANGELES)));
+
+        // all offsets move by an hour, including the daylight saving ones
+        assertEquals(new DateTimeValueImpl(2006, 1, 1, 7, 0, 0),
+                TimeUtils.toUtc(new DateTimeValueImpl(2006, 1, 1, 0, 0, 0), zone));
+        assertEquals(new DateTimeValueImpl(2006, 7, 1, 6, 0, 0),
+                TimeUtils.toUtc(new DateTimeValueImpl(2006, 7, 1, 0, 0, 0), zone));
+        assertEquals(new DateTimeValueImpl(2006, 7, 1, 0, 0, 0),
+                TimeUtils.fromUtc(new DateTimeValueImpl(2006, 7, 1, 6, 0, 0), zone));
+        assertEquals(-6 * 60 * 60 * 1000, zone.getOffset(
+                ZonedDateTime.of(2006, 7, 1, 0, 0, 0, 0, LOS_ANGELES)
+                        .toInstant().toEpochMilli()));
+
+        // other instances for the same zone are not affected
+        assertEquals(-8 * 60 * 60 * 1000,
+                ZoneRulesTimeZone.of(LOS_ANGELES).getRawOffset());
+    }
+
+    public void testSpringForwardGapMovesForward() {
+        // 2:30 does not exist on 2006-04-02 in Los Angeles, it gets
+        // interpreted with the offset before the gap (-8h).
+        TimeZone zone = ZoneRulesTimeZone.of(LOS_ANGELES);
+        assertEquals(new DateTimeValueImpl(2006, 4, 2, 10, 30, 0),
+                TimeUtils.toUtc(new DateTimeValueImpl(2006, 4, 2, 2, 30, 0), zone));
+        assertEquals(new DateTimeValueImpl(2006, 4, 2, 3, 30, 0),
+                TimeUtils.fromUtc(new DateTimeValueImpl(2006, 4, 2, 10, 30, 0), zone));
+    }
+
+    public void testFallBackOverlapPicksFirstOccurrence() {
+        // 1:30 happens twice on 2006-10-29 in Los Angeles, first at -7h.
+        TimeZone zone = ZoneRulesTimeZone.of(LOS_ANGELES);
+        assertEquals(new DateTimeValueImpl(2006, 10, 29, 8, 30, 0),
+                TimeUtils.toUtc(new DateTimeValueImpl(2006, 10, 29, 1, 30, 0), zone));
+        assertEquals(new DateTimeValueImpl(2006, 10, 29, 1, 30, 0),
+                TimeUtils.fromUtc(new DateTimeValueImpl(2006, 10, 29, 8, 30, 0), zone));
+        assertEquals(new DateTimeValueImpl(2006, 10, 29, 1, 30, 0),
+                TimeUtils.fromUtc(new DateTimeValueImpl(2006, 10, 29, 9, 30, 0), zone));
+    }
+
+    public void testConversionsMatchJavaTime() {
+        long seed = 1161647988961L;
+        Random rand = new Random(seed);
+        for (String id : ZONES) {
+            ZoneId zoneId = ZoneId.of(id);
+            TimeZone zone = ZoneRulesTimeZone.of(zoneId);
+            for (int run = 2000; --run >= 0; ) {
+                LocalDateTime local = LocalDateTime.of(
+                        1950 + rand.nextInt(150), 1 + rand.nextInt(12),
+                        1 + rand.nextInt(28), rand.nextInt(24), rand.nextInt(60),
+                        rand.nextInt(60));
+                DateTimeValue localValue = toDateTimeValue(local);
+
+                // java.time resolves gaps and overlaps the same way
+                LocalDateTime utc = ZonedDateTime.ofLocal(local, zoneId, null)
+                        .withZoneSameInstant(ZoneOffset.UTC).toLocalDateTime();
+                assertEquals(id + " " + local, toDateTimeValue(utc),
+                        TimeUtils.toUtc(localValue, zone));
+
+                LocalDateTime back = local.atOffset(ZoneOffset.UTC)
+                        .atZoneSameInstant(zoneId).toLocalDateTime();
+                assertEquals(id + " " + local, toDateTimeValue(back),
+                        TimeUtils.fromUtc(localValue, zone));
+            }
+        }
+    }
+
+    public void testOffsetsMatchUtilTimeZone() {
+        Random rand = new Random(1161647988961L);
+        for (String id : ZONES) {
+            TimeZone utilZone = TimeZone.getTimeZone(ZoneId.of(id));
+            TimeZone zone = ZoneRulesTimeZone.of(ZoneId.of(id));
+            for (int run = 2000; --run >= 0; ) {
+                long millis = (rand.nextLong() % (60L * 365 * 24 * 60 * 60 * 1000));
+                assertEquals(id + " " + millis, utilZone.getOffset(millis),
+                        zone.getOffset(millis));
+            }
+        }
+    }
+
+    private static DateTimeValue toDateTimeValue(LocalDateTime dt) {
+        return new DateTimeValueImpl(dt.getYear(), dt.getMonthValue(),
+                dt.getDayOfMonth(), dt.getHour(), dt.getMinute(), dt.getSecond());
+    }
+}
@@ -16,8 +16,9 @@
 
 package com.calendarfx.model;
 
+import com.calendarfx.util.metrics.Metrics;
 import com.calendarfx.view.DateControl;
-import com.google.ical.compat.javatime.LocalDateIterator;
+import com.google.ical.compat.javatime.EpochDaySink;
 import com.google.ical.compat.javatime.LocalDateIteratorFactory;
 import javafx.beans.property.BooleanProperty;
 import javafx.beans.property.ObjectProperty;
@@ -37,15 +38,19 @@ import java.time.Duration;
 import java.time.Instant;
 import java.time.LocalDate;
 import java.time.LocalTime;
+import java.time.Period;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import static com.calendarfx.model.CalendarEvent.CALENDAR_CHANGED;
 import static com.calendarfx.model.CalendarEvent.ENTRY_CHANGED;
@@ -53,6 +58,7 @@ import static com.calendarfx.util.LoggingDomain.MODEL;
 import static java.util.Objects.requireNonNull;
 import static java.util.logging.Level.FINE;
 import static java.util.logging.Level.FINER;
+import static java.util.logging.Level.SEVERE;
 
 /**
  * A calendar is responsible for storing calendar entries. It provides methods
@@ -143,6 +149,8 @@ public class Calendar implements EventTarget {
 
     private IntervalTree<Entry<?>> intervalTree = new IntervalTree<>();
 
+    private final RecurringEntries recurringEntries = new RecurringEntries();
+
     /**
      * Constructs a new calendar.
      */
@@ -216,7 +224,7 @@ public class Calendar implements EventTarget {
      * entries are contained.
      */
     public final Instant getEarliestTimeUsed() {
-        return intervalTree.getEarliestTimeUsed();
+        return min(intervalTree.getEarliestTimeUsed(), recurringEntries.getEarliestTimeUsed());
     }
 
     /**
@@ -227,7 +235,19 @@ public class Calendar implements EventTarget {
      * entries are contained.
      */
     public final Instant getLatestTimeUsed() {
-        return intervalTree.getLatestTimeUsed();
+        Instant single = intervalTree.getLatestTimeUsed();
+        Instant recurring = recurringEntries.getLatestTimeUsed();
+        if (single == null || recurring != null && recurring.isAfter(single)) {
+            return recurring;
+        }
+        return single;
+    }
+
+    private static Instant min(Instant a, Instant b) {
+        if (a == null || b != null && b.isBefore(a)) {
+            return b;
+        }
+        return a;
     }
 
     private boolean batchUpdates;
@@ -270,6 +290,8 @@ public class Calendar implements EventTarget {
     public final Map<LocalDate, List<Entry<?>>> findEntries(LocalDate startDate, LocalDate endDate, ZoneId zoneId) {
         fireEvents = false;
 
+        long startNanos = System.nanoTime();
+
         Map<LocalDate, List<Entry<?>>> result;
 
         try {
@@ -278,10 +300,13 @@ public class Calendar implements EventTarget {
             fireEvents = true;
         }
 
+        if (Metrics.isEnabled()) {
+            Metrics.timer(Metrics.FIND_ENTRIES, "calendar", getName()).stop(startNanos); //$NON-NLS-1$
+        }
+
         return result;
     }
 
-    @SuppressWarnings({"rawtypes", "unchecked"})
     private Map<LocalDate, List<Entry<?>>> doGetEntries(LocalDate startDate, LocalDate endDate, ZoneId zoneId) {
         if (MODEL.isLoggable(FINE)) {
             MODEL.fine(getName() + ": getting entries from " + startDate //$NON-NLS-1$
@@ -293,7 +318,16 @@ public class Calendar implements EventTarget {
 
         Collection<Entry<?>> intersectingEntries = intervalTree.getIntersectingObjects(st.toInstant(), et.toInstant());
 
-        if (intersectingEntries.isEmpty()) {
+        List<Entry<?>> recurringEntries = new ArrayList<>();
+        if (!this.recurringEntries.isEmpty()) {
+            int examined = this.recurringEntries.findCandidates(st.toInstant(), et.toInstant(), startDate, endDate, recurringEntries);
+            if (Metrics.isEnabled()) {
+                Metrics.histogram(Metrics.RECURRENCE_SERIES_EXAMINED, "calendar", getName()).record(examined); //$NON-NLS-1$
+                Metrics.histogram(Metrics.RECURRENCE_SERIES_EXPANDED, "calendar", getName()).record(recurringEntries.size()); //$NON-NLS-1$
+            }
+        }
+
+        if (intersectingEntries.isEmpty() && recurringEntries.isEmpty()) {
             if (MODEL.isLoggable(FINE)) {
                 MODEL.fine(getName() + ": found no entries"); //$NON-NLS-1$
             }
@@ -302,75 +336,16 @@ public class Calendar implements EventTarget {
 
         if (MODEL.isLoggable(FINE)) {
             MODEL.fine(getName() + ": found " + intersectingEntries.size() //$NON-NLS-1$
-                    + " entries"); //$NON-NLS-1$
+                    + " entries and " + recurringEntries.size() + " recurring entries"); //$NON-NLS-1$ //$NON-NLS-2$
         }
 
         Map<LocalDate, List<Entry<?>>> result = new HashMap<>();
         for (Entry<?> entry : intersectingEntries) {
+            addEntryToResult(result, entry, startDate, endDate);
+        }
 
-            if (entry.isRecurring()) {
-
-                /*
-                 * The recurring entry / entries.
-                 */
-                String recurrenceRule = entry.getRecurrenceRule();
-                if (recurrenceRule != null && !recurrenceRule.trim().equals("")) { //$NON-NLS-1$
-
-                    LocalDate utilStartDate = entry.getStartAsZonedDateTime().toLocalDate();
-
-                    try {
-                        LocalDate utilEndDate = et.toLocalDate();
-
-                        LocalDateIterator iterator = LocalDateIteratorFactory.createLocalDateIterator(recurrenceRule, utilStartDate, zoneId, true);
-
-                        /*
-                         * TODO: for performance reasons we should definitely
-                         * use the advanceTo() call, but unfortunately this
-                         * collides with the fact that e.g. the DetailedWeekView loads
-                         * data day by day. So a given day would not show
-                         * entries that start on the day before but intersect
-                         * with the given day. We have to find a solution for
-                         * this.
-                         */
-                        // iterator.advanceTo(org.joda.time.LocalDate.fromDateFields(Date.from(st.toInstant())));
-
-                        while (iterator.hasNext()) {
-                            LocalDate repeatingDate = iterator.next();
-                            if (repeatingDate.isAfter(utilEndDate)) {
-                                break;
-                            } else {
-                                ZonedDateTime zonedDateTime = ZonedDateTime.of(repeatingDate, LocalTime.MIN, zoneId);
-
-                                Entry recurrence = entry.createRecurrence();
-                                recurrence.setId(entry.getId());
-                                recurrence.getProperties().put("com.calendarfx.recurrence.source", entry);
-                                recurrence.getProperties().put("com.calendarfx.recurrence.id", zonedDateTime.toString());
-                                recurrence.setRecurrenceRule(entry.getRecurrenceRule());
-
-                                LocalDate recurrenceStartDate = zonedDateTime.toLocalDate();
-                                LocalDate recurrenceEndDate = recurrenceStartDate.plus(entry.getStartDate().until(entry.getEndDate()));
-
-                                Interval recurrenceInterval = entry.getInterval().withDates(recurrenceStartDate, recurrenceEndDate);
-
-                                recurrence.setInterval(recurrenceInterval);
-                                recurrence.setUserObject(entry.getUserObject());
-                                recurrence.setTitle(entry.getTitle());
-                                recurrence.setMinimumDuration(entry.getMinimumDuration());
-                                recurrence.setFullDay(entry.isFullDay());
-                                recurrence.setLocation(entry.getLocation());
-                                recurrence.setCalendar(this);
-
-                                addEntryToResult(result, recurrence, startDate, endDate);
-                            }
-                        }
-
-                    } catch (ParseException e) {
-                        e.printStackTrace();
-                    }
-                }
-            } else {
-                addEntryToResult(result, entry, startDate, endDate);
-            }
+        if (!recurringEntries.isEmpty()) {
+            expandRecurringEntries(recurringEntries, result, startDate, endDate, zoneId);
         }
 
         if (MODEL.isLoggable(FINE)) {
@@ -383,6 +358,92 @@ public class Calendar implements EventTarget {
         return result;
     }
 
+    /*
+     * Expands all recurring entries in one pass and assigns their recurrences
+     * to the dates that they intersect with.
+     */
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    private void expandRecurringEntries(List<Entry<?>> entries, Map<LocalDate, List<Entry<?>>> result, LocalDate startDate, LocalDate endDate, ZoneId zoneId) {
+        long expansionStartNanos = System.nanoTime();
+
+        int size = entries.size();
+        String[] rules = new String[size];
+        LocalDate[] starts = new LocalDate[size];
+        long[] fromDays = new long[size];
+        Period[] periods = new Period[size];
+        long[] spans = new long[size];
+        boolean[] exactSpans = new boolean[size];
+
+        long startDay = startDate.toEpochDay();
+
+        for (int i = 0; i < size; i++) {
+            Entry<?> entry = entries.get(i);
+            LocalDate entryStartDate = entry.getStartDate();
+            LocalDate entryEndDate = entry.getEndDate();
+
+            rules[i] = entry.getRecurrenceRule();
+            starts[i] = entry.getStartAsZonedDateTime().toLocalDate();
+            periods[i] = entryStartDate.until(entryEndDate);
+            spans[i] = entryEndDate.toEpochDay() - entryStartDate.toEpochDay();
+            exactSpans[i] = RecurringEntries.isExactSpan(entry);
+
+            /*
+             * Recurrences that start before the requested interval can still
+             * intersect with it, so we only skip the ones that end before it.
+             */
+            fromDays[i] = startDay - RecurringEntries.getMaxSpanDays(entry);
+        }
+
+        int[] instances = new int[1];
+
+        LocalDateIteratorFactory.expandAll(rules, starts, fromDays, endDate.toEpochDay(), zoneId, true, new EpochDaySink() {
+
+            @Override
+            public void accept(int index, long repeatingDay) {
+                if (exactSpans[index] && repeatingDay + spans[index] < startDay) {
+                    return;
+                }
+
+                Entry entry = entries.get(index);
+
+                LocalDate repeatingDate = LocalDate.ofEpochDay(repeatingDay);
+                ZonedDateTime zonedDateTime = ZonedDateTime.of(repeatingDate, LocalTime.MIN, zoneId);
+
+                Entry recurrence = entry.createRecurrence();
+                recurrence.setId(entry.getId());
+                recurrence.getProperties().put("com.calendarfx.recurrence.source", entry);
+                recurrence.getProperties().put("com.calendarfx.recurrence.id", zonedDateTime.toString());
+                recurrence.setRecurrenceRule(entry.getRecurrenceRule());
+
+                LocalDate recurrenceStartDate = zonedDateTime.toLocalDate();
+                LocalDate recurrenceEndDate = recurrenceStartDate.plus(periods[index]);
+
+                Interval recurrenceInterval = entry.getInterval().withDates(recurrenceStartDate, recurrenceEndDate);
+
+                recurrence.setInterval(recurrenceInterval);
+                recurrence.setUserObject(entry.getUserObject());
+                recurrence.setTitle(entry.getTitle());
+                recurrence.setMinimumDuration(entry.getMinimumDuration());
+                recurrence.setFullDay(entry.isFullDay());
+                recurrence.setLocation(entry.getLocation());
+                recurrence.setCalendar(Calendar.this);
+
+                addEntryToResult(result, recurrence, startDate, endDate);
+                instances[0]++;
+            }
+
+            @Override
+            public void failed(int index, ParseException ex) {
+                MODEL.log(SEVERE, "invalid recurrence rule: " + rules[index], ex); //$NON-NLS-1$
+            }
+        });
+
+        if (Metrics.isEnabled()) {
+            Metrics.timer(Metrics.RECURRENCE_EXPANSION, "calendar", getName()).stop(expansionStartNanos); //$NON-NLS-1$
+            Metrics.counter(Metrics.RECURRENCE_INSTANCES, "calendar", getName()).increment(instances[0]); //$NON-NLS-1$
+        }
+    }
+
     /*
      * Assign the given entry to each date that it intersects with in the given search interval.
      */
@@ -524,6 +585,7 @@ public class Calendar implements EventTarget {
      */
     public final void clear() {
         intervalTree.clear();
+        recurringEntries.clear();
         fireEvent(new CalendarEvent(CALENDAR_CHANGED, this));
     }
 
@@ -558,13 +620,43 @@ public class Calendar implements EventTarget {
     /**
      * Adds the given entries to the calendar. This is basically just a convenience
      * method as the actual work of adding an entry to a calendar is done inside
-     * {@link Entry#setCalendar(Calendar)}.
+     * {@link Entry#setCalendar(Calendar)}. When invoked while batch updates are
+     * in progress (see {@link #startBatchUpdates()}) the entries get added to the
+     * internal index in a single bulk operation, which is a lot faster for large
+     * collections.
      *
      * @param entries the collection of entries to add
      */
     public final void addEntries(Collection<Entry<?>> entries) {
         if (entries != null) {
-            entries.forEach(this::addEntry);
+            /*
+             * A nested call, e.g. from an entry listener, adds its entries to
+             * the bulk of the outer call.
+             */
+            if (batchUpdates && bulkEntries == null) {
+                bulkEntries = new ArrayList<>(entries.size());
+                bulkRecurringEntries = new ArrayList<>();
+                bulkPending = new IdentityHashMap<>(entries.size());
+                try {
+                    entries.forEach(this::addEntry);
+                } finally {
+                    List<Entry<?>> added = bulkEntries;
+                    List<Entry<?>> addedRecurring = bulkRecurringEntries;
+                    Map<Entry<?>, Boolean> pending = bulkPending;
+                    bulkEntries = null;
+                    bulkRecurringEntries = null;
+                    bulkPending = null;
+                    if (added.size() + addedRecurring.size() != pending.size() || pending.containsValue(Boolean.FALSE)) {
+                        Set<Entry<?>> kept = Collections.newSetFromMap(new IdentityHashMap<>());
+                        added.removeIf(entry -> entry.isRecurring() || !pending.get(entry) || !kept.add(entry));
+                        addedRecurring.removeIf(entry -> !entry.isRecurring() || !pending.get(entry) || !kept.add(entry));
+                    }
+                    intervalTree.addAll(added);
+                    recurringEntries.addAll(addedRecurring);
+                }
+            } else {
+                entries.forEach(this::addEntry);
+            }
         }
     }
 
@@ -668,7 +760,54 @@ public class Calendar implements EventTarget {
 
         dirty = true;
 
-        intervalTree.add(entry);
+        if (bulkPending != null && Boolean.TRUE.equals(bulkPending.put(entry, Boolean.TRUE))) {
+            return;
+        }
+
+        if (entry.isRecurring()) {
+            if (bulkRecurringEntries != null) {
+                bulkRecurringEntries.add(entry);
+            } else {
+                recurringEntries.add(entry);
+            }
+        } else if (bulkEntries != null) {
+            bulkEntries.add(entry);
+        } else {
+            intervalTree.add(entry);
+        }
+    }
+
+    /*
+     * Collects the entries added via addEntries(Collection) while in batch
+     * mode, so that they can be added to the interval tree and the recurring
+     * entries in one go.
+     */
+    private List<Entry<?>> bulkEntries;
+
+    private List<Entry<?>> bulkRecurringEntries;
+
+    /*
+     * The entries of the bulk, mapped to false once they got removed again.
+     * They only get dropped from the lists when the bulk gets added, as
+     * removing them from the lists right away would mean a linear search.
+     * An entry that gets added again after its removal (e.g. because its
+     * interval or recurrence rule changed) gets appended again, the
+     * duplicates get dropped when the bulk gets added, too.
+     */
+    private Map<Entry<?>, Boolean> bulkPending;
+
+    /*
+     * Returns all entries of the calendar, ordered by their start time. Used
+     * for writing snapshots.
+     */
+    final List<Entry<?>> impl_getEntries() {
+        List<Entry<?>> entries = intervalTree.values();
+        if (!recurringEntries.isEmpty()) {
+            entries = new ArrayList<>(entries);
+            entries.addAll(recurringEntries.values());
+            entries.sort(Comparator.comparing(Entry::getStartAsZonedDateTime));
+        }
+        return entries;
     }
 
     final void impl_removeEntry(Entry<?> entry) {
@@ -678,7 +817,14 @@ public class Calendar implements EventTarget {
 
         dirty = true;
 
-        intervalTree.remove(entry);
+        if (bulkPending != null && bulkPending.replace(entry, Boolean.TRUE, Boolean.FALSE)) {
+            // removed again before the bulk got added
+            return;
+        }
+
+        if (!recurringEntries.remove(entry)) {
+            intervalTree.remove(entry);
+        }
     }
 
     // Name support.
@@ -873,6 +1019,12 @@ public class Calendar implements EventTarget {
             }
 
             requireNonNull(evt);
+
+            if (Metrics.isEnabled()) {
+                Metrics.counter(Metrics.EVENTS, "calendar", getName(), "type", evt.getEventType().getName()).increment(); //$NON-NLS-1$ //$NON-NLS-2$
+                Metrics.histogram(Metrics.EVENT_FAN_OUT, "calendar", getName()).record(eventHandlers.size()); //$NON-NLS-1$
+            }
+
             Event.fireEvent(this, evt);
         }
     }
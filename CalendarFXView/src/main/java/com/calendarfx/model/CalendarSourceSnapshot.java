@@ -0,0 +1,530 @@
+/*
+ *  Copyright (C) 2017 Dirk Lemmermann Software & Consulting (dlsc.com)
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *          http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+
+package com.calendarfx.model;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+import static com.calendarfx.util.LoggingDomain.MODEL;
+import static java.util.Objects.requireNonNull;
+import static java.util.logging.Level.FINE;
+
+/**
+ * Reads and writes a compact, versioned binary snapshot of a
+ * {@link CalendarSource}. Applications can use snapshots to speed up cold
+ * starts, e.g. by storing the calendars after they have been parsed from
+ * ICS files and by restoring them from the snapshot the next time.
+ * <p>
+ * The entries of a calendar are stored in chunks. Each chunk stores its
+ * entries column by column (one array for the IDs, one for the start dates,
+ * and so on) and starts with a table of all strings used by the chunk, so
+ * that repeated titles, locations, time zones, and recurrence rules get
+ * stored and decoded only once. Snapshots are written incrementally and are
+ * read via a memory mapped file. The restored entries get added to their
+ * calendars via the bulk load path of the calendar index.
+ * <p>
+ * Snapshots store the ID, title, location, interval, time zone, full day
+ * flag, minimum duration, and recurrence rule of each entry. User objects,
+ * properties, and style classes are not part of a snapshot.
+ *
+ * <h2>Example</h2>
+ * <pre>
+ *     {@code
+ *     CalendarSourceSnapshot.write(source, path);
+ *     CalendarSource restored = CalendarSourceSnapshot.read(path);
+ *     }
+ * </pre>
+ */
+public final class CalendarSourceSnapshot {
+
+    /**
+     * The magic number at the start of every snapshot ("CFXS").
+     */
+    private static final int MAGIC = 0x43465853;
+
+    /**
+     * The version of the format written by this class. Readers reject
+     * snapshots with a higher version.
+     */
+    public static final int VERSION = 1;
+
+    private static final byte BLOCK_END = 0;
+    private static final byte BLOCK_CALENDAR = 1;
+    private static final byte BLOCK_ENTRIES = 2;
+
+    private static final byte FLAG_FULL_DAY = 1;
+
+    private static final int NO_STRING = -1;
+
+    private static final int CHUNK_SIZE = 1 << 16;
+
+    private CalendarSourceSnapshot() {
+    }
+
+    /**
+     * Writes a snapshot of the given source and all of its calendars to the
+     * given file.
+     *
+     * @param source the source to store
+     * @param file   the target file
+     * @throws IOException if the snapshot could not be written
+     */
+    public static void write(CalendarSource source, Path file) throws IOException {
+        requireNonNull(source);
+        try (Writer writer = new Writer(file, source.getName())) {
+            for (Calendar calendar : source.getCalendars()) {
+                writer.writeCalendar(calendar);
+            }
+        }
+    }
+
+    /**
+     * Reads the snapshot stored in the given file.
+     *
+     * @param file the snapshot file
+     * @return a new calendar source containing the stored calendars and entries
+     * @throws IOException if the file could not be read or is not a valid
+     *                     snapshot
+     */
+    public static CalendarSource read(Path file) throws IOException {
+        requireNonNull(file);
+
+        long time = System.currentTimeMillis();
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IOException("snapshot too large: " + channel.size() + " bytes"); //$NON-NLS-1$ //$NON-NLS-2$
+            }
+
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            CalendarSource source = new Reader(buffer).read();
+
+            if (MODEL.isLoggable(FINE)) {
+                MODEL.fine("read snapshot " + file + " in " + (System.currentTimeMillis() - time) + "ms"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+            }
+
+            return source;
+        } catch (RuntimeException e) {
+            // buffer underflows etc. are caused by truncated or corrupt files
+            throw new IOException("invalid snapshot: " + file, e); //$NON-NLS-1$
+        }
+    }
+
+    /**
+     * Writes a snapshot incrementally. Calendars get written one after the
+     * other, the entries of a calendar can be written in several steps.
+     *
+     * <pre>
+     *     {@code
+     *     try (Writer writer = new Writer(path, "My Calendars")) {
+     *         writer.startCalendar(calendar);
+     *         writer.writeEntries(firstBatch);
+     *         writer.writeEntries(secondBatch);
+     *     }
+     *     }
+     * </pre>
+     */
+    public static final class Writer implements Closeable {
+
+        private final DataOutputStream out;
+
+        private boolean calendarStarted;
+
+        /**
+         * Creates (or replaces) the given file and writes the snapshot header.
+         *
+         * @param file       the target file
+         * @param sourceName the name of the calendar source
+         * @throws IOException if the file could not be written
+         */
+        public Writer(Path file, String sourceName) throws IOException {
+            this(Files.newOutputStream(file), sourceName);
+        }
+
+        /**
+         * Writes the snapshot header to the given stream.
+         *
+         * @param out        the target stream
+         * @param sourceName the name of the calendar source
+         * @throws IOException if the header could not be written
+         */
+        public Writer(OutputStream out, String sourceName) throws IOException {
+            this.out = new DataOutputStream(new BufferedOutputStream(requireNonNull(out), 1 << 16));
+            this.out.writeInt(MAGIC);
+            this.out.writeShort(VERSION);
+            writeString(this.out, sourceName);
+        }
+
+        /**
+         * Writes the given calendar and all of its entries.
+         *
+         * @param calendar the calendar
+         * @throws IOException if the calendar could not be written
+         */
+        public void writeCalendar(Calendar calendar) throws IOException {
+            startCalendar(calendar);
+            writeEntries(calendar.impl_getEntries());
+        }
+
+        /**
+         * Writes the attributes of the given calendar (name, short name,
+         * style, read only flag). Entries written afterwards will be added to
+         * this calendar when reading the snapshot.
+         *
+         * @param calendar the calendar
+         * @throws IOException if the calendar could not be written
+         */
+        public void startCalendar(Calendar calendar) throws IOException {
+            out.writeByte(BLOCK_CALENDAR);
+            writeString(out, calendar.getName());
+            writeString(out, calendar.getShortName());
+            writeString(out, calendar.getStyle());
+            out.writeBoolean(calendar.isReadOnly());
+            calendarStarted = true;
+        }
+
+        /**
+         * Writes the given entries. Entries that are recurrences of another
+         * entry are skipped as they get recreated from their recurrence rule.
+         *
+         * @param entries the entries to write
+         * @throws IOException if the entries could not be written
+         * @throws IllegalStateException if no calendar has been started
+         */
+        public void writeEntries(Iterable<? extends Entry<?>> entries) throws IOException {
+            if (!calendarStarted) {
+                throw new IllegalStateException("startCalendar() has to be called before writing entries"); //$NON-NLS-1$
+            }
+
+            List<Entry<?>> chunk = new ArrayList<>();
+            Iterator<? extends Entry<?>> iterator = entries.iterator();
+            while (iterator.hasNext()) {
+                Entry<?> entry = iterator.next();
+                if (!entry.isRecurrence()) {
+                    chunk.add(entry);
+                }
+                if (chunk.size() == CHUNK_SIZE || !iterator.hasNext()) {
+                    writeChunk(chunk);
+                    chunk.clear();
+                }
+            }
+        }
+
+        private void writeChunk(List<Entry<?>> entries) throws IOException {
+            int count = entries.size();
+            if (count == 0) {
+                return;
+            }
+
+            Map<String, Integer> stringIndex = new HashMap<>();
+            List<String> strings = new ArrayList<>();
+
+            int[] ids = new int[count];
+            int[] titles = new int[count];
+            int[] locations = new int[count];
+            int[] zones = new int[count];
+            int[] rules = new int[count];
+            long[] startDays = new long[count];
+            long[] startNanos = new long[count];
+            long[] endDays = new long[count];
+            long[] endNanos = new long[count];
+            long[] minimumDurations = new long[count];
+            byte[] flags = new byte[count];
+
+            for (int i = 0; i < count; i++) {
+                Entry<?> entry = entries.get(i);
+                Interval interval = entry.getInterval();
+
+                ids[i] = intern(entry.getId(), stringIndex, strings);
+                titles[i] = intern(entry.getTitle(), stringIndex, strings);
+                locations[i] = intern(entry.getLocation(), stringIndex, strings);
+                zones[i] = intern(interval.getZoneId().getId(), stringIndex, strings);
+                rules[i] = intern(entry.getRecurrenceRule(), stringIndex, strings);
+                startDays[i] = interval.getStartDate().toEpochDay();
+                startNanos[i] = interval.getStartTime().toNanoOfDay();
+                endDays[i] = interval.getEndDate().toEpochDay();
+                endNanos[i] = interval.getEndTime().toNanoOfDay();
+                minimumDurations[i] = entry.getMinimumDuration().toMillis();
+                flags[i] = entry.isFullDay() ? FLAG_FULL_DAY : 0;
+            }
+
+            out.writeByte(BLOCK_ENTRIES);
+            out.writeInt(count);
+
+            out.writeInt(strings.size());
+            for (String string : strings) {
+                writeString(out, string);
+            }
+
+            writeInts(out, ids);
+            writeInts(out, titles);
+            writeInts(out, locations);
+            writeInts(out, zones);
+            writeInts(out, rules);
+            writeLongs(out, startDays);
+            writeLongs(out, startNanos);
+            writeLongs(out, endDays);
+            writeLongs(out, endNanos);
+            writeLongs(out, minimumDurations);
+            out.write(flags);
+        }
+
+        /**
+         * Writes the end marker and closes the underlying stream.
+         *
+         * @throws IOException if the stream could not be closed
+         */
+        @Override
+        public void close() throws IOException {
+            try {
+                out.writeByte(BLOCK_END);
+            } finally {
+                out.close();
+            }
+        }
+
+        private static int intern(String string, Map<String, Integer> stringIndex, List<String> strings) {
+            if (string == null) {
+                return NO_STRING;
+            }
+
+            return stringIndex.computeIfAbsent(string, it -> {
+                strings.add(it);
+                return strings.size() - 1;
+            });
+        }
+
+        private static void writeString(DataOutputStream out, String string) throws IOException {
+            if (string == null) {
+                out.writeInt(NO_STRING);
+            } else {
+                byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+                out.writeInt(bytes.length);
+                out.write(bytes);
+            }
+        }
+
+        private static void writeInts(DataOutputStream out, int[] values) throws IOException {
+            for (int value : values) {
+                out.writeInt(value);
+            }
+        }
+
+        private static void writeLongs(DataOutputStream out, long[] values) throws IOException {
+            for (long value : values) {
+                out.writeLong(value);
+            }
+        }
+    }
+
+    private static final class Reader {
+
+        private final ByteBuffer buffer;
+
+        private final Map<String, ZoneId> zoneIds = new HashMap<>();
+
+        Reader(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        CalendarSource read() throws IOException {
+            if (buffer.getInt() != MAGIC) {
+                throw new IOException("not a calendar snapshot"); //$NON-NLS-1$
+            }
+
+            int version = buffer.getShort();
+            if (version > VERSION) {
+                throw new IOException("unsupported snapshot version: " + version + ", supported version: " + VERSION); //$NON-NLS-1$ //$NON-NLS-2$
+            }
+
+            CalendarSource source = new CalendarSource();
+            String sourceName = readString();
+            if (sourceName != null) {
+                source.setName(sourceName);
+            }
+
+            Calendar calendar = null;
+            List<Entry<?>> entries = new ArrayList<>();
+
+            byte block;
+            while ((block = buffer.get()) != BLOCK_END) {
+                switch (block) {
+                    case BLOCK_CALENDAR:
+                        addEntries(calendar, entries);
+                        calendar = readCalendar();
+                        source.getCalendars().add(calendar);
+                        break;
+                    case BLOCK_ENTRIES:
+                        if (calendar == null) {
+                            throw new IOException("entries found before the first calendar"); //$NON-NLS-1$
+                        }
+                        readEntries(entries);
+                        break;
+                    default:
+                        throw new IOException("unknown block type: " + block); //$NON-NLS-1$
+                }
+            }
+
+            addEntries(calendar, entries);
+
+            return source;
+        }
+
+        private Calendar readCalendar() {
+            Calendar calendar = new Calendar();
+
+            String name = readString();
+            if (name != null) {
+                calendar.setName(name);
+            }
+
+            String shortName = readString();
+            if (shortName != null) {
+                calendar.setShortName(shortName);
+            }
+
+            String style = readString();
+            if (style != null) {
+                calendar.setStyle(style);
+            }
+
+            calendar.setReadOnly(buffer.get() != 0);
+
+            return calendar;
+        }
+
+        private void readEntries(List<Entry<?>> entries) {
+            int count = buffer.getInt();
+
+            String[] strings = new String[buffer.getInt()];
+            for (int i = 0; i < strings.length; i++) {
+                strings[i] = readString();
+            }
+
+            int[] ids = readInts(count);
+            int[] titles = readInts(count);
+            int[] locations = readInts(count);
+            int[] zones = readInts(count);
+            int[] rules = readInts(count);
+            long[] startDays = readLongs(count);
+            long[] startNanos = readLongs(count);
+            long[] endDays = readLongs(count);
+            long[] endNanos = readLongs(count);
+            long[] minimumDurations = readLongs(count);
+            byte[] flags = new byte[count];
+            buffer.get(flags);
+
+            for (int i = 0; i < count; i++) {
+                ZoneId zoneId = zoneIds.computeIfAbsent(strings[zones[i]], ZoneId::of);
+
+                Interval interval = new Interval(
+                        LocalDate.ofEpochDay(startDays[i]), LocalTime.ofNanoOfDay(startNanos[i]),
+                        LocalDate.ofEpochDay(endDays[i]), LocalTime.ofNanoOfDay(endNanos[i]),
+                        zoneId);
+
+                /*
+                 * Entries without a title get the title of an untitled entry,
+                 * entries created later on must not reuse the restored IDs.
+                 */
+                String title = string(strings, titles[i]);
+                String id = string(strings, ids[i]);
+                Entry.reserveId(id);
+
+                Entry<?> entry = new Entry<>(title != null ? title : Entry.UNTITLED, interval, id);
+                entry.setLocation(string(strings, locations[i]));
+                entry.setRecurrenceRule(string(strings, rules[i]));
+                entry.setMinimumDuration(Duration.ofMillis(minimumDurations[i]));
+
+                if ((flags[i] & FLAG_FULL_DAY) != 0) {
+                    entry.setFullDay(true);
+                }
+
+                entries.add(entry);
+            }
+        }
+
+        private void addEntries(Calendar calendar, List<Entry<?>> entries) {
+            if (calendar != null && !entries.isEmpty()) {
+                calendar.startBatchUpdates();
+                try {
+                    calendar.addEntries(entries);
+                } finally {
+                    calendar.stopBatchUpdates();
+                }
+            }
+
+            entries.clear();
+        }
+
+        private static String string(String[] strings, int index) {
+            return index == NO_STRING ? null : strings[index];
+        }
+
+        private String readString() {
+            int length = buffer.getInt();
+            if (length == NO_STRING) {
+                return null;
+            }
+
+            String string;
+            if (buffer.hasArray()) {
+                string = new String(buffer.array(), buffer.arrayOffset() + buffer.position(), length, StandardCharsets.UTF_8);
+                buffer.position(buffer.position() + length);
+            } else {
+                byte[] bytes = new byte[length];
+                buffer.get(bytes);
+                string = new String(bytes, StandardCharsets.UTF_8);
+            }
+
+            return string;
+        }
+
+        private int[] readInts(int count) {
+            int[] values = new int[count];
+            buffer.asIntBuffer().get(values);
+            buffer.position(buffer.position() + count * Integer.BYTES);
+            return values;
+        }
+
+        private long[] readLongs(int count) {
+            long[] values = new long[count];
+            buffer.asLongBuffer().get(values);
+            buffer.position(buffer.position() + count * Long.BYTES);
+            return values;
+        }
+    }
+}
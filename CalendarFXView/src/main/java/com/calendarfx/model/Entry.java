@@ -16,8 +16,6 @@
 
 package com.calendarfx.model;
 
-import com.google.ical.compat.javatime.LocalDateIterator;
-import com.google.ical.compat.javatime.LocalDateIteratorFactory;
 import com.google.ical.values.DateValue;
 import com.google.ical.values.RRule;
 import impl.com.calendarfx.view.util.Util;
@@ -108,6 +106,8 @@ public class Entry<T> implements Comparable<Entry<?>> {
 
     private static final Duration DEFAULT_MINIMUM_DURATION = Duration.ofMinutes(15);
 
+    static final String UNTITLED = "Untitled"; //$NON-NLS-1$
+
     private static long idCounter;
 
     // needs to be thread-safe
@@ -115,13 +115,35 @@ public class Entry<T> implements Comparable<Entry<?>> {
         return Long.toString(idCounter++);
     }
 
-    private String id = createId();
+    /*
+     * Makes sure that createId() never returns the given ID, used for
+     * entries that get restored with the ID they had when they were saved.
+     */
+    static synchronized void reserveId(String id) {
+        int length = id.length();
+        if (length == 0 || length > 18) {
+            return;
+        }
+
+        long value = 0;
+        for (int i = 0; i < length; i++) {
+            char c = id.charAt(i);
+            if (c < '0' || c > '9') {
+                return;
+            }
+            value = value * 10 + (c - '0');
+        }
+
+        idCounter = Math.max(idCounter, value + 1);
+    }
+
+    private String id;
 
     /**
      * Constructs a new untitled entry.
      */
     public Entry() {
-        this("Untitled", new Interval());
+        this(UNTITLED, new Interval());
     }
 
     /**
@@ -140,8 +162,22 @@ public class Entry<T> implements Comparable<Entry<?>> {
      * @param interval the time interval where the entry is located
      */
     public Entry(String title, Interval interval) {
+        this(title, interval, createId());
+    }
+
+    /**
+     * Constructs a new entry with the given title, interval, and ID.
+     *
+     * @param title    the title shown to the user
+     * @param interval the time interval where the entry is located
+     * @param id       the unique identifier of the entry
+     */
+    public Entry(String title, Interval interval, String id) {
         requireNonNull(title);
         requireNonNull(interval);
+        requireNonNull(id);
+
+        this.id = id;
 
         setTitle(title);
         setInterval(interval);
@@ -1501,42 +1537,58 @@ public class Entry<T> implements Comparable<Entry<?>> {
         return Util.intersect(interval.getStartZonedDateTime(), interval.getEndZonedDateTime(), st, et);
     }
 
+    /*
+     * The days on which the recurrences of this entry start, computed on
+     * demand by isRecurrenceShowing(). Only used on recurrence sources, the
+     * recurrence copies of a series use the days of their source.
+     */
+    private RecurrenceDays recurrenceDays;
+
     private boolean isRecurrenceShowing(Entry<?> entry, ZonedDateTime st, ZonedDateTime et, ZoneId zoneId) {
-        String recurrenceRule = entry.getRecurrenceRule();
+        /*
+         * A recurrence copy shows the recurrences of its series that start
+         * on or after its own start date.
+         */
+        long firstDay = Long.MIN_VALUE;
+
+        Entry<?> source = entry;
+        if (entry.isRecurrence() && entry.getRecurrenceSourceEntry() != null) {
+            source = entry.getRecurrenceSourceEntry();
+            firstDay = entry.getStartAsZonedDateTime().toLocalDate().toEpochDay();
+        }
 
-        LocalDate utilStartDate = entry.getStartAsZonedDateTime().toLocalDate();
+        String recurrenceRule = source.getRecurrenceRule();
 
-        try {
-            LocalDate utilEndDate = et.toLocalDate();
+        LocalDate utilStartDate = source.getStartAsZonedDateTime().toLocalDate();
 
-            LocalDateIterator iterator = LocalDateIteratorFactory.createLocalDateIterator(recurrenceRule, utilStartDate, zoneId, true);
+        /*
+         * The cached days become invalid when the rule or the interval
+         * of the source changes, or when a different time zone is used.
+         */
+        RecurrenceDays days = source.recurrenceDays;
+        if (days == null || !days.isFor(recurrenceRule, utilStartDate, zoneId)) {
+            days = new RecurrenceDays(recurrenceRule, utilStartDate, zoneId);
+            source.recurrenceDays = days;
+        }
 
-            /*
-             * TODO: for performance reasons we should definitely
-             * use the advanceTo() call, but unfortunately this
-             * collides with the fact that e.g. the DetailedWeekView loads
-             * data day by day. So a given day would not show
-             * entries that start on the day before but intersect
-             * with the given day. We have to find a solution for
-             * this.
-             */
-            // iterator.advanceTo(org.joda.time.LocalDate.fromDateFields(Date.from(st.toInstant())));
-
-            while (iterator.hasNext()) {
-                LocalDate repeatingDate = iterator.next();
-                if (repeatingDate.isAfter(utilEndDate)) {
-                    break;
-                } else {
-                    ZonedDateTime recurrenceStart = ZonedDateTime.of(repeatingDate, LocalTime.MIN, zoneId);
-                    ZonedDateTime recurrenceEnd = recurrenceStart.plus(entry.getDuration());
-
-                    if (Util.intersect(recurrenceStart, recurrenceEnd, st, et)) {
-                        return true;
-                    }
-                }
+        Duration duration = entry.getDuration();
+
+        /*
+         * Recurrences that start up to the duration of the entry before the
+         * search interval (plus a day for daylight savings) may still reach
+         * into it.
+         */
+        long endDay = et.toLocalDate().toEpochDay();
+        long day = days.nextDay(Math.max(firstDay, st.toLocalDate().toEpochDay() - Math.max(0, duration.toDays()) - 1), endDay);
+        while (day != RecurrenceDays.NONE) {
+            ZonedDateTime recurrenceStart = ZonedDateTime.of(LocalDate.ofEpochDay(day), LocalTime.MIN, zoneId);
+            ZonedDateTime recurrenceEnd = recurrenceStart.plus(duration);
+
+            if (Util.intersect(recurrenceStart, recurrenceEnd, st, et)) {
+                return true;
             }
-        } catch (ParseException ex) {
-            ex.printStackTrace();
+
+            day = days.nextDay(day + 1, endDay);
         }
 
         return false;
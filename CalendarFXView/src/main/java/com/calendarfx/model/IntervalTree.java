@@ -22,6 +22,7 @@ import java.time.ZonedDateTime;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Objects;
 import java.util.Set;
 
@@ -78,6 +79,112 @@ class IntervalTree<E extends Entry<?>> {
         return e != null;
     }
 
+    /**
+     * Adds all of the given entries. If the tree is empty the tree gets built
+     * bottom-up from the sorted entries in linear time (after sorting) instead
+     * of inserting and rebalancing one entry at a time. This is the bulk load
+     * path used when restoring large calendars.
+     *
+     * @param entries
+     *            the entries to add
+     */
+    public final void addAll(Collection<? extends E> entries) {
+        if (root != null || entries.size() < 2) {
+            entries.forEach(this::add);
+            return;
+        }
+
+        List<TreeEntry<E>> nodes = new ArrayList<>(entries.size());
+        for (E entry : entries) {
+            Objects.requireNonNull(entry, "null entry is not supported");
+            nodes.add(new TreeEntry<>(getLow(entry), getHigh(entry), entry, null));
+        }
+
+        nodes.sort(this::compareNodes);
+
+        // same rule as addEntry(): equal entries only get added once
+        int size = 0;
+        for (int i = 0; i < nodes.size(); i++) {
+            TreeEntry<E> node = nodes.get(i);
+            if (size == 0 || compareNodes(nodes.get(size - 1), node) != 0) {
+                nodes.set(size++, node);
+                entryIDs.add(node.value.getId());
+            }
+        }
+
+        root = buildFromSorted(0, 0, size - 1, computeRedLevel(size), nodes);
+        treeSize = size;
+    }
+
+    /**
+     * Returns all entries stored in the tree, ordered by their start time.
+     *
+     * @return the entries
+     */
+    public final List<E> values() {
+        List<E> result = new ArrayList<>(treeSize);
+        if (root != null) {
+            TreeEntry<E> e = root;
+            while (e.left != null) {
+                e = e.left;
+            }
+            for (; e != null; e = successor(e)) {
+                result.add(e.value);
+            }
+        }
+        return result;
+    }
+
+    private int compareNodes(TreeEntry<E> e1, TreeEntry<E> e2) {
+        int cmp = compareLongs(e1.low, e2.low);
+        if (cmp == 0) {
+            cmp = compareLongs(e1.high, e2.high);
+            if (cmp == 0) {
+                cmp = Integer.compare(e1.value.hashCode(), e2.value.hashCode());
+            }
+        }
+        return cmp;
+    }
+
+    /*
+     * Same algorithm as java.util.TreeMap.buildFromSorted(): all levels are
+     * complete and black, except for the deepest level, which is red.
+     */
+    private TreeEntry<E> buildFromSorted(int level, int lo, int hi, int redLevel, List<TreeEntry<E>> nodes) {
+        if (hi < lo) {
+            return null;
+        }
+
+        int mid = (lo + hi) >>> 1;
+
+        TreeEntry<E> middle = nodes.get(mid);
+        middle.color = level == redLevel ? RED : BLACK;
+
+        TreeEntry<E> left = buildFromSorted(level + 1, lo, mid - 1, redLevel, nodes);
+        if (left != null) {
+            middle.left = left;
+            left.parent = middle;
+            middle.maxHigh = Math.max(middle.maxHigh, left.maxHigh);
+        }
+
+        TreeEntry<E> right = buildFromSorted(level + 1, mid + 1, hi, redLevel, nodes);
+        if (right != null) {
+            middle.right = right;
+            right.parent = middle;
+            middle.maxHigh = Math.max(middle.maxHigh, right.maxHigh);
+        }
+
+        return middle;
+    }
+
+    private static int computeRedLevel(int size) {
+        int level = 0;
+        for (int m = size - 1; m >= 0; m = m / 2 - 1) {
+            level++;
+        }
+        return level;
+    }
+
     /**
      * Method to remove period/key object from tree. Entry to delete will be
      * found by period and key values of given parameter p (not by given object
@@ -251,7 +358,7 @@ class IntervalTree<E extends Entry<?>> {
             if (cmp == 0)
                 cmp = compareLongs(getHigh(entry), t.high);
             if (cmp == 0)
-                cmp = entry.hashCode() - t.value.hashCode();
+                cmp = Integer.compare(entry.hashCode(), t.value.hashCode());
 
             if (cmp < 0) {
                 t = t.left;
@@ -295,7 +402,7 @@ class IntervalTree<E extends Entry<?>> {
             if (cmp == 0) {
                 cmp = compareLongs(getHigh(entry), t.high);
                 if (cmp == 0)
-                    cmp = entry.hashCode() - t.value.hashCode();
+                    cmp = Integer.compare(entry.hashCode(), t.value.hashCode());
             }
 
             if (cmp < 0) {
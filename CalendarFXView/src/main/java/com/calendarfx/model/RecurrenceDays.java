@@ -0,0 +1,155 @@
+/*
+ *  Copyright (C) 2017 Dirk Lemmermann Software & Consulting (dlsc.com)
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *          http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package com.calendarfx.model;
+
+import com.google.ical.compat.javatime.EpochDayIterator;
+import com.google.ical.compat.javatime.LocalDateIteratorFactory;
+
+import java.text.ParseException;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+import static com.calendarfx.util.LoggingDomain.MODEL;
+import static java.util.logging.Level.SEVERE;
+
+/**
+ * The days on which the recurrences of a recurring entry start. The days get
+ * computed one year at a time, when they are first needed, and are stored as
+ * a bit set of 366 bits per year, so that checking whether the series hits a
+ * given range of days no longer requires a recurrence iterator. At most
+ * {@link #MAX_YEARS} years are retained, the least recently used ones get
+ * dropped first.
+ * <p>
+ * An instance is only valid for the recurrence rule, start date, and time zone
+ * it was created for, see {@link #isFor(String, LocalDate, ZoneId)}.
+ */
+final class RecurrenceDays {
+
+    /**
+     * The number of years for which the days are retained.
+     */
+    static final int MAX_YEARS = 16;
+
+    /**
+     * Returned by {@link #nextDay(long, long)} if there is no such day.
+     */
+    static final long NONE = Long.MIN_VALUE;
+
+    private static final long[] NO_DAYS = new long[6];
+
+    private final String rule;
+
+    private final LocalDate startDate;
+
+    private final ZoneId zoneId;
+
+    private final long startDay;
+
+    private boolean invalid;
+
+    private final Map<Integer, long[]> years = new LinkedHashMap<Integer, long[]>(16, .75f, true) {
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Integer, long[]> eldest) {
+            return size() > MAX_YEARS;
+        }
+    };
+
+    RecurrenceDays(String rule, LocalDate startDate, ZoneId zoneId) {
+        this.rule = rule;
+        this.startDate = startDate;
+        this.zoneId = zoneId;
+        this.startDay = startDate.toEpochDay();
+    }
+
+    /**
+     * Determines whether this instance holds the days of the series with the
+     * given parameters.
+     */
+    boolean isFor(String rule, LocalDate startDate, ZoneId zoneId) {
+        return Objects.equals(this.rule, rule) && this.startDate.equals(startDate) && this.zoneId.equals(zoneId);
+    }
+
+    /**
+     * Returns the first day on or after the given day and on or before the
+     * given last day on which a recurrence starts.
+     *
+     * @param fromDay the first epoch day to look at
+     * @param toDay   the last epoch day to look at
+     * @return an epoch day or {@link #NONE}
+     */
+    synchronized long nextDay(long fromDay, long toDay) {
+        long day = Math.max(fromDay, startDay);
+        while (day <= toDay && !invalid) {
+            LocalDate date = LocalDate.ofEpochDay(day);
+            long firstDayOfYear = day - date.getDayOfYear() + 1;
+            long[] bits = getYear(date.getYear(), firstDayOfYear);
+            int last = (int) Math.min(toDay - firstDayOfYear, date.lengthOfYear() - 1);
+            for (int i = (int) (day - firstDayOfYear); i <= last; ) {
+                long word = bits[i >>> 6] & (-1L << i);
+                if (word == 0) {
+                    i = (i | 63) + 1;
+                    continue;
+                }
+                int found = (i & ~63) + Long.numberOfTrailingZeros(word);
+                return found <= last ? firstDayOfYear + found : NONE;
+            }
+            day = firstDayOfYear + date.lengthOfYear();
+        }
+        return NONE;
+    }
+
+    private long[] getYear(int year, long firstDayOfYear) {
+        long[] bits = years.get(year);
+        if (bits == null) {
+            bits = computeYear(firstDayOfYear, firstDayOfYear + LocalDate.ofEpochDay(firstDayOfYear).lengthOfYear() - 1);
+            years.put(year, bits);
+        }
+        return bits;
+    }
+
+    private long[] computeYear(long firstDay, long lastDay) {
+        if (lastDay < startDay) {
+            return NO_DAYS;
+        }
+
+        long[] bits = new long[6];
+        try {
+            EpochDayIterator iterator = LocalDateIteratorFactory.createEpochDayIterator(rule, startDate, zoneId, true);
+            iterator.advanceToEpochDay(firstDay);
+            while (iterator.hasNext()) {
+                long day = iterator.nextEpochDay();
+                if (day > lastDay) {
+                    break;
+                }
+                if (day >= firstDay) {
+                    int i = (int) (day - firstDay);
+                    bits[i >>> 6] |= 1L << i;
+                }
+            }
+        } catch (ParseException ex) {
+            MODEL.log(SEVERE, "invalid recurrence rule: " + rule, ex); //$NON-NLS-1$
+            invalid = true;
+        }
+
+        return bits;
+    }
+}
@@ -0,0 +1,324 @@
+/*
+ *  Copyright (C) 2017 Dirk Lemmermann Software & Consulting (dlsc.com)
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *          http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package com.calendarfx.model;
+
+import com.google.ical.values.RRule;
+import com.google.ical.values.WeekdayNum;
+
+import java.text.ParseException;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.Month;
+import java.time.Period;
+import java.time.Year;
+import java.util.Collection;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The recurring entries of a calendar. They are kept apart from the single
+ * entries because a series covers the whole time from its first recurrence
+ * until the end of the recurrence, often forever, so that a query against a
+ * tree of all entries would return every open-ended series for every time
+ * interval. The series are stored in their own interval tree, and each of them
+ * carries a {@link Pattern} of the months, days of the month, and days of the
+ * week that its rule can hit, so that a query only returns the series that can
+ * have recurrences in the requested interval.
+ */
+final class RecurringEntries {
+
+    /*
+     * The most that the length in days of a period with months or years can
+     * vary depending on the date that it gets added to, e.g. one month is 28
+     * days long when added to February 1st but 31 days when added to January
+     * 31st.
+     */
+    private static final int MAX_MONTH_LENGTH_VARIATION = 3;
+
+    private final IntervalTree<Entry<?>> tree = new IntervalTree<>();
+
+    /*
+     * The patterns of all recurring entries, null for the ones whose
+     * recurrences can start on any day.
+     */
+    private final Map<Entry<?>, Pattern> patterns = new IdentityHashMap<>();
+
+    void add(Entry<?> entry) {
+        patterns.put(entry, Pattern.of(entry));
+        tree.add(entry);
+    }
+
+    void addAll(Collection<Entry<?>> entries) {
+        entries.forEach(entry -> patterns.put(entry, Pattern.of(entry)));
+        tree.addAll(entries);
+    }
+
+    /**
+     * Removes the given entry.
+     *
+     * @return true if the entry was a member of the recurring entries
+     */
+    boolean remove(Entry<?> entry) {
+        if (!patterns.containsKey(entry)) {
+            return false;
+        }
+        patterns.remove(entry);
+        tree.remove(entry);
+        return true;
+    }
+
+    void clear() {
+        patterns.clear();
+        tree.clear();
+    }
+
+    boolean isEmpty() {
+        return patterns.isEmpty();
+    }
+
+    List<Entry<?>> values() {
+        return tree.values();
+    }
+
+    Instant getEarliestTimeUsed() {
+        return tree.getEarliestTimeUsed();
+    }
+
+    Instant getLatestTimeUsed() {
+        return tree.getLatestTimeUsed();
+    }
+
+    /**
+     * Finds the series that can have recurrences intersecting with the given
+     * interval.
+     *
+     * @param st        the start of the interval
+     * @param et        the end of the interval
+     * @param startDate the first day of the interval
+     * @param endDate   the last day of the interval
+     * @param result    receives the series that have to be expanded
+     * @return the number of series whose span intersects with the interval,
+     * i.e. the ones that had to be examined
+     */
+    int findCandidates(Instant st, Instant et, LocalDate startDate, LocalDate endDate, List<Entry<?>> result) {
+        Collection<Entry<?>> series = tree.getIntersectingObjects(st, et);
+
+        long startDay = startDate.toEpochDay();
+        long endDay = endDate.toEpochDay();
+
+        for (Entry<?> entry : series) {
+            Pattern pattern = patterns.get(entry);
+            if (pattern == null || pattern.hits(startDay - getMaxSpanDays(entry), endDay)) {
+                result.add(entry);
+            }
+        }
+
+        return series.size();
+    }
+
+    /**
+     * The number of days covered by a recurrence of the given entry on top of
+     * its start day. Periods that include months or years vary in length
+     * depending on where they start, so we allow for the longest possible
+     * variation.
+     */
+    static long getMaxSpanDays(Entry<?> entry) {
+        LocalDate entryStartDate = entry.getStartDate();
+        LocalDate entryEndDate = entry.getEndDate();
+        long spanDays = entryEndDate.toEpochDay() - entryStartDate.toEpochDay();
+        return isExactSpan(entry) ? spanDays : spanDays + MAX_MONTH_LENGTH_VARIATION;
+    }
+
+    /**
+     * Determines whether all recurrences of the given entry cover the same
+     * number of days.
+     */
+    static boolean isExactSpan(Entry<?> entry) {
+        Period period = entry.getStartDate().until(entry.getEndDate());
+        return period.toTotalMonths() == 0;
+    }
+
+    /**
+     * The months, days of the month, and days of the week on which the
+     * recurrences of a series can start, as implied by the frequency and the
+     * BYMONTH, BYMONTHDAY, and BYDAY parts of its rule. The first day of the
+     * series always is a recurrence.
+     */
+    static final class Pattern {
+
+        private static final int ALL_MONTHS = (1 << 12) - 1;
+
+        private static final int ALL_MONTH_DAYS = (1 << 31) - 1;
+
+        private static final int ALL_WEEKDAYS = (1 << 7) - 1;
+
+        private final long startDay;
+
+        /*
+         * Bit n is set for month n + 1, day of the month n + 1, and the day of
+         * the week with the value n modulo 7 (Sunday = 0).
+         */
+        private final int months;
+        private final int monthDays;
+        private final int weekdays;
+
+        Pattern(long startDay, int months, int monthDays, int weekdays) {
+            this.startDay = startDay;
+            this.months = months;
+            this.monthDays = monthDays;
+            this.weekdays = weekdays;
+        }
+
+        /**
+         * Returns the pattern of the given recurring entry, or null if any day
+         * can be a recurrence, e.g. because the entry also has RDATEs.
+         */
+        static Pattern of(Entry<?> entry) {
+            String rrule = null;
+            for (String line : entry.getRecurrenceRule().trim().split("\\R")) { //$NON-NLS-1$
+                String name = line.trim().toUpperCase();
+                if (name.startsWith("RRULE")) { //$NON-NLS-1$
+                    if (rrule != null) {
+                        return null;
+                    }
+                    rrule = line.trim();
+                } else if (!name.startsWith("EXDATE") && !name.startsWith("EXRULE")) { //$NON-NLS-1$ //$NON-NLS-2$
+                    return null;
+                }
+            }
+
+            if (rrule == null) {
+                return null;
+            }
+
+            RRule rule;
+            try {
+                rule = new RRule(rrule);
+            } catch (ParseException | IllegalArgumentException ex) {
+                return null;
+            }
+
+            LocalDate start = entry.getStartAsZonedDateTime().toLocalDate();
+
+            int months = bits(rule.getByMonth(), ALL_MONTHS);
+            int monthDays = bits(rule.getByMonthDay(), ALL_MONTH_DAYS);
+
+            int weekdays = ALL_WEEKDAYS;
+            if (!rule.getByDay().isEmpty()) {
+                weekdays = 0;
+                for (WeekdayNum day : rule.getByDay()) {
+                    weekdays |= 1 << day.wday.ordinal();
+                }
+            }
+
+            boolean byDay = !rule.getByDay().isEmpty();
+            boolean byMonthDay = rule.getByMonthDay().length > 0;
+
+            switch (rule.getFreq()) {
+                case YEARLY:
+                    if (!byDay && !byMonthDay && rule.getByYearDay().length == 0 && rule.getByWeekNo().length == 0) {
+                        monthDays = 1 << (start.getDayOfMonth() - 1);
+                        if (rule.getByMonth().length == 0) {
+                            months = 1 << (start.getMonthValue() - 1);
+                        }
+                    }
+                    break;
+                case MONTHLY:
+                    if (!byDay && !byMonthDay) {
+                        monthDays = 1 << (start.getDayOfMonth() - 1);
+                    }
+                    break;
+                case WEEKLY:
+                    if (!byDay) {
+                        weekdays = 1 << (start.getDayOfWeek().getValue() % 7);
+                    }
+                    break;
+                default:
+                    break;
+            }
+
+            if (months == ALL_MONTHS && monthDays == ALL_MONTH_DAYS && weekdays == ALL_WEEKDAYS) {
+                return null;
+            }
+
+            return new Pattern(start.toEpochDay(), months, monthDays, weekdays);
+        }
+
+        /*
+         * The bits of the given months or days of the month, all bits if
+         * there are none or if any of them counts from the end.
+         */
+        private static int bits(int[] values, int all) {
+            if (values.length == 0) {
+                return all;
+            }
+            int bits = 0;
+            for (int value : values) {
+                if (value <= 0) {
+                    return all;
+                }
+                bits |= 1 << (value - 1);
+            }
+            return bits;
+        }
+
+        /**
+         * Determines whether a recurrence can start on one of the given days.
+         *
+         * @param fromDay the first epoch day
+         * @param toDay   the last epoch day
+         * @return false if the series definitely has no recurrence on any
+         * of the days
+         */
+        boolean hits(long fromDay, long toDay) {
+            if (startDay >= fromDay && startDay <= toDay) {
+                return true;
+            }
+
+            long day = Math.max(fromDay, startDay);
+            if (toDay - day >= 366) {
+                return true;
+            }
+
+            LocalDate date = LocalDate.ofEpochDay(day);
+            int year = date.getYear();
+            int month = date.getMonthValue() - 1;
+            int monthDay = date.getDayOfMonth() - 1;
+            int weekday = date.getDayOfWeek().getValue() % 7;
+            int monthLength = date.lengthOfMonth();
+
+            for (; day <= toDay; day++) {
+                if ((months & 1 << month) != 0 && (monthDays & 1 << monthDay) != 0 && (weekdays & 1 << weekday) != 0) {
+                    return true;
+                }
+
+                weekday = (weekday + 1) % 7;
+                if (++monthDay == monthLength) {
+                    monthDay = 0;
+                    if (++month == 12) {
+                        month = 0;
+                        year++;
+                    }
+                    monthLength = Month.of(month + 1).length(Year.isLeap(year));
+                }
+            }
+
+            return false;
+        }
+    }
+}
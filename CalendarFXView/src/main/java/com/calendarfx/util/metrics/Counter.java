@@ -0,0 +1,71 @@
+/*
+ *  Copyright (C) 2017 Dirk Lemmermann Software & Consulting (dlsc.com)
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *          http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+
+package com.calendarfx.util.metrics;
+
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A metric used for counting, e.g. the number of events fired by a calendar.
+ *
+ * @see Metrics#counter(String, String...)
+ */
+public class Counter extends Metric {
+
+    private final LongAdder count = new LongAdder();
+
+    Counter(String name, Map<String, String> tags) {
+        super(name, tags);
+    }
+
+    @Override
+    public Type getType() {
+        return Type.COUNTER;
+    }
+
+    /**
+     * Increments the counter by one.
+     */
+    public void increment() {
+        increment(1);
+    }
+
+    /**
+     * Increments the counter by the given amount.
+     *
+     * @param delta the amount to add
+     */
+    public void increment(long delta) {
+        count.add(delta);
+        Metrics.counted(this, delta);
+    }
+
+    /**
+     * Returns the current count.
+     *
+     * @return the count
+     */
+    public long getCount() {
+        return count.sum();
+    }
+
+    @Override
+    public void reset() {
+        count.reset();
+    }
+}
@@ -0,0 +1,138 @@
+/*
+ *  Copyright (C) 2017 Dirk Lemmermann Software & Consulting (dlsc.com)
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *          http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+
+package com.calendarfx.util.metrics;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A metric used for recording the distribution of values, e.g. the number of
+ * entries returned by a load operation. Percentiles are computed from a
+ * fixed size reservoir holding the most recent values, so recording a value
+ * never allocates memory.
+ *
+ * @see Metrics#histogram(String, String...)
+ */
+public class Histogram extends Metric {
+
+    private static final int RESERVOIR_SIZE = 1024;
+
+    private final AtomicLongArray reservoir = new AtomicLongArray(RESERVOIR_SIZE);
+
+    private final AtomicLong count = new AtomicLong();
+
+    private final AtomicLong sum = new AtomicLong();
+
+    private final AtomicLong max = new AtomicLong();
+
+    Histogram(String name, Map<String, String> tags) {
+        super(name, tags);
+    }
+
+    @Override
+    public Type getType() {
+        return Type.HISTOGRAM;
+    }
+
+    /**
+     * Records the given value.
+     *
+     * @param value the value to record
+     */
+    public void record(long value) {
+        long index = count.getAndIncrement();
+        reservoir.set((int) (index % RESERVOIR_SIZE), value);
+        sum.addAndGet(value);
+        max.accumulateAndGet(value, Math::max);
+        Metrics.recorded(this, value);
+    }
+
+    /**
+     * Returns the number of values recorded so far.
+     *
+     * @return the number of values
+     */
+    public final long getCount() {
+        return count.get();
+    }
+
+    /**
+     * Returns the sum of all values recorded so far.
+     *
+     * @return the sum
+     */
+    public final long getSum() {
+        return sum.get();
+    }
+
+    /**
+     * Returns the largest value recorded so far.
+     *
+     * @return the maximum
+     */
+    public final long getMax() {
+        return max.get();
+    }
+
+    /**
+     * Returns the mean of all values recorded so far.
+     *
+     * @return the mean or 0 if no value has been recorded
+     */
+    public final double getMean() {
+        long n = getCount();
+        return n == 0 ? 0 : getSum() / (double) n;
+    }
+
+    /**
+     * Returns the given percentile of the most recently recorded values.
+     *
+     * @param percentile the percentile, a value between 0 and 100
+     * @return the value at the given percentile or 0 if no value has been
+     * recorded
+     */
+    public final long getPercentile(double percentile) {
+        if (percentile < 0 || percentile > 100) {
+            throw new IllegalArgumentException("percentile must be between 0 and 100 but was " + percentile); //$NON-NLS-1$
+        }
+
+        int size = (int) Math.min(getCount(), RESERVOIR_SIZE);
+        if (size == 0) {
+            return 0;
+        }
+
+        long[] values = new long[size];
+        for (int i = 0; i < size; i++) {
+            values[i] = reservoir.get(i);
+        }
+
+        Arrays.sort(values);
+
+        int index = (int) Math.ceil(percentile / 100 * size) - 1;
+        return values[Math.max(0, Math.min(size - 1, index))];
+    }
+
+    @Override
+    public final void reset() {
+        count.set(0);
+        sum.set(0);
+        max.set(0);
+    }
+}
@@ -0,0 +1,100 @@
+/*
+ *  Copyright (C) 2017 Dirk Lemmermann Software & Consulting (dlsc.com)
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *          http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+
+package com.calendarfx.util.metrics;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * The common superclass of all metrics. A metric is identified by its name
+ * and its tags, e.g. the name of the calendar or the view for which a value
+ * was recorded.
+ *
+ * @see Metrics
+ */
+public abstract class Metric {
+
+    /**
+     * The different types of metrics.
+     */
+    public enum Type {
+
+        /**
+         * A monotonically increasing count, e.g. the number of fired events.
+         */
+        COUNTER,
+
+        /**
+         * A distribution of durations, recorded in nanoseconds.
+         */
+        TIMER,
+
+        /**
+         * A distribution of arbitrary values, e.g. the number of entries
+         * returned by a load operation.
+         */
+        HISTOGRAM
+    }
+
+    private final String name;
+
+    private final Map<String, String> tags;
+
+    Metric(String name, Map<String, String> tags) {
+        this.name = requireNonNull(name);
+        this.tags = Collections.unmodifiableMap(new TreeMap<>(tags));
+    }
+
+    /**
+     * Returns the name of the metric.
+     *
+     * @return the name
+     */
+    public final String getName() {
+        return name;
+    }
+
+    /**
+     * Returns the tags of the metric, sorted by their keys.
+     *
+     * @return the tags
+     */
+    public final Map<String, String> getTags() {
+        return tags;
+    }
+
+    /**
+     * Returns the type of the metric.
+     *
+     * @return the type
+     */
+    public abstract Type getType();
+
+    /**
+     * Resets the metric to its initial state.
+     */
+    public abstract void reset();
+
+    @Override
+    public String toString() {
+        return name + tags;
+    }
+}
@@ -0,0 +1,150 @@
+/*
+ *  Copyright (C) 2017 Dirk Lemmermann Software & Consulting (dlsc.com)
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *          http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+
+package com.calendarfx.util.metrics;
+
+import java.util.stream.Collectors;
+
+/**
+ * An immutable copy of the current state of a metric. Durations of timers
+ * are converted to milliseconds. Snapshots are used by the developer console
+ * and the JMX export.
+ */
+public final class MetricSnapshot {
+
+    private static final double NANOS_PER_MILLI = 1_000_000d;
+
+    private final String name;
+    private final String tags;
+    private final String type;
+    private final long count;
+    private final double mean;
+    private final double p50;
+    private final double p99;
+    private final double max;
+
+    /**
+     * Constructs a snapshot of the given metric.
+     *
+     * @param metric the metric
+     */
+    public MetricSnapshot(Metric metric) {
+        this.name = metric.getName();
+        this.tags = metric.getTags().entrySet().stream()
+                .map(entry -> entry.getKey() + "=" + entry.getValue()) //$NON-NLS-1$
+                .collect(Collectors.joining(", ")); //$NON-NLS-1$
+        this.type = metric.getType().name();
+
+        if (metric instanceof Histogram) {
+            Histogram histogram = (Histogram) metric;
+            double scale = metric.getType() == Metric.Type.TIMER ? NANOS_PER_MILLI : 1;
+            this.count = histogram.getCount();
+            this.mean = histogram.getMean() / scale;
+            this.p50 = histogram.getPercentile(50) / scale;
+            this.p99 = histogram.getPercentile(99) / scale;
+            this.max = histogram.getMax() / scale;
+        } else {
+            this.count = ((Counter) metric).getCount();
+            this.mean = 0;
+            this.p50 = 0;
+            this.p99 = 0;
+            this.max = 0;
+        }
+    }
+
+    /**
+     * Returns the name of the metric.
+     *
+     * @return the name
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Returns the tags of the metric, e.g. "calendar=Holidays".
+     *
+     * @return the tags as a comma separated list of key value pairs
+     */
+    public String getTags() {
+        return tags;
+    }
+
+    /**
+     * Returns the type of the metric.
+     *
+     * @return the type, see {@link Metric.Type}
+     */
+    public String getType() {
+        return type;
+    }
+
+    /**
+     * Returns the value of a counter or the number of recorded values of a
+     * timer or a histogram.
+     *
+     * @return the count
+     */
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * Returns the mean of the recorded values (milliseconds for timers).
+     *
+     * @return the mean
+     */
+    public double getMean() {
+        return mean;
+    }
+
+    /**
+     * Returns the median of the recently recorded values (milliseconds for
+     * timers).
+     *
+     * @return the 50th percentile
+     */
+    public double getP50() {
+        return p50;
+    }
+
+    /**
+     * Returns the 99th percentile of the recently recorded values
+     * (milliseconds for timers).
+     *
+     * @return the 99th percentile
+     */
+    public double getP99() {
+        return p99;
+    }
+
+    /**
+     * Returns the largest recorded value (milliseconds for timers).
+     *
+     * @return the maximum
+     */
+    public double getMax() {
+        return max;
+    }
+
+    @Override
+    public String toString() {
+        return "MetricSnapshot [name=" + name + ", tags=" + tags + ", type=" + type //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+                + ", count=" + count + ", mean=" + mean + ", p50=" + p50 //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+                + ", p99=" + p99 + ", max=" + max + "]"; //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+    }
+}
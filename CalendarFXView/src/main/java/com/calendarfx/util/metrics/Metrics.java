@@ -0,0 +1,412 @@
+/*
+ *  Copyright (C) 2017 Dirk Lemmermann Software & Consulting (dlsc.com)
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *          http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+
+package com.calendarfx.util.metrics;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.BiFunction;
+import java.util.logging.Level;
+
+import static com.calendarfx.util.LoggingDomain.PERFORMANCE;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * The central registry of all metrics recorded by CalendarFX. Metrics are
+ * identified by a name and optional tags, passed as alternating keys and
+ * values.
+ *
+ * <h2>Example</h2>
+ * <pre>
+ *     {@code
+ *     // forward all values to the metrics library of the application
+ *     Metrics.addSink(new MetricsSink() {
+ *         public void recorded(Histogram histogram, long value) {
+ *             ...
+ *         }
+ *     });
+ *
+ *     // or simply export the metrics via JMX
+ *     Metrics.registerMBean();
+ *     }
+ * </pre>
+ *
+ * Recording is turned off by default. It can be turned on via
+ * {@link #setEnabled(boolean)} or by setting the system property
+ * "calendarfx.metrics" to "true". Code recording a metric on a frequently
+ * executed path should check {@link #isEnabled()} first, so that looking up
+ * the metric costs nothing while recording is turned off.
+ */
+public final class Metrics {
+
+    /**
+     * Timer recording the duration of {@code DataLoader.loadEntries()}, tagged
+     * with "loader" and "view".
+     */
+    public static final String LOAD = "calendarfx.load"; //$NON-NLS-1$
+
+    /**
+     * Histogram recording the number of entries returned by a load, tagged
+     * with "loader" and "view".
+     */
+    public static final String LOAD_ENTRIES = "calendarfx.load.entries"; //$NON-NLS-1$
+
+    /**
+     * Timer recording the duration of {@code Calendar.findEntries()}, tagged
+     * with "calendar".
+     */
+    public static final String FIND_ENTRIES = "calendarfx.calendar.findEntries"; //$NON-NLS-1$
+
+    /**
+     * Timer recording the duration of the expansion of the recurring entries
+     * found by a single query, tagged with "calendar".
+     */
+    public static final String RECURRENCE_EXPANSION = "calendarfx.recurrence.expansion"; //$NON-NLS-1$
+
+    /**
+     * Counter for the number of recurrences created, tagged with "calendar".
+     */
+    public static final String RECURRENCE_INSTANCES = "calendarfx.recurrence.instances"; //$NON-NLS-1$
+
+    /**
+     * Histogram recording the number of recurring entries whose span
+     * intersects with the interval of a query, tagged with "calendar".
+     */
+    public static final String RECURRENCE_SERIES_EXAMINED = "calendarfx.recurrence.series.examined"; //$NON-NLS-1$
+
+    /**
+     * Histogram recording the number of recurring entries that actually had
+     * to be expanded by a query, tagged with "calendar".
+     */
+    public static final String RECURRENCE_SERIES_EXPANDED = "calendarfx.recurrence.series.expanded"; //$NON-NLS-1$
+
+    /**
+     * Counter for the number of events fired, tagged with "calendar" and
+     * "type".
+     */
+    public static final String EVENTS = "calendarfx.calendar.events"; //$NON-NLS-1$
+
+    /**
+     * Histogram recording the number of handlers notified per fired event,
+     * tagged with "calendar".
+     */
+    public static final String EVENT_FAN_OUT = "calendarfx.calendar.events.fanout"; //$NON-NLS-1$
+
+    /**
+     * Counter for the number of calendar events ignored by the skin of a
+     * hidden view (it refreshes once when it becomes visible again), tagged
+     * with "view".
+     */
+    public static final String DORMANT_EVENTS = "calendarfx.view.events.dormant"; //$NON-NLS-1$
+
+    /**
+     * Timer recording the duration of the handling of a calendar event by the
+     * skin of a visible view, tagged with "view".
+     */
+    public static final String HANDLED_EVENTS = "calendarfx.view.events.handled"; //$NON-NLS-1$
+
+    /**
+     * Timer recording the duration of the resolution of overlapping entries,
+     * tagged with "view".
+     */
+    public static final String RESOLVE = "calendarfx.view.resolve"; //$NON-NLS-1$
+
+    /**
+     * Timer recording the duration of an entry update of a skin, tagged with
+     * "view".
+     */
+    public static final String UPDATE_ENTRIES = "calendarfx.view.updateEntries"; //$NON-NLS-1$
+
+    private static final String OBJECT_NAME = "com.calendarfx:type=Metrics"; //$NON-NLS-1$
+
+    private static final Map<String, Metric> METRICS = new ConcurrentHashMap<>();
+
+    private static final List<MetricsSink> SINKS = new CopyOnWriteArrayList<>();
+
+    /*
+     * Handed out while recording is disabled. Not registered and never
+     * recording anything, hence never visible to anyone, not even the sinks.
+     */
+    private static final Counter DISABLED_COUNTER = new DisabledCounter();
+    private static final Timer DISABLED_TIMER = new DisabledTimer();
+    private static final Histogram DISABLED_HISTOGRAM = new DisabledHistogram();
+
+    private static volatile boolean enabled = "true".equals(System.getProperty("calendarfx.metrics")); //$NON-NLS-1$ //$NON-NLS-2$
+
+    private Metrics() {
+    }
+
+    /**
+     * Determines whether metrics are currently being recorded.
+     *
+     * @return true if metrics are enabled
+     */
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Enables or disables the recording of metrics. Already recorded values
+     * remain available.
+     *
+     * @param enabled true if metrics shall be recorded
+     */
+    public static void setEnabled(boolean enabled) {
+        Metrics.enabled = enabled;
+    }
+
+    /**
+     * Returns the counter with the given name and tags. The counter gets
+     * created if needed.
+     *
+     * @param name the name of the counter
+     * @param tags the tags as alternating keys and values
+     * @return the counter
+     */
+    public static Counter counter(String name, String... tags) {
+        if (!enabled) {
+            return DISABLED_COUNTER;
+        }
+        return lookup(name, tags, Counter.class, Counter::new);
+    }
+
+    /**
+     * Returns the timer with the given name and tags. The timer gets created
+     * if needed.
+     *
+     * @param name the name of the timer
+     * @param tags the tags as alternating keys and values
+     * @return the timer
+     */
+    public static Timer timer(String name, String... tags) {
+        if (!enabled) {
+            return DISABLED_TIMER;
+        }
+        return lookup(name, tags, Timer.class, Timer::new);
+    }
+
+    /**
+     * Returns the histogram with the given name and tags. The histogram gets
+     * created if needed.
+     *
+     * @param name the name of the histogram
+     * @param tags the tags as alternating keys and values
+     * @return the histogram
+     */
+    public static Histogram histogram(String name, String... tags) {
+        if (!enabled) {
+            return DISABLED_HISTOGRAM;
+        }
+        return lookup(name, tags, Histogram.class, Histogram::new);
+    }
+
+    private static <T extends Metric> T lookup(String name, String[] tags, Class<T> type, BiFunction<String, Map<String, String>, T> factory) {
+        requireNonNull(name);
+        if (tags.length % 2 != 0) {
+            throw new IllegalArgumentException("tags must be passed as key / value pairs"); //$NON-NLS-1$
+        }
+
+        StringBuilder key = new StringBuilder(name);
+        for (String tag : tags) {
+            key.append('|').append(tag);
+        }
+
+        Metric metric = METRICS.computeIfAbsent(key.toString(), it -> {
+            Map<String, String> map = new HashMap<>();
+            for (int i = 0; i < tags.length; i += 2) {
+                map.put(tags[i], String.valueOf(tags[i + 1]));
+            }
+            return factory.apply(name, map);
+        });
+
+        if (!type.isInstance(metric)) {
+            throw new IllegalArgumentException("metric " + metric + " is not of type " + type.getSimpleName()); //$NON-NLS-1$ //$NON-NLS-2$
+        }
+
+        return type.cast(metric);
+    }
+
+    /**
+     * Returns all metrics registered so far.
+     *
+     * @return the metrics
+     */
+    public static Collection<Metric> getMetrics() {
+        return Collections.unmodifiableCollection(METRICS.values());
+    }
+
+    /**
+     * Returns snapshots of all metrics registered so far, sorted by name.
+     *
+     * @return the metric snapshots
+     */
+    public static List<MetricSnapshot> getSnapshots() {
+        List<MetricSnapshot> snapshots = new ArrayList<>();
+        for (Metric metric : METRICS.values()) {
+            snapshots.add(new MetricSnapshot(metric));
+        }
+        snapshots.sort((s1, s2) -> {
+            int result = s1.getName().compareTo(s2.getName());
+            return result != 0 ? result : s1.getTags().compareTo(s2.getTags());
+        });
+        return snapshots;
+    }
+
+    /**
+     * Resets all registered metrics.
+     */
+    public static void reset() {
+        METRICS.values().forEach(Metric::reset);
+    }
+
+    /**
+     * Adds a sink that will receive every recorded value.
+     *
+     * @param sink the sink
+     */
+    public static void addSink(MetricsSink sink) {
+        SINKS.add(requireNonNull(sink));
+    }
+
+    /**
+     * Removes the given sink.
+     *
+     * @param sink the sink
+     */
+    public static void removeSink(MetricsSink sink) {
+        SINKS.remove(sink);
+    }
+
+    static void counted(Counter counter, long delta) {
+        if (!SINKS.isEmpty()) {
+            for (MetricsSink sink : SINKS) {
+                sink.counted(counter, delta);
+            }
+        }
+    }
+
+    static void recorded(Histogram histogram, long value) {
+        if (!SINKS.isEmpty()) {
+            for (MetricsSink sink : SINKS) {
+                sink.recorded(histogram, value);
+            }
+        }
+    }
+
+    /**
+     * Registers an MBean under the name "com.calendarfx:type=Metrics" with the
+     * platform MBean server so that the metrics can be monitored via JMX
+     * (e.g. with JConsole or VisualVM). Invoking this method more than once has
+     * no effect.
+     */
+    public static synchronized void registerMBean() {
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName objectName = new ObjectName(OBJECT_NAME);
+            if (!server.isRegistered(objectName)) {
+                server.registerMBean(new MetricsMXBeanImpl(), objectName);
+            }
+        } catch (JMException e) {
+            PERFORMANCE.log(Level.WARNING, "unable to register the metrics MBean", e); //$NON-NLS-1$
+        }
+    }
+
+    /**
+     * Unregisters the MBean registered by {@link #registerMBean()}.
+     */
+    public static synchronized void unregisterMBean() {
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName objectName = new ObjectName(OBJECT_NAME);
+            if (server.isRegistered(objectName)) {
+                server.unregisterMBean(objectName);
+            }
+        } catch (JMException e) {
+            PERFORMANCE.log(Level.WARNING, "unable to unregister the metrics MBean", e); //$NON-NLS-1$
+        }
+    }
+
+    private static final class DisabledCounter extends Counter {
+
+        DisabledCounter() {
+            super("disabled", Collections.emptyMap()); //$NON-NLS-1$
+        }
+
+        @Override
+        public void increment(long delta) {
+        }
+    }
+
+    private static final class DisabledTimer extends Timer {
+
+        DisabledTimer() {
+            super("disabled", Collections.emptyMap()); //$NON-NLS-1$
+        }
+
+        @Override
+        public void record(long value) {
+        }
+
+        @Override
+        public void stop(long startNanos) {
+        }
+    }
+
+    private static final class DisabledHistogram extends Histogram {
+
+        DisabledHistogram() {
+            super("disabled", Collections.emptyMap()); //$NON-NLS-1$
+        }
+
+        @Override
+        public void record(long value) {
+        }
+    }
+
+    private static final class MetricsMXBeanImpl implements MetricsMXBean {
+
+        @Override
+        public List<MetricSnapshot> getMetrics() {
+            return getSnapshots();
+        }
+
+        @Override
+        public boolean isEnabled() {
+            return Metrics.isEnabled();
+        }
+
+        @Override
+        public void setEnabled(boolean enabled) {
+            Metrics.setEnabled(enabled);
+        }
+
+        @Override
+        public void reset() {
+            Metrics.reset();
+        }
+    }
+}
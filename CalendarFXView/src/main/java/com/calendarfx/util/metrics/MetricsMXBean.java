@@ -0,0 +1,54 @@
+/*
+ *  Copyright (C) 2017 Dirk Lemmermann Software & Consulting (dlsc.com)
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *          http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+
+package com.calendarfx.util.metrics;
+
+import java.util.List;
+
+/**
+ * The management interface used for exporting the metrics via JMX.
+ *
+ * @see Metrics#registerMBean()
+ */
+public interface MetricsMXBean {
+
+    /**
+     * Returns snapshots of all registered metrics.
+     *
+     * @return the metric snapshots
+     */
+    List<MetricSnapshot> getMetrics();
+
+    /**
+     * Determines whether metrics are currently being recorded.
+     *
+     * @return true if metrics are enabled
+     */
+    boolean isEnabled();
+
+    /**
+     * Enables or disables the recording of metrics.
+     *
+     * @param enabled true if metrics shall be recorded
+     */
+    void setEnabled(boolean enabled);
+
+    /**
+     * Resets all registered metrics.
+     */
+    void reset();
+}
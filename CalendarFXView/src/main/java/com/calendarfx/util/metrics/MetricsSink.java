@@ -0,0 +1,47 @@
+/*
+ *  Copyright (C) 2017 Dirk Lemmermann Software & Consulting (dlsc.com)
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *          http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+
+package com.calendarfx.util.metrics;
+
+/**
+ * A sink receives every value recorded by any metric. Sinks can be used to
+ * forward the metrics of CalendarFX to a metrics library used by the
+ * application. Sinks get invoked on the thread that records the value, often
+ * the JavaFX application thread, so they need to be fast.
+ *
+ * @see Metrics#addSink(MetricsSink)
+ */
+public interface MetricsSink {
+
+    /**
+     * Invoked when the given counter was incremented.
+     *
+     * @param counter the counter
+     * @param delta   the amount by which it was incremented
+     */
+    default void counted(Counter counter, long delta) {
+    }
+
+    /**
+     * Invoked when the given histogram (or timer) recorded a value.
+     *
+     * @param histogram the histogram or timer
+     * @param value     the recorded value (nanoseconds for timers)
+     */
+    default void recorded(Histogram histogram, long value) {
+    }
+}
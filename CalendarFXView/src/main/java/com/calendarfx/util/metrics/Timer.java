@@ -0,0 +1,55 @@
+/*
+ *  Copyright (C) 2017 Dirk Lemmermann Software & Consulting (dlsc.com)
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *          http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+
+package com.calendarfx.util.metrics;
+
+import java.util.Map;
+
+/**
+ * A histogram of durations, recorded in nanoseconds.
+ *
+ * <h2>Example</h2>
+ * <pre>
+ *     {@code
+ *     long startTime = System.nanoTime();
+ *     doSomething();
+ *     Metrics.timer("my.operation", "view", "Day View").stop(startTime);
+ *     }
+ * </pre>
+ *
+ * @see Metrics#timer(String, String...)
+ */
+public class Timer extends Histogram {
+
+    Timer(String name, Map<String, String> tags) {
+        super(name, tags);
+    }
+
+    @Override
+    public Type getType() {
+        return Type.TIMER;
+    }
+
+    /**
+     * Records the time elapsed since the given start time.
+     *
+     * @param startNanos the start time as returned by {@link System#nanoTime()}
+     */
+    public void stop(long startNanos) {
+        record(System.nanoTime() - startNanos);
+    }
+}
@@ -0,0 +1,25 @@
+/*
+ *  Copyright (C) 2017 Dirk Lemmermann Software & Consulting (dlsc.com)
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *          http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+
+/**
+ * A lightweight metrics API (counters, timers, histograms) used to monitor
+ * data loading, layout, and event dispatch inside CalendarFX. Metrics can be
+ * forwarded to any metrics library via a {@link com.calendarfx.util.metrics.MetricsSink},
+ * exported via JMX, and inspected inside the
+ * {@link com.calendarfx.view.DeveloperConsole}.
+ */
+package com.calendarfx.util.metrics;
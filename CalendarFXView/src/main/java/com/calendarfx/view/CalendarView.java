@@ -32,6 +32,7 @@ import javafx.beans.property.ReadOnlyObjectWrapper;
 import javafx.beans.property.SimpleBooleanProperty;
 import javafx.beans.property.SimpleObjectProperty;
 import javafx.beans.value.ObservableValue;
+import javafx.collections.FXCollections;
 import javafx.collections.MapChangeListener.Change;
 import javafx.collections.ObservableList;
 import javafx.scene.Node;
@@ -90,11 +91,6 @@ public class CalendarView extends DateControl {
     public CalendarView() {
         getStyleClass().add(DEFAULT_STYLE_CLASS);
 
-        this.dayPage = new DayPage();
-        this.weekPage = new WeekPage();
-        this.monthPage = new MonthPage();
-        this.yearPage = new YearPage();
-
         this.searchField = (CustomTextField) TextFields.createClearableTextField();
         this.sourceView = new SourceView();
         this.searchResultView = new SearchResultView();
@@ -105,7 +101,7 @@ public class CalendarView extends DateControl {
             this.developerConsole.setDateControl(this);
         }
 
-        selectedPage.set(dayPage);
+        selectedPage.set(getDayPage());
 
         Bindings.bindBidirectional(searchField.visibleProperty(), showSearchFieldProperty());
 
@@ -129,31 +125,60 @@ public class CalendarView extends DateControl {
             }
         });
 
-        InvalidationListener fixSelectedPageListener = it -> fixSelectedPage();
-
-        dayPage.hiddenProperty().addListener(fixSelectedPageListener);
-        weekPage.hiddenProperty().addListener(fixSelectedPageListener);
-        monthPage.hiddenProperty().addListener(fixSelectedPageListener);
-        yearPage.hiddenProperty().addListener(fixSelectedPageListener);
-
         fixSelectedPage();
     }
 
+    private final InvalidationListener fixSelectedPageListener = it -> fixSelectedPage();
+
     private void fixSelectedPage() {
         PageBase page = getSelectedPage();
         if (page == null || page.isHidden()) {
             if (page == dayPage) {
-                selectedPage.set(weekPage);
+                selectedPage.set(getWeekPage());
             } else if (page == weekPage) {
-                selectedPage.set(monthPage);
+                selectedPage.set(getMonthPage());
             } else if (page == monthPage) {
-                selectedPage.set(yearPage);
+                selectedPage.set(getYearPage());
             } else if (page == yearPage) {
-                selectedPage.set(dayPage);
+                selectedPage.set(getDayPage());
             }
         }
     }
 
+    private final ObservableList<PageBase> pages = FXCollections.observableArrayList();
+
+    private final ObservableList<PageBase> unmodifiablePages = FXCollections.unmodifiableObservableList(pages);
+
+    /**
+     * Returns the pages that have been created so far. The pages of the
+     * calendar view get created lazily, either when they get shown for the
+     * first time or when their getter (e.g. {@link #getWeekPage()}) gets
+     * called. The skin of the view listens to this list to add new pages.
+     *
+     * @return the pages created so far
+     */
+    public final ObservableList<PageBase> getPages() {
+        return unmodifiablePages;
+    }
+
+    /*
+     * Binds a newly created page to this view.
+     */
+    private <T extends PageBase> T initPage(T page) {
+        bind(page, true);
+        page.hiddenProperty().addListener(fixSelectedPageListener);
+        pages.add(page);
+        return page;
+    }
+
+    /*
+     * Pages that have not been created, yet, can not have been hidden by the
+     * application.
+     */
+    private static boolean isHidden(PageBase page) {
+        return page != null && page.isHidden();
+    }
+
     @Override
     protected Skin<?> createDefaultSkin() {
         return new CalendarViewSkin(this);
@@ -176,6 +201,10 @@ public class CalendarView extends DateControl {
      * @return the day page
      */
     public final DayPage getDayPage() {
+        if (dayPage == null) {
+            dayPage = initPage(new DayPage());
+        }
+
         return dayPage;
     }
 
@@ -185,6 +214,10 @@ public class CalendarView extends DateControl {
      * @return the week page
      */
     public final WeekPage getWeekPage() {
+        if (weekPage == null) {
+            weekPage = initPage(new WeekPage());
+        }
+
         return weekPage;
     }
 
@@ -194,6 +227,10 @@ public class CalendarView extends DateControl {
      * @return the month page
      */
     public final MonthPage getMonthPage() {
+        if (monthPage == null) {
+            monthPage = initPage(new MonthPage());
+        }
+
         return monthPage;
     }
 
@@ -203,6 +240,10 @@ public class CalendarView extends DateControl {
      * @return the year page
      */
     public final YearPage getYearPage() {
+        if (yearPage == null) {
+            yearPage = initPage(new YearPage());
+        }
+
         return yearPage;
     }
 
@@ -748,13 +789,13 @@ public class CalendarView extends DateControl {
      */
     public final void showDate(LocalDate date) {
         requireNonNull(date);
-        if (!dayPage.isHidden()) {
+        if (!isHidden(dayPage)) {
             selectedPage.set(getDayPage());
-        } else if (!weekPage.isHidden()) {
+        } else if (!isHidden(weekPage)) {
             selectedPage.set(getWeekPage());
-        } else if (!monthPage.isHidden()) {
+        } else if (!isHidden(monthPage)) {
             selectedPage.set(getMonthPage());
-        } else if (!yearPage.isHidden()) {
+        } else if (!isHidden(yearPage)) {
             selectedPage.set(getYearPage());
         }
 
@@ -774,11 +815,11 @@ public class CalendarView extends DateControl {
         if (weekOfYear < 1) {
             throw new IllegalArgumentException("illegal value for week of year: " + weekOfYear);
         }
-        if (!weekPage.isHidden()) {
+        if (!isHidden(weekPage)) {
             selectedPage.set(getWeekPage());
-        } else if (!monthPage.isHidden()) {
+        } else if (!isHidden(monthPage)) {
             selectedPage.set(getMonthPage());
-        } else if (!yearPage.isHidden()) {
+        } else if (!isHidden(yearPage)) {
             selectedPage.set(getYearPage());
         }
 
@@ -796,13 +837,13 @@ public class CalendarView extends DateControl {
     public final void showDateTime(LocalDateTime dateTime) {
         requireNonNull(dateTime);
 
-        if (!dayPage.isHidden()) {
+        if (!isHidden(dayPage)) {
             selectedPage.set(getDayPage());
-        } else if (!weekPage.isHidden()) {
+        } else if (!isHidden(weekPage)) {
             selectedPage.set(getWeekPage());
-        } else if (!monthPage.isHidden()) {
+        } else if (!isHidden(monthPage)) {
             selectedPage.set(getMonthPage());
-        } else if (!yearPage.isHidden()) {
+        } else if (!isHidden(yearPage)) {
             selectedPage.set(getYearPage());
         }
 
@@ -820,9 +861,9 @@ public class CalendarView extends DateControl {
     public final void showYearMonth(YearMonth yearMonth) {
         requireNonNull(yearMonth);
 
-        if (!monthPage.isHidden()) {
+        if (!isHidden(monthPage)) {
             selectedPage.set(getMonthPage());
-        } else if (!yearPage.isHidden()) {
+        } else if (!isHidden(yearPage)) {
             selectedPage.set(getYearPage());
         }
 
@@ -838,7 +879,7 @@ public class CalendarView extends DateControl {
      */
     public final void showYear(Year year) {
         requireNonNull(year);
-        if (!yearPage.isHidden()) {
+        if (!isHidden(yearPage)) {
             selectedPage.set(getYearPage());
             setDate(year.atDay(1));
         }
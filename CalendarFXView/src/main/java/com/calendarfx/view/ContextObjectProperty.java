@@ -0,0 +1,263 @@
+/*
+ *  Copyright (C) 2017 Dirk Lemmermann Software & Consulting (dlsc.com)
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *          http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package com.calendarfx.view;
+
+import javafx.beans.InvalidationListener;
+import javafx.beans.Observable;
+import javafx.beans.WeakListener;
+import javafx.beans.property.ObjectProperty;
+import javafx.beans.property.SimpleObjectProperty;
+import javafx.beans.value.ChangeListener;
+import javafx.beans.value.ObservableValue;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * A property of a date control that can be shared with a
+ * {@link DateControlContext}. As long as it is not shared it behaves like any
+ * other object property. Once it is shared all reads and writes go to the
+ * property of the context, and the listeners of this property get added
+ * to the property of the context, so that a change of the context only calls
+ * the listeners of the controls and no bindings between them. The listeners
+ * still receive this property as the observable that has changed.
+ *
+ * @param <T> the type of the value
+ */
+final class ContextObjectProperty<T> extends SimpleObjectProperty<T> {
+
+    private ObjectProperty<T> shared;
+
+    private final List<InvalidationForwarder> invalidationListeners = new ArrayList<>();
+
+    private final List<ChangeForwarder> changeListeners = new ArrayList<>();
+
+    ContextObjectProperty(Object bean, String name, T initialValue) {
+        super(bean, name, initialValue);
+    }
+
+    /**
+     * Shares this property with the given property of a context, or stops
+     * sharing it if the given property is null. The listeners of this property
+     * move along and get notified if the value differs.
+     *
+     * @param property the property of the context or null
+     */
+    void share(ObjectProperty<T> property) {
+        if (shared == property) {
+            return;
+        }
+
+        T oldValue = get();
+
+        invalidationListeners.forEach(this::removeFromTarget);
+        changeListeners.forEach(this::removeFromTarget);
+
+        if (property == null) {
+            super.set(oldValue);
+        }
+
+        shared = property;
+
+        invalidationListeners.forEach(this::addToTarget);
+        changeListeners.forEach(this::addToTarget);
+
+        T newValue = get();
+        if (!Objects.equals(oldValue, newValue)) {
+            new ArrayList<>(invalidationListeners).forEach(forwarder -> forwarder.listener.invalidated(this));
+            new ArrayList<>(changeListeners).forEach(forwarder -> forwarder.listener.changed(this, oldValue, newValue));
+        }
+    }
+
+    /**
+     * Determines whether this property currently is shared with a context.
+     *
+     * @return true if the property is shared
+     */
+    boolean isShared() {
+        return shared != null;
+    }
+
+    @Override
+    public T get() {
+        if (shared != null) {
+            return shared.get();
+        }
+        return super.get();
+    }
+
+    @Override
+    public void set(T newValue) {
+        if (shared != null) {
+            shared.set(newValue);
+        } else {
+            super.set(newValue);
+        }
+    }
+
+    @Override
+    public void bind(ObservableValue<? extends T> observable) {
+        if (shared != null) {
+            shared.bind(observable);
+        } else {
+            super.bind(observable);
+        }
+    }
+
+    @Override
+    public void unbind() {
+        if (shared != null) {
+            shared.unbind();
+        } else {
+            super.unbind();
+        }
+    }
+
+    @Override
+    public boolean isBound() {
+        if (shared != null) {
+            return shared.isBound();
+        }
+        return super.isBound();
+    }
+
+    @Override
+    public void addListener(InvalidationListener listener) {
+        InvalidationForwarder forwarder = new InvalidationForwarder(listener);
+        invalidationListeners.removeIf(InvalidationForwarder::wasGarbageCollected);
+        invalidationListeners.add(forwarder);
+        addToTarget(forwarder);
+    }
+
+    @Override
+    public void removeListener(InvalidationListener listener) {
+        Iterator<InvalidationForwarder> iterator = invalidationListeners.iterator();
+        while (iterator.hasNext()) {
+            InvalidationForwarder forwarder = iterator.next();
+            if (forwarder.listener.equals(listener)) {
+                iterator.remove();
+                removeFromTarget(forwarder);
+                return;
+            }
+        }
+    }
+
+    @Override
+    public void addListener(ChangeListener<? super T> listener) {
+        ChangeForwarder forwarder = new ChangeForwarder(listener);
+        changeListeners.removeIf(ChangeForwarder::wasGarbageCollected);
+        changeListeners.add(forwarder);
+        addToTarget(forwarder);
+    }
+
+    @Override
+    public void removeListener(ChangeListener<? super T> listener) {
+        Iterator<ChangeForwarder> iterator = changeListeners.iterator();
+        while (iterator.hasNext()) {
+            ChangeForwarder forwarder = iterator.next();
+            if (forwarder.listener.equals(listener)) {
+                iterator.remove();
+                removeFromTarget(forwarder);
+                return;
+            }
+        }
+    }
+
+    /*
+     * While the property is not shared the listeners get added to it
+     * directly, as they would be without this class.
+     */
+    private void addToTarget(InvalidationForwarder forwarder) {
+        if (shared != null) {
+            shared.addListener(forwarder);
+        } else {
+            super.addListener(forwarder.listener);
+        }
+    }
+
+    private void removeFromTarget(InvalidationForwarder forwarder) {
+        if (shared != null) {
+            shared.removeListener(forwarder);
+        } else {
+            super.removeListener(forwarder.listener);
+        }
+    }
+
+    private void addToTarget(ChangeForwarder forwarder) {
+        if (shared != null) {
+            shared.addListener(forwarder);
+        } else {
+            super.addListener(forwarder.listener);
+        }
+    }
+
+    private void removeFromTarget(ChangeForwarder forwarder) {
+        if (shared != null) {
+            shared.removeListener(forwarder);
+        } else {
+            super.removeListener(forwarder.listener);
+        }
+    }
+
+    /*
+     * Weak listeners, e.g. the ones of bidirectional bindings, have to stay
+     * weak when they get added to the property of the context.
+     */
+    private static boolean wasGarbageCollected(Object listener) {
+        return listener instanceof WeakListener && ((WeakListener) listener).wasGarbageCollected();
+    }
+
+    private final class InvalidationForwarder implements InvalidationListener, WeakListener {
+
+        private final InvalidationListener listener;
+
+        InvalidationForwarder(InvalidationListener listener) {
+            this.listener = Objects.requireNonNull(listener);
+        }
+
+        @Override
+        public void invalidated(Observable observable) {
+            listener.invalidated(ContextObjectProperty.this);
+        }
+
+        @Override
+        public boolean wasGarbageCollected() {
+            return ContextObjectProperty.wasGarbageCollected(listener);
+        }
+    }
+
+    private final class ChangeForwarder implements ChangeListener<T>, WeakListener {
+
+        private final ChangeListener<? super T> listener;
+
+        ChangeForwarder(ChangeListener<? super T> listener) {
+            this.listener = Objects.requireNonNull(listener);
+        }
+
+        @Override
+        public void changed(ObservableValue<? extends T> observable, T oldValue, T newValue) {
+            listener.changed(ContextObjectProperty.this, oldValue, newValue);
+        }
+
+        @Override
+        public boolean wasGarbageCollected() {
+            return ContextObjectProperty.wasGarbageCollected(listener);
+        }
+    }
+}
@@ -1835,11 +1835,13 @@ public abstract class DateControl extends CalendarFXControl {
 
     ///////////
 
-    private final ObjectProperty<LocalDate> today = new SimpleObjectProperty<>(this, "today", LocalDate.now()); //$NON-NLS-1$
+    private final ContextObjectProperty<LocalDate> today = new ContextObjectProperty<>(this, "today", LocalDate.now()); //$NON-NLS-1$
 
     /**
      * Stores the date that is considered to represent "today". This property is
-     * initialized with {@link LocalDate#now()} but can be any date.
+     * initialized with {@link LocalDate#now()} but can be any date. If the
+     * control uses a {@link #getContext() context} then the property reads and
+     * writes the "today" property of the context.
      *
      * @return the date representing "today"
      */
@@ -1931,12 +1933,15 @@ public abstract class DateControl extends CalendarFXControl {
         return dateProperty().get();
     }
 
-    private final ObjectProperty<ZoneId> zoneId = new SimpleObjectProperty<>(this, "zoneId", ZoneId.systemDefault()); //$NON-NLS-1$
+    private final ContextObjectProperty<ZoneId> zoneId = new ContextObjectProperty<>(this, "zoneId", ZoneId.systemDefault()); //$NON-NLS-1$
 
     /**
      * The time zone used by the date control. Entries and date controls might
      * use different time zones resulting in different layout of entry views.
      * <p>
+     * If the control uses a {@link #getContext() context} then the property
+     * reads and writes the time zone of the context.
+     * <p>
      * #see {@link Entry#zoneIdProperty()}
      *
      * @return the time zone used by the date control for calculating entry view
@@ -1965,11 +1970,13 @@ public abstract class DateControl extends CalendarFXControl {
         return zoneIdProperty().get();
     }
 
-    private final ObjectProperty<LocalTime> time = new SimpleObjectProperty<>(this, "time", LocalTime.now()); //$NON-NLS-1$
+    private final ContextObjectProperty<LocalTime> time = new ContextObjectProperty<>(this, "time", LocalTime.now()); //$NON-NLS-1$
 
     /**
      * Stores a time that can be visualized, e.g. the thin line in
-     * {@link DayView} representing the current time.
+     * {@link DayView} representing the current time. If the control uses a
+     * {@link #getContext() context} then the property reads and writes the
+     * time of the context.
      *
      * @return the current time
      */
@@ -2060,13 +2067,15 @@ public abstract class DateControl extends CalendarFXControl {
         endTimeProperty().set(time);
     }
 
-    private final ObjectProperty<WeekFields> weekFields = new SimpleObjectProperty<>(this, "weekFields", WeekFields.of(Locale.getDefault())); //$NON-NLS-1$
+    private final ContextObjectProperty<WeekFields> weekFields = new ContextObjectProperty<>(this, "weekFields", WeekFields.of(Locale.getDefault())); //$NON-NLS-1$
 
     /**
      * Week fields are used to determine the first day of a week (e.g. "Monday"
      * in Germany or "Sunday" in the US). It is also used to calculate the week
      * number as the week fields determine how many days are needed in the first
      * week of a year. This property is initialized with {@link WeekFields#ISO}.
+     * If the control uses a {@link #getContext() context} then the property
+     * reads and writes the week fields of the context.
      *
      * @return the week fields
      */
@@ -2466,6 +2475,101 @@ public abstract class DateControl extends CalendarFXControl {
         return enableHyperlinks.get();
     }
 
+    private DateControlContext context;
+
+    /**
+     * Sets the context that stores the values that this control and all the
+     * controls that are bound to it have in common: today, the current time,
+     * the time zone, and the week fields. The properties of the controls then
+     * read and write the properties of the context so that they do not need
+     * to be kept in sync via bidirectional bindings. Controls that get bound
+     * to this control later on will automatically use the same context. The
+     * context is optional, passing null makes the controls use their own
+     * properties again.
+     * <p>
+     * <b>The context takes over the current values of this control.</b> Any
+     * values that were set on the context before (unless its properties are
+     * bound) get replaced by the values of this control, so that setting a
+     * context does not change what the controls show. Controls that get
+     * bound to this control later on show the values of the context.
+     *
+     * @param context the shared context or null
+     * @see #bind(DateControl, boolean)
+     */
+    public final void setContext(DateControlContext context) {
+        if (context != null && this.context != context) {
+            seed(context.todayProperty(), getToday());
+            seed(context.timeProperty(), getTime());
+            seed(context.zoneIdProperty(), getZoneId());
+            seed(context.weekFieldsProperty(), getWeekFields());
+        }
+
+        useContext(context);
+    }
+
+    private static <T> void seed(ObjectProperty<T> property, T value) {
+        if (!property.isBound()) {
+            property.set(value);
+        }
+    }
+
+    private void useContext(DateControlContext context) {
+        if (this.context == context) {
+            return;
+        }
+
+        if (this.context == null) {
+            boundDateControls.forEach(this::unbindContextProperties);
+        }
+
+        this.context = context;
+
+        if (context != null) {
+            today.share(context.todayProperty());
+            time.share(context.timeProperty());
+            zoneId.share(context.zoneIdProperty());
+            weekFields.share(context.weekFieldsProperty());
+        } else {
+            today.share(null);
+            time.share(null);
+            zoneId.share(null);
+            weekFields.share(null);
+        }
+
+        for (DateControl control : boundDateControls) {
+            control.useContext(context);
+            if (context == null) {
+                bindContextProperties(control);
+            }
+        }
+    }
+
+    /**
+     * Returns the context set via {@link #setContext(DateControlContext)}.
+     *
+     * @return the shared context or null
+     */
+    public final DateControlContext getContext() {
+        return context;
+    }
+
+    /*
+     * The properties that get shared via the context if there is one.
+     */
+    private void bindContextProperties(DateControl otherControl) {
+        Bindings.bindBidirectional(otherControl.weekFieldsProperty(), weekFieldsProperty());
+        Bindings.bindBidirectional(otherControl.timeProperty(), timeProperty());
+        Bindings.bindBidirectional(otherControl.todayProperty(), todayProperty());
+        Bindings.bindBidirectional(otherControl.zoneIdProperty(), zoneIdProperty());
+    }
+
+    private void unbindContextProperties(DateControl otherControl) {
+        Bindings.unbindBidirectional(otherControl.weekFieldsProperty(), weekFieldsProperty());
+        Bindings.unbindBidirectional(otherControl.timeProperty(), timeProperty());
+        Bindings.unbindBidirectional(otherControl.todayProperty(), todayProperty());
+        Bindings.unbindBidirectional(otherControl.zoneIdProperty(), zoneIdProperty());
+    }
+
     /**
      * Binds several properties of the given date control to the same properties
      * of this control. This kind of binding is needed to create UIs with nested
@@ -2475,7 +2579,9 @@ public abstract class DateControl extends CalendarFXControl {
      * single {@link DayView}, and a {@link YearMonthView} . All of these
      * controls are bound to each other so that the application can simply
      * change properties on the {@link CalendarView} without worrying about the
-     * nested controls.
+     * nested controls. If this control uses a {@link #getContext() context}
+     * then the other control will use the same context instead of getting
+     * bound to the properties stored by the context.
      *
      * @param otherControl the control that will be bound to this control
      * @param bindDate     determines if the date property will also be bound
@@ -2503,20 +2609,22 @@ public abstract class DateControl extends CalendarFXControl {
 
         Bindings.bindBidirectional(otherControl.selectionModeProperty(), selectionModeProperty());
         Bindings.bindBidirectional(otherControl.selectionModeProperty(), selectionModeProperty());
-        Bindings.bindBidirectional(otherControl.weekFieldsProperty(), weekFieldsProperty());
         Bindings.bindBidirectional(otherControl.layoutProperty(), layoutProperty());
 
         Bindings.bindBidirectional(otherControl.startTimeProperty(), startTimeProperty());
         Bindings.bindBidirectional(otherControl.endTimeProperty(), endTimeProperty());
-        Bindings.bindBidirectional(otherControl.timeProperty(), timeProperty());
         Bindings.bindBidirectional(otherControl.usagePolicyProperty(), usagePolicyProperty());
 
         if (bindDate) {
             Bindings.bindBidirectional(otherControl.dateProperty(), dateProperty());
         }
 
-        Bindings.bindBidirectional(otherControl.todayProperty(), todayProperty());
-        Bindings.bindBidirectional(otherControl.zoneIdProperty(), zoneIdProperty());
+        if (context != null) {
+            otherControl.useContext(context);
+        } else {
+            bindContextProperties(otherControl);
+        }
+
 
         // edit callbacks
         Bindings.bindBidirectional(otherControl.entryDetailsCallbackProperty(), entryDetailsCallbackProperty());
@@ -2557,19 +2665,20 @@ public abstract class DateControl extends CalendarFXControl {
 
         Bindings.unbindBidirectional(otherControl.selectionModeProperty(), selectionModeProperty());
         Bindings.unbindBidirectional(otherControl.selectionModeProperty(), selectionModeProperty());
-        Bindings.unbindBidirectional(otherControl.weekFieldsProperty(), weekFieldsProperty());
         Bindings.unbindBidirectional(otherControl.dateProperty(), dateProperty());
 
-        Bindings.unbindBidirectional(otherControl.todayProperty(), todayProperty());
-        Bindings.unbindBidirectional(otherControl.zoneIdProperty(), zoneIdProperty());
-
         Bindings.unbindBidirectional(otherControl.layoutProperty(), layoutProperty());
 
         Bindings.unbindBidirectional(otherControl.startTimeProperty(), startTimeProperty());
         Bindings.unbindBidirectional(otherControl.endTimeProperty(), endTimeProperty());
-        Bindings.unbindBidirectional(otherControl.timeProperty(), timeProperty());
         Bindings.unbindBidirectional(otherControl.usagePolicyProperty(), usagePolicyProperty());
 
+        if (context != null && otherControl.getContext() == context) {
+            otherControl.useContext(null);
+        } else {
+            unbindContextProperties(otherControl);
+        }
+
         // unbind callbacks
         Bindings.unbindBidirectional(otherControl.entryDetailsCallbackProperty(), entryDetailsCallbackProperty());
         Bindings.unbindBidirectional(otherControl.dateDetailsCallbackProperty(), dateDetailsCallbackProperty());
@@ -0,0 +1,174 @@
+/*
+ *  Copyright (C) 2017 Dirk Lemmermann Software & Consulting (dlsc.com)
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *          http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package com.calendarfx.view;
+
+import javafx.beans.property.ObjectProperty;
+import javafx.beans.property.SimpleObjectProperty;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.temporal.WeekFields;
+import java.util.Locale;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Stores the values that all date controls of a user interface have in
+ * common: "today", the current time, the time zone, and the week fields. A
+ * context can be set on a date control via
+ * {@link DateControl#setContext(DateControlContext)}. The control and all the
+ * controls that are bound to it via {@link DateControl#bind(DateControl, boolean)}
+ * then read these values directly from the context instead of keeping copies
+ * that are synchronized via bidirectional bindings. Updating the context, e.g.
+ * once per minute for the current time, only notifies the listeners that were
+ * actually added to the properties of the controls. When the context gets
+ * set it takes over the current values of the control it gets set on.
+ *
+ * <pre>
+ * CalendarView calendarView = new CalendarView();
+ * calendarView.setContext(new DateControlContext());
+ * </pre>
+ *
+ * @see DateControl#todayProperty()
+ * @see DateControl#timeProperty()
+ * @see DateControl#zoneIdProperty()
+ * @see DateControl#weekFieldsProperty()
+ */
+public class DateControlContext {
+
+    private final ObjectProperty<LocalDate> today = new SimpleObjectProperty<>(this, "today", LocalDate.now()); //$NON-NLS-1$
+
+    /**
+     * The date that is considered to represent "today" by all controls using
+     * this context.
+     *
+     * @return the date representing "today"
+     */
+    public final ObjectProperty<LocalDate> todayProperty() {
+        return today;
+    }
+
+    /**
+     * Sets the value of {@link #todayProperty()}.
+     *
+     * @param date the date representing "today"
+     */
+    public final void setToday(LocalDate date) {
+        requireNonNull(date);
+        todayProperty().set(date);
+    }
+
+    /**
+     * Returns the value of {@link #todayProperty()}.
+     *
+     * @return the date representing "today"
+     */
+    public final LocalDate getToday() {
+        return todayProperty().get();
+    }
+
+    private final ObjectProperty<LocalTime> time = new SimpleObjectProperty<>(this, "time", LocalTime.now()); //$NON-NLS-1$
+
+    /**
+     * The current time as shown by all controls using this context.
+     *
+     * @return the current time
+     */
+    public final ObjectProperty<LocalTime> timeProperty() {
+        return time;
+    }
+
+    /**
+     * Sets the value of {@link #timeProperty()}.
+     *
+     * @param time the current time
+     */
+    public final void setTime(LocalTime time) {
+        requireNonNull(time);
+        timeProperty().set(time);
+    }
+
+    /**
+     * Returns the value of {@link #timeProperty()}.
+     *
+     * @return the current time
+     */
+    public final LocalTime getTime() {
+        return timeProperty().get();
+    }
+
+    private final ObjectProperty<ZoneId> zoneId = new SimpleObjectProperty<>(this, "zoneId", ZoneId.systemDefault()); //$NON-NLS-1$
+
+    /**
+     * The time zone used by all controls using this context.
+     *
+     * @return the time zone
+     */
+    public final ObjectProperty<ZoneId> zoneIdProperty() {
+        return zoneId;
+    }
+
+    /**
+     * Sets the value of {@link #zoneIdProperty()}.
+     *
+     * @param zoneId the time zone
+     */
+    public final void setZoneId(ZoneId zoneId) {
+        requireNonNull(zoneId);
+        zoneIdProperty().set(zoneId);
+    }
+
+    /**
+     * Returns the value of {@link #zoneIdProperty()}.
+     *
+     * @return the time zone
+     */
+    public final ZoneId getZoneId() {
+        return zoneIdProperty().get();
+    }
+
+    private final ObjectProperty<WeekFields> weekFields = new SimpleObjectProperty<>(this, "weekFields", WeekFields.of(Locale.getDefault())); //$NON-NLS-1$
+
+    /**
+     * The week fields used by all controls using this context.
+     *
+     * @return the week fields
+     */
+    public final ObjectProperty<WeekFields> weekFieldsProperty() {
+        return weekFields;
+    }
+
+    /**
+     * Sets the value of {@link #weekFieldsProperty()}.
+     *
+     * @param weekFields the new week fields
+     */
+    public final void setWeekFields(WeekFields weekFields) {
+        requireNonNull(weekFields);
+        weekFieldsProperty().set(weekFields);
+    }
+
+    /**
+     * Returns the value of {@link #weekFieldsProperty()}.
+     *
+     * @return the week fields
+     */
+    public final WeekFields getWeekFields() {
+        return weekFieldsProperty().get();
+    }
+}
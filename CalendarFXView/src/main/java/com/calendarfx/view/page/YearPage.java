@@ -65,14 +65,7 @@ public class YearPage extends PageBase {
 
         this.yearView = new YearView();
 
-        this.monthSheetView = new MonthSheetView();
-        this.monthSheetView.setCellFactory(param -> new MonthSheetView.DetailedDateCell(param.getView(), param.getDate()));
-        this.monthSheetView.setClickBehaviour(ClickBehaviour.SHOW_DETAILS);
-
         bind(yearView, true);
-        bind(monthSheetView, true);
-
-        Bindings.bindBidirectional(monthSheetView.showTodayProperty(), showTodayProperty());
 
         setDateTimeFormatter(DateTimeFormatter.ofPattern(Messages.getString("YearPage.DATE_FORMAT"))); //$NON-NLS-1$
 
@@ -164,11 +157,23 @@ public class YearPage extends PageBase {
 
     /**
      * Returns the {@link MonthSheetView} used by the page to display months
-     * in columns.
+     * in columns. The view gets created when this method gets called for the
+     * first time, which the page skin only does once the display mode gets
+     * set to {@link DisplayMode#COLUMNS}.
      *
      * @return the month sheet view
      */
     public final MonthSheetView getMonthSheetView() {
+        if (monthSheetView == null) {
+            monthSheetView = new MonthSheetView();
+            monthSheetView.setCellFactory(param -> new MonthSheetView.DetailedDateCell(param.getView(), param.getDate()));
+            monthSheetView.setClickBehaviour(ClickBehaviour.SHOW_DETAILS);
+
+            bind(monthSheetView, true);
+
+            Bindings.bindBidirectional(monthSheetView.showTodayProperty(), showTodayProperty());
+        }
+
         return monthSheetView;
     }
 
@@ -19,9 +19,14 @@ package com.calendarfx.view.print;
 import com.calendarfx.view.CalendarFXControl;
 import impl.com.calendarfx.view.print.PreviewPaneSkin;
 import javafx.beans.InvalidationListener;
+import javafx.beans.property.BooleanProperty;
 import javafx.beans.property.ObjectProperty;
+import javafx.beans.property.SimpleBooleanProperty;
 import javafx.beans.property.SimpleObjectProperty;
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
 import javafx.scene.control.Skin;
+import javafx.scene.image.Image;
 
 import java.time.LocalDate;
 
@@ -29,14 +34,21 @@ import java.time.LocalDate;
  * The preview pane wraps around the zoom pane which again wraps around the
  * printable printablePage. The preview pane features a zoom slider and
  * printablePage flipping controls that come in handy when the user requested to
- * print several pages.
+ * print several pages. Thumbnails of all pages can be shown next to the
+ * page, they get rendered in the background.
  */
 public class PreviewPane extends CalendarFXControl {
 
     public static final String DEFAULT_STYLE = "print-preview";
 
+    private static final double THUMBNAIL_WIDTH = 120;
+
     protected PrintablePage printablePage;
     private ZoomPane zoomPane;
+    private ThumbnailRenderer thumbnailRenderer;
+
+    private final ObservableList<Image> thumbnails = FXCollections.observableArrayList();
+    private final ObservableList<Image> unmodifiableThumbnails = FXCollections.unmodifiableObservableList(thumbnails);
 
     /**
      * Constructs a new preview pane.
@@ -57,6 +69,36 @@ public class PreviewPane extends CalendarFXControl {
         printablePage.viewTypeProperty().addListener(layoutListener);
         printablePage.paperProperty().addListener(layoutListener);
 
+        if (thumbnailRenderer != null) {
+            thumbnailRenderer.dispose();
+        }
+
+        thumbnailRenderer = new ThumbnailRenderer(printablePage, thumbnails, THUMBNAIL_WIDTH);
+
+        final InvalidationListener thumbnailsListener = obs -> updateThumbnails();
+        printablePage.viewTypeProperty().addListener(thumbnailsListener);
+        printablePage.paperProperty().addListener(thumbnailsListener);
+        printablePage.layoutProperty().addListener(thumbnailsListener);
+        printablePage.weekFieldsProperty().addListener(thumbnailsListener);
+        printablePage.printStartDateProperty().addListener(thumbnailsListener);
+        printablePage.printEndDateProperty().addListener(thumbnailsListener);
+        printablePage.showAllDayEntriesProperty().addListener(thumbnailsListener);
+        printablePage.showCalendarKeysProperty().addListener(thumbnailsListener);
+        printablePage.showMiniCalendarsProperty().addListener(thumbnailsListener);
+        printablePage.showTimedEntriesProperty().addListener(thumbnailsListener);
+        printablePage.showEntryDetailsProperty().addListener(thumbnailsListener);
+        printablePage.getCalendarSources().addListener(thumbnailsListener);
+        printablePage.getCalendarVisibilityMap().addListener(thumbnailsListener);
+
+        updateThumbnails();
+    }
+
+    private void updateThumbnails() {
+        if (isShowThumbnails()) {
+            thumbnailRenderer.render();
+        } else {
+            thumbnailRenderer.dispose();
+        }
     }
 
     @Override
@@ -72,6 +114,45 @@ public class PreviewPane extends CalendarFXControl {
         return zoomPane;
     }
 
+    /**
+     * Returns the thumbnails of all pages of the printable page. The list only
+     * gets filled while {@link #showThumbnailsProperty()} is true, the
+     * thumbnails get added one after the other as soon as they have been
+     * rendered.
+     *
+     * @return the thumbnails of the pages
+     */
+    public final ObservableList<Image> getThumbnails() {
+        return unmodifiableThumbnails;
+    }
+
+    // show thumbnails
+
+    private final BooleanProperty showThumbnails = new SimpleBooleanProperty(
+            this, "showThumbnails", false) { //$NON-NLS-1$
+        @Override
+        protected void invalidated() {
+            updateThumbnails();
+        }
+    };
+
+    /**
+     * Determines whether the preview pane shows thumbnails of all pages.
+     *
+     * @return true if the thumbnails are shown
+     */
+    public final BooleanProperty showThumbnailsProperty() {
+        return showThumbnails;
+    }
+
+    public final boolean isShowThumbnails() {
+        return showThumbnailsProperty().get();
+    }
+
+    public final void setShowThumbnails(boolean show) {
+        showThumbnailsProperty().set(show);
+    }
+
     // print start date
 
     private final ObjectProperty<LocalDate> printStartDate = new SimpleObjectProperty<>(
@@ -558,17 +558,30 @@ public class PrintView extends ViewTypeControl {
             settings.setPageLayout(layout);
 
             if (job.showPrintDialog(getScene().getWindow())) {
+                /*
+                 * The same page node gets reused for all pages, it only shows
+                 * the entries of one page at a time.
+                 */
                 do {
+                    pageToPrint.applyCss();
+                    pageToPrint.layout();
+
                     boolean success = job.printPage(pageToPrint);
                     if (!success) {
                         break;
                     }
+
+                    LoggingDomain.PRINTING.fine("printed page " + pageToPrint.getPageNumber()
+                            + " / " + pageToPrint.getTotalPages());
                 } while (pageToPrint.next());
 
                 job.endJob();
             }
         } finally {
             pageInView.unbindPage(pageToPrint);
+
+            // release the entry views of the last page
+            pageToPrint.getCalendarSources().clear();
         }
     }
 
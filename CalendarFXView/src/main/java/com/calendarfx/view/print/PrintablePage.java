@@ -64,9 +64,13 @@ public class PrintablePage extends DateControl {
 
     private final PrintPeriodSplitter periodSplitter;
 
-    private final DetailedDayView detailedDayView;
-    private final DetailedWeekView detailedWeekView;
-    private final MonthView monthView;
+    /*
+     * The views get created when they are needed for the first time, so a
+     * page only builds the scene graph of the view type that it shows.
+     */
+    private DetailedDayView detailedDayView;
+    private DetailedWeekView detailedWeekView;
+    private MonthView monthView;
     private final ObjectProperty<Map<ViewType, DateTimeFormatter>> formatterMapProperty = new SimpleObjectProperty<>(
             this, "formatterMapProperty");
 
@@ -80,27 +84,6 @@ public class PrintablePage extends DateControl {
 
         setFocusTraversable(false);
 
-        // day view
-        detailedDayView = createDetailedDayView();
-        Bindings.bindContent(detailedDayView.getCalendarSources(),
-                getCalendarSources());
-        Bindings.bindContent(detailedDayView.getCalendarVisibilityMap(),
-                getCalendarVisibilityMap());
-
-        // week view
-        detailedWeekView = createDetailedWeekView();
-        Bindings.bindContent(detailedWeekView.getCalendarSources(),
-                getCalendarSources());
-        Bindings.bindContent(detailedWeekView.getCalendarVisibilityMap(),
-                getCalendarVisibilityMap());
-
-        // month view
-        monthView = createMonthView();
-        Bindings.bindContent(monthView.getCalendarSources(),
-                getCalendarSources());
-        Bindings.bindContentBidirectional(monthView.getCalendarVisibilityMap(),
-                getCalendarVisibilityMap());
-
         updateView();
         updateDimension();
 
@@ -117,14 +100,23 @@ public class PrintablePage extends DateControl {
     }
 
     public final DetailedDayView getDayView() {
+        if (detailedDayView == null) {
+            detailedDayView = createDetailedDayView();
+        }
         return detailedDayView;
     }
 
     public final DetailedWeekView getWeekView() {
+        if (detailedWeekView == null) {
+            detailedWeekView = createDetailedWeekView();
+        }
         return detailedWeekView;
     }
 
     public final MonthView getMonthView() {
+        if (monthView == null) {
+            monthView = createMonthView();
+        }
         return monthView;
     }
 
@@ -659,6 +651,16 @@ public class PrintablePage extends DateControl {
         return periodSplitter.back();
     }
 
+    /**
+     * Shows the page with the given number.
+     *
+     * @param number the page number, starting with 1
+     * @return true if the page exists
+     */
+    public final boolean showPage(int number) {
+        return periodSplitter.showPage(number);
+    }
+
     public final void bindPage(PrintablePage otherPage) {
         super.bind(otherPage, true);
 
@@ -710,13 +712,13 @@ public class PrintablePage extends DateControl {
 
         switch (getViewType()) {
         case DAY_VIEW:
-            newView = detailedDayView;
+            newView = getDayView();
             break;
         case WEEK_VIEW:
-            newView = detailedWeekView;
+            newView = getWeekView();
             break;
         case MONTH_VIEW:
-            newView = monthView;
+            newView = getMonthView();
             break;
         default:
             throw new UnsupportedOperationException(
@@ -736,21 +738,19 @@ public class PrintablePage extends DateControl {
      * map.
      */
     private void removeDataBindings() {
-        Bindings.unbindContent(detailedDayView.getCalendarSources(),
-                getCalendarSources());
-        Bindings.unbindContentBidirectional(
-                detailedDayView.getCalendarVisibilityMap(),
-                getCalendarVisibilityMap());
-        Bindings.unbindContent(detailedWeekView.getCalendarSources(),
-                getCalendarSources());
-        Bindings.unbindContentBidirectional(
-                detailedWeekView.getCalendarVisibilityMap(),
-                getCalendarVisibilityMap());
-        Bindings.unbindContent(monthView.getCalendarSources(),
-                getCalendarSources());
-        Bindings.unbindContentBidirectional(
-                monthView.getCalendarVisibilityMap(),
-                getCalendarVisibilityMap());
+        removeDataBindings(detailedDayView);
+        removeDataBindings(detailedWeekView);
+        removeDataBindings(monthView);
+    }
+
+    private void removeDataBindings(DateControl view) {
+        if (view != null) {
+            Bindings.unbindContent(view.getCalendarSources(),
+                    getCalendarSources());
+            Bindings.unbindContentBidirectional(
+                    view.getCalendarVisibilityMap(),
+                    getCalendarVisibilityMap());
+        }
     }
 
     private void updateDimension() {
@@ -952,6 +952,23 @@ public class PrintablePage extends DateControl {
             return false;
         }
 
+        public boolean showPage(int number) {
+            PageSlice target = slice;
+            while (target != null && target.getNumber() < number) {
+                target = target.getNext();
+            }
+            while (target != null && target.getNumber() > number) {
+                target = target.getBack();
+            }
+            if (target != null) {
+                if (target != slice) {
+                    setSlice(target);
+                }
+                return true;
+            }
+            return false;
+        }
+
         private void setSlice(PageSlice slice) {
             this.slice = slice;
             this.page.setPageStartDate(slice.getStart());
@@ -0,0 +1,180 @@
+/*
+ *  Copyright (C) 2017 Dirk Lemmermann Software & Consulting (dlsc.com)
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *          http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package com.calendarfx.view.print;
+
+import com.calendarfx.util.LoggingDomain;
+import javafx.application.Platform;
+import javafx.collections.ObservableList;
+import javafx.scene.image.Image;
+import javafx.scene.image.PixelFormat;
+import javafx.scene.image.PixelReader;
+import javafx.scene.image.PixelWriter;
+import javafx.scene.image.WritableImage;
+
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+
+/**
+ * Renders thumbnails of all pages of a printable page. The pages get rendered
+ * one at a time into a single page node that is bound to the printable page,
+ * one page per run of the FX application thread, so the preview stays
+ * responsive while a long print range gets rendered. Only the snapshot of a
+ * page is taken on the FX application thread, the snapshot then gets scaled
+ * down to the thumbnail size on a background thread and released.
+ */
+final class ThumbnailRenderer {
+
+    private static final Executor EXECUTOR = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "CalendarFX Print Thumbnails"); //$NON-NLS-1$
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final PrintablePage printablePage;
+
+    private final ObservableList<Image> thumbnails;
+
+    private final double thumbnailWidth;
+
+    private PrintablePage page;
+
+    private int generation;
+
+    /**
+     * Constructs a new renderer.
+     *
+     * @param printablePage  the page whose pages will be rendered
+     * @param thumbnails     the list that receives the thumbnails
+     * @param thumbnailWidth the width of the thumbnails
+     */
+    ThumbnailRenderer(PrintablePage printablePage, ObservableList<Image> thumbnails, double thumbnailWidth) {
+        this.printablePage = Objects.requireNonNull(printablePage);
+        this.thumbnails = Objects.requireNonNull(thumbnails);
+        this.thumbnailWidth = thumbnailWidth;
+    }
+
+    /**
+     * Renders the thumbnails again. Several calls within the same run of the
+     * FX application thread only render them once. A rendering that is still
+     * in progress gets cancelled.
+     */
+    void render() {
+        int renderGeneration = ++generation;
+        Platform.runLater(() -> start(renderGeneration));
+    }
+
+    /**
+     * Cancels the rendering, removes the thumbnails, and releases the page
+     * used for rendering.
+     */
+    void dispose() {
+        generation++;
+        thumbnails.clear();
+
+        if (page != null) {
+            printablePage.unbindPage(page);
+            page.getCalendarSources().clear();
+            page = null;
+        }
+    }
+
+    private void start(int renderGeneration) {
+        if (renderGeneration != generation) {
+            return;
+        }
+
+        thumbnails.clear();
+
+        if (page == null) {
+            page = new PrintablePage();
+            printablePage.bindPage(page);
+        }
+
+        if (page.showPage(1)) {
+            renderPage(renderGeneration);
+        }
+    }
+
+    private void renderPage(int renderGeneration) {
+        if (renderGeneration != generation) {
+            return;
+        }
+
+        WritableImage snapshot = page.snapshot(null, null);
+
+        LoggingDomain.PRINTING.fine("rendered thumbnail of page " + page.getPageNumber() //$NON-NLS-1$
+                + " / " + page.getTotalPages()); //$NON-NLS-1$
+
+        EXECUTOR.execute(() -> {
+            Image thumbnail = scale(snapshot, thumbnailWidth);
+            Platform.runLater(() -> {
+                if (renderGeneration == generation) {
+                    thumbnails.add(thumbnail);
+                }
+            });
+        });
+
+        if (page.next()) {
+            Platform.runLater(() -> renderPage(renderGeneration));
+        }
+    }
+
+    /*
+     * Scales the image down by averaging blocks of pixels.
+     */
+    static Image scale(Image image, double width) {
+        int sourceWidth = (int) image.getWidth();
+        int sourceHeight = (int) image.getHeight();
+        int factor = Math.max(1, (int) Math.ceil(sourceWidth / width));
+        int targetWidth = Math.max(1, sourceWidth / factor);
+        int targetHeight = Math.max(1, sourceHeight / factor);
+
+        PixelReader reader = image.getPixelReader();
+        WritableImage thumbnail = new WritableImage(targetWidth, targetHeight);
+        PixelWriter writer = thumbnail.getPixelWriter();
+
+        int[] rows = new int[sourceWidth * factor];
+        int pixels = factor * factor;
+
+        for (int y = 0; y < targetHeight; y++) {
+            reader.getPixels(0, y * factor, sourceWidth, factor, PixelFormat.getIntArgbInstance(), rows, 0, sourceWidth);
+
+            for (int x = 0; x < targetWidth; x++) {
+                int a = 0;
+                int r = 0;
+                int g = 0;
+                int b = 0;
+
+                for (int row = 0; row < factor; row++) {
+                    int offset = row * sourceWidth + x * factor;
+                    for (int column = 0; column < factor; column++) {
+                        int argb = rows[offset + column];
+                        a += argb >>> 24;
+                        r += (argb >> 16) & 0xff;
+                        g += (argb >> 8) & 0xff;
+                        b += argb & 0xff;
+                    }
+                }
+
+                writer.setArgb(x, y, (a / pixels) << 24 | (r / pixels) << 16 | (g / pixels) << 8 | b / pixels);
+            }
+        }
+
+        return thumbnail;
+    }
+}
@@ -19,6 +19,7 @@ package impl.com.calendarfx.view;
 import com.calendarfx.model.Calendar;
 import com.calendarfx.model.Entry;
 import com.calendarfx.view.AllDayEntryView;
+import impl.com.calendarfx.view.util.StyleClasses;
 import javafx.beans.InvalidationListener;
 import javafx.beans.WeakInvalidationListener;
 import javafx.scene.control.Label;
@@ -63,22 +64,21 @@ public class AllDayEntryViewSkin extends SkinBase<AllDayEntryView> {
             return;
         }
 
-        view.getStyleClass().setAll(
+        StyleClasses.setAll(view.getStyleClass(),
                 "default-style-entry-small",
-                calendar.getStyle() + "-entry-small",
+                StyleClasses.of(calendar, "-entry-small"),
                 "default-style-entry-small-full-day",
-                calendar.getStyle() + "-entry-small-full-day");
+                StyleClasses.of(calendar, "-entry-small-full-day"),
+                "default-style-entry-small-only");
 
         // title style
-        titleLabel.getStyleClass().setAll(
+        StyleClasses.setAll(titleLabel.getStyleClass(),
                 "default-style-entry-small-title-label",
-                calendar.getStyle() + "-entry-small-title-label",
+                StyleClasses.of(calendar, "-entry-small-title-label"),
                 "default-style-entry-small-title-label-full-day",
-                calendar.getStyle() + "-entry-small-title-label-full-day");
+                StyleClasses.of(calendar, "-entry-small-title-label-full-day"));
 
         titleLabel.setText(entry.getTitle());
-
-        view.getStyleClass().add("default-style-entry-small-only");
     }
 
     @Override
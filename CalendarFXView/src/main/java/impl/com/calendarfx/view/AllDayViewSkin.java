@@ -22,6 +22,7 @@ import com.calendarfx.model.CalendarSource;
 import com.calendarfx.model.Entry;
 import com.calendarfx.util.LoggingDomain;
 import com.calendarfx.util.Util;
+import com.calendarfx.util.metrics.Metrics;
 import com.calendarfx.view.AllDayEntryView;
 import com.calendarfx.view.AllDayView;
 import com.calendarfx.view.DraggedEntry;
@@ -101,6 +102,8 @@ public class AllDayViewSkin extends DateControlSkin<AllDayView> implements LoadD
     private void updateEntries(String reason) {
         LoggingDomain.PERFORMANCE.fine("updating entries, reason: " + reason);
 
+        long startNanos = System.nanoTime();
+
         getChildren().removeIf(child -> child instanceof AllDayEntryView);
 
         Map<LocalDate, List<Entry<?>>> dataMap = new HashMap<>();
@@ -120,6 +123,10 @@ public class AllDayViewSkin extends DateControlSkin<AllDayView> implements LoadD
         }
 
         getSkinnable().autosize();
+
+        if (Metrics.isEnabled()) {
+            Metrics.timer(Metrics.UPDATE_ENTRIES, "view", getLoaderName()).stop(startNanos); //$NON-NLS-1$
+        }
     }
 
     private boolean removeEntryView(Entry<?> entry) {
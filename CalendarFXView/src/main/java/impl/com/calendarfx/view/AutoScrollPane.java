@@ -17,7 +17,6 @@
 package impl.com.calendarfx.view;
 
 import com.calendarfx.view.DayEntryView;
-import javafx.application.Platform;
 import javafx.event.EventTarget;
 import javafx.scene.Node;
 import javafx.scene.control.ScrollBar;
@@ -170,70 +169,14 @@ public class AutoScrollPane extends ScrollPane {
         }
     }
 
-    class ScrollThread extends Thread {
-        private boolean running = true;
-        private double yOffset;
-
-        public ScrollThread() {
-            super("Autoscrolling List View"); //$NON-NLS-1$
-            setDaemon(true);
-        }
-
-        @Override
-        public void run() {
-
-            /*
-             * Some initial delay, especially useful when dragging something in
-             * from the outside.
-             */
-
-            try {
-                Thread.sleep(300);
-            } catch (InterruptedException e1) {
-                e1.printStackTrace();
-            }
-
-            while (running) {
-
-                Platform.runLater(this::scrollY);
-
-                try {
-                    sleep(15);
-                } catch (InterruptedException e) {
-                    e.printStackTrace();
-                }
-            }
-        }
-
-        private void scrollY() {
-            double percent = yOffset / getHeight();
-            setVvalue(getVvalue() + percent);
-        }
-
-        public void stopRunning() {
-            this.running = false;
-        }
-
-        public void setDelta(double yOffset) {
-            this.yOffset = yOffset;
-        }
-    }
-
-    private ScrollThread scrollThread;
+    private final AutoScroller scroller = new AutoScroller(
+            yOffset -> setVvalue(getVvalue() + yOffset / getHeight()));
 
     private void autoscroll(double yOffset) {
-        if (scrollThread == null) {
-            scrollThread = new ScrollThread();
-            scrollThread.start();
-        }
-
-        scrollThread.setDelta(yOffset);
+        scroller.scroll(yOffset);
     }
 
     private void stopAutoScrollIfNeeded() {
-        if (scrollThread != null) {
-            scrollThread.stopRunning();
-            scrollThread = null;
-        }
+        scroller.stop();
     }
 }
\ No newline at end of file
@@ -0,0 +1,126 @@
+/*
+ *  Copyright (C) 2017 Dirk Lemmermann Software & Consulting (dlsc.com)
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *          http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package impl.com.calendarfx.view;
+
+import javafx.animation.AnimationTimer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.DoubleConsumer;
+
+/**
+ * Scrolls a pane while the user drags something close to or beyond one of its
+ * edges. All auto scrollers share a single animation timer that only runs
+ * while at least one of them is scrolling, so the scrolling advances once per
+ * pulse on the FX application thread without any extra threads. The distance
+ * scrolled per pulse depends on the velocity (derived from the distance
+ * between the pointer and the edge) and on the time since the last pulse.
+ */
+final class AutoScroller {
+
+    /*
+     * Some initial delay, especially useful when dragging something in from
+     * the outside.
+     */
+    private static final long DELAY_NANOS = 300_000_000L;
+
+    /*
+     * The velocity is the distance scrolled per step of this length.
+     */
+    private static final double STEP_NANOS = 15_000_000d;
+
+    /*
+     * The longest time that a single pulse scrolls for, so that a slow frame
+     * does not make the content jump.
+     */
+    private static final long MAX_PULSE_NANOS = 100_000_000L;
+
+    private static final List<AutoScroller> ACTIVE_SCROLLERS = new ArrayList<>();
+
+    private static AnimationTimer timer;
+
+    private final DoubleConsumer scrollAction;
+
+    private double velocity;
+
+    private long lastNanos;
+
+    private boolean scrolling;
+
+    /**
+     * Constructs a new auto scroller.
+     *
+     * @param scrollAction receives the distance to scroll by, negative values
+     *                     for scrolling up
+     */
+    AutoScroller(DoubleConsumer scrollAction) {
+        this.scrollAction = scrollAction;
+    }
+
+    /**
+     * Starts scrolling or changes the velocity if already scrolling.
+     *
+     * @param velocity the distance to scroll by every 15 milliseconds
+     */
+    void scroll(double velocity) {
+        this.velocity = velocity;
+
+        if (!scrolling) {
+            scrolling = true;
+            lastNanos = System.nanoTime() + DELAY_NANOS;
+
+            if (timer == null) {
+                timer = new AnimationTimer() {
+                    @Override
+                    public void handle(long now) {
+                        for (AutoScroller scroller : new ArrayList<>(ACTIVE_SCROLLERS)) {
+                            scroller.pulse(now);
+                        }
+                    }
+                };
+            }
+
+            if (ACTIVE_SCROLLERS.isEmpty()) {
+                timer.start();
+            }
+
+            ACTIVE_SCROLLERS.add(this);
+        }
+    }
+
+    /**
+     * Stops scrolling.
+     */
+    void stop() {
+        if (scrolling) {
+            scrolling = false;
+            ACTIVE_SCROLLERS.remove(this);
+
+            if (ACTIVE_SCROLLERS.isEmpty()) {
+                timer.stop();
+            }
+        }
+    }
+
+    private void pulse(long now) {
+        if (now > lastNanos) {
+            long elapsed = Math.min(now - lastNanos, MAX_PULSE_NANOS);
+            scrollAction.accept(velocity * elapsed / STEP_NANOS);
+            lastNanos = now;
+        }
+    }
+}
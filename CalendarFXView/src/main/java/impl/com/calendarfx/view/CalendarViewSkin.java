@@ -61,6 +61,7 @@ import javafx.application.Platform;
 import javafx.beans.InvalidationListener;
 import javafx.beans.Observable;
 import javafx.beans.binding.Bindings;
+import javafx.collections.ListChangeListener;
 import javafx.collections.ObservableList;
 import javafx.geometry.HPos;
 import javafx.geometry.Orientation;
@@ -96,11 +97,6 @@ public class CalendarViewSkin extends SkinBase<CalendarView> {
 	private SearchResultView searchResultView;
 	private StackPane stackPane;
 
-	private DayPage dayPage;
-	private WeekPage weekPage;
-	private MonthPage monthPage;
-	private YearPage yearPage;
-
 	private List<PageBase> pageList = new ArrayList<>();
 	private ToggleButton showYear;
 	private ToggleButton showMonth;
@@ -136,26 +132,18 @@ public class CalendarViewSkin extends SkinBase<CalendarView> {
 		view.addEventHandler(REQUEST_ENTRY,
 				evt -> view.getSelectedPage().editEntry(evt.getEntry()));
 
-		this.dayPage = view.getDayPage();
-		this.weekPage = view.getWeekPage();
-		this.monthPage = view.getMonthPage();
-		this.yearPage = view.getYearPage();
-
-		this.pageList.add(dayPage);
-		this.pageList.add(weekPage);
-		this.pageList.add(monthPage);
-		this.pageList.add(yearPage);
-
-		view.bind(dayPage, true);
-		view.bind(weekPage, true);
-		view.bind(monthPage, true);
-		view.bind(yearPage, true);
-
-		InvalidationListener updateSwitcherListener = it -> buildSwitcher();
-		dayPage.hiddenProperty().addListener(updateSwitcherListener);
-		weekPage.hiddenProperty().addListener(updateSwitcherListener);
-		monthPage.hiddenProperty().addListener(updateSwitcherListener);
-		yearPage.hiddenProperty().addListener(updateSwitcherListener);
+		/*
+		 * The pages get created lazily by the view, most of them only when
+		 * the user selects them for the first time.
+		 */
+		view.getPages().forEach(this::addPage);
+		view.getPages().addListener((ListChangeListener.Change<? extends PageBase> change) -> {
+			while (change.next()) {
+				if (change.wasAdded()) {
+					change.getAddedSubList().forEach(this::addPage);
+				}
+			}
+		});
 
 		this.leftMasterDetailPane = new MasterDetailPane(Side.LEFT);
 		TrayPane trayPane = new TrayPane();
@@ -391,7 +379,7 @@ public class CalendarViewSkin extends SkinBase<CalendarView> {
 			getChildren().add(borderPane);
 		}
 
-		stackPane.getChildren().setAll(dayPage, weekPage, monthPage, yearPage);
+		stackPane.getChildren().setAll(pageList);
 
 		final PageBase selectedPage = view.getSelectedPage();
 		selectedPage.toFront();
@@ -417,10 +405,9 @@ public class CalendarViewSkin extends SkinBase<CalendarView> {
 	private void updateCalendarVisibility() {
 		CalendarView view = getSkinnable();
 
-		if (view.getSelectedPage() == view.getDayPage()) {
-			view.getDayPage().refreshData();
-		} else if (view.getSelectedPage() == view.getWeekPage()) {
-			view.getWeekPage().refreshData();
+		PageBase page = view.getSelectedPage();
+		if (page instanceof DayPage || page instanceof WeekPage) {
+			page.refreshData();
 		}
 	}
 
@@ -439,18 +426,64 @@ public class CalendarViewSkin extends SkinBase<CalendarView> {
 		}
 	}
 
+	private final InvalidationListener updateSwitcherListener = it -> buildSwitcher();
+
+	private void addPage(PageBase page) {
+		int index = 0;
+		while (index < pageList.size() && getPageOrder(pageList.get(index)) < getPageOrder(page)) {
+			index++;
+		}
+
+		pageList.add(index, page);
+		page.hiddenProperty().addListener(updateSwitcherListener);
+
+		if (stackPane != null) {
+			page.setVisible(false);
+			page.setManaged(false);
+			stackPane.getChildren().add(0, page);
+		}
+
+		if (switcher != null) {
+			buildSwitcher();
+		}
+	}
+
+	private static int getPageOrder(PageBase page) {
+		if (page instanceof DayPage) {
+			return 0;
+		} else if (page instanceof WeekPage) {
+			return 1;
+		} else if (page instanceof MonthPage) {
+			return 2;
+		}
+		return 3;
+	}
+
+	/*
+	 * Pages that have not been created, yet, can not have been hidden by the
+	 * application.
+	 */
+	private boolean isPageHidden(Class<? extends PageBase> type) {
+		for (PageBase page : pageList) {
+			if (type.isInstance(page)) {
+				return page.isHidden();
+			}
+		}
+		return false;
+	}
+
 	private void buildSwitcher() {
 		switcher.getButtons().clear();
-		if (!dayPage.isHidden()) {
+		if (!isPageHidden(DayPage.class)) {
 			switcher.getButtons().add(showDay);
 		}
-		if (!weekPage.isHidden()) {
+		if (!isPageHidden(WeekPage.class)) {
 			switcher.getButtons().add(showWeek);
 		}
-		if (!monthPage.isHidden()) {
+		if (!isPageHidden(MonthPage.class)) {
 			switcher.getButtons().add(showMonth);
 		}
-		if (!yearPage.isHidden()) {
+		if (!isPageHidden(YearPage.class)) {
 			switcher.getButtons().add(showYear);
 		}
 
@@ -539,13 +572,13 @@ public class CalendarViewSkin extends SkinBase<CalendarView> {
 	private void updateToggleButtons() {
 		CalendarView view = getSkinnable();
 		PageBase page = view.getSelectedPage();
-		if (page == view.getDayPage()) {
+		if (page instanceof DayPage) {
 			showDay.setSelected(true);
-		} else if (page == view.getWeekPage()) {
+		} else if (page instanceof WeekPage) {
 			showWeek.setSelected(true);
-		} else if (page == view.getMonthPage()) {
+		} else if (page instanceof MonthPage) {
 			showMonth.setSelected(true);
-		} else if (page == view.getYearPage()) {
+		} else if (page instanceof YearPage) {
 			showYear.setSelected(true);
 		}
 	}
@@ -727,22 +760,20 @@ public class CalendarViewSkin extends SkinBase<CalendarView> {
 	@Override
 	protected double computePrefHeight(double width, double topInset,
 			double rightInset, double bottomInset, double leftInset) {
-		double dayHeight = dayPage.prefHeight(-1);
-		double weekHeight = weekPage.prefHeight(-1);
-		double monthHeight = monthPage.prefHeight(-1);
-		double yearHeight = yearPage.prefHeight(-1);
-		return Math.max(dayHeight,
-				Math.max(weekHeight, Math.max(monthHeight, yearHeight)));
+		double prefHeight = 0;
+		for (PageBase page : pageList) {
+			prefHeight = Math.max(prefHeight, page.prefHeight(-1));
+		}
+		return prefHeight;
 	}
 
 	@Override
 	protected double computePrefWidth(double width, double topInset,
 			double rightInset, double bottomInset, double leftInset) {
-		double dayWidth = dayPage.prefWidth(-1);
-		double weekWidth = weekPage.prefWidth(-1);
-		double monthWidth = monthPage.prefWidth(-1);
-		double yearWidth = yearPage.prefWidth(-1);
-		return Math.max(dayWidth,
-				Math.max(weekWidth, Math.max(monthWidth, yearWidth)));
+		double prefWidth = 0;
+		for (PageBase page : pageList) {
+			prefWidth = Math.max(prefWidth, page.prefWidth(-1));
+		}
+		return prefWidth;
 	}
 }
@@ -21,6 +21,7 @@ import com.calendarfx.model.CalendarSource;
 import com.calendarfx.model.Entry;
 import com.calendarfx.model.LoadEvent;
 import com.calendarfx.util.LoggingDomain;
+import com.calendarfx.util.metrics.Metrics;
 
 import java.time.LocalDate;
 import java.time.ZoneId;
@@ -44,6 +45,7 @@ public final class DataLoader {
     public void loadEntries(Map<LocalDate, List<Entry<?>>> result) {
 
         long time = System.currentTimeMillis();
+        long startNanos = System.nanoTime();
 
         LocalDate startDate = provider.getLoadStartDate();
         LocalDate endDate = provider.getLoadEndDate();
@@ -81,8 +83,17 @@ public final class DataLoader {
             }
         }
 
+        int entryCount = 0;
         for (List<Entry<?>> entries : result.values()) {
             Collections.sort(entries);
+            entryCount += entries.size();
+        }
+
+        if (Metrics.isEnabled()) {
+            String loaderName = String.valueOf(provider.getLoaderName());
+            String viewName = provider.getControl().getClass().getSimpleName();
+            Metrics.timer(Metrics.LOAD, "loader", loaderName, "view", viewName).stop(startNanos); //$NON-NLS-1$ //$NON-NLS-2$
+            Metrics.histogram(Metrics.LOAD_ENTRIES, "loader", loaderName, "view", viewName).record(entryCount); //$NON-NLS-1$ //$NON-NLS-2$
         }
 
         LoggingDomain.PERFORMANCE.fine("data load time: " + (System.currentTimeMillis() - time) + ", view = " + provider.getClass().getSimpleName());
@@ -22,6 +22,7 @@ import com.calendarfx.model.Entry;
 import com.calendarfx.model.Interval;
 import com.calendarfx.util.CalendarFX;
 import com.calendarfx.util.LoggingDomain;
+import com.calendarfx.util.metrics.Metrics;
 import com.calendarfx.view.DateControl;
 import com.calendarfx.view.DraggedEntry;
 import impl.com.calendarfx.view.util.Util;
@@ -31,12 +32,15 @@ import javafx.collections.MapChangeListener;
 import javafx.event.Event;
 import javafx.event.EventHandler;
 import javafx.event.EventType;
+import javafx.scene.Node;
 import javafx.scene.control.SkinBase;
 
 import java.time.LocalDate;
 import java.time.LocalTime;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.logging.Level;
 
 import static com.calendarfx.model.CalendarEvent.CALENDAR_CHANGED;
@@ -87,9 +91,71 @@ public abstract class DateControlSkin<C extends DateControl> extends SkinBase<C>
             }
         });
 
+        observeTreeVisibility();
+
         showInfo();
     }
 
+    /*
+     * A skin is dormant while its control or one of the control's ancestors is
+     * invisible, e.g. because the control is part of a page of the calendar
+     * view that is not selected. Dormant skins ignore calendar events and
+     * remember that they are stale instead, so that they can perform a single
+     * refresh once they become visible again.
+     */
+    private volatile boolean dormant;
+
+    private volatile boolean stale;
+
+    private final List<Node> observedNodes = new ArrayList<>();
+
+    private final InvalidationListener treeVisibilityListener = it -> observeTreeVisibility();
+
+    private void observeTreeVisibility() {
+        for (Node node : observedNodes) {
+            node.visibleProperty().removeListener(treeVisibilityListener);
+            node.parentProperty().removeListener(treeVisibilityListener);
+        }
+
+        observedNodes.clear();
+
+        boolean visible = true;
+        for (Node node = getSkinnable(); node != null; node = node.getParent()) {
+            node.visibleProperty().addListener(treeVisibilityListener);
+            node.parentProperty().addListener(treeVisibilityListener);
+            observedNodes.add(node);
+            visible = visible && node.isVisible();
+        }
+
+        setDormant(!visible);
+    }
+
+    private void setDormant(boolean dormant) {
+        if (this.dormant == dormant) {
+            return;
+        }
+
+        this.dormant = dormant;
+
+        if (!dormant && stale) {
+            stale = false;
+            LoggingDomain.VIEW.fine("catching up on calendar changes in " + getSkinnable().getClass().getSimpleName());
+            refreshData();
+        }
+    }
+
+    /**
+     * Determines whether the skin is currently dormant, which is the case
+     * while the control or one of its ancestors is invisible. Dormant skins do
+     * not process calendar events but refresh their data once when they
+     * become visible again.
+     *
+     * @return true if the skin is dormant
+     */
+    protected final boolean isDormant() {
+        return dormant;
+    }
+
     protected void refreshData() {
     }
 
@@ -131,7 +197,17 @@ public abstract class DateControlSkin<C extends DateControl> extends SkinBase<C>
             return;
         }
 
+        if (dormant) {
+            stale = true;
+            if (Metrics.isEnabled()) {
+                Metrics.counter(Metrics.DORMANT_EVENTS, "view", getSkinnable().getClass().getSimpleName()).increment(); //$NON-NLS-1$
+            }
+            return;
+        }
+
         Util.runInFXThread(() -> {
+            long startTime = System.nanoTime();
+
             EventType<? extends Event> eventType = evt.getEventType();
             if (eventType.equals(CalendarEvent.ENTRY_INTERVAL_CHANGED)) {
                 entryIntervalChanged(evt);
@@ -144,6 +220,10 @@ public abstract class DateControlSkin<C extends DateControl> extends SkinBase<C>
             } else if (eventType.equals(CALENDAR_CHANGED)) {
                 calendarChanged(evt.getCalendar());
             }
+
+            if (Metrics.isEnabled()) {
+                Metrics.timer(Metrics.HANDLED_EVENTS, "view", getSkinnable().getClass().getSimpleName()).stop(startTime); //$NON-NLS-1$
+            }
         });
     }
 
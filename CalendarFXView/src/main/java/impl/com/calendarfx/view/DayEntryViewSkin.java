@@ -25,6 +25,7 @@ import com.calendarfx.model.Entry;
 import com.calendarfx.view.DayEntryView;
 import com.calendarfx.view.DraggedEntry;
 
+import impl.com.calendarfx.view.util.StyleClasses;
 import javafx.beans.InvalidationListener;
 import javafx.beans.WeakInvalidationListener;
 import javafx.scene.control.Label;
@@ -111,19 +112,20 @@ public class DayEntryViewSkin extends SkinBase<DayEntryView> {
             return;
         }
 
-        view.getStyleClass().setAll("default-style-entry",
-                calendar.getStyle() + "-entry");
-
         if (entry.isRecurrence()) {
-            view.getStyleClass().add("recurrence"); //$NON-NLS-1$
+            StyleClasses.setAll(view.getStyleClass(), "default-style-entry",
+                    StyleClasses.of(calendar, "-entry"), "recurrence"); //$NON-NLS-1$
+        } else {
+            StyleClasses.setAll(view.getStyleClass(), "default-style-entry",
+                    StyleClasses.of(calendar, "-entry"));
         }
 
-        startTimeLabel.getStyleClass().setAll("start-time-label",
+        StyleClasses.setAll(startTimeLabel.getStyleClass(), "start-time-label",
                 "default-style-entry-time-label",
-                calendar.getStyle() + "-entry-time-label");
-        titleLabel.getStyleClass().setAll("title-label",
+                StyleClasses.of(calendar, "-entry-time-label"));
+        StyleClasses.setAll(titleLabel.getStyleClass(), "title-label",
                 "default-style-entry-title-label",
-                calendar.getStyle() + "-entry-title-label");
+                StyleClasses.of(calendar, "-entry-title-label"));
     }
 
     /**
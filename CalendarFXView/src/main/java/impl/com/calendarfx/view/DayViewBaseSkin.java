@@ -34,7 +34,6 @@ public class DayViewBaseSkin<T extends DayViewBase> extends DateControlSkin<T> {
             getSkinnable().requestLayout();
         };
 
-        view.timeProperty().addListener(layoutListener);
         view.hourHeightProperty().addListener(layoutListener);
         view.hourHeightCompressedProperty().addListener(layoutListener);
         view.visibleHoursProperty().addListener(layoutListener);
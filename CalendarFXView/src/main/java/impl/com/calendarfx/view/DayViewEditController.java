@@ -39,12 +39,10 @@ import com.calendarfx.view.DayViewBase;
 import com.calendarfx.view.DraggedEntry;
 import com.calendarfx.view.EntryViewBase;
 import com.calendarfx.view.VirtualGrid;
-import com.calendarfx.view.WeekView;
 
 import javafx.application.Platform;
 import javafx.event.EventHandler;
 import javafx.scene.Cursor;
-import javafx.scene.Parent;
 import javafx.scene.input.MouseButton;
 import javafx.scene.input.MouseEvent;
 import javafx.util.Callback;
@@ -667,14 +665,13 @@ public class DayViewEditController {
         return true;
     }
 
+    /*
+     * The day views showing the dragged entries lay themselves out when the
+     * intervals of the dragged entries change, see DayViewSkin.
+     */
     private void requestLayout() {
         dayView.requestLayout();
         dayEntryView.getParent().requestLayout();
-
-        if (dayView instanceof WeekView) {
-            ((WeekView) dayView).getWeekDayViews()
-                    .forEach(Parent::requestLayout);
-        }
     }
 
     private LocalDateTime grid(LocalDateTime time) {
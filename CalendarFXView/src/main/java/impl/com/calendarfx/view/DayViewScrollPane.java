@@ -18,7 +18,6 @@ package impl.com.calendarfx.view;
 
 import com.calendarfx.view.DayEntryView;
 import com.calendarfx.view.DayViewBase;
-import javafx.application.Platform;
 import javafx.beans.binding.Bindings;
 import javafx.beans.property.ReadOnlyObjectProperty;
 import javafx.beans.property.ReadOnlyObjectWrapper;
@@ -309,71 +308,13 @@ public class DayViewScrollPane extends Pane {
         }
     }
 
-    class ScrollThread extends Thread {
-        private boolean running = true;
-        private double yOffset;
-
-        public ScrollThread() {
-            super("Autoscrolling List View"); //$NON-NLS-1$
-            setDaemon(true);
-        }
-
-        @Override
-        public void run() {
-
-            /*
-             * Some initial delay, especially useful when dragging something in
-             * from the outside.
-             */
-
-            try {
-                Thread.sleep(300);
-            } catch (InterruptedException e1) {
-                e1.printStackTrace();
-            }
-
-            while (running) {
-
-                Platform.runLater(this::scrollToY);
-
-                try {
-                    sleep(15);
-                } catch (InterruptedException e) {
-                    e.printStackTrace();
-                }
-            }
-        }
-
-        private void scrollToY() {
-            scrollY(-yOffset);
-        }
-
-        public void stopRunning() {
-            this.running = false;
-        }
-
-        public void setDelta(double yOffset) {
-            this.yOffset = yOffset;
-        }
-    }
-
-    private ScrollThread scrollThread;
+    private final AutoScroller scroller = new AutoScroller(yOffset -> scrollY(-yOffset));
 
     private void autoscroll(double yOffset) {
-        if (scrollThread == null) {
-            scrollThread = new ScrollThread();
-            scrollThread.start();
-        }
-
-        scrollThread.setDelta(yOffset);
+        scroller.scroll(yOffset);
     }
 
     private void stopAutoScrollIfNeeded() {
-        Platform.runLater(() -> {
-            if (scrollThread != null) {
-                scrollThread.stopRunning();
-                scrollThread = null;
-            }
-        });
+        scroller.stop();
     }
 }
\ No newline at end of file
@@ -20,8 +20,11 @@ import java.time.LocalDate;
 import java.time.LocalTime;
 import java.time.ZoneId;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -32,7 +35,9 @@ import com.calendarfx.model.Calendar;
 import com.calendarfx.model.CalendarEvent;
 import com.calendarfx.model.CalendarSource;
 import com.calendarfx.model.Entry;
+import com.calendarfx.model.Interval;
 import com.calendarfx.util.LoggingDomain;
+import com.calendarfx.util.metrics.Metrics;
 import com.calendarfx.view.DayEntryView;
 import com.calendarfx.view.DayView;
 import com.calendarfx.view.DraggedEntry;
@@ -40,10 +45,14 @@ import com.calendarfx.view.EntryViewBase;
 import com.calendarfx.view.EntryViewBase.Position;
 
 import impl.com.calendarfx.view.util.Placement;
+import impl.com.calendarfx.view.util.PlacementCache;
 import impl.com.calendarfx.view.util.Resolver;
 import javafx.animation.FadeTransition;
 import javafx.beans.InvalidationListener;
-import javafx.beans.WeakInvalidationListener;
+import javafx.beans.value.ChangeListener;
+import javafx.beans.value.WeakChangeListener;
+import javafx.collections.ListChangeListener;
+import javafx.collections.ObservableList;
 import javafx.collections.SetChangeListener.Change;
 import javafx.scene.Node;
 import javafx.scene.control.Control;
@@ -73,6 +82,14 @@ public class DayViewSkin<T extends DayView> extends DayViewBaseSkin<T>
 
     private LocalDate displayedDate;
 
+    /*
+     * Invalidated whenever entry views get added or removed, or when anything
+     * else changes that influences the placements of the entry views. Layout
+     * passes caused by a resize, scrolling, or styling reuse the placements
+     * of the previous pass.
+     */
+    private final PlacementCache<DayEntryView, List<Placement>> placementCache = new PlacementCache<>(Node::isVisible, Resolver::resolve);
+
     public DayViewSkin(T view) {
         super(view);
 
@@ -124,6 +141,8 @@ public class DayViewSkin<T extends DayView> extends DayViewBaseSkin<T>
 
         setupCurrentTimeMarkerSupport();
 
+        view.timeProperty().addListener(it -> layoutCurrentTimeMarker());
+
         view.draggedEntriesProperty().addListener(this::addOrRemoveDraggedEntryView);
 
         view.showCurrentTimeMarkerProperty()
@@ -131,7 +150,20 @@ public class DayViewSkin<T extends DayView> extends DayViewBaseSkin<T>
         view.showCurrentTimeTodayMarkerProperty()
                 .addListener(it -> updateTimelineVisibility());
 
-        view.layoutProperty().addListener(it -> view.requestLayout());
+        view.layoutProperty().addListener(it -> {
+            placementCache.invalidate();
+            view.requestLayout();
+        });
+
+        getChildren().addListener((ListChangeListener<Node>) change -> {
+            while (change.next()) {
+                if (containsEntryView(change.getAddedSubList())
+                        || containsEntryView(change.getRemoved())) {
+                    placementCache.invalidate();
+                    return;
+                }
+            }
+        });
 
         updateShowMarkers();
         updateTimelineVisibility();
@@ -171,9 +203,19 @@ public class DayViewSkin<T extends DayView> extends DayViewBaseSkin<T>
 
     @Override
     protected void calendarVisibilityChanged() {
+        placementCache.invalidate();
         getSkinnable().requestLayout();
     }
 
+    private static boolean containsEntryView(List<? extends Node> nodes) {
+        for (Node node : nodes) {
+            if (node instanceof DayEntryView) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     @Override
     protected void refreshData() {
         loadData("refreshData() was called");
@@ -217,11 +259,34 @@ public class DayViewSkin<T extends DayView> extends DayViewBaseSkin<T>
         return isShowingTimeMarker();
     }
 
-    private InvalidationListener layoutListener = it -> getSkinnable()
-            .requestLayout();
+    /*
+     * Dragged entries change their interval on every mouse drag event. Only
+     * the views showing the day that the entry gets dragged from or to need
+     * a new layout, and none of the views that are currently not showing.
+     * The drop removes the dragged entry views, which lays out all of them.
+     */
+    private ChangeListener<Interval> draggedIntervalListener = (obs, oldInterval, newInterval) -> {
+        if (isShowingDate(oldInterval) || isShowingDate(newInterval)) {
+            placementCache.invalidate();
+            if (!isDormant()) {
+                getSkinnable().requestLayout();
+            }
+        }
+    };
 
-    private WeakInvalidationListener weakLayoutListener = new WeakInvalidationListener(
-            layoutListener);
+    private WeakChangeListener<Interval> weakDraggedIntervalListener = new WeakChangeListener<>(
+            draggedIntervalListener);
+
+    /*
+     * One extra day on each side for entries that use a different time zone
+     * than the view.
+     */
+    private boolean isShowingDate(Interval interval) {
+        LocalDate date = getSkinnable().getDate();
+        return interval != null
+                && !interval.getStartDate().isAfter(date.plusDays(1))
+                && !interval.getEndDate().isBefore(date.minusDays(1));
+    }
 
     private void addOrRemoveDraggedEntryView(
             Change<? extends DraggedEntry> change) {
@@ -234,7 +299,7 @@ public class DayViewSkin<T extends DayView> extends DayViewBaseSkin<T>
             addDraggedEntry.toFront();
             addDraggedEntry.setMouseTransparent(true);
             addDraggedEntry.getProperties().put("selected", true); //$NON-NLS-1$
-            draggedEntry.intervalProperty().addListener(weakLayoutListener);
+            draggedEntry.intervalProperty().addListener(weakDraggedIntervalListener);
             draggedEntriesView.add(addDraggedEntry);
         }
         if (!wasAdded && draggedEntry != null && draggedEntriesView != null
@@ -408,19 +473,41 @@ public class DayViewSkin<T extends DayView> extends DayViewBaseSkin<T>
                     "unknown layout: " + dayView.getLayout()); //$NON-NLS-1$
         }
 
+        markerX = contentX;
+        markerY = contentY;
+        markerWidth = contentWidth;
+
+        layoutCurrentTimeMarker();
+
+        currentTimeLine.toFront();
+        currentTimeCircle.toFront();
+    }
+
+    /*
+     * The content area of the last layout pass, used for placing the current
+     * time marker without laying out the entries again.
+     */
+    private double markerX;
+    private double markerY;
+    private double markerWidth;
+
+    /*
+     * The line and the circle are unmanaged, so moving them when the time
+     * changes does not cause a layout pass of the day view.
+     */
+    private void layoutCurrentTimeMarker() {
+        T dayView = getSkinnable();
         LocalTime time = dayView.getTime();
         double y = snapPosition(
-                contentY + ViewHelper.getTimeLocation(dayView, time));
+                markerY + ViewHelper.getTimeLocation(dayView, time));
 
-        currentTimeLine.setStartX(snapPosition(contentX));
+        currentTimeLine.setStartX(snapPosition(markerX));
         currentTimeLine.setStartY(snapPosition(y));
-        currentTimeLine.setEndX(snapPosition(contentX + contentWidth));
+        currentTimeLine.setEndX(snapPosition(markerX + markerWidth));
         currentTimeLine.setEndY(snapPosition(y));
-        currentTimeLine.toFront();
         currentTimeCircle.setCenterX(
-                snapPosition(contentX + currentTimeCircle.getRadius() + 4));
+                snapPosition(markerX + currentTimeCircle.getRadius() + 4));
         currentTimeCircle.setCenterY(y);
-        currentTimeCircle.toFront();
     }
 
     private void layoutStandard(DayView dayView, double contentX,
@@ -428,8 +515,8 @@ public class DayViewSkin<T extends DayView> extends DayViewBaseSkin<T>
         List<DayEntryView> entryViews = getChildren().stream()
                 .filter(node -> node instanceof DayEntryView)
                 .map(node -> (DayEntryView) node).collect(Collectors.toList());
-        layoutEntryViews(entryViews, dayView, contentX, contentY, contentWidth,
-                contentHeight);
+        layoutEntryViews(entryViews, 0, dayView, contentX, contentY,
+                contentWidth, contentHeight);
     }
 
     private void layoutSwimlane(DayView dayView, double contentX,
@@ -439,6 +526,7 @@ public class DayViewSkin<T extends DayView> extends DayViewBaseSkin<T>
 
         double x = contentX;
         double w = contentWidth / (visibleCalendars.size());
+        int group = 0;
 
         for (Calendar calendar : visibleCalendars) {
 
@@ -457,17 +545,17 @@ public class DayViewSkin<T extends DayView> extends DayViewBaseSkin<T>
                         return cal != null && cal.equals(calendar);
                     }).collect(Collectors.toList());
 
-            layoutEntryViews(entryViews, dayView, x, contentY, w,
+            layoutEntryViews(entryViews, group++, dayView, x, contentY, w,
                     contentHeight);
             x += w;
 
         }
     }
 
-    private void layoutEntryViews(List<DayEntryView> entryViews,
+    private void layoutEntryViews(List<DayEntryView> entryViews, int group,
             DayView dayView, double contentX, double contentY,
             double contentWidth, double contentHeight) {
-        List<Placement> placements = Resolver.resolve(entryViews);
+        List<Placement> placements = placementCache.get(entryViews, group);
 
         if (placements != null) {
             contentWidth = contentWidth * dayView.getEntryWidthPercentage()
@@ -608,6 +696,24 @@ public class DayViewSkin<T extends DayView> extends DayViewBaseSkin<T>
             return;
         }
 
+        /*
+         * The view of a single entry can simply be moved or resized, the
+         * views of recurring entries show copies that have to be recreated.
+         */
+        if (!entry.isRecurring()) {
+            DayEntryView view = findEntryView(entry);
+            if (view != null) {
+                if (isRelevant(entry)) {
+                    placementCache.invalidate();
+                    sortEntryViews();
+                    getSkinnable().requestLayout();
+                } else {
+                    getChildren().remove(view);
+                }
+                return;
+            }
+        }
+
         removeEntryView(entry);
 
         if (isRelevant(entry)) {
@@ -709,23 +815,25 @@ public class DayViewSkin<T extends DayView> extends DayViewBaseSkin<T>
     }
 
     private void updateEntries(String reason) {
-        displayedDate = getSkinnable().getDate();
+        long startNanos = System.nanoTime();
 
-        getChildren().removeIf(node -> node instanceof DayEntryView);
+        displayedDate = getSkinnable().getDate();
 
         Map<LocalDate, List<Entry<?>>> dataMap = new HashMap<>();
         dataLoader.loadEntries(dataMap);
         List<Entry<?>> entryList = dataMap.get(getSkinnable().getDate());
 
+        if (entryList != null) {
+            entryList.removeIf(Entry::isFullDay);
+        }
+
+        updateEntryViews(entryList == null ? Collections.emptyList() : entryList);
+
         LocalTime earliest = null;
         LocalTime latest = null;
 
         if (entryList != null) {
-            entryList.removeIf(Entry::isFullDay);
-
             for (Entry<?> entry : entryList) {
-                doAddEntryView(entry);
-
                 if (earliest == null
                         || entry.getStartTime().isBefore(earliest)) {
                     earliest = entry.getStartTime();
@@ -756,6 +864,108 @@ public class DayViewSkin<T extends DayView> extends DayViewBaseSkin<T>
                         + getChildren().stream()
                                 .filter(child -> child instanceof DayEntryView)
                                 .count());
+
+        if (Metrics.isEnabled()) {
+            Metrics.timer(Metrics.UPDATE_ENTRIES, "view", getLoaderName()).stop(startNanos); //$NON-NLS-1$
+        }
+    }
+
+    /*
+     * Brings the entry views in line with the given entries. The views of
+     * entries that are still shown are kept, only the views of entries that
+     * are gone get removed, and only the new entries get new views.
+     */
+    private void updateEntryViews(List<Entry<?>> entries) {
+        Map<Entry<?>, DayEntryView> oldViews = new IdentityHashMap<>();
+        for (Node node : getChildren()) {
+            if (node instanceof DayEntryView) {
+                DayEntryView view = (DayEntryView) node;
+                oldViews.put(view.getEntry(), view);
+            }
+        }
+
+        Set<Node> keptViews = Collections.newSetFromMap(new IdentityHashMap<>());
+        List<Entry<?>> addedEntries = new ArrayList<>();
+
+        for (Entry<?> entry : entries) {
+            DayEntryView view = oldViews.remove(entry);
+            if (view != null) {
+                keptViews.add(view);
+            } else {
+                addedEntries.add(entry);
+            }
+        }
+
+        getChildren().removeIf(node -> node instanceof DayEntryView && !keptViews.contains(node));
+
+        /*
+         * The kept entries might have moved in the meantime.
+         */
+        placementCache.invalidate();
+        sortEntryViews();
+
+        addedEntries.forEach(this::doAddEntryView);
+    }
+
+    /*
+     * Restores the order of the entry views by start time (needed for TAB
+     * traversal) after the intervals of entries with existing views have
+     * changed. The views of dragged entries stay on top of all other views.
+     */
+    private void sortEntryViews() {
+        ObservableList<Node> children = getChildren();
+        List<DayEntryView> views = new ArrayList<>();
+        List<DayEntryView> draggedViews = new ArrayList<>();
+
+        for (Node node : children) {
+            if (node instanceof DayEntryView) {
+                DayEntryView view = (DayEntryView) node;
+                if (draggedEntriesView.contains(view)) {
+                    draggedViews.add(view);
+                } else {
+                    views.add(view);
+                }
+            }
+        }
+
+        views.sort(Comparator.comparing(view -> view.getEntry().getStartAsZonedDateTime()));
+
+        /*
+         * The other nodes keep their positions, the sorted views take the
+         * positions of the entry views, and the dragged views go last.
+         */
+        List<Node> order = new ArrayList<>(children.size());
+        int index = 0;
+        for (Node node : children) {
+            if (!(node instanceof DayEntryView)) {
+                order.add(node);
+            } else if (index < views.size()) {
+                order.add(views.get(index++));
+            }
+        }
+        order.addAll(draggedViews);
+
+        if (order.equals(children)) {
+            return;
+        }
+
+        /*
+         * Setting the same nodes in a new order is a single change of the
+         * children, and the views keep their parent and scene, so they keep
+         * their focus and don't get their CSS applied again, which they would
+         * if they got removed and added.
+         */
+        children.setAll(order);
+    }
+
+    private DayEntryView findEntryView(Entry<?> entry) {
+        for (Node node : getChildren()) {
+            if (node instanceof DayEntryView && ((DayEntryView) node).getEntry() == entry) {
+                return (DayEntryView) node;
+            }
+        }
+
+        return null;
     }
 
     @Override
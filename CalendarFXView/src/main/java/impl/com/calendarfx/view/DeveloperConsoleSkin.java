@@ -21,10 +21,15 @@ import com.calendarfx.model.CalendarEvent;
 import com.calendarfx.model.Entry;
 import com.calendarfx.model.Interval;
 import com.calendarfx.model.LoadEvent;
+import com.calendarfx.util.metrics.MetricSnapshot;
+import com.calendarfx.util.metrics.Metrics;
 import com.calendarfx.view.DateControl;
 import com.calendarfx.view.DeveloperConsole;
 import com.calendarfx.view.RequestEvent;
 import com.calendarfx.view.TimeField;
+import javafx.animation.Animation;
+import javafx.animation.KeyFrame;
+import javafx.animation.Timeline;
 import javafx.beans.binding.Bindings;
 import javafx.collections.FXCollections;
 import javafx.collections.ListChangeListener;
@@ -46,6 +51,7 @@ import javafx.scene.control.ToggleButton;
 import javafx.scene.control.ToolBar;
 import javafx.scene.control.cell.PropertyValueFactory;
 import javafx.scene.layout.BorderPane;
+import javafx.util.Duration;
 
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
@@ -204,11 +210,113 @@ public class DeveloperConsoleSkin extends SkinBase<DeveloperConsole> {
 
         filter();
 
+        tabPane.getTabs().add(createMetricsTab());
+        tabPane.getTabs().add(new PerformanceTab(view));
+
         updateSkin();
 
         view.dateControlProperty().addListener(it -> updateSkin());
     }
 
+    private Tab createMetricsTab() {
+        TableView<MetricSnapshot> metricsTable = new TableView<>();
+
+        TableColumn<MetricSnapshot, String> nameColumn = new TableColumn<>("Metric"); //$NON-NLS-1$
+        nameColumn.setCellValueFactory(new PropertyValueFactory<>("name")); //$NON-NLS-1$
+        nameColumn.setPrefWidth(250);
+
+        TableColumn<MetricSnapshot, String> tagsColumn = new TableColumn<>("Tags"); //$NON-NLS-1$
+        tagsColumn.setCellValueFactory(new PropertyValueFactory<>("tags")); //$NON-NLS-1$
+        tagsColumn.setPrefWidth(250);
+
+        TableColumn<MetricSnapshot, String> typeColumn = new TableColumn<>("Type"); //$NON-NLS-1$
+        typeColumn.setCellValueFactory(new PropertyValueFactory<>("type")); //$NON-NLS-1$
+        typeColumn.setPrefWidth(100);
+
+        TableColumn<MetricSnapshot, Long> countColumn = new TableColumn<>("Count"); //$NON-NLS-1$
+        countColumn.setCellValueFactory(new PropertyValueFactory<>("count")); //$NON-NLS-1$
+        countColumn.setPrefWidth(80);
+
+        TableColumn<MetricSnapshot, Double> meanColumn = new TableColumn<>("Mean"); //$NON-NLS-1$
+        meanColumn.setCellValueFactory(new PropertyValueFactory<>("mean")); //$NON-NLS-1$
+        meanColumn.setPrefWidth(100);
+
+        TableColumn<MetricSnapshot, Double> p50Column = new TableColumn<>("P50"); //$NON-NLS-1$
+        p50Column.setCellValueFactory(new PropertyValueFactory<>("p50")); //$NON-NLS-1$
+        p50Column.setPrefWidth(100);
+
+        TableColumn<MetricSnapshot, Double> p99Column = new TableColumn<>("P99"); //$NON-NLS-1$
+        p99Column.setCellValueFactory(new PropertyValueFactory<>("p99")); //$NON-NLS-1$
+        p99Column.setPrefWidth(100);
+
+        TableColumn<MetricSnapshot, Double> maxColumn = new TableColumn<>("Max"); //$NON-NLS-1$
+        maxColumn.setCellValueFactory(new PropertyValueFactory<>("max")); //$NON-NLS-1$
+        maxColumn.setPrefWidth(100);
+
+        metricsTable.getColumns().add(nameColumn);
+        metricsTable.getColumns().add(tagsColumn);
+        metricsTable.getColumns().add(typeColumn);
+        metricsTable.getColumns().add(countColumn);
+        metricsTable.getColumns().add(meanColumn);
+        metricsTable.getColumns().add(p50Column);
+        metricsTable.getColumns().add(p99Column);
+        metricsTable.getColumns().add(maxColumn);
+
+        Runnable refresh = () -> metricsTable.getItems().setAll(Metrics.getSnapshots());
+
+        ToolBar toolbar = new ToolBar();
+
+        // metrics are only recorded on request
+        ToggleButton recordButton = new ToggleButton("Record"); //$NON-NLS-1$
+        recordButton.setSelected(Metrics.isEnabled());
+        recordButton.setOnAction(evt -> Metrics.setEnabled(recordButton.isSelected()));
+        toolbar.getItems().add(recordButton);
+
+        Button refreshButton = new Button("Refresh"); //$NON-NLS-1$
+        refreshButton.setOnAction(evt -> refresh.run());
+        toolbar.getItems().add(refreshButton);
+
+        Button resetButton = new Button("Reset"); //$NON-NLS-1$
+        resetButton.setOnAction(evt -> {
+            Metrics.reset();
+            refresh.run();
+        });
+        toolbar.getItems().add(resetButton);
+
+        toolbar.getItems().add(new Separator());
+
+        ToggleButton autoRefresh = new ToggleButton("Auto Refresh"); //$NON-NLS-1$
+        autoRefresh.setSelected(true);
+        toolbar.getItems().add(autoRefresh);
+
+        toolbar.getItems().add(new Separator());
+        toolbar.getItems().add(new Label("Durations in milliseconds")); //$NON-NLS-1$
+
+        BorderPane borderPane = new BorderPane();
+        borderPane.setCenter(metricsTable);
+        borderPane.setBottom(toolbar);
+
+        Tab tab = new Tab("Metrics", borderPane); //$NON-NLS-1$
+
+        // only refresh while somebody is actually looking at the metrics
+        Timeline timeline = new Timeline(new KeyFrame(Duration.seconds(1), evt -> refresh.run()));
+        timeline.setCycleCount(Animation.INDEFINITE);
+
+        Runnable updateTimeline = () -> {
+            if (tab.isSelected() && autoRefresh.isSelected()) {
+                refresh.run();
+                timeline.play();
+            } else {
+                timeline.stop();
+            }
+        };
+
+        tab.selectedProperty().addListener(it -> updateTimeline.run());
+        autoRefresh.selectedProperty().addListener(it -> updateTimeline.run());
+
+        return tab;
+    }
+
     private void updateSkin() {
         DeveloperConsole view = getSkinnable();
         if (view.getDateControl() != null) {
@@ -19,15 +19,20 @@ package impl.com.calendarfx.view;
 import java.text.MessageFormat;
 import java.time.format.DateTimeFormatter;
 import java.time.format.FormatStyle;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
 
 import com.calendarfx.model.Calendar;
 import com.calendarfx.model.Entry;
+import com.calendarfx.view.EntryViewBase.Position;
 import com.calendarfx.view.Messages;
 import com.calendarfx.view.MonthEntryView;
 
+import impl.com.calendarfx.view.util.StyleClasses;
 import javafx.beans.InvalidationListener;
 import javafx.beans.WeakInvalidationListener;
-import javafx.collections.ObservableList;
 import javafx.scene.control.Label;
 import javafx.scene.control.SkinBase;
 import javafx.scene.shape.Circle;
@@ -35,6 +40,15 @@ import javafx.scene.shape.Circle;
 @SuppressWarnings("javadoc")
 public class MonthEntryViewSkin extends SkinBase<MonthEntryView> {
 
+    private static final Map<Position, String> POSITION_STYLE_CLASSES = new EnumMap<>(Position.class);
+
+    static {
+        for (Position position : Position.values()) {
+            POSITION_STYLE_CLASSES.put(position, "default-style-entry-small-" //$NON-NLS-1$
+                    + position.toString().toLowerCase());
+        }
+    }
+
     private DateTimeFormatter formatter = DateTimeFormatter
             .ofLocalizedTime(FormatStyle.SHORT);
     protected Label titleLabel;
@@ -126,17 +140,18 @@ public class MonthEntryViewSkin extends SkinBase<MonthEntryView> {
             entry = entry.getRecurrenceSourceEntry();
         }
 
-        final ObservableList<String> styleClass = view.getStyleClass();
+        final List<String> styleClass = new ArrayList<>();
 
-        styleClass.setAll("month-entry-view", "default-style-entry-small"); //$NON-NLS-1$
+        styleClass.add("month-entry-view"); //$NON-NLS-1$
+        styleClass.add("default-style-entry-small"); //$NON-NLS-1$
         if (calendar != null) {
-            styleClass.add(calendar.getStyle() + "-entry-small"); //$NON-NLS-1$
+            styleClass.add(StyleClasses.of(calendar, "-entry-small")); //$NON-NLS-1$
         }
 
         if (entry.isFullDay() || entry.isMultiDay()) {
             styleClass.add("default-style-entry-small-full-day"); //$NON-NLS-1$
             if (calendar != null) {
-                styleClass.add(calendar.getStyle() + "-entry-small-full-day"); //$NON-NLS-1$
+                styleClass.add(StyleClasses.of(calendar, "-entry-small-full-day")); //$NON-NLS-1$
             }
         }
 
@@ -145,49 +160,47 @@ public class MonthEntryViewSkin extends SkinBase<MonthEntryView> {
 
         if (calendar != null) {
             // color dot style
-            colorDot.getStyleClass().setAll("default-style-icon-small", //$NON-NLS-1$
-                    calendar.getStyle() + "-icon-small"); //$NON-NLS-1$
-
-            // title style
-            titleLabel.getStyleClass().setAll(
-                    "default-style-entry-small-title-label", //$NON-NLS-1$
-                    calendar.getStyle() + "-entry-small-title-label"); //$NON-NLS-1$
-
-            // time label style
-            timeLabel.getStyleClass().setAll(
-                    "default-style-entry-small-time-label", //$NON-NLS-1$
-                    calendar.getStyle() + "-entry-small-time-label"); //$NON-NLS-1$
+            StyleClasses.setAll(colorDot.getStyleClass(), "default-style-icon-small", //$NON-NLS-1$
+                    StyleClasses.of(calendar, "-icon-small")); //$NON-NLS-1$
 
-            // title style
+            // title and time label style
             if (entry.isMultiDay() || entry.isFullDay()) {
-                titleLabel.getStyleClass().addAll(
+                StyleClasses.setAll(titleLabel.getStyleClass(),
+                        "default-style-entry-small-title-label", //$NON-NLS-1$
+                        StyleClasses.of(calendar, "-entry-small-title-label"), //$NON-NLS-1$
                         "default-style-entry-small-title-label-full-day", //$NON-NLS-1$
-                        calendar.getStyle()
-                                + "-entry-small-title-label-full-day"); //$NON-NLS-1$
-                timeLabel.getStyleClass().addAll(
+                        StyleClasses.of(calendar, "-entry-small-title-label-full-day")); //$NON-NLS-1$
+                StyleClasses.setAll(timeLabel.getStyleClass(),
+                        "default-style-entry-small-time-label", //$NON-NLS-1$
+                        StyleClasses.of(calendar, "-entry-small-time-label"), //$NON-NLS-1$
                         "default-style-entry-small-time-label-full-day", //$NON-NLS-1$
-                        calendar.getStyle()
-                                + "-entry-small-time-label-full-day"); //$NON-NLS-1$
+                        StyleClasses.of(calendar, "-entry-small-time-label-full-day")); //$NON-NLS-1$
+            } else {
+                StyleClasses.setAll(titleLabel.getStyleClass(),
+                        "default-style-entry-small-title-label", //$NON-NLS-1$
+                        StyleClasses.of(calendar, "-entry-small-title-label")); //$NON-NLS-1$
+                StyleClasses.setAll(timeLabel.getStyleClass(),
+                        "default-style-entry-small-time-label", //$NON-NLS-1$
+                        StyleClasses.of(calendar, "-entry-small-time-label")); //$NON-NLS-1$
             }
         } else {
             // Calendar might be null when the entry is a "dummy" entry.
             // color dot style
-            colorDot.getStyleClass().setAll("default-style-icon-small"); //$NON-NLS-1$
-
-            // title style
-            titleLabel.getStyleClass()
-                    .setAll("default-style-entry-small-title-label"); //$NON-NLS-1$
-
-            // time label style
-            timeLabel.getStyleClass()
-                    .setAll("default-style-entry-small-time-label"); //$NON-NLS-1$
+            StyleClasses.setAll(colorDot.getStyleClass(), "default-style-icon-small"); //$NON-NLS-1$
 
-            // title style
+            // title and time label style
             if (entry.isMultiDay() || entry.isFullDay()) {
-                titleLabel.getStyleClass().addAll(
+                StyleClasses.setAll(titleLabel.getStyleClass(),
+                        "default-style-entry-small-title-label", //$NON-NLS-1$
                         "default-style-entry-small-title-label-full-day"); //$NON-NLS-1$
-                timeLabel.getStyleClass().addAll(
+                StyleClasses.setAll(timeLabel.getStyleClass(),
+                        "default-style-entry-small-time-label", //$NON-NLS-1$
                         "default-style-entry-small-time-label-full-day"); //$NON-NLS-1$
+            } else {
+                StyleClasses.setAll(titleLabel.getStyleClass(),
+                        "default-style-entry-small-title-label"); //$NON-NLS-1$
+                StyleClasses.setAll(timeLabel.getStyleClass(),
+                        "default-style-entry-small-time-label"); //$NON-NLS-1$
             }
         }
 
@@ -211,8 +224,9 @@ public class MonthEntryViewSkin extends SkinBase<MonthEntryView> {
             break;
         }
 
-        styleClass.add("default-style-entry-small-"
-                + view.getPosition().toString().toLowerCase());
+        styleClass.add(POSITION_STYLE_CLASSES.get(view.getPosition()));
+
+        StyleClasses.setAll(view.getStyleClass(), styleClass);
 
         // time label text
         if (!entry.isFullDay()) {
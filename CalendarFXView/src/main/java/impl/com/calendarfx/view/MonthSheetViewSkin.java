@@ -21,6 +21,7 @@ import com.calendarfx.model.CalendarEvent;
 import com.calendarfx.model.CalendarSource;
 import com.calendarfx.model.Entry;
 import com.calendarfx.util.LoggingDomain;
+import com.calendarfx.util.metrics.Metrics;
 import com.calendarfx.view.DateControl;
 import com.calendarfx.view.DateSelectionModel;
 import com.calendarfx.view.MonthSheetView;
@@ -418,6 +419,11 @@ public class MonthSheetViewSkin extends DateControlSkin<MonthSheetView> implemen
 
     private final WeakEventHandler<MouseEvent> weakCellClickedHandler = new WeakEventHandler<>(cellClickedHandler);
 
+    @Override
+    protected void refreshData() {
+        updateEntries("refreshData() called");
+    }
+
     @Override
     protected void calendarChanged(Calendar calendar) {
         updateEntries("calendar changed");
@@ -448,6 +454,8 @@ public class MonthSheetViewSkin extends DateControlSkin<MonthSheetView> implemen
             LoggingDomain.VIEW.fine("updating entries because: " + reason);
         }
 
+        long startNanos = System.nanoTime();
+
         dataMap.clear();
         dataLoader.loadEntries(dataMap);
 
@@ -456,6 +464,10 @@ public class MonthSheetViewSkin extends DateControlSkin<MonthSheetView> implemen
             DateCell cell = cellMap.get(date);
             cell.updateEntries(entries == null ? Collections.emptyList() : entries);
         }
+
+        if (Metrics.isEnabled()) {
+            Metrics.timer(Metrics.UPDATE_ENTRIES, "view", getLoaderName()).stop(startNanos); //$NON-NLS-1$
+        }
     }
 
     @Override
@@ -22,6 +22,7 @@ import com.calendarfx.model.CalendarSource;
 import com.calendarfx.model.Entry;
 import com.calendarfx.util.LoggingDomain;
 import com.calendarfx.util.Util;
+import com.calendarfx.util.metrics.Metrics;
 import com.calendarfx.view.EntryViewBase.Position;
 import com.calendarfx.view.Messages;
 import com.calendarfx.view.MonthEntryView;
@@ -294,6 +295,8 @@ public class MonthViewSkin extends DateControlSkin<MonthView> implements LoadDat
             return;
         }
 
+        long startNanos = System.nanoTime();
+
         Map<LocalDate, List<Entry<?>>> dataMap = new HashMap<>();
         dataLoader.loadEntries(dataMap);
 
@@ -394,6 +397,10 @@ public class MonthViewSkin extends DateControlSkin<MonthView> implements LoadDat
         }
 
         LoggingDomain.VIEW.fine("updated entries in month view " + getSkinnable().getYearMonth() + ": reason = " + reason);
+
+        if (Metrics.isEnabled()) {
+            Metrics.timer(Metrics.UPDATE_ENTRIES, "view", getLoaderName()).stop(startNanos); //$NON-NLS-1$
+        }
     }
 
     @Override
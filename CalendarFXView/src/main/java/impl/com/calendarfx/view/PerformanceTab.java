@@ -0,0 +1,294 @@
+/*
+ *  Copyright (C) 2017 Dirk Lemmermann Software & Consulting (dlsc.com)
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *          http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+
+package impl.com.calendarfx.view;
+
+import com.calendarfx.util.metrics.Counter;
+import com.calendarfx.util.metrics.Histogram;
+import com.calendarfx.util.metrics.Metrics;
+import com.calendarfx.util.metrics.MetricsSink;
+import com.calendarfx.view.DeveloperConsole;
+import impl.com.calendarfx.view.util.RingBuffer;
+import javafx.animation.Animation;
+import javafx.animation.AnimationTimer;
+import javafx.animation.KeyFrame;
+import javafx.animation.Timeline;
+import javafx.collections.ObservableList;
+import javafx.scene.chart.LineChart;
+import javafx.scene.chart.NumberAxis;
+import javafx.scene.chart.XYChart;
+import javafx.scene.control.Button;
+import javafx.scene.control.Label;
+import javafx.scene.control.ScrollPane;
+import javafx.scene.control.Separator;
+import javafx.scene.control.Tab;
+import javafx.scene.control.ToolBar;
+import javafx.scene.layout.BorderPane;
+import javafx.scene.layout.ColumnConstraints;
+import javafx.scene.layout.GridPane;
+import javafx.util.Duration;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * A tab for the developer console showing live charts of the data load
+ * durations, the number of loaded entries, the number of generated
+ * recurrences, the event dispatch rates, and the pulse intervals. The values
+ * are collected via a {@link MetricsSink} into ring buffers. The sink is only
+ * registered while the console is showing, so the tab has no impact on an
+ * application that does not display the console.
+ */
+public final class PerformanceTab extends Tab {
+
+    private static final int CAPACITY = 300;
+
+    private static final long WINDOW_MILLIS = 120_000;
+
+    private static final String TOTAL = "Total"; //$NON-NLS-1$
+
+    private final DeveloperConsole console;
+
+    private final Map<String, RingBuffer> loadDurations = new ConcurrentHashMap<>();
+    private final Map<String, RingBuffer> loadedEntries = new ConcurrentHashMap<>();
+    private final Map<String, RingBuffer> recurrences = new ConcurrentHashMap<>();
+    private final Map<String, RingBuffer> eventRates = new ConcurrentHashMap<>();
+    private final Map<String, RingBuffer> pulseIntervals = new ConcurrentHashMap<>();
+
+    private final Map<String, LongAdder> eventCounts = new ConcurrentHashMap<>();
+    private final LongAdder recurrenceCount = new LongAdder();
+
+    private final LineChart<Number, Number> loadDurationChart = createChart("Load Duration (ms)"); //$NON-NLS-1$
+    private final LineChart<Number, Number> loadedEntriesChart = createChart("Entries per Load"); //$NON-NLS-1$
+    private final LineChart<Number, Number> recurrenceChart = createChart("Recurrences Generated per Second"); //$NON-NLS-1$
+    private final LineChart<Number, Number> eventRateChart = createChart("Calendar Events per Second"); //$NON-NLS-1$
+    private final LineChart<Number, Number> pulseChart = createChart("Pulse Interval (ms)"); //$NON-NLS-1$
+
+    private final MetricsSink sink = new MetricsSink() {
+
+        @Override
+        public void counted(Counter counter, long delta) {
+            switch (counter.getName()) {
+                case Metrics.EVENTS:
+                    eventCounts.computeIfAbsent(counter.getTags().get("type"), it -> new LongAdder()).add(delta); //$NON-NLS-1$
+                    break;
+                case Metrics.RECURRENCE_INSTANCES:
+                    recurrenceCount.add(delta);
+                    break;
+                default:
+                    break;
+            }
+        }
+
+        @Override
+        public void recorded(Histogram histogram, long value) {
+            switch (histogram.getName()) {
+                case Metrics.LOAD:
+                    buffer(loadDurations, histogram.getTags().get("loader")).add(System.currentTimeMillis(), value / 1_000_000d); //$NON-NLS-1$
+                    break;
+                case Metrics.LOAD_ENTRIES:
+                    buffer(loadedEntries, histogram.getTags().get("loader")).add(System.currentTimeMillis(), value); //$NON-NLS-1$
+                    break;
+                default:
+                    break;
+            }
+        }
+    };
+
+    /*
+     * An animation timer gets invoked once per pulse, so the time between two
+     * invocations is the pulse interval. A pulse that takes long because of
+     * expensive CSS or layout work shows up as a spike.
+     */
+    private final AnimationTimer pulseTimer = new AnimationTimer() {
+
+        private long lastPulse;
+
+        @Override
+        public void handle(long now) {
+            if (lastPulse > 0) {
+                buffer(pulseIntervals, TOTAL).add(System.currentTimeMillis(), (now - lastPulse) / 1_000_000d);
+            }
+            lastPulse = now;
+        }
+
+        @Override
+        public void stop() {
+            super.stop();
+            lastPulse = 0;
+        }
+    };
+
+    private final Timeline sampler = new Timeline(new KeyFrame(Duration.seconds(1), evt -> sample()));
+
+    private boolean attached;
+
+    public PerformanceTab(DeveloperConsole console) {
+        super("Performance"); //$NON-NLS-1$
+
+        this.console = requireNonNull(console);
+
+        GridPane gridPane = new GridPane();
+        gridPane.add(loadDurationChart, 0, 0);
+        gridPane.add(loadedEntriesChart, 1, 0);
+        gridPane.add(recurrenceChart, 0, 1);
+        gridPane.add(eventRateChart, 1, 1);
+        gridPane.add(pulseChart, 0, 2);
+
+        ColumnConstraints columnConstraints = new ColumnConstraints();
+        columnConstraints.setPercentWidth(50);
+        gridPane.getColumnConstraints().setAll(columnConstraints, columnConstraints);
+
+        ScrollPane scrollPane = new ScrollPane(gridPane);
+        scrollPane.setFitToWidth(true);
+
+        Button clear = new Button("Clear"); //$NON-NLS-1$
+        clear.setOnAction(evt -> clear());
+
+        ToolBar toolBar = new ToolBar();
+        toolBar.getItems().addAll(clear, new Separator(), new Label("Showing the last " + WINDOW_MILLIS / 1000 + " seconds")); //$NON-NLS-1$ //$NON-NLS-2$
+
+        BorderPane borderPane = new BorderPane();
+        borderPane.setCenter(scrollPane);
+        borderPane.setBottom(toolBar);
+
+        setContent(borderPane);
+
+        sampler.setCycleCount(Animation.INDEFINITE);
+
+        console.sceneProperty().addListener(it -> updateAttachment());
+        selectedProperty().addListener(it -> updateAttachment());
+
+        updateAttachment();
+    }
+
+    private void updateAttachment() {
+        boolean showing = console.getScene() != null;
+
+        if (showing && !attached) {
+            Metrics.addSink(sink);
+            sampler.play();
+            attached = true;
+        } else if (!showing && attached) {
+            Metrics.removeSink(sink);
+            sampler.stop();
+            attached = false;
+        }
+
+        if (attached && isSelected()) {
+            pulseTimer.start();
+            updateCharts();
+        } else {
+            pulseTimer.stop();
+        }
+    }
+
+    private void sample() {
+        long now = System.currentTimeMillis();
+
+        eventCounts.forEach((type, count) -> buffer(eventRates, type).add(now, count.sumThenReset()));
+        buffer(recurrences, TOTAL).add(now, recurrenceCount.sumThenReset());
+
+        if (isSelected()) {
+            updateCharts();
+        }
+    }
+
+    private void updateCharts() {
+        long now = System.currentTimeMillis();
+
+        updateChart(loadDurationChart, loadDurations, now);
+        updateChart(loadedEntriesChart, loadedEntries, now);
+        updateChart(recurrenceChart, recurrences, now);
+        updateChart(eventRateChart, eventRates, now);
+        updateChart(pulseChart, pulseIntervals, now);
+    }
+
+    private void clear() {
+        loadDurations.clear();
+        loadedEntries.clear();
+        recurrences.clear();
+        eventRates.clear();
+        pulseIntervals.clear();
+
+        for (LineChart<Number, Number> chart : getCharts()) {
+            chart.getData().clear();
+        }
+    }
+
+    private List<LineChart<Number, Number>> getCharts() {
+        List<LineChart<Number, Number>> charts = new ArrayList<>();
+        charts.add(loadDurationChart);
+        charts.add(loadedEntriesChart);
+        charts.add(recurrenceChart);
+        charts.add(eventRateChart);
+        charts.add(pulseChart);
+        return charts;
+    }
+
+    private static RingBuffer buffer(Map<String, RingBuffer> buffers, String key) {
+        return buffers.computeIfAbsent(key == null ? TOTAL : key, it -> new RingBuffer(CAPACITY));
+    }
+
+    private static void updateChart(LineChart<Number, Number> chart, Map<String, RingBuffer> buffers, long now) {
+        Map<String, XYChart.Series<Number, Number>> seriesMap = new HashMap<>();
+        for (XYChart.Series<Number, Number> series : chart.getData()) {
+            seriesMap.put(series.getName(), series);
+        }
+
+        buffers.forEach((name, buffer) -> {
+            XYChart.Series<Number, Number> series = seriesMap.get(name);
+            if (series == null) {
+                series = new XYChart.Series<>();
+                series.setName(name);
+                chart.getData().add(series);
+            }
+
+            List<XYChart.Data<Number, Number>> data = new ArrayList<>(buffer.size());
+            buffer.forEach((timestamp, value) -> {
+                if (now - timestamp <= WINDOW_MILLIS) {
+                    data.add(new XYChart.Data<>((timestamp - now) / 1000d, value));
+                }
+            });
+
+            ObservableList<XYChart.Data<Number, Number>> seriesData = series.getData();
+            seriesData.setAll(data);
+        });
+    }
+
+    private static LineChart<Number, Number> createChart(String title) {
+        NumberAxis xAxis = new NumberAxis(-WINDOW_MILLIS / 1000d, 0, 10);
+        xAxis.setLabel("Seconds"); //$NON-NLS-1$
+
+        NumberAxis yAxis = new NumberAxis();
+        yAxis.setForceZeroInRange(true);
+
+        LineChart<Number, Number> chart = new LineChart<>(xAxis, yAxis);
+        chart.setTitle(title);
+        chart.setAnimated(false);
+        chart.setCreateSymbols(false);
+        chart.setPrefHeight(250);
+
+        return chart;
+    }
+}
@@ -74,6 +74,8 @@ public class TimeScaleViewSkin<T extends TimeScaleView>
                 .addListener(it -> updateCurrentTimeMarkerVisibility());
         setupCurrentTimeMarkerSupport();
         updateShowMarkers();
+
+        view.timeProperty().addListener(it -> layoutCurrentTimeLabel());
     }
 
     private void updateCurrentTimeMarkerVisibility() {
@@ -115,12 +117,10 @@ public class TimeScaleViewSkin<T extends TimeScaleView>
 
         int labelCount = labels.size();
 
-        // now label
-        LocalTime now = getSkinnable().getTime();
-        currentTimeLabel
-                .setText(now.format(getSkinnable().getDateTimeFormatter()));
-        placeLabel(currentTimeLabel, now, contentX, contentY, contentWidth,
-                contentHeight);
+        labelX = contentX;
+        labelY = contentY;
+        labelWidth = contentWidth;
+        labelHeight = contentHeight;
 
         // hour labels
         LocalTime startTime = getSkinnable().getStartTime();
@@ -135,8 +135,52 @@ public class TimeScaleViewSkin<T extends TimeScaleView>
             placeLabel(label, time, contentX, contentY, contentWidth,
                     contentHeight);
 
-            Bounds localToParent1 = currentTimeLabel
-                    .localToParent(currentTimeLabel.getLayoutBounds());
+            if (time.isBefore(startTime)
+                    && !label.getStyleClass().contains(EARLY_HOUR_LATER)) {
+                label.getStyleClass().add(EARLY_HOUR_LATER);
+            }
+            if (time.isAfter(endTime)
+                    && !label.getStyleClass().contains(LATE_HOUR_LATER)) {
+                label.getStyleClass().add(LATE_HOUR_LATER);
+            }
+        }
+
+        layoutCurrentTimeLabel();
+
+        currentTimeLabel.toFront();
+    }
+
+    /*
+     * The content area of the last layout pass, used for placing the current
+     * time label without laying out the hour labels again.
+     */
+    private double labelX;
+    private double labelY;
+    private double labelWidth;
+    private double labelHeight;
+
+    /*
+     * Places the unmanaged current time label and hides the hour labels that
+     * it covers. Called when the time changes, which does not require a
+     * layout pass of the whole scale.
+     */
+    private void layoutCurrentTimeLabel() {
+        LocalTime now = getSkinnable().getTime();
+        currentTimeLabel
+                .setText(now.format(getSkinnable().getDateTimeFormatter()));
+        placeLabel(currentTimeLabel, now, labelX, labelY, labelWidth,
+                labelHeight);
+
+        LocalTime startTime = getSkinnable().getStartTime();
+        LocalTime endTime = getSkinnable().getEndTime();
+
+        Bounds localToParent1 = currentTimeLabel
+                .localToParent(currentTimeLabel.getLayoutBounds());
+
+        for (int hour = 0; hour < labels.size(); hour++) {
+            LocalTime time = LocalTime.of(hour + 1, 0);
+            Label label = labels.get(hour);
+
             Bounds localToParent2 = label
                     .localToParent(label.getLayoutBounds());
 
@@ -148,15 +192,6 @@ public class TimeScaleViewSkin<T extends TimeScaleView>
                 label.setVisible(true);
             }
 
-            if (time.isBefore(startTime)
-                    && !label.getStyleClass().contains(EARLY_HOUR_LATER)) {
-                label.getStyleClass().add(EARLY_HOUR_LATER);
-            }
-            if (time.isAfter(endTime)
-                    && !label.getStyleClass().contains(LATE_HOUR_LATER)) {
-                label.getStyleClass().add(LATE_HOUR_LATER);
-            }
-
             if (label.isVisible()) {
                 switch (getSkinnable().getEarlyLateHoursStrategy()) {
                 case HIDE:
@@ -174,8 +209,6 @@ public class TimeScaleViewSkin<T extends TimeScaleView>
                 }
             }
         }
-
-        currentTimeLabel.toFront();
     }
 
     private void placeLabel(Label label, LocalTime time, double contentX,
@@ -28,6 +28,7 @@ public class YearPageSkin extends PageBaseSkin<YearPage> {
 
     private YearView yearView;
     private MonthSheetView sheetView;
+    private StackPane stackPane;
 
     public YearPageSkin(YearPage view) {
         super(view);
@@ -41,6 +42,11 @@ public class YearPageSkin extends PageBaseSkin<YearPage> {
     private void updateVisibility() {
         switch (getSkinnable().getDisplayMode()) {
             case COLUMNS:
+                if (sheetView == null) {
+                    sheetView = getSkinnable().getMonthSheetView();
+                    sheetView.setMaxSize(Double.MAX_VALUE, Double.MAX_VALUE);
+                    stackPane.getChildren().add(sheetView);
+                }
                 yearView.setManaged(false);
                 yearView.setVisible(false);
                 sheetView.setManaged(true);
@@ -49,8 +55,10 @@ public class YearPageSkin extends PageBaseSkin<YearPage> {
             case GRID:
                 yearView.setManaged(true);
                 yearView.setVisible(true);
-                sheetView.setManaged(false);
-                sheetView.setVisible(false);
+                if (sheetView != null) {
+                    sheetView.setManaged(false);
+                    sheetView.setVisible(false);
+                }
                 break;
         }
     }
@@ -70,15 +78,16 @@ public class YearPageSkin extends PageBaseSkin<YearPage> {
 
     @Override
     protected Node createContent() {
-        StackPane stackPane = new StackPane();
-
-        this.sheetView = getSkinnable().getMonthSheetView();
-        this.sheetView.setMaxSize(Double.MAX_VALUE, Double.MAX_VALUE);
+        this.stackPane = new StackPane();
 
+        /*
+         * The month sheet view only gets created when the display mode gets
+         * switched to columns for the first time.
+         */
         this.yearView = getSkinnable().getYearView();
         this.yearView.setMaxSize(Double.MAX_VALUE, Double.MAX_VALUE);
 
-        stackPane.getChildren().addAll(yearView, sheetView);
+        stackPane.getChildren().add(yearView);
 
         return stackPane;
     }
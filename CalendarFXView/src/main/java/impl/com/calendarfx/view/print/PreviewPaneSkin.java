@@ -23,11 +23,16 @@ import com.calendarfx.view.print.ZoomPane;
 import de.jensd.fx.glyphs.fontawesome.FontAwesomeIcon;
 import de.jensd.fx.glyphs.fontawesome.FontAwesomeIconView;
 import javafx.beans.binding.Bindings;
+import javafx.geometry.Insets;
 import javafx.geometry.Pos;
 import javafx.scene.control.Button;
 import javafx.scene.control.Label;
+import javafx.scene.control.ListCell;
+import javafx.scene.control.ListView;
 import javafx.scene.control.SkinBase;
 import javafx.scene.control.Slider;
+import javafx.scene.image.Image;
+import javafx.scene.image.ImageView;
 import javafx.scene.layout.BorderPane;
 import javafx.scene.layout.HBox;
 
@@ -67,13 +72,41 @@ public class PreviewPaneSkin extends SkinBase<PreviewPane> {
         bottom.setAlignment(Pos.CENTER_RIGHT);
         bottom.getStyleClass().add("footer");
 
+        ListView<Image> thumbnails = new ListView<>(control.getThumbnails());
+        thumbnails.getStyleClass().add("thumbnails");
+        thumbnails.setCellFactory(view -> new ThumbnailCell());
+        thumbnails.visibleProperty().bind(control.showThumbnailsProperty());
+        thumbnails.managedProperty().bind(control.showThumbnailsProperty());
+        thumbnails.getSelectionModel().selectedIndexProperty().addListener(it -> {
+            int index = thumbnails.getSelectionModel().getSelectedIndex();
+            if (index >= 0) {
+                page.showPage(index + 1);
+            }
+        });
+        page.pageNumberProperty().addListener(it -> thumbnails.getSelectionModel().select(page.getPageNumber() - 1));
+
         BorderPane container = new BorderPane();
         container.getStyleClass().add("container");
+        container.setLeft(thumbnails);
+        BorderPane.setMargin(thumbnails, new Insets(0, 10, 0, 0));
         container.setCenter(center);
         container.setBottom(bottom);
 
         getChildren().add(container);
     }
 
+    private static class ThumbnailCell extends ListCell<Image> {
+
+        private final ImageView imageView = new ImageView();
+
+        @Override
+        protected void updateItem(Image item, boolean empty) {
+            super.updateItem(item, empty);
+
+            imageView.setImage(item);
+            setGraphic(empty ? null : imageView);
+        }
+    }
+
 }
 
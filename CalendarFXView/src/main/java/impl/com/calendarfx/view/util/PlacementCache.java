@@ -0,0 +1,115 @@
+/*
+ *  Copyright (C) 2017 Dirk Lemmermann Software & Consulting (dlsc.com)
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *          http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+
+package impl.com.calendarfx.view.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Keeps the placements of entry views found by the last layout pass, one
+ * result per group of views laid out next to each other (e.g. one group per
+ * calendar for a swimlane layout). The placements only depend on the views
+ * and their visibility, the column indices and counts stay the same when the
+ * size of the view changes. Anything else that influences the placements,
+ * e.g. an entry that got moved, has to {@link #invalidate()} the cache.
+ *
+ * @param <V> the type of the views
+ * @param <R> the type of the placements
+ */
+public final class PlacementCache<V, R> {
+
+    private final Predicate<V> visible;
+
+    private final Function<List<V>, R> resolver;
+
+    private final List<Group> groups = new ArrayList<>();
+
+    /**
+     * Constructs a new cache.
+     *
+     * @param visible  the predicate used to determine whether a view is visible
+     * @param resolver the function used to compute the placements of a group
+     */
+    public PlacementCache(Predicate<V> visible, Function<List<V>, R> resolver) {
+        this.visible = visible;
+        this.resolver = resolver;
+    }
+
+    /**
+     * Drops all cached placements.
+     */
+    public void invalidate() {
+        groups.clear();
+    }
+
+    /**
+     * Returns the placements of the given group of views. They only get
+     * computed if the cache has been invalidated, or if the views or their
+     * visibility are not the same as the last time.
+     *
+     * @param views the views of the group
+     * @param group the index of the group
+     * @return the placements
+     */
+    public R get(List<V> views, int group) {
+        while (groups.size() <= group) {
+            groups.add(null);
+        }
+
+        Group cached = groups.get(group);
+        if (cached == null || !cached.isValidFor(views)) {
+            cached = new Group(views);
+            cached.placements = resolver.apply(views);
+            groups.set(group, cached);
+        }
+
+        return cached.placements;
+    }
+
+    private final class Group {
+
+        private final List<V> views;
+
+        private final boolean[] visibilities;
+
+        private R placements;
+
+        Group(List<V> views) {
+            this.views = new ArrayList<>(views);
+            this.visibilities = new boolean[views.size()];
+            for (int i = 0; i < visibilities.length; i++) {
+                visibilities[i] = visible.test(views.get(i));
+            }
+        }
+
+        boolean isValidFor(List<V> otherViews) {
+            if (otherViews.size() != views.size()) {
+                return false;
+            }
+            for (int i = 0; i < visibilities.length; i++) {
+                V view = otherViews.get(i);
+                if (view != views.get(i) || visible.test(view) != visibilities[i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
@@ -16,6 +16,8 @@
 
 package impl.com.calendarfx.view.util;
 
+import com.calendarfx.util.metrics.Metrics;
+import com.calendarfx.view.DateControl;
 import com.calendarfx.view.EntryViewBase;
 
 import java.util.ArrayList;
@@ -30,6 +32,8 @@ public final class Resolver {
 
     public static <T extends EntryViewBase<?>> List<Placement> resolve(
             List<T> entryViews) {
+        long startNanos = System.nanoTime();
+
         Collections.sort(entryViews);
 
         List<Placement> placements = new ArrayList<>();
@@ -52,6 +56,12 @@ public final class Resolver {
             placements.addAll(c.resolve());
         }
 
+        if (Metrics.isEnabled() && !entryViews.isEmpty()) {
+            DateControl control = entryViews.get(0).getDateControl();
+            String viewName = control == null ? "none" : control.getClass().getSimpleName(); //$NON-NLS-1$
+            Metrics.timer(Metrics.RESOLVE, "view", viewName).stop(startNanos); //$NON-NLS-1$
+        }
+
         return placements;
     }
 }
@@ -0,0 +1,85 @@
+/*
+ *  Copyright (C) 2017 Dirk Lemmermann Software & Consulting (dlsc.com)
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *          http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+
+package impl.com.calendarfx.view.util;
+
+/**
+ * A fixed size buffer of time stamped values. Once the buffer is full the
+ * oldest values get overwritten, so adding a value never allocates memory.
+ * The buffer is thread safe as values may get recorded on any thread.
+ */
+public final class RingBuffer {
+
+    private final long[] timestamps;
+
+    private final double[] values;
+
+    private int next;
+
+    private int size;
+
+    public RingBuffer(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity must be larger than 0 but was " + capacity); //$NON-NLS-1$
+        }
+
+        this.timestamps = new long[capacity];
+        this.values = new double[capacity];
+    }
+
+    public int getCapacity() {
+        return values.length;
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+
+    public synchronized void add(long timestamp, double value) {
+        timestamps[next] = timestamp;
+        values[next] = value;
+        next = (next + 1) % values.length;
+        size = Math.min(size + 1, values.length);
+    }
+
+    public synchronized void clear() {
+        next = 0;
+        size = 0;
+    }
+
+    /**
+     * Passes all values, oldest first, to the given consumer.
+     *
+     * @param consumer the consumer receiving timestamp and value
+     */
+    public synchronized void forEach(ValueConsumer consumer) {
+        int start = (next - size + values.length) % values.length;
+        for (int i = 0; i < size; i++) {
+            int index = (start + i) % values.length;
+            consumer.accept(timestamps[index], values[index]);
+        }
+    }
+
+    /**
+     * Receives the time stamped values of a ring buffer.
+     */
+    @FunctionalInterface
+    public interface ValueConsumer {
+
+        void accept(long timestamp, double value);
+    }
+}
@@ -0,0 +1,79 @@
+/*
+ *  Copyright (C) 2017 Dirk Lemmermann Software & Consulting (dlsc.com)
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *          http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package impl.com.calendarfx.view.util;
+
+import com.calendarfx.model.Calendar;
+import javafx.collections.ObservableList;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Style class support for the entry views. The names of the style classes
+ * derived from the style of a calendar (e.g. "style1-entry-small") get built
+ * once per style and suffix and are interned, so that the views of a calendar
+ * all share the same strings. Style classes only get replaced when they
+ * actually differ, because every change of the style classes of a node makes
+ * JavaFX apply the CSS of the node and its children again.
+ */
+public final class StyleClasses {
+
+    private static final Map<String, Map<String, String>> CALENDAR_STYLE_CLASSES = new HashMap<>();
+
+    private StyleClasses() {
+    }
+
+    /**
+     * Returns the style class made of the style of the given calendar and the
+     * given suffix.
+     *
+     * @param calendar the calendar
+     * @param suffix   the suffix, e.g. "-entry-small"
+     * @return the interned style class
+     */
+    public static String of(Calendar calendar, String suffix) {
+        return CALENDAR_STYLE_CLASSES
+                .computeIfAbsent(calendar.getStyle(), style -> new HashMap<>())
+                .computeIfAbsent(suffix, key -> (calendar.getStyle() + key).intern());
+    }
+
+    /**
+     * Sets the given style classes unless the list already contains exactly
+     * these classes in the same order.
+     *
+     * @param styleClass   the style classes of a node
+     * @param styleClasses the new style classes
+     */
+    public static void setAll(ObservableList<String> styleClass, String... styleClasses) {
+        setAll(styleClass, Arrays.asList(styleClasses));
+    }
+
+    /**
+     * Sets the given style classes unless the list already contains exactly
+     * these classes in the same order.
+     *
+     * @param styleClass   the style classes of a node
+     * @param styleClasses the new style classes
+     */
+    public static void setAll(ObservableList<String> styleClass, List<String> styleClasses) {
+        if (!styleClass.equals(styleClasses)) {
+            styleClass.setAll(styleClasses);
+        }
+    }
+}
@@ -0,0 +1,249 @@
+/*
+ *  Copyright (C) 2017 Dirk Lemmermann Software & Consulting (dlsc.com)
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *          http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+
+package com.calendarfx.model;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+
+public class CalendarSourceSnapshotTest {
+
+    private static final ZoneId BERLIN = ZoneId.of("Europe/Berlin");
+
+    private Path file;
+
+    @Before
+    public void setup() throws IOException {
+        file = Files.createTempFile("calendarfx", ".snapshot");
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    @Test
+    public void shouldRestoreCalendarsAndEntries() throws IOException {
+        // given
+        Calendar work = new Calendar("Work");
+        work.setShortName("W");
+        work.setStyle(Calendar.Style.STYLE3);
+        work.setReadOnly(true);
+
+        Entry<?> meeting = new Entry<>("Meeting", new Interval(LocalDate.of(2017, 3, 26), LocalTime.of(1, 30), LocalDate.of(2017, 3, 26), LocalTime.of(4, 0), BERLIN));
+        meeting.setLocation("Room 1");
+        meeting.setMinimumDuration(Duration.ofMinutes(30));
+        meeting.setRecurrenceRule("RRULE:FREQ=WEEKLY;BYDAY=SU;COUNT=10");
+        work.addEntry(meeting);
+
+        Entry<?> holiday = new Entry<>("Holiday");
+        holiday.setInterval(LocalDate.of(2017, 4, 14));
+        holiday.setFullDay(true);
+        work.addEntry(holiday);
+
+        CalendarSource source = new CalendarSource("Source");
+        source.getCalendars().addAll(work, new Calendar("Empty"));
+
+        // when
+        CalendarSourceSnapshot.write(source, file);
+        CalendarSource restored = CalendarSourceSnapshot.read(file);
+
+        // then
+        assertThat(restored.getName(), is(equalTo("Source")));
+        assertThat(restored.getCalendars().size(), is(equalTo(2)));
+
+        Calendar calendar = restored.getCalendars().get(0);
+        assertThat(calendar.getName(), is(equalTo("Work")));
+        assertThat(calendar.getShortName(), is(equalTo("W")));
+        assertThat(calendar.getStyle(), is(equalTo(work.getStyle())));
+        assertThat(calendar.isReadOnly(), is(true));
+        assertThat(restored.getCalendars().get(1).getName(), is(equalTo("Empty")));
+
+        List<Entry<?>> entries = calendar.impl_getEntries();
+        assertThat(entries.size(), is(equalTo(2)));
+
+        Entry<?> restoredMeeting = entries.get(0);
+        assertThat(restoredMeeting.getId(), is(equalTo(meeting.getId())));
+        assertThat(restoredMeeting.getTitle(), is(equalTo("Meeting")));
+        assertThat(restoredMeeting.getLocation(), is(equalTo("Room 1")));
+        assertThat(restoredMeeting.getInterval(), is(equalTo(meeting.getInterval())));
+        assertThat(restoredMeeting.getMinimumDuration(), is(equalTo(Duration.ofMinutes(30))));
+        assertThat(restoredMeeting.getRecurrenceRule(), is(equalTo(meeting.getRecurrenceRule())));
+        assertThat(restoredMeeting.getCalendar(), is(equalTo(calendar)));
+
+        Entry<?> restoredHoliday = entries.get(1);
+        assertThat(restoredHoliday.isFullDay(), is(true));
+        assertThat(restoredHoliday.getInterval(), is(equalTo(holiday.getInterval())));
+        assertThat(restoredHoliday.getLocation(), is(equalTo(null)));
+    }
+
+    @Test
+    public void shouldFindSameEntriesAfterBulkLoad() throws IOException {
+        // given
+        Random random = new Random(42);
+        Calendar calendar = new Calendar("Random");
+        LocalDate date = LocalDate.of(2017, 1, 1);
+        for (int i = 0; i < 5000; i++) {
+            LocalDate startDate = date.plusDays(random.nextInt(365));
+            LocalTime startTime = LocalTime.of(random.nextInt(20), random.nextInt(4) * 15);
+            Entry<?> entry = new Entry<>("Entry " + i % 10);
+            entry.setInterval(startDate, startTime, startDate.plusDays(random.nextInt(3)), startTime.plusHours(1 + random.nextInt(3)));
+            calendar.addEntry(entry);
+        }
+
+        CalendarSource source = new CalendarSource("Random");
+        source.getCalendars().add(calendar);
+
+        // when
+        CalendarSourceSnapshot.write(source, file);
+        Calendar restored = CalendarSourceSnapshot.read(file).getCalendars().get(0);
+
+        // then
+        for (int i = 0; i < 365; i += 7) {
+            Map<LocalDate, List<Entry<?>>> expected = calendar.findEntries(date.plusDays(i), date.plusDays(i + 6), ZoneId.systemDefault());
+            Map<LocalDate, List<Entry<?>>> actual = restored.findEntries(date.plusDays(i), date.plusDays(i + 6), ZoneId.systemDefault());
+            assertThat(ids(actual), is(equalTo(ids(expected))));
+        }
+    }
+
+    @Test
+    public void shouldSupportRemovingEntriesAfterBulkLoad() {
+        // given
+        Calendar calendar = new Calendar();
+        List<Entry<?>> entries = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            Entry<?> entry = new Entry<>("Entry " + i);
+            entry.setInterval(LocalDate.of(2017, 1, 1).plusDays(i));
+            entries.add(entry);
+        }
+
+        calendar.startBatchUpdates();
+        calendar.addEntries(entries);
+        calendar.stopBatchUpdates();
+
+        // when
+        for (int i = 0; i < 100; i += 2) {
+            calendar.removeEntry(entries.get(i));
+        }
+
+        // then
+        assertThat(calendar.impl_getEntries().size(), is(equalTo(50)));
+        assertThat(calendar.findEntries(LocalDate.of(2017, 1, 1), LocalDate.of(2017, 1, 1), ZoneId.systemDefault()).isEmpty(), is(true));
+        assertThat(calendar.findEntries(LocalDate.of(2017, 1, 2), LocalDate.of(2017, 1, 2), ZoneId.systemDefault()).size(), is(equalTo(1)));
+    }
+
+    @Test
+    public void shouldNotReuseRestoredIds() throws IOException {
+        // given
+        Calendar calendar = new Calendar("Calendar");
+        calendar.addEntry(new Entry<>("Restored", new Interval(), "1000000000"));
+        calendar.addEntry(new Entry<>("Other", new Interval(), "other"));
+
+        CalendarSource source = new CalendarSource("Source");
+        source.getCalendars().add(calendar);
+
+        CalendarSourceSnapshot.write(source, file);
+        CalendarSourceSnapshot.read(file);
+
+        // when
+        Entry<?> entry = new Entry<>("New");
+
+        // then
+        assertThat(Long.parseLong(entry.getId()) > 1000000000L, is(true));
+    }
+
+    @Test
+    public void shouldRestoreEntryWithoutTitle() throws IOException {
+        // given
+        Entry<?> entry = new Entry<>("Title");
+        entry.setTitle(null);
+
+        Calendar calendar = new Calendar("Calendar");
+        calendar.addEntry(entry);
+
+        CalendarSource source = new CalendarSource("Source");
+        source.getCalendars().add(calendar);
+
+        // when
+        CalendarSourceSnapshot.write(source, file);
+        Calendar restored = CalendarSourceSnapshot.read(file).getCalendars().get(0);
+
+        // then
+        Entry<?> restoredEntry = restored.impl_getEntries().get(0);
+        assertThat(restoredEntry.getId(), is(equalTo(entry.getId())));
+        assertThat(restoredEntry.getTitle(), is(equalTo("Untitled")));
+    }
+
+    @Test(expected = IOException.class)
+    public void shouldRejectNewerVersion() throws IOException {
+        // given
+        try (OutputStream out = Files.newOutputStream(file)) {
+            ByteBuffer buffer = ByteBuffer.allocate(6);
+            buffer.putInt(0x43465853);
+            buffer.putShort((short) (CalendarSourceSnapshot.VERSION + 1));
+            out.write(buffer.array());
+        }
+
+        // when
+        CalendarSourceSnapshot.read(file);
+    }
+
+    @Test(expected = IOException.class)
+    public void shouldRejectTruncatedFile() throws IOException {
+        // given
+        CalendarSource source = new CalendarSource("Source");
+        source.getCalendars().add(new Calendar("Calendar"));
+        CalendarSourceSnapshot.write(source, file);
+        byte[] bytes = Files.readAllBytes(file);
+        Files.write(file, Arrays.copyOf(bytes, bytes.length - 3));
+
+        // when
+        CalendarSourceSnapshot.read(file);
+    }
+
+    private static Map<LocalDate, List<String>> ids(Map<LocalDate, List<Entry<?>>> entries) {
+        Map<LocalDate, List<String>> result = new TreeMap<>();
+        entries.forEach((date, list) -> {
+            List<String> ids = new ArrayList<>();
+            list.forEach(entry -> ids.add(entry.getId()));
+            ids.sort(null);
+            result.put(date, ids);
+        });
+        return result;
+    }
+}
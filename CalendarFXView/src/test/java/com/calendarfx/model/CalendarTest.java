@@ -16,12 +16,17 @@
 
 package com.calendarfx.model;
 
+import com.calendarfx.util.metrics.Histogram;
+import com.calendarfx.util.metrics.Metrics;
+import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
 
 import java.time.LocalDate;
 import java.time.LocalTime;
 import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 
@@ -47,6 +52,11 @@ public class CalendarTest {
         recurrence = (Entry<String>) entries.get(today).get(0);
     }
 
+    @After
+    public void tearDown() {
+        Metrics.setEnabled(false);
+    }
+
     @Test
     public void shouldUpdateRecurrenceSourceTitle() {
         // given
@@ -242,6 +252,119 @@ public class CalendarTest {
         }
     }
 
+    @Test
+    public void shouldReturnRecurrencesThatStartBeforeTimeInterval() {
+        // given
+        Calendar calendar = new Calendar();
+        Entry<String> entry = new Entry<>("Three Days");
+        entry.setInterval(LocalDate.of(2017, 1, 2), LocalTime.of(8, 0), LocalDate.of(2017, 1, 4), LocalTime.of(17, 0));
+        entry.setRecurrenceRule("RRULE:FREQ=WEEKLY;COUNT=4");
+        entry.setCalendar(calendar);
+
+        // when
+        LocalDate date = LocalDate.of(2017, 1, 18);
+        Map<LocalDate, List<Entry<?>>> entries = calendar.findEntries(date, date, ZoneId.of("Europe/Berlin"));
+
+        // then the third recurrence (16th - 18th) intersects with the 18th
+        assertThat(entries.get(date).size(), is(1));
+        Entry<?> recurrence = entries.get(date).get(0);
+        assertThat(recurrence.getStartDate(), is(equalTo(LocalDate.of(2017, 1, 16))));
+        assertThat(recurrence.getEndDate(), is(equalTo(LocalDate.of(2017, 1, 18))));
+        assertThat(recurrence.getRecurrenceId(), is(equalTo("2017-01-16T00:00+01:00[Europe/Berlin]")));
+
+        // and the series ends after four recurrences
+        date = LocalDate.of(2017, 1, 30);
+        entries = calendar.findEntries(date, date.plusDays(7), ZoneId.of("Europe/Berlin"));
+        assertThat(entries.isEmpty(), is(true));
+    }
+
+    @Test
+    public void shouldReturnRecurrencesSpanningMonths() {
+        // given an entry that lasts for one month and a day
+        Calendar calendar = new Calendar();
+        Entry<String> entry = new Entry<>("Month");
+        entry.setInterval(LocalDate.of(2017, 1, 31), LocalTime.of(8, 0), LocalDate.of(2017, 3, 1), LocalTime.of(17, 0));
+        entry.setRecurrenceRule("RRULE:FREQ=MONTHLY;BYMONTHDAY=1");
+        entry.setCalendar(calendar);
+
+        // when
+        LocalDate date = LocalDate.of(2017, 4, 30);
+        Map<LocalDate, List<Entry<?>>> entries = calendar.findEntries(date, date, ZoneId.of("Europe/Berlin"));
+
+        // then the recurrence starting on March 1st ends on April 2nd
+        List<LocalDate> startDates = new ArrayList<>();
+        entries.get(date).forEach(recurrence -> startDates.add(recurrence.getStartDate()));
+        assertThat(startDates.contains(LocalDate.of(2017, 4, 1)), is(true));
+        assertThat(startDates.contains(LocalDate.of(2017, 3, 1)), is(false));
+    }
+
+    @Test
+    public void shouldReturnRecurrencesOfEntriesWithSameRule() {
+        // given two entries of the same series, one of them lasting two days
+        Calendar calendar = new Calendar();
+        Entry<String> entry1 = new Entry<>("One Day");
+        entry1.setInterval(LocalDate.of(2017, 1, 2), LocalTime.of(8, 0), LocalDate.of(2017, 1, 2), LocalTime.of(17, 0));
+        entry1.setRecurrenceRule("RRULE:FREQ=WEEKLY;BYDAY=MO");
+        entry1.setCalendar(calendar);
+
+        Entry<String> entry2 = new Entry<>("Two Days");
+        entry2.setInterval(LocalDate.of(2017, 1, 2), LocalTime.of(8, 0), LocalDate.of(2017, 1, 3), LocalTime.of(17, 0));
+        entry2.setRecurrenceRule("RRULE:FREQ=WEEKLY;BYDAY=MO");
+        entry2.setCalendar(calendar);
+
+        // when
+        LocalDate date = LocalDate.of(2017, 1, 17);
+        Map<LocalDate, List<Entry<?>>> entries = calendar.findEntries(date, date.plusDays(6), ZoneId.of("Europe/Berlin"));
+
+        // then only the two day recurrence reaches into the tuesday
+        assertThat(entries.get(date).size(), is(1));
+        assertThat(entries.get(date).get(0).getRecurrenceSourceEntry(), is(equalTo(entry2)));
+
+        // and both recur on the next monday
+        List<Entry<?>> sources = new ArrayList<>();
+        entries.get(LocalDate.of(2017, 1, 23)).forEach(recurrence -> sources.add(recurrence.getRecurrenceSourceEntry()));
+        assertThat(sources.size(), is(2));
+        assertThat(sources.contains(entry1), is(true));
+        assertThat(sources.contains(entry2), is(true));
+    }
+
+    @Test
+    public void shouldOnlyExpandSeriesThatCanHitTimeInterval() {
+        // given a weekly series, a yearly series in march, and a yearly series spanning new year
+        Metrics.setEnabled(true);
+        Calendar calendar = new Calendar("Series");
+
+        Entry<String> weekly = new Entry<>("Weekly");
+        weekly.setInterval(LocalDate.of(2017, 1, 2), LocalTime.of(8, 0), LocalDate.of(2017, 1, 2), LocalTime.of(9, 0));
+        weekly.setRecurrenceRule("RRULE:FREQ=WEEKLY");
+        weekly.setCalendar(calendar);
+
+        Entry<String> march = new Entry<>("March");
+        march.setInterval(LocalDate.of(2017, 3, 6), LocalTime.of(8, 0), LocalDate.of(2017, 3, 6), LocalTime.of(9, 0));
+        march.setRecurrenceRule("RRULE:FREQ=YEARLY");
+        march.setCalendar(calendar);
+
+        Entry<String> newYear = new Entry<>("New Year");
+        newYear.setInterval(LocalDate.of(2016, 12, 31), LocalTime.of(20, 0), LocalDate.of(2017, 1, 1), LocalTime.of(2, 0));
+        newYear.setRecurrenceRule("RRULE:FREQ=YEARLY");
+        newYear.setCalendar(calendar);
+
+        // when
+        LocalDate date = LocalDate.of(2019, 1, 1);
+        Map<LocalDate, List<Entry<?>>> entries = calendar.findEntries(date, date.plusDays(6), ZoneId.of("Europe/Berlin"));
+
+        // then the march series got examined but not expanded
+        Histogram examined = Metrics.histogram(Metrics.RECURRENCE_SERIES_EXAMINED, "calendar", "Series");
+        Histogram expanded = Metrics.histogram(Metrics.RECURRENCE_SERIES_EXPANDED, "calendar", "Series");
+        assertThat(examined.getMax(), is(3L));
+        assertThat(expanded.getMax(), is(2L));
+
+        // and the new year recurrence that started before the interval is still found
+        assertThat(entries.get(date).size(), is(1));
+        assertThat(entries.get(date).get(0).getRecurrenceSourceEntry(), is(equalTo(newYear)));
+        assertThat(entries.get(LocalDate.of(2019, 1, 7)).get(0).getRecurrenceSourceEntry(), is(equalTo(weekly)));
+    }
+
     @Test
     public void shouldBeShowing() {
         // when
@@ -259,4 +382,99 @@ public class CalendarTest {
         // then
         assertThat(showing, is(false));
     }
+
+    @Test
+    public void shouldBeShowingRecurrenceCopy() {
+        // given
+        Calendar calendar = new Calendar("Daily");
+        LocalDate date = LocalDate.of(2017, 1, 10);
+        Entry<String> daily = new Entry<>("Daily");
+        daily.changeStartDate(LocalDate.of(2017, 1, 2));
+        daily.changeEndDate(LocalDate.of(2017, 1, 2));
+        daily.setRecurrenceRule("RRULE:FREQ=DAILY;");
+        calendar.addEntry(daily);
+
+        Entry<?> recurrence = calendar.findEntries(date, date, ZoneId.systemDefault()).get(date).get(0);
+
+        // when
+        boolean showingBefore = recurrence.isShowing(date.minusDays(5), date.minusDays(1), ZoneId.systemDefault());
+        boolean showingAfter = recurrence.isShowing(date.plusDays(5), date.plusDays(6), ZoneId.systemDefault());
+
+        // then
+        assertThat(recurrence.isRecurrence(), is(true));
+        assertThat(showingBefore, is(false));
+        assertThat(showingAfter, is(true));
+    }
+
+    @Test
+    public void shouldSupportNestedBulkAdds() {
+        // given
+        Calendar calendar = new Calendar("Bulk");
+        LocalDate date = LocalDate.of(2017, 1, 2);
+
+        Entry<String> nested = new Entry<>("Nested");
+        nested.setInterval(date);
+
+        Entry<String> removed = new Entry<>("Removed");
+        removed.setInterval(date);
+
+        Entry<String> entry = new Entry<>("Entry");
+        entry.setInterval(date);
+        entry.calendarProperty().addListener(it -> {
+            calendar.addEntries(Collections.singletonList(nested));
+            calendar.removeEntry(removed);
+        });
+
+        List<Entry<?>> entries = new ArrayList<>();
+        entries.add(removed);
+        entries.add(entry);
+
+        // when
+        calendar.startBatchUpdates();
+        calendar.addEntries(entries);
+        calendar.stopBatchUpdates();
+
+        // then
+        List<Entry<?>> found = calendar.findEntries(date, date, ZoneId.systemDefault()).get(date);
+        assertThat(found.size(), is(2));
+        assertThat(found.contains(entry), is(true));
+        assertThat(found.contains(nested), is(true));
+    }
+
+    @Test
+    public void shouldSupportChangesOfPendingBulkEntries() {
+        // given
+        Calendar calendar = new Calendar("Bulk");
+        LocalDate date = LocalDate.of(2017, 1, 2);
+
+        Entry<String> moved = new Entry<>("Moved");
+        moved.setInterval(date);
+
+        Entry<String> recurring = new Entry<>("Recurring");
+        recurring.setInterval(date);
+
+        Entry<String> entry = new Entry<>("Entry");
+        entry.setInterval(date);
+        entry.calendarProperty().addListener(it -> {
+            moved.setInterval(date.plusDays(1));
+            recurring.setRecurrenceRule("RRULE:FREQ=DAILY;COUNT=3");
+        });
+
+        List<Entry<?>> entries = new ArrayList<>();
+        entries.add(moved);
+        entries.add(recurring);
+        entries.add(entry);
+
+        // when
+        calendar.startBatchUpdates();
+        calendar.addEntries(entries);
+        calendar.stopBatchUpdates();
+
+        // then
+        Map<LocalDate, List<Entry<?>>> found = calendar.findEntries(date, date.plusDays(2), ZoneId.systemDefault());
+        assertThat(calendar.impl_getEntries().size(), is(3));
+        assertThat(found.get(date).size(), is(2));
+        assertThat(found.get(date.plusDays(1)).size(), is(2));
+        assertThat(found.get(date.plusDays(2)).size(), is(1));
+    }
 }
@@ -235,6 +235,55 @@ public class EntryTest {
         assertThat(entry.getRecurrenceEnd(), is(equalTo(LocalDate.MAX)));
     }
 
+    @Test
+    public void shouldBeShowingOnRecurrenceDaysOnly() {
+        // given
+        ZoneId zoneId = ZoneId.of("UTC");
+        entry.setInterval(LocalDate.of(2017, 1, 2), LocalTime.of(10, 0), LocalDate.of(2017, 1, 2), LocalTime.of(11, 0), zoneId);
+        entry.setRecurrenceRule("RRULE:FREQ=WEEKLY;BYDAY=MO;COUNT=10");
+
+        // then
+        assertThat(entry.isShowing(LocalDate.of(2017, 1, 9), LocalDate.of(2017, 1, 9), zoneId), is(true));
+        assertThat(entry.isShowing(LocalDate.of(2017, 1, 10), LocalDate.of(2017, 1, 15), zoneId), is(false));
+        assertThat(entry.isShowing(LocalDate.of(2017, 3, 6), LocalDate.of(2017, 3, 6), zoneId), is(true));
+        assertThat(entry.isShowing(LocalDate.of(2017, 3, 13), LocalDate.of(2017, 12, 31), zoneId), is(false));
+        assertThat(entry.isShowing(LocalDate.of(2016, 1, 1), LocalDate.of(2017, 1, 1), zoneId), is(false));
+    }
+
+    @Test
+    public void shouldBeShowingMultiDayRecurrencesAcrossYears() {
+        // given
+        ZoneId zoneId = ZoneId.of("UTC");
+        entry.setInterval(LocalDate.of(2017, 12, 30), LocalTime.of(10, 0), LocalDate.of(2018, 1, 2), LocalTime.of(11, 0), zoneId);
+        entry.setRecurrenceRule("RRULE:FREQ=YEARLY");
+
+        // then the recurrence starting on december 30th reaches into january
+        assertThat(entry.isShowing(LocalDate.of(2031, 1, 2), LocalDate.of(2031, 1, 2), zoneId), is(true));
+        assertThat(entry.isShowing(LocalDate.of(2031, 1, 4), LocalDate.of(2031, 12, 29), zoneId), is(false));
+        assertThat(entry.isShowing(LocalDate.of(2031, 12, 29), LocalDate.of(2031, 12, 30), zoneId), is(true));
+    }
+
+    @Test
+    public void shouldBeShowingAfterRecurrenceRuleChange() {
+        // given
+        ZoneId zoneId = ZoneId.of("UTC");
+        entry.setInterval(LocalDate.of(2017, 1, 2), LocalTime.of(10, 0), LocalDate.of(2017, 1, 2), LocalTime.of(11, 0), zoneId);
+        entry.setRecurrenceRule("RRULE:FREQ=WEEKLY");
+        assertThat(entry.isShowing(LocalDate.of(2017, 1, 10), LocalDate.of(2017, 1, 10), zoneId), is(false));
+
+        // when
+        entry.setRecurrenceRule("RRULE:FREQ=DAILY");
+
+        // then
+        assertThat(entry.isShowing(LocalDate.of(2017, 1, 10), LocalDate.of(2017, 1, 10), zoneId), is(true));
+
+        // when
+        entry.setInterval(LocalDate.of(2017, 2, 2), LocalTime.of(10, 0), LocalDate.of(2017, 2, 2), LocalTime.of(11, 0), zoneId);
+
+        // then
+        assertThat(entry.isShowing(LocalDate.of(2017, 1, 10), LocalDate.of(2017, 1, 10), zoneId), is(false));
+    }
+
     @Test
     public void shouldReturnRecurrencesDaily() {
         // given
@@ -0,0 +1,207 @@
+/*
+ *  Copyright (C) 2017 Dirk Lemmermann Software & Consulting (dlsc.com)
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *          http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+
+package com.calendarfx.util.metrics;
+
+import com.calendarfx.model.Calendar;
+import com.calendarfx.model.Entry;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.Assert.assertThat;
+
+public class MetricsTest {
+
+    @Before
+    public void setup() {
+        Metrics.setEnabled(true);
+        Metrics.reset();
+    }
+
+    @After
+    public void tearDown() {
+        Metrics.setEnabled(false);
+        Metrics.unregisterMBean();
+    }
+
+    @Test
+    public void shouldReturnSameMetricForSameNameAndTags() {
+        // when
+        Counter counter1 = Metrics.counter("test.counter", "calendar", "Work");
+        Counter counter2 = Metrics.counter("test.counter", "calendar", "Work");
+        Counter counter3 = Metrics.counter("test.counter", "calendar", "Home");
+
+        // then
+        assertThat(counter1, is(sameInstance(counter2)));
+        assertThat(counter1 == counter3, is(false));
+        assertThat(counter1.getTags().get("calendar"), is(equalTo("Work")));
+    }
+
+    @Test
+    public void shouldCount() {
+        // given
+        Counter counter = Metrics.counter("test.count");
+
+        // when
+        counter.increment();
+        counter.increment(4);
+
+        // then
+        assertThat(counter.getCount(), is(equalTo(5L)));
+    }
+
+    @Test
+    public void shouldComputePercentiles() {
+        // given
+        Histogram histogram = Metrics.histogram("test.histogram");
+
+        // when
+        for (int i = 1; i <= 100; i++) {
+            histogram.record(i);
+        }
+
+        // then
+        assertThat(histogram.getCount(), is(equalTo(100L)));
+        assertThat(histogram.getMax(), is(equalTo(100L)));
+        assertThat(histogram.getMean(), is(equalTo(50.5)));
+        assertThat(histogram.getPercentile(50), is(equalTo(50L)));
+        assertThat(histogram.getPercentile(99), is(equalTo(99L)));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldFailForOddNumberOfTags() {
+        Metrics.counter("test.odd", "calendar");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldFailForDifferentType() {
+        Metrics.counter("test.type");
+        Metrics.timer("test.type");
+    }
+
+    @Test
+    public void shouldNotRecordWhenDisabled() {
+        // given
+        Counter counter = Metrics.counter("test.disabled");
+        Metrics.setEnabled(false);
+
+        // when
+        Metrics.counter("test.disabled").increment();
+
+        // then
+        assertThat(counter.getCount(), is(equalTo(0L)));
+    }
+
+    @Test
+    public void shouldNotNotifySinksWhenDisabled() {
+        // given
+        List<Long> values = new ArrayList<>();
+        MetricsSink sink = new MetricsSink() {
+            @Override
+            public void recorded(Histogram histogram, long value) {
+                values.add(value);
+            }
+
+            @Override
+            public void counted(Counter counter, long delta) {
+                values.add(delta);
+            }
+        };
+        Metrics.addSink(sink);
+        Metrics.setEnabled(false);
+
+        // when
+        try {
+            Metrics.histogram("test.sink").record(42);
+            Metrics.timer("test.sink.timer").stop(System.nanoTime());
+            Metrics.counter("test.sink.counter").increment();
+        } finally {
+            Metrics.removeSink(sink);
+        }
+
+        // then
+        assertThat(values.isEmpty(), is(true));
+    }
+
+    @Test
+    public void shouldNotifySinks() {
+        // given
+        List<Long> values = new ArrayList<>();
+        MetricsSink sink = new MetricsSink() {
+            @Override
+            public void recorded(Histogram histogram, long value) {
+                values.add(value);
+            }
+        };
+        Metrics.addSink(sink);
+
+        // when
+        try {
+            Metrics.histogram("test.sink").record(42);
+        } finally {
+            Metrics.removeSink(sink);
+        }
+
+        // then
+        assertThat(values.size(), is(equalTo(1)));
+        assertThat(values.get(0), is(equalTo(42L)));
+    }
+
+    @Test
+    public void shouldRecordFindEntries() {
+        // given
+        Calendar calendar = new Calendar("Metrics");
+        Entry<?> entry = new Entry<>("Daily");
+        entry.setInterval(LocalDate.of(2017, 1, 2));
+        entry.setRecurrenceRule("RRULE:FREQ=DAILY");
+        calendar.addEntry(entry);
+
+        // when
+        calendar.findEntries(LocalDate.of(2017, 1, 2), LocalDate.of(2017, 1, 8), ZoneId.systemDefault());
+
+        // then
+        assertThat(Metrics.timer(Metrics.FIND_ENTRIES, "calendar", "Metrics").getCount(), is(equalTo(1L)));
+        assertThat(Metrics.counter(Metrics.RECURRENCE_INSTANCES, "calendar", "Metrics").getCount(), is(equalTo(7L)));
+    }
+
+    @Test
+    public void shouldExportViaJmx() throws Exception {
+        // given
+        Metrics.counter("test.jmx").increment();
+
+        // when
+        Metrics.registerMBean();
+
+        // then
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        Object[] metrics = (Object[]) server.getAttribute(new ObjectName("com.calendarfx:type=Metrics"), "Metrics");
+        assertThat(metrics.length, is(greaterThan(0)));
+    }
+}
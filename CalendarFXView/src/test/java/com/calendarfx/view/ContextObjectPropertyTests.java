@@ -0,0 +1,190 @@
+/*
+ *  Copyright (C) 2017 Dirk Lemmermann Software & Consulting (dlsc.com)
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *          http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package com.calendarfx.view;
+
+import javafx.beans.InvalidationListener;
+import javafx.beans.Observable;
+import javafx.beans.binding.Bindings;
+import javafx.beans.property.ObjectProperty;
+import javafx.beans.property.SimpleObjectProperty;
+import javafx.beans.value.ObservableValue;
+import org.junit.Test;
+
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.Assert.assertThat;
+
+public class ContextObjectPropertyTests {
+
+    private static final LocalTime TEN = LocalTime.of(10, 0);
+    private static final LocalTime ELEVEN = LocalTime.of(11, 0);
+
+    @Test
+    public void shouldReadAndWriteSharedProperty() {
+        // given
+        ContextObjectProperty<LocalTime> property = new ContextObjectProperty<>(this, "time", TEN); //$NON-NLS-1$
+        ObjectProperty<LocalTime> shared = new SimpleObjectProperty<>(ELEVEN);
+
+        // when
+        property.share(shared);
+
+        // then
+        assertThat(property.get(), is(ELEVEN));
+
+        // when
+        property.set(TEN);
+
+        // then
+        assertThat(shared.get(), is(TEN));
+    }
+
+    @Test
+    public void shouldKeepValueWhenNoLongerShared() {
+        // given
+        ContextObjectProperty<LocalTime> property = new ContextObjectProperty<>(this, "time", TEN); //$NON-NLS-1$
+        ObjectProperty<LocalTime> shared = new SimpleObjectProperty<>(ELEVEN);
+        property.share(shared);
+
+        // when
+        property.share(null);
+        shared.set(TEN);
+
+        // then
+        assertThat(property.get(), is(ELEVEN));
+    }
+
+    @Test
+    public void shouldMoveListenersToSharedProperty() {
+        // given
+        ContextObjectProperty<LocalTime> property = new ContextObjectProperty<>(this, "time", TEN); //$NON-NLS-1$
+        ObjectProperty<LocalTime> shared = new SimpleObjectProperty<>(TEN);
+
+        List<ObservableValue<?>> observables = new ArrayList<>();
+        List<LocalTime> values = new ArrayList<>();
+        property.addListener((obs, oldValue, newValue) -> {
+            observables.add(obs);
+            values.add(newValue);
+        });
+
+        // when
+        property.share(shared);
+        shared.set(ELEVEN);
+
+        // then
+        assertThat(values, contains(ELEVEN));
+        assertThat(observables.get(0), is(sameInstance(property)));
+    }
+
+    @Test
+    public void shouldNotifyListenersWhenSharingChangesValue() {
+        // given
+        ContextObjectProperty<LocalTime> property = new ContextObjectProperty<>(this, "time", TEN); //$NON-NLS-1$
+        List<LocalTime> values = new ArrayList<>();
+        property.addListener((obs, oldValue, newValue) -> values.add(newValue));
+
+        // when
+        property.share(new SimpleObjectProperty<>(ELEVEN));
+
+        // then
+        assertThat(values, contains(ELEVEN));
+    }
+
+    @Test
+    public void shouldRemoveListenerFromSharedProperty() {
+        // given
+        ContextObjectProperty<LocalTime> property = new ContextObjectProperty<>(this, "time", TEN); //$NON-NLS-1$
+        ObjectProperty<LocalTime> shared = new SimpleObjectProperty<>(TEN);
+        property.share(shared);
+
+        int[] count = new int[1];
+        InvalidationListener listener = it -> count[0]++;
+        property.addListener(listener);
+
+        // when
+        property.removeListener(listener);
+        shared.set(ELEVEN);
+
+        // then
+        assertThat(count[0], is(0));
+    }
+
+    @Test
+    public void shouldKeepBidirectionalBindingWhenShared() {
+        // given
+        ContextObjectProperty<LocalTime> property = new ContextObjectProperty<>(this, "time", TEN); //$NON-NLS-1$
+        ObjectProperty<LocalTime> other = new SimpleObjectProperty<>(TEN);
+        Bindings.bindBidirectional(other, property);
+
+        ObjectProperty<LocalTime> shared = new SimpleObjectProperty<>(TEN);
+        property.share(shared);
+
+        // when
+        shared.set(ELEVEN);
+
+        // then
+        assertThat(other.get(), is(ELEVEN));
+
+        // when
+        other.set(TEN);
+
+        // then
+        assertThat(shared.get(), is(TEN));
+    }
+
+    @Test
+    public void shouldOnlyNotifySharedPropertyOnce() {
+        // given
+        CountingProperty shared = new CountingProperty();
+
+        int controls = 20;
+        int[] consumerCalls = new int[1];
+        for (int i = 0; i < controls; i++) {
+            ContextObjectProperty<LocalTime> property = new ContextObjectProperty<>(this, "time", TEN); //$NON-NLS-1$
+            property.share(shared);
+            property.addListener((Observable it) -> consumerCalls[0]++);
+        }
+
+        shared.events = 0;
+
+        // when
+        shared.set(ELEVEN);
+
+        // then
+        assertThat(shared.events, is(1));
+        assertThat(consumerCalls[0], is(controls));
+    }
+
+    private static class CountingProperty extends SimpleObjectProperty<LocalTime> {
+
+        int events;
+
+        CountingProperty() {
+            super(TEN);
+        }
+
+        @Override
+        protected void fireValueChangedEvent() {
+            events++;
+            super.fireValueChangedEvent();
+        }
+    }
+}
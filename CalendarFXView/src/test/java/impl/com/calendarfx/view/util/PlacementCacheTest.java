@@ -0,0 +1,182 @@
+/*
+ *  Copyright (C) 2017 Dirk Lemmermann Software & Consulting (dlsc.com)
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *          http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package impl.com.calendarfx.view.util;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.Assert.assertThat;
+
+public class PlacementCacheTest {
+
+    /*
+     * Stands in for an entry view, the start is the only thing that the
+     * "resolver" of the test looks at.
+     */
+    private static final class View {
+
+        private int start;
+
+        private boolean visible = true;
+
+        View(int start) {
+            this.start = start;
+        }
+    }
+
+    private int resolves;
+
+    private PlacementCache<View, List<Integer>> cache;
+
+    private View first;
+
+    private View second;
+
+    private View third;
+
+    private List<View> views;
+
+    @Before
+    public void setup() {
+        /*
+         * Puts views that start at the same time into separate columns, the
+         * way the real resolver puts overlapping entries next to each other.
+         */
+        cache = new PlacementCache<>(view -> view.visible, list -> {
+            resolves++;
+            List<Integer> columns = new ArrayList<>();
+            for (int i = 0; i < list.size(); i++) {
+                int column = 0;
+                for (int j = 0; j < i; j++) {
+                    if (list.get(j).visible && list.get(j).start == list.get(i).start) {
+                        column++;
+                    }
+                }
+                columns.add(column);
+            }
+            return columns;
+        });
+
+        first = new View(8);
+        second = new View(8);
+        third = new View(10);
+        views = Arrays.asList(first, second, third);
+    }
+
+    @Test
+    public void shouldReusePlacementsOfUnchangedViews() {
+        // given
+        List<Integer> placements = cache.get(views, 0);
+
+        // when
+        List<Integer> secondPass = cache.get(new ArrayList<>(views), 0);
+
+        // then
+        assertThat(resolves, is(1));
+        assertThat(secondPass, is(sameInstance(placements)));
+    }
+
+    @Test
+    public void shouldReusePlacementsWhenWidthChanges() {
+        // given
+        List<Integer> placements = cache.get(views, 0);
+        List<Double> narrow = layout(placements, 200);
+
+        // when
+        List<Integer> resized = cache.get(views, 0);
+        List<Double> wide = layout(resized, 400);
+
+        // then the columns are the same, only their positions got recomputed
+        assertThat(resolves, is(1));
+        assertThat(narrow, contains(0d, 100d, 0d));
+        assertThat(wide, contains(0d, 200d, 0d));
+    }
+
+    @Test
+    public void shouldRecomputePlacementsWhenEntryMoved() {
+        // given
+        cache.get(views, 0);
+
+        // when
+        second.start = 9;
+        cache.invalidate();
+        List<Integer> placements = cache.get(views, 0);
+
+        // then
+        assertThat(resolves, is(2));
+        assertThat(placements, contains(0, 0, 0));
+    }
+
+    @Test
+    public void shouldRecomputePlacementsWhenVisibilityChanged() {
+        // given
+        cache.get(views, 0);
+
+        // when
+        first.visible = false;
+        List<Integer> placements = cache.get(views, 0);
+
+        // then
+        assertThat(resolves, is(2));
+        assertThat(placements, contains(0, 0, 0));
+    }
+
+    @Test
+    public void shouldRecomputePlacementsWhenViewsChanged() {
+        // given
+        cache.get(views, 0);
+
+        // when
+        cache.get(Arrays.asList(first, third), 0);
+
+        // then
+        assertThat(resolves, is(2));
+    }
+
+    @Test
+    public void shouldCachePlacementsPerGroup() {
+        // given
+        cache.get(views, 0);
+        cache.get(Arrays.asList(third), 1);
+
+        // when
+        cache.get(views, 0);
+        cache.get(Arrays.asList(third), 1);
+
+        // then
+        assertThat(resolves, is(2));
+    }
+
+    /*
+     * Two columns, like the day view computes the x coordinates of its
+     * entry views from the column indices.
+     */
+    private static List<Double> layout(List<Integer> columns, double width) {
+        List<Double> x = new ArrayList<>();
+        for (int column : columns) {
+            x.add(column * width / 2);
+        }
+        return x;
+    }
+}